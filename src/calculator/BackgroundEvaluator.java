@@ -0,0 +1,221 @@
+package calculator;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+/**
+ * "=" ile istenen hesaplamayı FX thread'i dışında yapan değerlendirici.
+ *
+ * Büyük bir sum/integrate veya hassas modda büyük bir faktöriyel saniyeler
+ * sürebilir; hesaplama FX thread'inde yapılırsa pencere donar. Bu sınıf:
+ * - Hesaplamayı arka plan thread'inde yapar, sonucu Platform.runLater ile
+ *   Listener'a teslim eder,
+ * - Hesaplama BUSY_DELAY'den uzun sürerse Listener.busy() çağırır
+ *   (kısa hesaplamalarda meşgul göstergesi yanıp sönmez),
+ * - cancel() veya zaman aşımında hesaplamayı yürüten thread'i keser
+ *   (interrupt) ve sonucu yok sayar.
+ *
+ * İptal işbirliğine dayalıdır: uzun döngüler (SeriesTask, IntegrationTask,
+ * faktöriyeller) thread'in kesildiğini görünce durur. Kesmeyi fark etmeyen
+ * bir hesaplama arka planda bitene kadar sürer ama sonucu gösterilmez; iş
+ * havuzu gerektiğinde yeni thread açtığından sonraki hesaplama onu beklemez.
+ *
+ * Meşgul göstergesi ve zaman aşımı UiScheduler slotlarıyla FX thread'inde
+ * zamanlanır; hesaplama bitince veya iptal edilince ikisi de iptal edilir.
+ *
+ * Aynı anda en fazla bir hesaplama sürer. Her istek nesil (generation)
+ * sayacını artırır; iptalden sonra gelen eski sonuçlar atlanır. Bu yüzden
+ * Listener'a her hesaplama için tam olarak bir kez completed() veya
+ * failed() ulaşır.
+ *
+ * submit() ve cancel() FX thread'inden çağrılmalıdır.
+ *
+ * @author Yusuf
+ */
+final class BackgroundEvaluator {
+
+    /** Varsayılan zaman aşımı; 0 veya negatif değer zaman aşımını kapatır */
+    static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+
+    /** Meşgul göstergesinin açılmasından önce beklenen süre */
+    private static final Duration BUSY_DELAY = Duration.millis(150);
+
+    static final String TIMEOUT_MESSAGE = "Hesaplama %d ms içinde bitmediği için durduruldu.";
+
+    /** Sonuçları FX thread'inde alan dinleyici */
+    interface Listener {
+
+        /** Hesaplama kısa sürede bitmedi; meşgul durumu gösterilmeli. */
+        void busy();
+
+        /**
+         * @param expression Hesaplanan ifade
+         * @param result     Sonuç
+         * @param formatted  Sonucun metin hâli
+         * @param nanos      Hesaplama süresi (nanosaniye)
+         */
+        void completed(String expression, Number result, String formatted, long nanos);
+
+        /**
+         * İfade hatalıysa veya hesaplama iptal edildiyse / zaman aşımına
+         * uğradıysa çağrılır. İptalde hata türü CANCELLED'dır.
+         *
+         * @param expression Hesaplanan ifade
+         * @param error      Hata
+         * @param nanos      Hatanın bulunmasına veya iptale kadar geçen süre (nanosaniye)
+         */
+        void failed(String expression, CalculatorException error, long nanos);
+    }
+
+    /** Hesaplamaların yapıldığı thread'ler */
+    private final ExecutorService worker = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "calculator-evaluator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Her yeni istekte ve iptalde artar; eskimiş sonuçlar atlanır */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ExpressionEvaluator evaluator;
+    private final ExpressionCache cache;
+    private final Function<Number, String> formatter;
+    private final Listener listener;
+    private final long timeoutMillis;
+
+    /** Meşgul göstergesi ve zaman aşımı */
+    private final UiScheduler.Slot busyTimer;
+    private final UiScheduler.Slot timeoutTimer;
+
+    // ── Süren hesaplama (yalnızca FX thread'inde değişir) ─────
+    private Future<?> running;
+    private String runningExpression;
+    private long startedAt;
+
+    /**
+     * @param evaluator     Hassas ve kesirli modlarda kullanılan (thread-safe) değerlendirici
+     * @param cache         Hızlı modda kullanılan (thread-safe) önbellek
+     * @param formatter     Sonucu metne çeviren fonksiyon (arka plan thread'inde çağrılır)
+     * @param listener      Sonuçları alan dinleyici (FX thread'inde çağrılır)
+     * @param scheduler     Meşgul göstergesi ve zaman aşımı için zamanlayıcı
+     * @param timeoutMillis Zaman aşımı; 0 veya negatifse hesaplama süresi sınırsızdır
+     */
+    BackgroundEvaluator(ExpressionEvaluator evaluator, ExpressionCache cache,
+            Function<Number, String> formatter, Listener listener, UiScheduler scheduler, long timeoutMillis) {
+        this.evaluator = evaluator;
+        this.cache = cache;
+        this.formatter = formatter;
+        this.listener = listener;
+        this.timeoutMillis = timeoutMillis;
+        this.busyTimer = scheduler.slot();
+        this.timeoutTimer = scheduler.slot();
+    }
+
+    /**
+     * İfadeyi arka planda hesaplatır. Süren bir hesaplama varsa önce o iptal edilir.
+     *
+     * @param expression Hesaplanacak ifade (iç gösterimle: '*' ...)
+     * @param mode       Hesaplama modu
+     */
+    void submit(String expression, EvaluationMode mode) {
+        cancel();
+
+        long requested = generation.incrementAndGet();
+        runningExpression = expression;
+        startedAt = System.nanoTime();
+        running = worker.submit(() -> compute(requested, expression, mode));
+        busyTimer.schedule(BUSY_DELAY, listener::busy);
+        if (timeoutMillis > 0) {
+            timeoutTimer.schedule(Duration.millis(timeoutMillis), () -> abort(CalculatorException.formatted(
+                    CalculatorException.ErrorType.CANCELLED, -1, TIMEOUT_MESSAGE, timeoutMillis)));
+        }
+    }
+
+    /**
+     * Süren hesaplamayı iptal eder; dinleyiciye CANCELLED hatası bildirilir.
+     *
+     * @return Süren bir hesaplama iptal edildiyse true
+     */
+    boolean cancel() {
+        if (running == null) {
+            return false;
+        }
+        abort(new CalculatorException(CalculatorException.ErrorType.CANCELLED,
+                CalculatorException.CANCELLED_MESSAGE));
+        return true;
+    }
+
+    /** Bir hesaplama sürüyorsa true */
+    boolean isBusy() {
+        return running != null;
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** Arka plan thread'inde çalışır. */
+    private void compute(long requested, String expression, EvaluationMode mode) {
+        long started = System.nanoTime();
+        Number result = null;
+        String formatted = null;
+        CalculatorException error = null;
+        try {
+            // Hızlı modda derlenmiş ifade önbellekten alınır
+            result = mode == EvaluationMode.DOUBLE
+                    ? cache.evaluate(expression)
+                    : evaluator.evaluate(expression, mode);
+            formatted = formatter.apply(result);
+        } catch (CalculatorException e) {
+            error = e;
+        } finally {
+            // Beklenmeyen bir hatada da meşgul durumu kalkmalı
+            if (result == null && error == null) {
+                error = new CalculatorException(CalculatorException.ErrorType.INVALID_EXPRESSION,
+                        "İfade hesaplanamadı.");
+            }
+            Number value = result;
+            String text = formatted;
+            CalculatorException failure = error;
+            long nanos = System.nanoTime() - started;
+            Platform.runLater(() -> finish(requested, expression, value, text, failure, nanos));
+        }
+    }
+
+    /** Hesaplama bittiğinde FX thread'inde çalışır; iptal edilmişse hiçbir şey yapmaz. */
+    private void finish(long requested, String expression, Number result, String formatted,
+            CalculatorException error, long nanos) {
+        if (generation.get() != requested) {
+            return;
+        }
+        clear();
+        if (error == null) {
+            listener.completed(expression, result, formatted, nanos);
+        } else {
+            listener.failed(expression, error, nanos);
+        }
+    }
+
+    /** Süren hesaplamayı keser ve dinleyiciye hatayı bildirir. */
+    private void abort(CalculatorException error) {
+        generation.incrementAndGet();
+        String expression = runningExpression;
+        long nanos = System.nanoTime() - startedAt;
+        running.cancel(true);
+        clear();
+        listener.failed(expression, error, nanos);
+    }
+
+    private void clear() {
+        busyTimer.cancel();
+        timeoutTimer.cancel();
+        running = null;
+        runningExpression = null;
+    }
+}
@@ -0,0 +1,113 @@
+package calculator;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bir ifade dizisini ForkJoinPool üzerinde paralel hesaplayan görev.
+ *
+ * Parçalama uyarlamalıdır (adaptive): Görev, kuyrukta bekleyen fazla iş
+ * olmadığı sürece aralığı ikiye bölüp sağ yarıyı çatallar (fork). Havuz
+ * meşgulse bölmeyi bırakıp aralığı kendisi hesaplar. Böylece boşta thread
+ * varken iş küçük parçalara dağılır, herkes meşgulken gereksiz görev
+ * nesnesi oluşturulmaz.
+ *
+ * Tüm görevler aynı (thread-safe) ExpressionEvaluator nesnesini paylaşır;
+ * yığınlar ExpressionEvaluator içinde thread başına tutulduğundan
+ * thread'ler arasında paylaşılan değiştirilebilir durum yoktur. Her görev
+ * yalnızca kendi aralığındaki sonuç hücrelerine yazar.
+ *
+ * İfadeler evaluateOrError ile hesaplanır: Hatalı bir ifade görevi
+ * durdurmaz; ilkel dizi hedefinde yalnızca hata türü yazılır ve mesaj
+ * hiç biçimlendirilmez. Hesaplama hataları exception oluşturmaz; ayrıştırma
+ * hataları ise yığın izi olmayan bir exception olarak yakalanır.
+ *
+ * @author Yusuf
+ */
+final class BatchEvaluationTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Bu boyuttan küçük aralıklar bölünmez */
+    static final int MIN_CHUNK = 64;
+
+    /** Kuyrukta bu kadardan fazla bekleyen görev varsa bölme durur */
+    private static final int MAX_SURPLUS_TASKS = 3;
+
+    private final ExpressionEvaluator evaluator;
+    private final String[] expressions;
+    private final int from;
+    private final int to;
+
+    // ── Sonuç hedefleri (biri kullanılır) ────────────────────
+    private final EvaluationResult[] results;
+    private final double[] values;
+    private final CalculatorException.ErrorType[] errors;
+
+    /** Aynı görevin çatalladığı bir sonraki kardeş görev */
+    private final BatchEvaluationTask next;
+
+    BatchEvaluationTask(ExpressionEvaluator evaluator, String[] expressions, EvaluationResult[] results) {
+        this(evaluator, expressions, 0, expressions.length, results, null, null, null);
+    }
+
+    BatchEvaluationTask(ExpressionEvaluator evaluator, String[] expressions, double[] values,
+            CalculatorException.ErrorType[] errors) {
+        this(evaluator, expressions, 0, expressions.length, null, values, errors, null);
+    }
+
+    private BatchEvaluationTask(ExpressionEvaluator evaluator, String[] expressions, int from, int to,
+            EvaluationResult[] results, double[] values, CalculatorException.ErrorType[] errors,
+            BatchEvaluationTask next) {
+        this.evaluator = evaluator;
+        this.expressions = expressions;
+        this.from = from;
+        this.to = to;
+        this.results = results;
+        this.values = values;
+        this.errors = errors;
+        this.next = next;
+    }
+
+    @Override
+    protected void compute() {
+        int high = to;
+        BatchEvaluationTask forked = null;
+
+        // ── Havuz boşken böl, meşgulken kendin hesapla ───────
+        while (high - from > MIN_CHUNK && getSurplusQueuedTaskCount() <= MAX_SURPLUS_TASKS) {
+            int middle = (from + high) >>> 1;
+            forked = new BatchEvaluationTask(evaluator, expressions, middle, high, results, values, errors, forked);
+            forked.fork();
+            high = middle;
+        }
+
+        evaluateRange(from, high);
+
+        while (forked != null) {
+            forked.join();
+            forked = forked.next;
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private void evaluateRange(int start, int end) {
+        EvaluationOutcome outcome = new EvaluationOutcome();
+        for (int i = start; i < end; i++) {
+            String expression = expressions[i];
+            double value = evaluator.evaluateOrError(expression == null ? "" : expression, outcome);
+            if (results != null) {
+                results[i] = outcome.isSuccess()
+                        ? EvaluationResult.success(value)
+                        : EvaluationResult.failure(outcome.toException());
+            } else {
+                values[i] = value;
+                if (errors != null) {
+                    errors[i] = outcome.getErrorType();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package calculator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Bir dosyadaki ifadeleri (her satırda bir ifade) toplu olarak hesaplayıp
+ * sonuçları başka bir dosyaya yazan sınıf. Main'in --batch modu kullanır.
+ *
+ * Çalışma şekli:
+ * 1. Girdi dosyası CHUNK_SIZE (varsayılan 8 MB) büyüklüğünde parçalara bölünür;
+ *    her parça bir satır sonunda ('\n') biter, böylece hiçbir satır iki parçaya düşmez.
+ * 2. Her parça FileChannel.map ile belleğe eşlenir ve ForkJoinPool üzerinde
+ *    ayrı bir görevde hesaplanır. Tüm görevler tek bir (thread-safe)
+ *    ExpressionEvaluator nesnesini paylaşır.
+ * 3. Parçaların çıktıları, girdi sırasıyla çıktı kanalına yazılır. Aynı anda
+ *    en fazla MAX_IN_FLIGHT_PER_THREAD * thread sayısı kadar parça bellekte
+ *    bekler; çok büyük dosyalar da sabit bellekle işlenir.
+ *
+ * Çıktı biçimi: Girdinin i. satırının sonucu çıktının i. satırına yazılır.
+ * - Başarılı sonuç → sayı (tam sayılarda ondalık kısım yazılmaz)
+ * - Hatalı ifade  → "HATA: " + hata mesajı
+ * - Boş satır     → boş satır
+ *
+ * Girdi UTF-8 olarak okunur; satır sonları "\n" veya "\r\n" olabilir.
+ *
+ * @author Yusuf
+ */
+final class BatchFileEvaluator {
+
+    /** Bir görevde işlenen yaklaşık parça boyutu (8 MB) */
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+
+    /** Satır sonu ararken eşlenen pencere boyutu */
+    private static final int SCAN_WINDOW = 64 * 1024;
+
+    /** Thread başına aynı anda bekleyebilecek parça sayısı */
+    private static final int MAX_IN_FLIGHT_PER_THREAD = 2;
+
+    private static final String ERROR_PREFIX = "HATA: ";
+
+    /** Toplu işlemin özeti */
+    static final class Summary {
+        final long lines;
+        final long errors;
+
+        Summary(long lines, long errors) {
+            this.lines = lines;
+            this.errors = errors;
+        }
+    }
+
+    /** Tek bir parçanın çıktısı ve sayaçları */
+    private static final class ChunkResult {
+        final ByteBuffer output;
+        final long lines;
+        final long errors;
+
+        ChunkResult(ByteBuffer output, long lines, long errors) {
+            this.output = output;
+            this.lines = lines;
+            this.errors = errors;
+        }
+    }
+
+    private final ExpressionEvaluator evaluator;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    BatchFileEvaluator() {
+        this(new ExpressionEvaluator(), ForkJoinPool.commonPool());
+    }
+
+    BatchFileEvaluator(ExpressionEvaluator evaluator, ForkJoinPool pool) {
+        this(evaluator, pool, CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize Parça boyutu (bayt); testler parça sınırlarının satır
+     *                  ortasına düşmesi için küçük değerler verir
+     */
+    BatchFileEvaluator(ExpressionEvaluator evaluator, ForkJoinPool pool, int chunkSize) {
+        this.evaluator = evaluator;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Girdi dosyasındaki tüm ifadeleri hesaplayıp çıktı dosyasına yazar.
+     * Çıktı dosyası varsa üzerine yazılır.
+     *
+     * @param input  Her satırında bir ifade bulunan dosya
+     * @param output Sonuçların yazılacağı dosya
+     * @return İşlenen satır ve hata sayısı
+     * @throws IOException Dosya okunamaz/yazılamazsa
+     */
+    Summary process(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            long size = in.size();
+            int maxInFlight = Math.max(2, pool.getParallelism() * MAX_IN_FLIGHT_PER_THREAD);
+            ArrayDeque<Future<ChunkResult>> pending = new ArrayDeque<>();
+            long lines = 0;
+            long errors = 0;
+
+            long start = 0;
+            while (start < size) {
+                long end = start + chunkSize >= size ? size : lineEnd(in, start + chunkSize - 1, size);
+                long chunkStart = start;
+                pending.add(pool.submit(() -> evaluateChunk(in, chunkStart, end)));
+                start = end;
+
+                // ── Sırası gelen parçaları yaz ───────────────
+                if (pending.size() >= maxInFlight) {
+                    ChunkResult result = await(pending.poll());
+                    write(out, result.output);
+                    lines += result.lines;
+                    errors += result.errors;
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                ChunkResult result = await(pending.poll());
+                write(out, result.output);
+                lines += result.lines;
+                errors += result.errors;
+            }
+            return new Summary(lines, errors);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * position konumundan itibaren ilk '\n' karakterinin hemen sonrasını döndürür.
+     * Satır sonu yoksa dosya boyutunu döndürür.
+     */
+    private static long lineEnd(FileChannel channel, long position, long size) throws IOException {
+        long windowStart = position;
+        while (windowStart < size) {
+            int length = (int) Math.min(SCAN_WINDOW, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            for (int i = 0; i < length; i++) {
+                if (window.get(i) == '\n') {
+                    return windowStart + i + 1;
+                }
+            }
+            windowStart += length;
+        }
+        return size;
+    }
+
+    /**
+     * Bir parçayı belleğe eşler, satırlarını hesaplar ve çıktısını üretir.
+     * Worker thread üzerinde çalışır.
+     */
+    private ChunkResult evaluateChunk(FileChannel channel, long start, long end) throws IOException {
+        int length = (int) (end - start);
+        byte[] bytes = new byte[length];
+        channel.map(FileChannel.MapMode.READ_ONLY, start, length).get(bytes);
+
+        StringBuilder output = new StringBuilder(length);
+        EvaluationOutcome outcome = new EvaluationOutcome();
+        long lines = 0;
+        long errors = 0;
+
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            String expression = new String(bytes, lineStart, contentEnd - lineStart, StandardCharsets.UTF_8).trim();
+
+            if (!expression.isEmpty()) {
+                double value = evaluator.evaluateOrError(expression, outcome);
+                if (outcome.isSuccess()) {
+                    output.append(formatResult(value));
+                } else {
+                    output.append(ERROR_PREFIX).append(outcome.getMessage());
+                    errors++;
+                }
+            }
+            output.append('\n');
+            lines++;
+            lineStart = lineEnd + 1;
+        }
+
+        return new ChunkResult(ByteBuffer.wrap(output.toString().getBytes(StandardCharsets.UTF_8)), lines, errors);
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Toplu işlem kesildi.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Parça işlenemedi: " + e.getCause(), e.getCause());
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Sonucu düzgün formatlar (tam sayı ise ondalık göstermez).
+     */
+    private static String formatResult(double result) {
+        if (result == (long) result) {
+            return String.valueOf((long) result);
+        }
+        return String.valueOf(result);
+    }
+}
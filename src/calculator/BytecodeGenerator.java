@@ -0,0 +1,417 @@
+package calculator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Derlenmiş postfix programı JVM bytecode'una çeviren sınıf.
+ *
+ * Postfix program zaten bir yığın makinesi için yazılmıştır; JVM de bir yığın
+ * makinesi olduğundan her komut doğrudan bir veya iki bytecode komutuna
+ * karşılık gelir:
+ * - CONST     → ldc2_w (sabit havuzundaki double)
+ * - VARIABLE  → aload_1, yuva numarası, daload
+ * - +, -, *   → dadd, dsub, dmul
+ * - STORE_TEMP → dup2, dstore (geçici yuvalar yerel değişkenlerdir)
+ * - LOAD_TEMP  → dload
+ * - CALL       → calls alanındaki RuntimeCall ile CompiledOps.call
+ * - Diğerleri → CompiledOps üzerindeki statik metoda invokestatic
+ *
+ * Üretilen sınıf CompiledFunction arayüzünü uygular ve
+ * MethodHandles.Lookup.defineHiddenClass ile gizli (hidden) sınıf olarak
+ * tanımlanır; referansı bırakıldığında sınıf da bellekten atılabilir.
+ * Programın çağrılar tablosu kurucuda sınıfın calls alanına verilir.
+ *
+ * Üretilen metot hiç dallanma içermediği için StackMapTable gerekmez;
+ * sınıf dosyası sürüm 52 (Java 8) biçiminde yazılır.
+ *
+ * @author Yusuf
+ */
+final class BytecodeGenerator {
+
+    // ── Sınıf dosyası sabitleri ──────────────────────────────
+    private static final int CLASS_FILE_VERSION = 52;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int TAG_UTF8 = 1;
+    private static final int TAG_INTEGER = 3;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_CLASS = 7;
+    private static final int TAG_FIELDREF = 9;
+    private static final int TAG_METHODREF = 10;
+    private static final int TAG_NAME_AND_TYPE = 12;
+
+    // ── JVM komutları ────────────────────────────────────────
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int DLOAD = 0x18;
+    private static final int DSTORE = 0x39;
+    private static final int DALOAD = 0x31;
+    private static final int AALOAD = 0x32;
+    private static final int DUP2 = 0x5c;
+    private static final int WIDE = 0xc4;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DRETURN = 0xaf;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+
+    /** JVM'in bir metot gövdesi ve sabit havuzu için izin verdiği üst sınır */
+    private static final int MAX_METHOD_SIZE = 0xFFFF;
+
+    private static final String CLASS_NAME = "calculator/GeneratedExpression";
+    private static final String OPS_CLASS = "calculator/CompiledOps";
+    private static final String UNARY = "(D)D";
+    private static final String BINARY = "(DD)D";
+    private static final String CALLS_FIELD = "calls";
+    private static final String CALLS_TYPE = "[Lcalculator/RuntimeCall;";
+    private static final String UNARY_CALL = "(DLcalculator/RuntimeCall;[D)D";
+    private static final String BINARY_CALL = "(DDLcalculator/RuntimeCall;[D)D";
+
+    private BytecodeGenerator() {
+    }
+
+    /**
+     * Programı bir gizli sınıfa çevirip örneğini döndürür.
+     *
+     * @param code          Komutlar
+     * @param constants     CONST komutlarının sabitleri
+     * @param calls         CALL komutlarının çağrıları
+     * @param maxStack      Programın yığın derinliği
+     * @param temporaries   Geçici yuva sayısı
+     * @param variableCount Beklenen değişken sayısı
+     * @return Programı çalıştıran CompiledFunction
+     */
+    static CompiledFunction generate(int[] code, double[] constants, RuntimeCall[] calls, int maxStack,
+            int temporaries, int variableCount) {
+        byte[] classFile = new ClassWriter().write(code, constants, calls, maxStack, temporaries, variableCount);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup()
+                    .defineHiddenClass(classFile, true);
+            return (CompiledFunction) lookup
+                    .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, RuntimeCall[].class))
+                    .invoke(calls);
+        } catch (Throwable e) {
+            throw new IllegalStateException("İfade için bytecode üretilemedi.", e);
+        }
+    }
+
+    /**
+     * Tek bir sınıf dosyası üreten yardımcı. Sabit havuzu girdileri tekrar
+     * kullanılmak üzere anahtarlarıyla saklanır.
+     */
+    private static final class ClassWriter {
+
+        private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+        private final DataOutputStream pool = new DataOutputStream(poolBytes);
+        private final Map<String, Integer> poolIndexes = new HashMap<>();
+        private int poolCount = 1; // Sabit havuzu 1'den başlar
+
+        byte[] write(int[] program, double[] constants, RuntimeCall[] calls, int maxStack, int temporaries,
+                int variableCount) {
+            try {
+                int thisClass = classRef(CLASS_NAME);
+                int superClass = classRef("java/lang/Object");
+                int interfaceClass = classRef("calculator/CompiledFunction");
+                int objectInit = methodRef("java/lang/Object", "<init>", "()V");
+                int callsField = fieldRef(CLASS_NAME, CALLS_FIELD, CALLS_TYPE);
+                int callsName = utf8(CALLS_FIELD);
+                int callsType = utf8(CALLS_TYPE);
+                int initName = utf8("<init>");
+                int initType = utf8("(" + CALLS_TYPE + ")V");
+                int applyName = utf8("applyAsDouble");
+                int applyType = utf8("([D)D");
+                int codeName = utf8("Code");
+
+                // ── Kurucu: super(); this.calls = calls ──────
+                ByteArrayOutputStream initBytes = new ByteArrayOutputStream();
+                DataOutputStream init = new DataOutputStream(initBytes);
+                init.writeByte(ALOAD_0);
+                init.writeByte(INVOKESPECIAL);
+                init.writeShort(objectInit);
+                init.writeByte(ALOAD_0);
+                init.writeByte(ALOAD_1);
+                init.writeByte(PUTFIELD);
+                init.writeShort(callsField);
+                init.writeByte(RETURN);
+
+                // ── applyAsDouble(double[] vars) ─────────────
+                ByteArrayOutputStream applyBytes = new ByteArrayOutputStream();
+                DataOutputStream apply = new DataOutputStream(applyBytes);
+                apply.writeByte(ALOAD_1);
+                pushInt(apply, variableCount);
+                apply.writeByte(INVOKESTATIC);
+                apply.writeShort(methodRef(OPS_CLASS, "checkBindings", "([DI)V"));
+                for (int instruction : program) {
+                    writeInstruction(apply, instruction, constants, calls, callsField);
+                }
+                apply.writeByte(DRETURN);
+                if (applyBytes.size() > MAX_METHOD_SIZE || poolCount > MAX_METHOD_SIZE) {
+                    throw new IllegalStateException("İfade bytecode'a çevrilemeyecek kadar uzun.");
+                }
+
+                // ── Sınıf dosyası ────────────────────────────
+                ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(classBytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(CLASS_FILE_VERSION);
+                out.writeShort(poolCount);
+                pool.flush();
+                poolBytes.writeTo(out);
+                out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(1);
+                out.writeShort(interfaceClass);
+                out.writeShort(1); // tek alan: calls
+                out.writeShort(ACC_PRIVATE | ACC_FINAL);
+                out.writeShort(callsName);
+                out.writeShort(callsType);
+                out.writeShort(0); // alan özniteliği yok
+                out.writeShort(2); // iki metot
+                writeMethod(out, initName, initType, codeName, 2, 2, initBytes.toByteArray());
+                // Her double iki yığın hücresi kaplar; +2 değişken okuma (dizi + indeks), dup2
+                // veya çağrı (RuntimeCall + vars) için.
+                // Yereller: this, vars, ardından her geçici yuva için bir double
+                writeMethod(out, applyName, applyType, codeName, maxStack * 2 + 2,
+                        2 + temporaries * 2, applyBytes.toByteArray());
+                out.writeShort(0); // sınıf özniteliği yok
+                return classBytes.toByteArray();
+            } catch (IOException e) {
+                throw new IllegalStateException(e); // ByteArrayOutputStream IOException fırlatmaz
+            }
+        }
+
+        private void writeInstruction(DataOutputStream out, int instruction, double[] constants,
+                RuntimeCall[] calls, int callsField) throws IOException {
+            int operand = instruction >>> CompiledExpression.OPERAND_SHIFT;
+            switch (instruction & CompiledExpression.OPCODE_MASK) {
+                case CompiledExpression.CONST:
+                    out.writeByte(LDC2_W);
+                    out.writeShort(doubleConstant(constants[operand]));
+                    break;
+                case CompiledExpression.VARIABLE:
+                    out.writeByte(ALOAD_1);
+                    pushInt(out, operand);
+                    out.writeByte(DALOAD);
+                    break;
+                case CompiledExpression.STORE_TEMP:
+                    out.writeByte(DUP2);
+                    localInstruction(out, DSTORE, operand);
+                    break;
+                case CompiledExpression.LOAD_TEMP:
+                    localInstruction(out, DLOAD, operand);
+                    break;
+                case CompiledExpression.ADD:
+                    out.writeByte(DADD);
+                    break;
+                case CompiledExpression.SUBTRACT:
+                    out.writeByte(DSUB);
+                    break;
+                case CompiledExpression.MULTIPLY:
+                    out.writeByte(DMUL);
+                    break;
+                case CompiledExpression.DIVIDE:
+                    invokeOps(out, "divide", BINARY);
+                    break;
+                case CompiledExpression.MODULO:
+                    invokeOps(out, "modulo", BINARY);
+                    break;
+                case CompiledExpression.POWER:
+                    invokeOps(out, "power", BINARY);
+                    break;
+                case CompiledExpression.SIN:
+                    invokeOps(out, "sin", UNARY);
+                    break;
+                case CompiledExpression.COS:
+                    invokeOps(out, "cos", UNARY);
+                    break;
+                case CompiledExpression.TAN:
+                    invokeOps(out, "tan", UNARY);
+                    break;
+                case CompiledExpression.SQRT:
+                    invokeOps(out, "sqrt", UNARY);
+                    break;
+                case CompiledExpression.LN:
+                    invokeOps(out, "ln", UNARY);
+                    break;
+                case CompiledExpression.LOG:
+                    invokeOps(out, "log", UNARY);
+                    break;
+                case CompiledExpression.ABS:
+                    invokeOps(out, "abs", UNARY);
+                    break;
+                case CompiledExpression.FACTORIAL:
+                    invokeOps(out, "factorial", UNARY);
+                    break;
+                case CompiledExpression.CALL:
+                    // Argümanlar yığında; ardından this.calls[operand] ve vars
+                    out.writeByte(ALOAD_0);
+                    out.writeByte(GETFIELD);
+                    out.writeShort(callsField);
+                    pushInt(out, operand);
+                    out.writeByte(AALOAD);
+                    out.writeByte(ALOAD_1);
+                    invokeOps(out, "call", calls[operand].arity() == 1 ? UNARY_CALL : BINARY_CALL);
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "Bytecode'a çevrilemeyen işlem kodu: " + (instruction & CompiledExpression.OPCODE_MASK));
+            }
+        }
+
+        private void invokeOps(DataOutputStream out, String name, String descriptor) throws IOException {
+            out.writeByte(INVOKESTATIC);
+            out.writeShort(methodRef(OPS_CLASS, name, descriptor));
+        }
+
+        /** Geçici yuvaya erişen dload/dstore komutunu yazar (yerel 2 + 2 * yuva) */
+        private void localInstruction(DataOutputStream out, int opcode, int temp) throws IOException {
+            int local = 2 + temp * 2;
+            if (local <= 0xFF) {
+                out.writeByte(opcode);
+                out.writeByte(local);
+            } else {
+                out.writeByte(WIDE);
+                out.writeByte(opcode);
+                out.writeShort(local);
+            }
+        }
+
+        private void pushInt(DataOutputStream out, int value) throws IOException {
+            if (value <= Short.MAX_VALUE) {
+                out.writeByte(SIPUSH);
+                out.writeShort(value);
+            } else {
+                out.writeByte(LDC_W);
+                out.writeShort(intConstant(value));
+            }
+        }
+
+        private void writeMethod(DataOutputStream out, int name, int descriptor, int codeName,
+                int maxStack, int maxLocals, byte[] body) throws IOException {
+            out.writeShort(ACC_PUBLIC);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1); // Code özniteliği
+            out.writeShort(codeName);
+            out.writeInt(12 + body.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(body.length);
+            out.write(body);
+            out.writeShort(0); // istisna tablosu yok
+            out.writeShort(0); // alt öznitelik yok
+        }
+
+        // ── Sabit havuzu ─────────────────────────────────────
+
+        private int utf8(String value) throws IOException {
+            Integer index = poolIndexes.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            pool.writeByte(TAG_UTF8);
+            pool.writeUTF(value);
+            return register("U" + value, 1);
+        }
+
+        private int classRef(String internalName) throws IOException {
+            Integer index = poolIndexes.get("C" + internalName);
+            if (index != null) {
+                return index;
+            }
+            int name = utf8(internalName);
+            pool.writeByte(TAG_CLASS);
+            pool.writeShort(name);
+            return register("C" + internalName, 1);
+        }
+
+        private int methodRef(String owner, String name, String descriptor) throws IOException {
+            String key = "M" + owner + '.' + name + descriptor;
+            Integer index = poolIndexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            int ownerIndex = classRef(owner);
+            int nameAndType = nameAndType(name, descriptor);
+            pool.writeByte(TAG_METHODREF);
+            pool.writeShort(ownerIndex);
+            pool.writeShort(nameAndType);
+            return register(key, 1);
+        }
+
+        private int fieldRef(String owner, String name, String descriptor) throws IOException {
+            String key = "F" + owner + '.' + name + descriptor;
+            Integer index = poolIndexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            int ownerIndex = classRef(owner);
+            int nameAndType = nameAndType(name, descriptor);
+            pool.writeByte(TAG_FIELDREF);
+            pool.writeShort(ownerIndex);
+            pool.writeShort(nameAndType);
+            return register(key, 1);
+        }
+
+        private int nameAndType(String name, String descriptor) throws IOException {
+            String key = "N" + name + descriptor;
+            Integer index = poolIndexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            pool.writeByte(TAG_NAME_AND_TYPE);
+            pool.writeShort(nameIndex);
+            pool.writeShort(descriptorIndex);
+            return register(key, 1);
+        }
+
+        private int doubleConstant(double value) throws IOException {
+            String key = "D" + Double.doubleToRawLongBits(value);
+            Integer index = poolIndexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            pool.writeByte(TAG_DOUBLE);
+            pool.writeDouble(value);
+            return register(key, 2); // double iki havuz girdisi kaplar
+        }
+
+        private int intConstant(int value) throws IOException {
+            String key = "I" + value;
+            Integer index = poolIndexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            pool.writeByte(TAG_INTEGER);
+            pool.writeInt(value);
+            return register(key, 1);
+        }
+
+        private int register(String key, int slots) {
+            int index = poolCount;
+            poolIndexes.put(key, index);
+            poolCount += slots;
+            return index;
+        }
+    }
+}
@@ -16,10 +16,56 @@ package calculator;
  *  - Mod alma (%)
  *  - Üs alma  (^)
  * 
+ * Thread güvenliği:
+ * Sınıfın hiçbir alanı yoktur; tüm metotlar yalnızca parametrelerine göre
+ * sonuç üretir. Bu yüzden değiştirilemezdir (immutable) ve thread-safe'tir;
+ * tek bir nesne tüm thread'ler arasında paylaşılabilir.
+ * 
  * @author Yusuf
  */
 public class Calculator {
 
+    // ── Hata mesajı kalıpları ─────────────────────────────────
+    // Mesajlar yalnızca okunduklarında biçimlendirilir; hata üretmeyen
+    // yol (CompiledExpression.runOrError) da aynı kalıpları kullanır.
+    static final String DIVIDE_BY_ZERO_MESSAGE = "%.2f / 0 işlemi tanımsızdır.";
+    static final String MODULO_BY_ZERO_MESSAGE = "%.2f %% 0 işlemi tanımsızdır.";
+    static final String SQRT_NEGATIVE_MESSAGE = "%.2f sayısının karekökü tanımsızdır (negatif).";
+    static final String LN_DOMAIN_MESSAGE = "ln(%.2f) tanımsızdır (pozitif olmalı).";
+    static final String LOG_DOMAIN_MESSAGE = "log(%.2f) tanımsızdır (pozitif olmalı).";
+    static final String FACTORIAL_NEGATIVE_MESSAGE = "Faktöriyel negatif tam sayılar için tanımsızdır.";
+    static final String FACTORIAL_OVERFLOW_MESSAGE = "Faktöriyel değeri çok büyük (overflow).";
+    static final String FACTORIAL_NAN_MESSAGE = "Faktöriyel tanımsız bir değer (NaN) için hesaplanamaz.";
+
+    // ── Faktöriyel / gamma ───────────────────────────────────
+    /** double ile tam sayı faktöriyeli gösterilebilen en büyük n (171! taşar) */
+    private static final int MAX_FACTORIAL = 170;
+
+    /** 0! ... 170! değerleri; FACTORIALS[n] = n! */
+    private static final double[] FACTORIALS = new double[MAX_FACTORIAL + 1];
+
+    static {
+        FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_FACTORIAL; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+    }
+
+    /** Lanczos yaklaşımının parametresi (g = 7, 9 terim; ~15 anlamlı basamak) */
+    private static final double LANCZOS_G = 7;
+    private static final double[] LANCZOS_COEFFICIENTS = {
+        0.99999999999980993,
+        676.5203681218851,
+        -1259.1392167224028,
+        771.32342877765313,
+        -176.61502916214059,
+        12.507343278686905,
+        -0.13857109526572012,
+        9.9843695780195716e-6,
+        1.5056327351493116e-7
+    };
+    private static final double SQRT_TWO_PI = Math.sqrt(2 * Math.PI);
+
     /**
      * İki sayıyı toplar.
      *
@@ -64,9 +110,8 @@ public class Calculator {
      */
     public double divide(double a, double b) throws CalculatorException {
         if (b == 0) {
-            throw new CalculatorException(
-                CalculatorException.ErrorType.DIVISION_BY_ZERO,
-                String.format("%.2f / 0 işlemi tanımsızdır.", a)
+            throw CalculatorException.formatted(
+                CalculatorException.ErrorType.DIVISION_BY_ZERO, -1, DIVIDE_BY_ZERO_MESSAGE, a
             );
         }
         return a / b;
@@ -83,9 +128,8 @@ public class Calculator {
      */
     public double modulo(double a, double b) throws CalculatorException {
         if (b == 0) {
-            throw new CalculatorException(
-                CalculatorException.ErrorType.DIVISION_BY_ZERO,
-                String.format("%.2f %% 0 işlemi tanımsızdır.", a)
+            throw CalculatorException.formatted(
+                CalculatorException.ErrorType.DIVISION_BY_ZERO, -1, MODULO_BY_ZERO_MESSAGE, a
             );
         }
         return a % b;
@@ -111,9 +155,8 @@ public class Calculator {
      */
     public double sqrt(double a) throws CalculatorException {
         if (a < 0) {
-            throw new CalculatorException(
-                CalculatorException.ErrorType.INVALID_EXPRESSION,
-                String.format("%.2f sayısının karekökü tanımsızdır (negatif).", a)
+            throw CalculatorException.formatted(
+                CalculatorException.ErrorType.INVALID_EXPRESSION, -1, SQRT_NEGATIVE_MESSAGE, a
             );
         }
         return Math.sqrt(a);
@@ -158,9 +201,8 @@ public class Calculator {
      */
     public double ln(double a) throws CalculatorException {
         if (a <= 0) {
-            throw new CalculatorException(
-                CalculatorException.ErrorType.INVALID_EXPRESSION,
-                String.format("ln(%.2f) tanımsızdır (pozitif olmalı).", a)
+            throw CalculatorException.formatted(
+                CalculatorException.ErrorType.INVALID_EXPRESSION, -1, LN_DOMAIN_MESSAGE, a
             );
         }
         return Math.log(a);
@@ -175,9 +217,8 @@ public class Calculator {
      */
     public double log(double a) throws CalculatorException {
         if (a <= 0) {
-            throw new CalculatorException(
-                CalculatorException.ErrorType.INVALID_EXPRESSION,
-                String.format("log(%.2f) tanımsızdır (pozitif olmalı).", a)
+            throw CalculatorException.formatted(
+                CalculatorException.ErrorType.INVALID_EXPRESSION, -1, LOG_DOMAIN_MESSAGE, a
             );
         }
         return Math.log10(a);
@@ -196,34 +237,99 @@ public class Calculator {
     /**
      * Faktöriyel hesaplar (n!).
      *
-     * @param n Pozitif tamsayı
+     * Tam sayılar (0 - 170) önceden hesaplanmış tablodan okunur. Ondalıklı
+     * sayılar için gamma fonksiyonu kullanılır: x! = Γ(x + 1).
+     * Örn: 5! = 120, 0.5! = √π / 2 ≈ 0.8862, (-0.5)! = √π ≈ 1.7725
+     *
+     * @param n Negatif tam sayı olmayan bir sayı
      * @return n!
-     * @throws CalculatorException Negatif veya ondalıklı sayı durumunda
+     * @throws CalculatorException NaN, negatif tam sayı veya taşma (overflow) durumunda
      */
     public double factorial(double n) throws CalculatorException {
-        if (n < 0) {
-            throw new CalculatorException(
-                CalculatorException.ErrorType.INVALID_EXPRESSION,
-                "Faktöriyel negatif sayılar için tanımsızdır."
-            );
+        String error = factorialError(n);
+        if (error != null) {
+            throw new CalculatorException(CalculatorException.ErrorType.INVALID_EXPRESSION, error);
         }
-        if (n != Math.floor(n)) {
-            throw new CalculatorException(
-                CalculatorException.ErrorType.INVALID_EXPRESSION,
-                "Faktöriyel sadece tam sayılar için tanımlıdır."
-            );
+        if (n == (int) n) {
+            return FACTORIALS[(int) n];
         }
-        if (n > 170) {
-            throw new CalculatorException(
-                CalculatorException.ErrorType.INVALID_EXPRESSION,
-                "Faktöriyel değeri çok büyük (overflow)."
-            );
+        return gamma(n + 1);
+    }
+
+    /**
+     * factorial(n) hata verecekse hatanın mesajını döndürür.
+     * Exception oluşturmadan kontrol etmek isteyen yollar için ayrılmıştır.
+     *
+     * @param n Faktöriyeli alınacak sayı
+     * @return Hata mesajı; n geçerliyse null
+     */
+    static String factorialError(double n) {
+        if (Double.isNaN(n)) {
+            return FACTORIAL_NAN_MESSAGE;
+        }
+        if (n < 0 && n == Math.floor(n)) {
+            return FACTORIAL_NEGATIVE_MESSAGE;
+        }
+        if (n > MAX_FACTORIAL && Double.isInfinite(gamma(n + 1))) {
+            return FACTORIAL_OVERFLOW_MESSAGE;
+        }
+        return null;
+    }
+
+    /**
+     * Gamma fonksiyonu, Γ(x). Lanczos yaklaşımıyla hesaplanır; x < 0.5 için
+     * yansıma formülü kullanılır: Γ(x) = π / (sin(πx) · Γ(1 - x)).
+     * Sıfır ve negatif tam sayılarda (kutup noktaları) sonuç tanımsızdır;
+     * çağıran taraf bu değerleri önceden elemelidir.
+     *
+     * @param x Gerçel sayı
+     * @return Γ(x); taşma durumunda sonsuz
+     */
+    static double gamma(double x) {
+        if (x > MAX_FACTORIAL + 2) {
+            return Double.POSITIVE_INFINITY; // Γ(x), x ≈ 171.62'den sonra taşar
+        }
+        if (x < 0.5) {
+            return Math.PI / (Math.sin(Math.PI * x) * gamma(1 - x));
+        }
+        double z = x - 1;
+        double series = LANCZOS_COEFFICIENTS[0];
+        for (int i = 1; i < LANCZOS_COEFFICIENTS.length; i++) {
+            series += LANCZOS_COEFFICIENTS[i] / (z + i);
+        }
+        double t = z + LANCZOS_G + 0.5;
+        // t^(z+0.5) tek adımda x ≈ 140 civarında taşar; iki yarıya bölünür
+        double halfPower = Math.pow(t, (z + 0.5) / 2);
+        return SQRT_TWO_PI * halfPower * (halfPower * Math.exp(-t)) * series;
+    }
+
+    /**
+     * Digamma fonksiyonu, ψ(x) = Γ'(x) / Γ(x). Faktöriyelin türevi için
+     * kullanılır: d/dx x! = x! · ψ(x + 1).
+     * Negatif x için yansıma formülü kullanılır: ψ(x) = ψ(1 - x) - π / tan(πx).
+     * x küçükken ψ(x) = ψ(x + 1) - 1/x ile büyütülür, sonra asimptotik seri
+     * uygulanır. Sıfır ve negatif tam sayılarda NaN döner.
+     *
+     * @param x Gerçel sayı
+     * @return ψ(x)
+     */
+    static double digamma(double x) {
+        if (x <= 0 && x == Math.floor(x)) {
+            return Double.NaN;
+        }
+        if (x < 0) {
+            return digamma(1 - x) - Math.PI / Math.tan(Math.PI * x);
         }
-        double result = 1;
-        for (int i = 2; i <= n; i++) {
-            result *= i;
+        double result = 0;
+        while (x < 6) {
+            result -= 1 / x;
+            x++;
         }
-        return result;
+        double inverse = 1 / x;
+        double inverse2 = inverse * inverse;
+        return result + Math.log(x) - 0.5 * inverse
+                - inverse2 * (1.0 / 12 - inverse2 * (1.0 / 120 - inverse2 * (1.0 / 252
+                - inverse2 * (1.0 / 240 - inverse2 / 132))));
     }
 
     /**
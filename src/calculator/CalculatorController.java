@@ -1,15 +1,22 @@
 package calculator;
 
+import java.math.BigDecimal;
+
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputControl;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 
 /**
  * Hesap makinesi FXML Controller sinifi.
@@ -19,10 +26,31 @@ import javafx.scene.layout.VBox;
  * - Esittir (=) -> ifadeyi degerlendirme
  * - C / BS -> temizleme / silme
  * - Gecmis paneli -> toggle/temizle
+ * - Grafik paneli -> x'e bagli ifadenin grafigi (FunctionPlotter)
+ * - Canli onizleme -> yazarken sonuc arka planda hesaplanir (LivePreview)
+ * - Esittir hesaplamasi arka planda yapilir (BackgroundEvaluator);
+ *   uzun suren hesaplama Esc / C ile iptal edilir veya zaman asimina ugrar
  * - Klavye destegi
  */
 public class CalculatorController {
 
+    /** Grafik paneli acildiginda pencereye eklenen yukseklik */
+    private static final double PLOT_PANEL_HEIGHT = 300;
+
+    /** Hesaplama zaman asimini (ms) belirleyen sistem ozelligi */
+    private static final String TIMEOUT_PROPERTY = "calculator.evaluation.timeout";
+
+    /** Hesaplama surerken sonuc etiketine eklenen stil sinifi */
+    private static final String BUSY_STYLE = "busy";
+
+    /** Hata mesajinin ekranda kalma suresi */
+    private static final Duration ERROR_HIDE_DELAY = Duration.seconds(5);
+
+    /** "Kopyalandi!" geri bildiriminin ekranda kalma suresi */
+    private static final Duration COPY_FEEDBACK_DELAY = Duration.millis(800);
+
+    private static final String COPIED_TEXT = "Kopyalandı!";
+
     @FXML
     private Label expressionLabel;
     @FXML
@@ -30,6 +58,8 @@ public class CalculatorController {
     @FXML
     private Label errorLabel;
     @FXML
+    private Label previewLabel;
+    @FXML
     private VBox historyPanel;
     @FXML
     private ListView<String> historyList;
@@ -43,13 +73,33 @@ public class CalculatorController {
     private Label memoryIndicator;
     @FXML
     private Button themeToggle;
+    @FXML
+    private Button modeToggle;
+    @FXML
+    private VBox plotPanel;
+    @FXML
+    private Canvas plotCanvas;
+    @FXML
+    private TextField plotInput;
+    @FXML
+    private Label plotStatus;
 
     private final StringBuilder currentExpression = new StringBuilder();
     private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
-    private final HistoryManager historyManager = new HistoryManager(5);
+    private final ExpressionCache expressionCache = new ExpressionCache(evaluator, ExpressionCache.DEFAULT_CAPACITY);
+    private EvaluationMode mode = EvaluationMode.DOUBLE;
+    private final HistoryManager historyManager = HistoryManager.openDefault(5);
     private boolean lastResultShown = false;
     private double memory = 0.0;
     private boolean isDarkMode = false;
+    private FunctionPlotter plotter;
+    private LivePreview preview;
+    private BackgroundEvaluator background;
+
+    // Tum gecikmeli arayuz isleri tek zamanlayicidan gecer (ayri thread acilmaz)
+    private final UiScheduler scheduler = new UiScheduler();
+    private final UiScheduler.Slot errorHide = scheduler.slot();
+    private final UiScheduler.Slot copyFeedback = scheduler.slot();
 
     @FXML
     public void initialize() {
@@ -63,6 +113,21 @@ public class CalculatorController {
             backspaceBtn.setText("\u232B");
         }
 
+        // Canli onizleme; hesaplama arka plan thread'inde yapilir
+        if (previewLabel != null) {
+            preview = new LivePreview(evaluator, this::formatResult, previewLabel::setText);
+        }
+
+        // Esittir hesaplamasi; sonuc FX thread'ine Platform.runLater ile doner
+        background = new BackgroundEvaluator(evaluator, expressionCache, this::formatResult,
+                new EvaluationListener(), scheduler,
+                Long.getLong(TIMEOUT_PROPERTY, BackgroundEvaluator.DEFAULT_TIMEOUT_MILLIS));
+
+        // Grafik cizici; derleme ve ornekleme arka plan thread'inde yapilir
+        if (plotCanvas != null) {
+            plotter = new FunctionPlotter(plotCanvas, evaluator, plotStatus::setText);
+        }
+
         // Klavye destegini sahne hazir olunca ekle
         resultLabel.sceneProperty().addListener((obs, oldScene, newScene) -> {
             if (newScene != null) {
@@ -77,6 +142,10 @@ public class CalculatorController {
 
     @FXML
     public void handleInput(ActionEvent event) {
+        // Hesaplama surerken ifade degistirilemez
+        if (background.isBusy()) {
+            return;
+        }
         String value = ((Button) event.getSource()).getText();
 
         // Goruntu karakterlerini gercek operatorlere donustur
@@ -104,10 +173,19 @@ public class CalculatorController {
     public void handleSpecial(ActionEvent event) {
         String value = ((Button) event.getSource()).getText();
 
+        // Hesaplama surerken C iptal eder, silme yok sayilir
+        if (background.isBusy()) {
+            if ("C".equals(value)) {
+                background.cancel();
+            }
+            return;
+        }
+
         if ("C".equals(value)) {
             currentExpression.setLength(0);
             expressionLabel.setText("");
             resultLabel.setText("0");
+            cancelPreview();
             lastResultShown = false;
         } else {
             // Backspace (BS veya unicode)
@@ -117,6 +195,7 @@ public class CalculatorController {
             if (currentExpression.length() == 0) {
                 resultLabel.setText("0");
                 expressionLabel.setText("");
+                cancelPreview();
             } else {
                 updateDisplay();
             }
@@ -162,8 +241,64 @@ public class CalculatorController {
         scientificPanel.setManaged(show);
     }
 
+    @FXML
+    public void handlePlotToggle(ActionEvent event) {
+        boolean show = !plotPanel.isVisible();
+        plotPanel.setVisible(show);
+        plotPanel.setManaged(show);
+
+        // Ilk acilista ornek bir fonksiyon ciz
+        if (show && plotInput.getText().isEmpty()) {
+            plotInput.setText("sin(x)");
+            handlePlot(null);
+        }
+
+        // Pencere yuksekligini panele gore ayarla
+        if (resultLabel.getScene() != null && resultLabel.getScene().getWindow() != null) {
+            javafx.stage.Stage stage = (javafx.stage.Stage) resultLabel.getScene().getWindow();
+            if (show) {
+                stage.setHeight(stage.getHeight() + PLOT_PANEL_HEIGHT);
+            } else {
+                stage.setHeight(Math.max(720, stage.getHeight() - PLOT_PANEL_HEIGHT));
+            }
+        }
+    }
+
+    @FXML
+    public void handlePlot(ActionEvent event) {
+        String text = plotInput.getText().trim();
+        if (text.isEmpty()) {
+            return;
+        }
+        plotter.plot(text);
+    }
+
+    @FXML
+    public void handleModeToggle(ActionEvent event) {
+        // Suren hesaplama kendi moduyla biter; mod sonra degistirilir
+        if (background.isBusy()) {
+            return;
+        }
+        mode = mode.next();
+        if (modeToggle != null) {
+            modeToggle.setText(mode.getSymbol());
+        }
+
+        // Onizlemeyi yeni modla tekrar hesapla
+        if (preview != null && !lastResultShown && currentExpression.length() > 0) {
+            preview.request(currentExpression.toString(), mode);
+        }
+    }
+
     @FXML
     public void handleMemory(ActionEvent event) {
+        // Hesaplama surerken sonuc etiketi gecerli bir sonuc gostermez;
+        // bellek yalnizca tamamlanmis sonuclarla guncellenir
+        if (background.isBusy()) {
+            return;
+        }
+        // "Kopyalandi!" gosteriliyorsa once gercek sonuca don
+        copyFeedback.flush();
         String cmd = ((Button) event.getSource()).getText();
         
         try {
@@ -186,7 +321,7 @@ public class CalculatorController {
                     if (resultLabel.getText() != null && !resultLabel.getText().equals("0") 
                         && !resultLabel.getText().equals("Hata")) {
                         try {
-                            double value = Double.parseDouble(resultLabel.getText().replace(",", ""));
+                            double value = parseDisplayedResult(resultLabel.getText());
                             memory += value;
                             updateMemoryIndicator();
                         } catch (NumberFormatException e) {
@@ -199,7 +334,7 @@ public class CalculatorController {
                     if (resultLabel.getText() != null && !resultLabel.getText().equals("0") 
                         && !resultLabel.getText().equals("Hata")) {
                         try {
-                            double value = Double.parseDouble(resultLabel.getText().replace(",", ""));
+                            double value = parseDisplayedResult(resultLabel.getText());
                             memory -= value;
                             updateMemoryIndicator();
                         } catch (NumberFormatException e) {
@@ -213,6 +348,20 @@ public class CalculatorController {
         }
     }
 
+    /**
+     * Sonuç etiketindeki sayıyı okur. Kesirli moddaki "pay/payda" sonuçları
+     * Rational olarak çözülür.
+     *
+     * @throws NumberFormatException Etiket bir sayı göstermiyorsa
+     */
+    private static double parseDisplayedResult(String text) {
+        String plain = text.replace(",", "");
+        if (plain.indexOf('/') > 0) {
+            return Rational.parse(plain).doubleValue();
+        }
+        return Double.parseDouble(plain);
+    }
+
     private void updateMemoryIndicator() {
         if (memoryIndicator != null) {
             if (memory != 0.0) {
@@ -225,6 +374,9 @@ public class CalculatorController {
 
     @FXML
     public void handleFunction(ActionEvent event) {
+        if (background.isBusy()) {
+            return;
+        }
         String func = ((Button) event.getSource()).getText();
         
         // Sonuc gosterildikten sonra fonksiyon yazilirsa sifirdan basla
@@ -247,6 +399,13 @@ public class CalculatorController {
 
     @FXML
     public void handleCopy(ActionEvent event) {
+        if (background.isBusy()) {
+            return;
+        }
+        // Onceki geri bildirim suruyorsa etiketi gercek sonuca dondur;
+        // aksi halde "Kopyalandi!" metni panoya kopyalanirdi
+        copyFeedback.flush();
+
         String result = resultLabel.getText();
         if (result != null && !result.equals("0") && !result.equals("Hata")) {
             Clipboard clipboard = Clipboard.getSystemClipboard();
@@ -254,17 +413,13 @@ public class CalculatorController {
             content.putString(result);
             clipboard.setContent(content);
             
-            // Kısa bir geri bildirim (opsiyonel)
-            String original = result;
-            resultLabel.setText("Kopyalandı!");
-            new Thread(() -> {
-                try {
-                    Thread.sleep(800);
-                    javafx.application.Platform.runLater(() -> resultLabel.setText(original));
-                } catch (InterruptedException e) {
-                    // Ignore
+            // Kısa bir geri bildirim; arada etiket degistiyse (yeni giris) geri yazilmaz
+            resultLabel.setText(COPIED_TEXT);
+            copyFeedback.schedule(COPY_FEEDBACK_DELAY, () -> {
+                if (COPIED_TEXT.equals(resultLabel.getText())) {
+                    resultLabel.setText(result);
                 }
-            }).start();
+            });
         }
     }
 
@@ -291,6 +446,20 @@ public class CalculatorController {
     // ====================================================
 
     private void handleKeyPress(KeyEvent event) {
+        // Grafik giris alanina yazilan tuslar hesap makinesine gitmesin
+        if (event.getTarget() instanceof TextInputControl) {
+            return;
+        }
+
+        // Hesaplama surerken yalnizca Esc (iptal) kabul edilir
+        if (background.isBusy()) {
+            if (event.getCode() == KeyCode.ESCAPE) {
+                background.cancel();
+            }
+            event.consume();
+            return;
+        }
+
         // Ctrl+C: Sonucu kopyala
         if (event.isControlDown() && event.getCode().toString().equals("C")) {
             handleCopy(null);
@@ -365,6 +534,7 @@ public class CalculatorController {
                     if (currentExpression.length() == 0) {
                         resultLabel.setText("0");
                         expressionLabel.setText("");
+                        cancelPreview();
                     } else {
                         updateDisplay();
                     }
@@ -375,6 +545,7 @@ public class CalculatorController {
                 currentExpression.setLength(0);
                 expressionLabel.setText("");
                 resultLabel.setText("0");
+                cancelPreview();
                 lastResultShown = false;
                 break;
             default:
@@ -392,20 +563,37 @@ public class CalculatorController {
     // ====================================================
 
     private void evaluateExpression() {
-        if (currentExpression.length() == 0)
+        if (currentExpression.length() == 0 || background.isBusy())
             return;
 
         // Önceki hata mesajını temizle
         hideError();
+        cancelPreview();
 
-        String expr = currentExpression.toString();
-        try {
-            double result = evaluator.evaluate(expr);
-            String formatted = formatResult(result);
+        // Ifade ve gecmis yalnizca sonuc geldiginde (FX thread'inde) guncellenir
+        background.submit(currentExpression.toString(), mode);
+    }
 
+    /**
+     * Arka plandaki hesaplamanin sonuclarini FX thread'inde uygular.
+     * Iptal edilen veya zaman asimina ugrayan hesaplama gecmise yazilmaz;
+     * ifade oldugu gibi kalir ve duzenlenip tekrar hesaplanabilir.
+     */
+    private final class EvaluationListener implements BackgroundEvaluator.Listener {
+
+        @Override
+        public void busy() {
+            expressionLabel.setText(mapInternalToDisplay(currentExpression.toString()) + " =");
+            resultLabel.setText("Hesaplanıyor… (Esc: iptal)");
+            resultLabel.getStyleClass().add(BUSY_STYLE);
+        }
+
+        @Override
+        public void completed(String expr, Number result, String formatted, long nanos) {
+            resultLabel.getStyleClass().remove(BUSY_STYLE);
             expressionLabel.setText(mapInternalToDisplay(expr) + " =");
             resultLabel.setText(formatted);
-            historyManager.addEntry(mapInternalToDisplay(expr), result);
+            historyManager.addEntry(mapInternalToDisplay(expr), result.doubleValue(), nanos);
             
             // Geçmişi otomatik güncelle
             updateHistory();
@@ -413,8 +601,20 @@ public class CalculatorController {
             currentExpression.setLength(0);
             currentExpression.append(formatted);
             lastResultShown = true;
+        }
+
+        @Override
+        public void failed(String expr, CalculatorException e, long nanos) {
+            resultLabel.getStyleClass().remove(BUSY_STYLE);
+            if (e.getErrorType() == CalculatorException.ErrorType.CANCELLED) {
+                // Ifade geri yuklenir; gecmis ve bellek degismez. Onizleme
+                // ayni uzun hesaplamayi tekrar baslatmasin diye istenmez.
+                expressionLabel.setText("");
+                resultLabel.setText(mapInternalToDisplay(expr));
+                showError(e.getMessage());
+                return;
+            }
 
-        } catch (CalculatorException e) {
             expressionLabel.setText(mapInternalToDisplay(expr));
             resultLabel.setText("Hata");
             
@@ -423,7 +623,7 @@ public class CalculatorController {
             
             historyManager.addErrorEntry(
                     mapInternalToDisplay(expr),
-                    e.getErrorType().getDescription());
+                    e.getErrorType(), nanos);
                     
             // Geçmişi otomatik güncelle
             updateHistory();
@@ -442,19 +642,14 @@ public class CalculatorController {
             errorLabel.setVisible(true);
             errorLabel.setManaged(true);
             
-            // 5 saniye sonra otomatik olarak gizle
-            new Thread(() -> {
-                try {
-                    Thread.sleep(5000);
-                    javafx.application.Platform.runLater(this::hideError);
-                } catch (InterruptedException e) {
-                    // Ignore
-                }
-            }).start();
+            // 5 saniye sonra otomatik olarak gizle; ard arda gelen
+            // hatalarda sure yeni mesajdan itibaren baslar
+            errorHide.schedule(ERROR_HIDE_DELAY, this::hideError);
         }
     }
 
     private void hideError() {
+        errorHide.cancel();
         if (errorLabel != null) {
             errorLabel.setVisible(false);
             errorLabel.setManaged(false);
@@ -472,8 +667,20 @@ public class CalculatorController {
     }
 
     private void updateDisplay() {
-        String display = mapInternalToDisplay(currentExpression.toString());
+        String expression = currentExpression.toString();
+        String display = mapInternalToDisplay(expression);
         resultLabel.setText(display.isEmpty() ? "0" : display);
+
+        // Sonuc gosterilirken onizleme gereksiz
+        if (preview != null && !lastResultShown) {
+            preview.request(expression, mode);
+        }
+    }
+
+    private void cancelPreview() {
+        if (preview != null) {
+            preview.cancel();
+        }
     }
 
     private String mapDisplayToInternal(String value) {
@@ -493,6 +700,17 @@ public class CalculatorController {
         return s.length() == 1 && (Character.isDigit(s.charAt(0)) || s.charAt(0) == '.');
     }
 
+    private String formatResult(Number result) {
+        if (result instanceof BigDecimal) {
+            return PreciseCalculator.format((BigDecimal) result);
+        }
+        // Kesirli sonuç "pay/payda" olarak yazılır; ifadeye eklendiğinde yine bölme olarak okunur
+        if (result instanceof Rational) {
+            return result.toString();
+        }
+        return formatResult(result.doubleValue());
+    }
+
     private String formatResult(double result) {
         if (result == (long) result && !Double.isInfinite(result)) {
             return String.valueOf((long) result);
@@ -1,5 +1,8 @@
 package calculator;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
 /**
  * Hesap makinesi işlemleri sırasında oluşabilecek hataları yönetmek için
  * tasarlanmış özel exception sınıfı.
@@ -9,32 +12,93 @@ package calculator;
  *  - Geçersiz karakter girişi
  *  - Eksik veya fazla parantez
  *  - Geçersiz matematiksel ifade
+ *  - Kullanıcının iptal ettiği veya zaman aşımına uğrayan hesaplama
+ * 
+ * Performans:
+ * Mesaj ilk getMessage() çağrısında oluşturulur. Public kurucular yığın
+ * izini (stack trace) toplar; hesaplama motorunun iç hataları (formatted,
+ * cancelled) toplamaz, çünkü toplu işlerde hatalı girdilerin maliyetinin
+ * büyük kısmı yığın izini doldurmaktan gelir. Exception hiç oluşturmak
+ * istemeyen çağıranlar için bkz. ExpressionEvaluator.evaluateOrError ve
+ * EvaluationOutcome.
  * 
  * @author Yusuf
  */
 public class CalculatorException extends Exception {
 
-    /** Hata türlerini tanımlayan enum */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Hata türlerini tanımlayan enum.
+     *
+     * Her türün sabit bir kodu vardır; geçmiş dosyası (HistoryLog) türü bu
+     * kodla saklar. Sıra (ordinal) yerine kod kullanıldığı için türler yeniden
+     * sıralanabilir; yeni türe kullanılmamış bir kod verilmeli, var olan
+     * kodlar değiştirilmemelidir.
+     */
     public enum ErrorType {
-        DIVISION_BY_ZERO("Sıfıra bölme hatası"),
-        INVALID_CHARACTER("Geçersiz karakter"),
-        MISMATCHED_PARENTHESES("Eşleşmeyen parantez"),
-        INVALID_EXPRESSION("Geçersiz matematiksel ifade"),
-        EMPTY_EXPRESSION("Boş ifade");
+        DIVISION_BY_ZERO(0, "Sıfıra bölme hatası"),
+        INVALID_CHARACTER(1, "Geçersiz karakter"),
+        MISMATCHED_PARENTHESES(2, "Eşleşmeyen parantez"),
+        INVALID_EXPRESSION(3, "Geçersiz matematiksel ifade"),
+        EMPTY_EXPRESSION(4, "Boş ifade"),
+        CANCELLED(5, "İptal edildi");
+
+        /** BY_CODE[kod] = tür; kullanılmayan kodlar null */
+        private static final ErrorType[] BY_CODE = new ErrorType[Byte.MAX_VALUE + 1];
+
+        static {
+            for (ErrorType type : values()) {
+                if (BY_CODE[type.code] != null) {
+                    throw new ExceptionInInitializerError("Aynı hata kodu iki kez kullanıldı: " + type.code);
+                }
+                BY_CODE[type.code] = type;
+            }
+        }
 
+        private final byte code;
         private final String description;
 
-        ErrorType(String description) {
+        ErrorType(int code, String description) {
+            this.code = (byte) code;
             this.description = description;
         }
 
         public String getDescription() {
             return description;
         }
+
+        /** Kalıcı kayıtlarda kullanılan sabit kod (0 - 127) */
+        byte getCode() {
+            return code;
+        }
+
+        /**
+         * @param code getCode() ile alınmış kod
+         * @return Koda ait tür; kod bilinmiyorsa (örn: daha yeni bir sürümde yazılmış) null
+         */
+        static ErrorType fromCode(byte code) {
+            return code >= 0 ? BY_CODE[code] : null;
+        }
     }
 
+    static final String CANCELLED_MESSAGE = "Hesaplama iptal edildi.";
+
     private final ErrorType errorType;
 
+    /** Hatanın ifadedeki konumu (0 tabanlı); bilinmiyorsa -1 */
+    private final int position;
+
+    /** Ham mesaj veya String.format kalıbı */
+    private final String detailFormat;
+
+    /** Kalıbın argümanları; mesaj hazırsa null. Serileştirilmez (bkz. writeObject) */
+    private final transient Object[] detailArgs;
+
+    /** İlk istendiğinde oluşturulan mesajlar */
+    private String detail;
+    private String message;
+
     /**
      * Belirli bir hata türü ve mesaj ile CalculatorException oluşturur.
      *
@@ -42,8 +106,19 @@ public class CalculatorException extends Exception {
      * @param message   Detaylı hata mesajı
      */
     public CalculatorException(ErrorType errorType, String message) {
-        super(String.format("[%s] %s: %s", errorType.name(), errorType.getDescription(), message));
-        this.errorType = errorType;
+        this(errorType, -1, message, null, null, true);
+    }
+
+    /**
+     * Belirli bir hata türü, mesaj ve ifadedeki konum ile CalculatorException oluşturur.
+     * Mesajın başına kullanıcıya gösterilmek üzere 1 tabanlı "Pozisyon N" eklenir.
+     *
+     * @param errorType Hata türü
+     * @param message   Detaylı hata mesajı
+     * @param position  Hatanın ifadedeki konumu (0 tabanlı)
+     */
+    public CalculatorException(ErrorType errorType, String message, int position) {
+        this(errorType, position, message, null, null, true);
     }
 
     /**
@@ -54,8 +129,75 @@ public class CalculatorException extends Exception {
      * @param cause     Bu hataya sebep olan orijinal exception
      */
     public CalculatorException(ErrorType errorType, String message, Throwable cause) {
-        super(String.format("[%s] %s: %s", errorType.name(), errorType.getDescription(), message), cause);
+        this(errorType, -1, message, null, cause, true);
+    }
+
+    /**
+     * Tüm kurucuların ortak gövdesi.
+     *
+     * @param stackTrace Yığın izi toplansın mı; hesaplama motorunun iç
+     *                   hatalarında false
+     */
+    private CalculatorException(ErrorType errorType, int position, String detailFormat,
+            Object[] detailArgs, Throwable cause, boolean stackTrace) {
+        super(null, cause, true, stackTrace);
         this.errorType = errorType;
+        this.position = position;
+        this.detailFormat = detailFormat;
+        this.detailArgs = detailArgs;
+    }
+
+    /**
+     * Mesajı String.format kalıbından ilk istendiğinde oluşturan bir
+     * CalculatorException üretir. Hatanın sadece türüne bakan çağıranlar
+     * (örn: toplu işler) biçimlendirme maliyeti ödemez. Argüman verilmezse
+     * kalıp olduğu gibi mesaj olarak kullanılır. Ayrıştırıcının ve
+     * hesaplama motorunun sık yolunda kullanıldığı için yığın izi toplanmaz.
+     *
+     * @param errorType Hata türü
+     * @param position  Hatanın ifadedeki konumu (0 tabanlı); bilinmiyorsa -1
+     * @param format    Mesaj kalıbı
+     * @param args      Kalıbın argümanları
+     * @return Yeni exception
+     */
+    static CalculatorException formatted(ErrorType errorType, int position, String format, Object... args) {
+        return new CalculatorException(errorType, position, format, args.length == 0 ? null : args, null, false);
+    }
+
+    /**
+     * Hesaplamayı yürüten thread kesildiğinde (interrupt) uzun döngülerin
+     * fırlattığı hata. Kesilen hesaplamanın sonucu zaten kullanılmaz; mesaj
+     * yalnızca hata yine de gösterilirse anlamlı olsun diye vardır.
+     *
+     * @return Yeni exception
+     */
+    static CalculatorException cancelled() {
+        return new CalculatorException(ErrorType.CANCELLED, -1, CANCELLED_MESSAGE, null, null, false);
+    }
+
+    /**
+     * Kullanıcıya gösterilen mesajı oluşturur.
+     * Örn: "[DIVISION_BY_ZERO] Sıfıra bölme hatası: 1.00 / 0 işlemi tanımsızdır."
+     *
+     * @param errorType Hata türü
+     * @param position  0 tabanlı konum; bilinmiyorsa -1
+     * @param detail    Detaylı hata mesajı
+     * @return Biçimlendirilmiş mesaj
+     */
+    static String formatMessage(ErrorType errorType, int position, String detail) {
+        if (position >= 0) {
+            return String.format("[%s] %s: Pozisyon %d: %s",
+                    errorType.name(), errorType.getDescription(), position + 1, detail);
+        }
+        return String.format("[%s] %s: %s", errorType.name(), errorType.getDescription(), detail);
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = formatMessage(errorType, position, getDetail());
+        }
+        return message;
     }
 
     /**
@@ -66,4 +208,35 @@ public class CalculatorException extends Exception {
     public ErrorType getErrorType() {
         return errorType;
     }
+
+    /**
+     * Hatanın ifadedeki konumunu döndürür.
+     *
+     * @return 0 tabanlı konum; konum bilinmiyorsa -1
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Hata türü ve konum eklenmemiş ham mesajı döndürür.
+     * Hatayı başka bir bağlamla (örn: satır numarası) sarmak için kullanılır.
+     *
+     * @return Detaylı hata mesajı
+     */
+    public String getDetail() {
+        if (detail == null) {
+            detail = detailArgs == null ? detailFormat : String.format(detailFormat, detailArgs);
+        }
+        return detail;
+    }
+
+    /**
+     * Argümanlar serileştirilebilir olmayabilir; bu yüzden yazmadan önce
+     * mesaj oluşturulur ve argümanlar yerine o yazılır.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getDetail();
+        out.defaultWriteObject();
+    }
 }
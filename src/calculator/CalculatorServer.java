@@ -0,0 +1,450 @@
+package calculator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * İfadeleri ağ üzerinden hesaplayan yerel sunucu (daemon).
+ *
+ * Her servisin kendi ExpressionEvaluator'ını gömmesi yerine tek bir sunucu
+ * çalıştırılır. İki protokol desteklenir:
+ *
+ * 1. TCP satır protokolü (varsayılan port 9090):
+ *    Her satır bir ifadedir; her ifade için bir cevap satırı döner.
+ *    İstemci cevabı beklemeden birden fazla satır gönderebilir (pipelining);
+ *    cevaplar aynı sırayla gelir. Okunacak veri kalmadığında çıktı bir kez
+ *    flush edilir, böylece art arda gelen istekler toplu yazılır.
+ *
+ * 2. HTTP (varsayılan port 8080):
+ *    GET  /evaluate?expr=(5%2B3)*2  → tek ifade
+ *    POST /evaluate (gövdede her satırda bir ifade) → toplu istek; her satır
+ *    için bir cevap satırı döner. Toplu istekler evaluateAll ile paralel
+ *    hesaplanır.
+ *
+ * Cevap biçimi (her iki protokolde):
+ *    OK 16
+ *    ERR DIVISION_BY_ZERO [DIVISION_BY_ZERO] Sıfıra bölme hatası: ...
+ * ERR'den sonraki kelime CalculatorException.ErrorType adıdır.
+ *
+ * Sınırlar:
+ * Bir ifade (TCP satırı veya GET parametresi) en fazla MAX_LINE_LENGTH
+ * karakter, bir POST gövdesi en fazla MAX_BODY_BYTES bayt olabilir. Uzun
+ * satır bellekte biriktirilmeden atlanır ve yerine INVALID_EXPRESSION
+ * cevabı döner; büyük gövde 413 ile reddedilir. Böylece tek bir istemci
+ * sunucunun belleğini tüketemez.
+ *
+ * Her TCP bağlantısı ve her HTTP isteği ayrı bir sanal thread (virtual
+ * thread) üzerinde çalışır. Değerlendiricinin çalışma alanları sanal
+ * thread'lerde her istekte yeniden oluşturulmaz, ortak bir havuzdan ödünç
+ * alınır (bkz. ScratchPool). Sunucu yalnızca yerel adrese (loopback) bağlanır.
+ *
+ * Kullanım:
+ * java calculator.CalculatorServer [--http-port 8080] [--tcp-port 9090]
+ *
+ * @author Yusuf
+ */
+public class CalculatorServer {
+
+    // ── Varsayılanlar ────────────────────────────────────────
+    private static final int DEFAULT_HTTP_PORT = 8080;
+    private static final int DEFAULT_TCP_PORT = 9090;
+    private static final String EVALUATE_PATH = "/evaluate";
+    private static final String EXPRESSION_PARAMETER = "expr";
+    private static final String CONTENT_TYPE = "text/plain; charset=utf-8";
+
+    // ── Boyut sınırları ──────────────────────────────────────
+    /** Tek bir ifadenin en fazla karakter sayısı */
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+    /** POST gövdesinin en fazla bayt sayısı */
+    static final int MAX_BODY_BYTES = 4 * 1024 * 1024;
+    private static final String LINE_TOO_LONG_MESSAGE = "İfade en fazla %d karakter olabilir.";
+    private static final String BODY_TOO_LARGE_MESSAGE = "İstek gövdesi en fazla %d bayt olabilir.";
+
+    // ── HTTP durum kodları ───────────────────────────────────
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_UNPROCESSABLE = 422;
+    private static final int HTTP_PAYLOAD_TOO_LARGE = 413;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_METHOD_NOT_ALLOWED = 405;
+
+    private final InetSocketAddress httpAddress;
+    private final InetSocketAddress tcpAddress;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Tüm bağlantıların paylaştığı (thread-safe) değerlendirici */
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    private HttpServer httpServer;
+    private ServerSocket tcpServer;
+
+    /**
+     * Loopback adresinde verilen portları dinleyecek sunucu oluşturur.
+     *
+     * @param httpPort HTTP portu
+     * @param tcpPort  TCP satır protokolü portu
+     */
+    public CalculatorServer(int httpPort, int tcpPort) {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        this.httpAddress = new InetSocketAddress(loopback, httpPort);
+        this.tcpAddress = new InetSocketAddress(loopback, tcpPort);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int httpPort = DEFAULT_HTTP_PORT;
+        int tcpPort = DEFAULT_TCP_PORT;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--http-port")) {
+                httpPort = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--tcp-port")) {
+                tcpPort = Integer.parseInt(args[i + 1]);
+            }
+        }
+
+        CalculatorServer server = new CalculatorServer(httpPort, tcpPort);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+
+        System.out.printf("  🌐  HTTP: http://%s:%d%s?%s=...%n",
+                server.httpAddress.getHostString(), server.getHttpPort(), EVALUATE_PATH, EXPRESSION_PARAMETER);
+        System.out.printf("  🔌  TCP : %s:%d (her satırda bir ifade)%n",
+                server.tcpAddress.getHostString(), server.getTcpPort());
+    }
+
+    /**
+     * HTTP ve TCP dinleyicilerini başlatır. Metot hemen döner.
+     *
+     * @throws IOException Portlardan biri açılamazsa
+     */
+    public void start() throws IOException {
+        httpServer = HttpServer.create(httpAddress, 0);
+        httpServer.createContext(EVALUATE_PATH, this::handleHttp);
+        httpServer.setExecutor(executor);
+        httpServer.start();
+
+        tcpServer = new ServerSocket();
+        tcpServer.bind(tcpAddress);
+        Thread.ofPlatform().name("calculator-tcp-accept").daemon(false).start(this::acceptLoop);
+    }
+
+    /**
+     * Dinleyicileri kapatır; açık bağlantılar kendi thread'lerinde sonlanır.
+     */
+    public void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        if (tcpServer != null) {
+            try {
+                tcpServer.close();
+            } catch (IOException ignored) {
+                // Kapatma sırasında oluşan hata önemsizdir
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    /** HTTP'nin dinlediği port (0 verildiyse sistemin atadığı port) */
+    public int getHttpPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /** TCP'nin dinlediği port (0 verildiyse sistemin atadığı port) */
+    public int getTcpPort() {
+        return tcpServer.getLocalPort();
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // TCP SATIR PROTOKOLÜ
+    // ══════════════════════════════════════════════════════════
+
+    private void acceptLoop() {
+        while (!tcpServer.isClosed()) {
+            try {
+                Socket socket = tcpServer.accept();
+                executor.execute(() -> serveConnection(socket));
+            } catch (IOException e) {
+                if (!tcpServer.isClosed()) {
+                    System.err.printf("  ❌  Bağlantı kabul edilemedi: %s%n", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tek bir TCP bağlantısını sanal thread üzerinde işler.
+     * Okuma tamponunda bekleyen istek kalmadığında cevaplar flush edilir.
+     */
+    private void serveConnection(Socket socket) {
+        StringBuilder expression = new StringBuilder(64);
+        StringBuilder line = new StringBuilder(64);
+        EvaluationOutcome outcome = new EvaluationOutcome();
+
+        try (socket;
+                LineReader in = new LineReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), MAX_LINE_LENGTH);
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+
+            int status;
+            while ((status = in.readLine(expression)) != LineReader.END) {
+                line.setLength(0);
+                if (status == LineReader.TOO_LONG) {
+                    line.append(limitError(LINE_TOO_LONG_MESSAGE, MAX_LINE_LENGTH));
+                } else {
+                    respond(evaluator, expression.toString(), outcome, line);
+                }
+                out.append(line).append('\n');
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // İstemci bağlantıyı kapattı; yapılacak bir şey yok
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // HTTP
+    // ══════════════════════════════════════════════════════════
+
+    private void handleHttp(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals(EVALUATE_PATH)) {
+                send(exchange, HTTP_NOT_FOUND, "Bulunamadı\n");
+                return;
+            }
+
+            String method = exchange.getRequestMethod();
+            if (method.equals("GET")) {
+                String expression = queryParameter(exchange.getRequestURI().getRawQuery(), EXPRESSION_PARAMETER);
+                StringBuilder body = new StringBuilder(64);
+                boolean success = false;
+                if (expression != null && expression.length() > MAX_LINE_LENGTH) {
+                    body.append(limitError(LINE_TOO_LONG_MESSAGE, MAX_LINE_LENGTH));
+                } else {
+                    success = respond(evaluator, expression == null ? "" : expression,
+                            new EvaluationOutcome(), body);
+                }
+                send(exchange, success ? HTTP_OK : HTTP_UNPROCESSABLE, body.append('\n').toString());
+            } else if (method.equals("POST")) {
+                byte[] body = readBody(exchange.getRequestBody(), MAX_BODY_BYTES);
+                if (body == null) {
+                    send(exchange, HTTP_PAYLOAD_TOO_LARGE, limitError(BODY_TOO_LARGE_MESSAGE, MAX_BODY_BYTES) + '\n');
+                } else {
+                    send(exchange, HTTP_OK, evaluateBatch(new ByteArrayInputStream(body)));
+                }
+            } else {
+                exchange.getResponseHeaders().set("Allow", "GET, POST");
+                send(exchange, HTTP_METHOD_NOT_ALLOWED, "Sadece GET ve POST desteklenir\n");
+            }
+        }
+    }
+
+    /**
+     * POST gövdesindeki her satırı hesaplar; cevaplar aynı sırayla döner.
+     */
+    private String evaluateBatch(InputStream body) throws IOException {
+        List<String> expressions = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                expressions.add(line);
+            }
+        }
+
+        List<EvaluationResult> results = evaluator.evaluateAll(expressions);
+        StringBuilder response = new StringBuilder(results.size() * 16);
+        for (EvaluationResult result : results) {
+            if (result.isSuccess()) {
+                response.append("OK ").append(formatResult(result.getValue()));
+            } else {
+                response.append("ERR ").append(result.getErrorType().name()).append(' ')
+                        .append(result.getErrorMessage());
+            }
+            response.append('\n');
+        }
+        return response.toString();
+    }
+
+    /**
+     * Gövdeyi en fazla limit bayta kadar okur.
+     *
+     * @return Gövde; sınırı aşıyorsa null (kalan kısım okunmaz)
+     */
+    private static byte[] readBody(InputStream body, int limit) throws IOException {
+        try (body) {
+            byte[] bytes = body.readNBytes(limit + 1);
+            return bytes.length > limit ? null : bytes;
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String queryParameter(String rawQuery, String name) {
+        if (rawQuery == null) {
+            return null;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0 && pair.substring(0, equals).equals(name)) {
+                return URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Tek bir ifadeyi hesaplar ve cevap satırını (satır sonu olmadan) yazar.
+     *
+     * @return Hesaplama başarılıysa true
+     */
+    private static boolean respond(ExpressionEvaluator evaluator, String expression,
+            EvaluationOutcome outcome, StringBuilder out) {
+        double result = evaluator.evaluateOrError(expression.trim(), outcome);
+        if (outcome.isSuccess()) {
+            out.append("OK ").append(formatResult(result));
+            return true;
+        }
+        out.append("ERR ").append(outcome.getErrorType().name()).append(' ').append(outcome.getMessage());
+        return false;
+    }
+
+    /** Boyut sınırı aşıldığında dönen cevap satırı (satır sonu olmadan) */
+    private static String limitError(String format, int limit) {
+        CalculatorException error = CalculatorException.formatted(
+                CalculatorException.ErrorType.INVALID_EXPRESSION, -1, format, limit);
+        return "ERR " + error.getErrorType().name() + ' ' + error.getMessage();
+    }
+
+    /**
+     * Sonucu düzgün formatlar (tam sayı ise ondalık göstermez).
+     */
+    private static String formatResult(double result) {
+        if (result == (long) result) {
+            return String.valueOf((long) result);
+        }
+        return String.valueOf(result);
+    }
+
+    /**
+     * Satır uzunluğunu sınırlayan satır okuyucu.
+     *
+     * BufferedReader.readLine satır bitene kadar her şeyi belleğe alır; satır
+     * sonu göndermeyen bir istemci belleği tüketebilir. Bu okuyucu sınırı
+     * aşan satırın kalanını biriktirmeden atlar. Satır sonu "\n" veya
+     * "\r\n"dir.
+     */
+    private static final class LineReader implements AutoCloseable {
+
+        static final int END = -1;
+        static final int LINE = 0;
+        static final int TOO_LONG = 1;
+
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Sıradaki satırı (satır sonu olmadan) line'a yazar.
+         *
+         * @return LINE, sınır aşıldıysa TOO_LONG (line boş kalır), akış bittiyse END
+         */
+        int readLine(StringBuilder line) throws IOException {
+            line.setLength(0);
+            boolean read = false;
+            boolean tooLong = false;
+
+            while (true) {
+                if (position == limit) {
+                    int count = in.read(buffer, 0, buffer.length);
+                    if (count <= 0) {
+                        // Son satır satır sonu olmadan bitebilir
+                        return read ? finish(line, tooLong) : END;
+                    }
+                    position = 0;
+                    limit = count;
+                }
+                read = true;
+
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                if (!tooLong) {
+                    // Sonda gelebilecek '\r' için bir karakter pay bırakılır
+                    if (line.length() + (position - start) > maxLength + 1) {
+                        tooLong = true;
+                        line.setLength(0);
+                    } else {
+                        line.append(buffer, start, position - start);
+                    }
+                }
+                if (position < limit) {
+                    position++; // '\n'
+                    if (!tooLong && line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                        line.setLength(line.length() - 1);
+                    }
+                    return finish(line, tooLong);
+                }
+            }
+        }
+
+        private int finish(StringBuilder line, boolean tooLong) {
+            if (tooLong || line.length() > maxLength) {
+                line.setLength(0);
+                return TOO_LONG;
+            }
+            return LINE;
+        }
+
+        /** Beklemeden okunabilecek veri varsa true */
+        boolean ready() throws IOException {
+            return position < limit || in.ready();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package calculator;
+
+/**
+ * Sütun bazlı hesaplamada (CompiledExpression.evaluateColumns) bir satırın
+ * hata vermesi durumunda fırlatılan exception.
+ *
+ * Hata türü, satırın tek başına hesaplanmasında oluşacak hatayla aynıdır;
+ * ek olarak hatalı satırın indeksini taşır.
+ *
+ * @author Yusuf
+ */
+public class ColumnEvaluationException extends CalculatorException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Hata veren satırın indeksi (0 tabanlı) */
+    private final int row;
+
+    /**
+     * Bir satırdaki hatayı satır numarasıyla sarar.
+     *
+     * @param row   Hata veren satır (0 tabanlı)
+     * @param cause Satırın hesaplanmasında oluşan hata
+     */
+    public ColumnEvaluationException(int row, CalculatorException cause) {
+        super(cause.getErrorType(), String.format("Satır %d: %s", row + 1, cause.getDetail()), cause);
+        this.row = row;
+    }
+
+    /**
+     * Hata veren satırın indeksini döndürür.
+     *
+     * @return 0 tabanlı satır indeksi
+     */
+    public int getRow() {
+        return row;
+    }
+}
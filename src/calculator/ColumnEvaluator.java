@@ -0,0 +1,99 @@
+package calculator;
+
+/**
+ * Derlenmiş bir programı sütunlar (her değişken için bir double[]) üzerinde
+ * satır satır çalıştıran sınıf.
+ *
+ * jdk.incubator.vector modülü yüklüyse iş VectorColumnKernel'e devredilir;
+ * satırlar SIMD şeritleri (lane) hâlinde bloklar olarak hesaplanır. Modül
+ * yoksa (örn: JVM --add-modules jdk.incubator.vector olmadan başlatıldıysa)
+ * aynı sonuçları veren skaler döngü kullanılır. VectorColumnKernel sınıfına
+ * yalnızca modül varken dokunulur; böylece modülün yokluğu
+ * NoClassDefFoundError'a yol açmaz.
+ *
+ * sum, prod, integrate veya solve çağrısı (CALL) içeren programlar her
+ * zaman skaler döngüyle hesaplanır; çağrının gövdesi zaten kendi içinde
+ * çok sayıda hesaplama yapar.
+ *
+ * @author Yusuf
+ */
+final class ColumnEvaluator {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /** Vector API çalışma anında kullanılabilir mi */
+    private static final boolean VECTOR_AVAILABLE = detectVectorModule();
+
+    private ColumnEvaluator() {
+    }
+
+    /**
+     * Programı her satır için hesaplar.
+     *
+     * @param code        Komutlar
+     * @param constants   CONST komutlarının sabitleri
+     * @param calls       CALL komutlarının çağrıları
+     * @param maxStack    Programın yığın derinliği
+     * @param temporaries Geçici yuva sayısı
+     * @param columns     Değişken sütunları (yuva sırasıyla)
+     * @param results     Sonuçların yazılacağı dizi; uzunluğu satır sayısıdır
+     * @param calculator  Hesaplamada kullanılacak Calculator
+     * @throws ColumnEvaluationException Bir satır hata verirse (ilk hatalı satır)
+     */
+    static void evaluate(int[] code, double[] constants, RuntimeCall[] calls, int maxStack, int temporaries,
+            double[][] columns, double[] results, Calculator calculator) throws ColumnEvaluationException {
+        if (VECTOR_AVAILABLE && calls.length == 0) {
+            new VectorColumnKernel(code, constants, maxStack, temporaries, columns, calculator)
+                    .evaluate(results);
+        } else {
+            evaluateRows(code, constants, calls, maxStack, temporaries, columns, results, 0, results.length,
+                    calculator);
+        }
+    }
+
+    /**
+     * [from, to) aralığındaki satırları tek tek yorumlayıcıyla hesaplar.
+     * Vector yolu, hata içeren bir bloğu hatalı satırı ve hatanın kendisini
+     * bulmak için bu metoda devreder.
+     *
+     * @throws ColumnEvaluationException Aralıktaki ilk hatalı satırda
+     */
+    static void evaluateRows(int[] code, double[] constants, RuntimeCall[] calls, int maxStack, int temporaries,
+            double[][] columns, double[] results, int from, int to, Calculator calculator)
+            throws ColumnEvaluationException {
+        double[] bindings = new double[columns.length];
+        double[] stack = new double[maxStack + temporaries];
+
+        for (int row = from; row < to; row++) {
+            for (int slot = 0; slot < columns.length; slot++) {
+                bindings[slot] = columns[slot][row];
+            }
+            try {
+                results[row] = CompiledExpression.run(code, code.length, constants, calls, bindings, stack, calculator);
+            } catch (CalculatorException e) {
+                throw new ColumnEvaluationException(row, e);
+            }
+        }
+    }
+
+    /** Vector API'nin kullanılıp kullanılmadığını döndürür */
+    static boolean isVectorized() {
+        return VECTOR_AVAILABLE;
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private static boolean detectVectorModule() {
+        if (!ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            return false;
+        }
+        try {
+            Class.forName("calculator.VectorColumnKernel");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
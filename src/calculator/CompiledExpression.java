@@ -0,0 +1,581 @@
+package calculator;
+
+/**
+ * Bir kez ayrıştırılıp tekrar tekrar hesaplanabilen matematiksel ifade.
+ *
+ * ExpressionEvaluator.compile() tarafından üretilir. İfade metni yalnızca
+ * derleme sırasında taranır; parantez kontrolü ve shunting-yard adımları
+ * orada bir kez yapılır ve sonuç bir postfix (ters Lehçe) programa dönüştürülür.
+ *
+ * Program yapısı:
+ * - Her komut tek bir int'tir: alt 8 bit işlem kodu, üst bitler operand
+ * - CONST komutu sabitler tablosundaki bir değeri yığına koyar
+ * - VARIABLE komutu bağlama (binding) dizisindeki bir yuvayı yığına koyar
+ * - STORE_TEMP / LOAD_TEMP komutları ortak alt ifadelerin sonucunu geçici
+ *   bir yuvaya yazar ve oradan okur (bkz. ExpressionOptimizer)
+ * - CALL komutu sum, prod, integrate veya solve çağrısını hesaplar: sınırları
+ *   (veya tahmini) yığından alır, ayrı derlenmiş gövdeyi güncel değişken
+ *   değerleriyle çalıştırır ve sonucu yığına koyar (bkz. RuntimeCall)
+ * - Operatör ve fonksiyon komutları yığından operand çekip sonucu geri koyar
+ *
+ * evaluate() sadece aritmetiği yapar ve tüm işlemleri Calculator üzerinden
+ * yürütür; böylece sonuçlar ve hata türleri ExpressionEvaluator.evaluate()
+ * ile birebir aynıdır. evaluateOrError() aynı hesaplamayı exception
+ * fırlatmadan yapar; hata bir EvaluationOutcome nesnesine yazılır.
+ * derivative() ve solve() aynı program üzerinde otomatik türev ve kök
+ * bulma yapar.
+ *
+ * Değişkenler (x, rate, n ...) derleme anında sıra numarası verilmiş
+ * yuvalara (slot) bağlanır. Hesaplama sırasında değerler aynı sırayla bir
+ * double[] dizisi olarak verilir; isim araması veya String işlemi yapılmaz.
+ *
+ * Sınıf değiştirilemezdir (immutable).
+ *
+ * Örnek:
+ * CompiledExpression expr = evaluator.compile("(5 + 3) * 2 / 4");
+ * expr.evaluate(); → 4.0
+ *
+ * CompiledExpression f = evaluator.compile("x ^ 2 + rate", "x", "rate");
+ * f.evaluate(3, 0.5); → 9.5
+ *
+ * @author Yusuf
+ */
+public final class CompiledExpression {
+
+    // ── İşlem kodları ────────────────────────────────────────
+    static final int CONST = 0;
+    static final int ADD = 1;
+    static final int SUBTRACT = 2;
+    static final int MULTIPLY = 3;
+    static final int DIVIDE = 4;
+    static final int MODULO = 5;
+    static final int POWER = 6;
+    static final int SIN = 7;
+    static final int COS = 8;
+    static final int TAN = 9;
+    static final int SQRT = 10;
+    static final int LN = 11;
+    static final int LOG = 12;
+    static final int ABS = 13;
+    static final int FACTORIAL = 14;
+    static final int VARIABLE = 15;
+    static final int STORE_TEMP = 16;
+    static final int LOAD_TEMP = 17;
+    static final int CALL = 18;
+
+    /** Komutun işlem kodunu ayıran maske */
+    static final int OPCODE_MASK = 0xFF;
+
+    /** Operandın komut içindeki bit kayması */
+    static final int OPERAND_SHIFT = 8;
+
+    /** Derlenmiş program (postfix sırada) */
+    private final int[] code;
+
+    /** CONST komutlarının başvurduğu sabitler */
+    private final double[] constants;
+
+    /** CALL komutlarının başvurduğu çağrılar */
+    private final RuntimeCall[] calls;
+
+    /** Program çalışırken yığının ulaşabileceği en büyük derinlik */
+    private final int maxStack;
+
+    /** Ortak alt ifadeler için kullanılan geçici yuva sayısı */
+    private final int temporaries;
+
+    /** İfadenin derlendiği orijinal metin */
+    private final String source;
+
+    /** Yuva sırasına göre değişken isimleri */
+    private final String[] variables;
+
+    /** Hesaplamalar için kullanılan Calculator nesnesi */
+    private final Calculator calculator;
+
+    /** Değişken içermeyen ifadeler için boş bağlama dizisi */
+    private static final double[] NO_BINDINGS = new double[0];
+
+    /**
+     * Thread başına (sanal thread'lerde havuzdan) tekrar kullanılan çalışma
+     * yığını. evaluate() her çağrıda yeni dizi oluşturmaz; nesne paylaşılabilir kalır.
+     */
+    private static final ScratchPool<Stack> STACKS = new ScratchPool<>(Stack::new);
+
+    /** Çalışma yığını; gerektiğinde büyütülen dizi yerinde değiştirilir */
+    private static final class Stack {
+        double[] values = new double[32];
+
+        /**
+         * Yığın bu thread'de bir hesaplama tarafından kullanılıyorsa true.
+         * sum / integrate gövdesi aynı thread'de iç içe hesaplanırken dıştaki
+         * hesaplamanın yığınına dokunulmaz.
+         */
+        boolean busy;
+    }
+
+    CompiledExpression(int[] code, double[] constants, RuntimeCall[] calls, int maxStack, int temporaries,
+            String source, String[] variables, Calculator calculator) {
+        this.code = code;
+        this.constants = constants;
+        this.calls = calls;
+        this.maxStack = maxStack;
+        this.temporaries = temporaries;
+        this.source = source;
+        this.variables = variables;
+        this.calculator = calculator;
+    }
+
+    /**
+     * Değişken içermeyen derlenmiş ifadeyi hesaplar.
+     *
+     * @return Hesaplama sonucu
+     * @throws CalculatorException Sıfıra bölme veya tanım dışı işlem durumunda
+     */
+    public double evaluate() throws CalculatorException {
+        return evaluate(NO_BINDINGS);
+    }
+
+    /**
+     * Derlenmiş ifadeyi verilen değişken değerleriyle hesaplar.
+     *
+     * @param bindings Değişken değerleri (compile() çağrısındaki isim sırasıyla)
+     * @return Hesaplama sonucu
+     * @throws CalculatorException Eksik değişken değeri, sıfıra bölme veya tanım dışı işlem durumunda
+     */
+    public double evaluate(double... bindings) throws CalculatorException {
+        if (bindings.length < variables.length) {
+            throw new CalculatorException(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    String.format("%d değişken bekleniyordu, %d değer verildi.",
+                            variables.length, bindings.length));
+        }
+
+        Stack stack = STACKS.acquire();
+        if (stack.busy) {
+            return run(code, code.length, constants, calls, bindings, new double[maxStack + temporaries], calculator);
+        }
+        stack.busy = true;
+        try {
+            if (stack.values.length < maxStack + temporaries) {
+                stack.values = new double[maxStack + temporaries];
+            }
+            return run(code, code.length, constants, calls, bindings, stack.values, calculator);
+        } finally {
+            stack.busy = false;
+            STACKS.release(stack);
+        }
+    }
+
+    /**
+     * Derlenmiş ifadeyi exception fırlatmadan hesaplar.
+     *
+     * Hesaplama hatasında (sıfıra bölme, tanım dışı işlem) exception
+     * oluşturulmaz; hata türü outcome'a yazılır ve mesaj yalnızca
+     * okunduğunda biçimlendirilir. Aynı outcome nesnesi tekrar tekrar
+     * kullanılabilir; başarılı bir hesaplama hiçbir nesne oluşturmaz.
+     *
+     * @param outcome  Sonucun veya hatanın yazılacağı nesne
+     * @param bindings Değişken değerleri (compile() çağrısındaki isim sırasıyla)
+     * @return Hesaplama sonucu; hata durumunda NaN
+     */
+    public double evaluateOrError(EvaluationOutcome outcome, double... bindings) {
+        if (bindings.length < variables.length) {
+            return outcome.fail(CalculatorException.formatted(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION, -1,
+                    "%d değişken bekleniyordu, %d değer verildi.", variables.length, bindings.length));
+        }
+
+        Stack stack = STACKS.acquire();
+        if (stack.busy) {
+            return runOrError(code, code.length, constants, calls, bindings,
+                    new double[maxStack + temporaries], calculator, outcome);
+        }
+        stack.busy = true;
+        try {
+            if (stack.values.length < maxStack + temporaries) {
+                stack.values = new double[maxStack + temporaries];
+            }
+            return runOrError(code, code.length, constants, calls, bindings, stack.values, calculator, outcome);
+        } finally {
+            stack.busy = false;
+            STACKS.release(stack);
+        }
+    }
+
+    /**
+     * Postfix programı verilen yığın üzerinde çalıştırır.
+     * Yığın çağıran tarafından sağlanır; böylece hesaplama sırasında
+     * hiçbir nesne oluşturulmaz. Geçici yuvalar yığın dizisinin sonundan
+     * geriye doğru yerleşir (yuva i → stack[stack.length - 1 - i]).
+     *
+     * @param code       Komutlar
+     * @param length     Geçerli komut sayısı
+     * @param constants  CONST komutlarının sabitleri
+     * @param calls      CALL komutlarının çağrıları
+     * @param bindings   Değişken değerleri
+     * @param stack      En az yığın derinliği + geçici yuva sayısı kadar yer içeren çalışma yığını
+     * @param calculator Hesaplamada kullanılacak Calculator
+     * @return Hesaplama sonucu
+     * @throws CalculatorException Sıfıra bölme veya tanım dışı işlem durumunda
+     */
+    static double run(int[] code, int length, double[] constants, RuntimeCall[] calls, double[] bindings,
+            double[] stack, Calculator calculator) throws CalculatorException {
+        return execute(code, length, constants, calls, bindings, stack, calculator, null);
+    }
+
+    /**
+     * run() ile aynıdır; ancak hesaplama hatasında exception fırlatmaz.
+     * Sıfıra bölme ve tanım aralığı kontrolleri işlemden önce yapılır; hata
+     * türü ve mesaj kalıbı outcome'a yazılır ve NaN döner.
+     *
+     * @param outcome Sonucun veya hatanın yazılacağı nesne
+     * @return Hesaplama sonucu; hata durumunda NaN
+     */
+    static double runOrError(int[] code, int length, double[] constants, RuntimeCall[] calls,
+            double[] bindings, double[] stack, Calculator calculator, EvaluationOutcome outcome) {
+        try {
+            return execute(code, length, constants, calls, bindings, stack, calculator, outcome);
+        } catch (CalculatorException e) {
+            // Ön kontrollerden kaçan hata (örn: sum gövdesindeki bir hata)
+            return outcome.fail(e);
+        }
+    }
+
+    /**
+     * Komut döngüsü. outcome null ise hatalar Calculator'ın fırlattığı
+     * exception olarak yukarı çıkar; değilse Calculator'dan önce aynı
+     * koşullar kontrol edilir ve hata outcome'a kaydedilir.
+     */
+    private static double execute(int[] code, int length, double[] constants, RuntimeCall[] calls,
+            double[] bindings, double[] stack, Calculator calculator, EvaluationOutcome outcome)
+            throws CalculatorException {
+        int top = -1;
+
+        for (int pc = 0; pc < length; pc++) {
+            int instruction = code[pc];
+            int opcode = instruction & OPCODE_MASK;
+            switch (opcode) {
+                case CONST:
+                    stack[++top] = constants[instruction >>> OPERAND_SHIFT];
+                    break;
+                case VARIABLE:
+                    stack[++top] = bindings[instruction >>> OPERAND_SHIFT];
+                    break;
+                case STORE_TEMP:
+                    stack[stack.length - 1 - (instruction >>> OPERAND_SHIFT)] = stack[top];
+                    break;
+                case LOAD_TEMP:
+                    top++;
+                    stack[top] = stack[stack.length - 1 - (instruction >>> OPERAND_SHIFT)];
+                    break;
+                case ADD:
+                    top--;
+                    stack[top] = calculator.add(stack[top], stack[top + 1]);
+                    break;
+                case SUBTRACT:
+                    top--;
+                    stack[top] = calculator.subtract(stack[top], stack[top + 1]);
+                    break;
+                case MULTIPLY:
+                    top--;
+                    stack[top] = calculator.multiply(stack[top], stack[top + 1]);
+                    break;
+                case DIVIDE:
+                    top--;
+                    if (outcome != null && stack[top + 1] == 0) {
+                        return outcome.fail(CalculatorException.ErrorType.DIVISION_BY_ZERO,
+                                Calculator.DIVIDE_BY_ZERO_MESSAGE, stack[top]);
+                    }
+                    stack[top] = calculator.divide(stack[top], stack[top + 1]);
+                    break;
+                case MODULO:
+                    top--;
+                    if (outcome != null && stack[top + 1] == 0) {
+                        return outcome.fail(CalculatorException.ErrorType.DIVISION_BY_ZERO,
+                                Calculator.MODULO_BY_ZERO_MESSAGE, stack[top]);
+                    }
+                    stack[top] = calculator.modulo(stack[top], stack[top + 1]);
+                    break;
+                case POWER:
+                    top--;
+                    stack[top] = calculator.power(stack[top], stack[top + 1]);
+                    break;
+                case SIN:
+                    stack[top] = calculator.sin(stack[top]);
+                    break;
+                case COS:
+                    stack[top] = calculator.cos(stack[top]);
+                    break;
+                case TAN:
+                    stack[top] = calculator.tan(stack[top]);
+                    break;
+                case SQRT:
+                    if (outcome != null && stack[top] < 0) {
+                        return outcome.fail(CalculatorException.ErrorType.INVALID_EXPRESSION,
+                                Calculator.SQRT_NEGATIVE_MESSAGE, stack[top]);
+                    }
+                    stack[top] = calculator.sqrt(stack[top]);
+                    break;
+                case LN:
+                    if (outcome != null && stack[top] <= 0) {
+                        return outcome.fail(CalculatorException.ErrorType.INVALID_EXPRESSION,
+                                Calculator.LN_DOMAIN_MESSAGE, stack[top]);
+                    }
+                    stack[top] = calculator.ln(stack[top]);
+                    break;
+                case LOG:
+                    if (outcome != null && stack[top] <= 0) {
+                        return outcome.fail(CalculatorException.ErrorType.INVALID_EXPRESSION,
+                                Calculator.LOG_DOMAIN_MESSAGE, stack[top]);
+                    }
+                    stack[top] = calculator.log(stack[top]);
+                    break;
+                case ABS:
+                    stack[top] = calculator.abs(stack[top]);
+                    break;
+                case FACTORIAL:
+                    if (outcome != null) {
+                        String error = Calculator.factorialError(stack[top]);
+                        if (error != null) {
+                            return outcome.fail(CalculatorException.ErrorType.INVALID_EXPRESSION,
+                                    error, stack[top]);
+                        }
+                    }
+                    stack[top] = calculator.factorial(stack[top]);
+                    break;
+                case CALL:
+                    RuntimeCall call = calls[instruction >>> OPERAND_SHIFT];
+                    top -= call.arity() - 1;
+                    stack[top] = call.apply(stack, top, bindings);
+                    break;
+                default:
+                    throw new CalculatorException(
+                            CalculatorException.ErrorType.INVALID_EXPRESSION,
+                            String.format("Bilinmeyen işlem kodu: %d", opcode));
+            }
+        }
+
+        return outcome != null ? outcome.succeed(stack[top]) : stack[top];
+    }
+
+    /**
+     * İfadenin bir değişkene göre türevini verilen noktada hesaplar.
+     *
+     * Türev sayısal fark alınarak değil, ileri yönlü otomatik türevle (dual
+     * sayılar) hesaplanır; sonuç makine hassasiyetindedir (bkz. DerivativeEngine).
+     *
+     * Örnek:
+     * CompiledExpression f = evaluator.compile("x ^ 3 + rate * x", "x", "rate");
+     * f.derivative(0, 2, 0.5); → 12.5
+     *
+     * @param slot     Türevi alınacak değişkenin yuvası (compile() çağrısındaki sırası)
+     * @param bindings Değişken değerleri (compile() çağrısındaki isim sırasıyla)
+     * @return ∂f / ∂değişken
+     * @throws CalculatorException Geçersiz yuva, eksik değişken değeri veya tanım dışı işlem durumunda
+     */
+    public double derivative(int slot, double... bindings) throws CalculatorException {
+        checkSlot(slot, bindings);
+        double[] derivative = new double[1];
+        evaluateWithDerivative(slot, bindings, derivative);
+        return derivative[0];
+    }
+
+    /**
+     * İfadeyi hesaplar ve slot yuvasındaki değişkene göre türevini
+     * derivative[0]'a yazar. Yuva ve bağlama dizisi kontrol edilmez.
+     *
+     * @return İfadenin değeri
+     */
+    double evaluateWithDerivative(int slot, double[] bindings, double[] derivative) throws CalculatorException {
+        double[] tangents = new double[maxStack + temporaries];
+        double value = DerivativeEngine.run(code, code.length, constants, calls, bindings, slot,
+                new double[tangents.length], tangents, calculator);
+        derivative[0] = tangents[0];
+        return value;
+    }
+
+    /**
+     * İfadenin (iç içe çağrıların gövdeleri dahil) slot yuvasındaki
+     * değişkeni kullanıp kullanmadığını kontrol eder.
+     */
+    boolean dependsOn(int slot) {
+        for (int instruction : code) {
+            int operand = instruction >>> OPERAND_SHIFT;
+            switch (instruction & OPCODE_MASK) {
+                case VARIABLE:
+                    if (operand == slot) {
+                        return true;
+                    }
+                    break;
+                case CALL:
+                    if (calls[operand].body.dependsOn(slot)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * İfadeyi sıfır yapan değişken değerini (kökü) bulur; diğer değişkenler
+     * bindings'teki değerlerinde sabit tutulur.
+     *
+     * Başlangıç tahmininden Newton yöntemiyle başlanır; türevler otomatik
+     * türevle hesaplanır. Newton yakınsamazsa işaret değişimi olan bir aralık
+     * aranır ve Brent yöntemiyle daraltılır (bkz. RootSolver). İfade hiçbir
+     * adımda yeniden ayrıştırılmaz.
+     *
+     * Örnek:
+     * CompiledExpression f = evaluator.compile("x ^ 2 - a", "x", "a");
+     * f.solve(0, 1, 0, 2); → 1.4142135623730951
+     *
+     * @param slot     Çözülecek değişkenin yuvası (compile() çağrısındaki sırası)
+     * @param guess    Başlangıç tahmini
+     * @param bindings Değişken değerleri; slot yuvasındaki değer kullanılmaz
+     * @return f = 0 yapan değer
+     * @throws CalculatorException Geçersiz yuva, eksik değişken değeri veya kök bulunamaması durumunda
+     */
+    public double solve(int slot, double guess, double... bindings) throws CalculatorException {
+        checkSlot(slot, bindings);
+        return new RootSolver(code, code.length, constants, calls, maxStack + temporaries,
+                bindings.clone(), slot, calculator).solve(guess);
+    }
+
+    /**
+     * İfadeyi sütunlar hâlinde verilen çok sayıda satır için hesaplar.
+     *
+     * Her değişken için bir sütun (double[]) verilir; i. satırın değişken
+     * değerleri columns[0][i], columns[1][i] ... olur. jdk.incubator.vector
+     * modülü yüklüyse satırlar SIMD şeritleri hâlinde işlenir; değilse skaler
+     * bir döngü kullanılır. Her iki yolda da sonuçlar evaluate() ile aynıdır.
+     *
+     * Örnek:
+     * CompiledExpression f = evaluator.compile("x * rate + 1", "x", "rate");
+     * f.evaluateColumns(new double[][] {xs, rates}, results);
+     *
+     * @param columns Değişken sütunları (compile() çağrısındaki isim sırasıyla)
+     * @param results Sonuçların yazılacağı dizi; uzunluğu satır sayısıdır
+     * @throws CalculatorException Eksik sütun veya kısa sütun durumunda
+     * @throws ColumnEvaluationException Bir satır hata verirse; ilk hatalı satırın indeksini taşır
+     */
+    public void evaluateColumns(double[][] columns, double[] results) throws CalculatorException {
+        if (columns.length < variables.length) {
+            throw new CalculatorException(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    String.format("%d değişken sütunu bekleniyordu, %d sütun verildi.",
+                            variables.length, columns.length));
+        }
+        for (int slot = 0; slot < variables.length; slot++) {
+            if (columns[slot].length < results.length) {
+                throw new CalculatorException(
+                        CalculatorException.ErrorType.INVALID_EXPRESSION,
+                        String.format("'%s' sütununda %d satır bekleniyordu, %d değer verildi.",
+                                variables[slot], results.length, columns[slot].length));
+            }
+        }
+        ColumnEvaluator.evaluate(code, constants, calls, maxStack, temporaries, columns, results, calculator);
+    }
+
+    /**
+     * İfadeyi sütunlar hâlinde verilen satırlar için hesaplayıp sonuçları
+     * yeni bir dizide döndürür. Satır sayısı ilk sütunun uzunluğudur.
+     *
+     * @param columns Değişken sütunları (compile() çağrısındaki isim sırasıyla)
+     * @return Satır sırasıyla sonuçlar
+     * @throws CalculatorException Eksik sütun veya bir satırın hata vermesi durumunda
+     * @see #evaluateColumns(double[][], double[])
+     */
+    public double[] evaluateColumns(double[]... columns) throws CalculatorException {
+        if (columns.length == 0) {
+            throw new CalculatorException(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    "Satır sayısını belirlemek için en az bir sütun verilmelidir.");
+        }
+        double[] results = new double[columns[0].length];
+        evaluateColumns(columns, results);
+        return results;
+    }
+
+    /**
+     * İfadeyi, çalışma anında üretilen bir JVM sınıfına çevirir.
+     *
+     * Yorumlayıcıdaki komut döngüsü ve switch ortadan kalkar; JIT, üretilen
+     * applyAsDouble metodunu çağıran koda gömebilir. Aynı formül milyonlarca
+     * kez hesaplanacaksa tercih edilmelidir. Sınıf üretimi maliyetli olduğundan
+     * dönen nesne saklanıp tekrar kullanılmalıdır.
+     *
+     * Sıfıra bölme, tanım aralığı ve faktöriyel kontrolleri Calculator
+     * üzerinden yapılır; sonuçlar ve hata türleri evaluate() ile aynıdır.
+     *
+     * @return Bu ifadeyi hesaplayan CompiledFunction
+     * @throws IllegalStateException İfade tek bir JVM metoduna (64 KB) sığmayacak kadar uzunsa
+     */
+    public CompiledFunction toFunction() {
+        return BytecodeGenerator.generate(code, constants, calls, maxStack, temporaries, variables.length);
+    }
+
+    /**
+     * Kendi çalışma yığınına sahip, yorumlayıcıyla hesaplayan bir fonksiyon
+     * döndürür. Az sayıda terimli sum / prod gövdeleri için bytecode
+     * üretmekten ucuzdur. Dönen nesne tek bir thread tarafından kullanılmalıdır.
+     */
+    CompiledFunction interpreter() {
+        double[] stack = new double[maxStack + temporaries];
+        return vars -> run(code, code.length, constants, calls, vars, stack, calculator);
+    }
+
+    /**
+     * İfadenin derlendiği orijinal metni döndürür.
+     *
+     * @return Kaynak ifade
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Değişken isimlerini yuva sırasıyla döndürür.
+     *
+     * @return Değişken isimlerinin kopyası
+     */
+    public String[] getVariableNames() {
+        return variables.clone();
+    }
+
+    /**
+     * İfadenin beklediği değişken sayısını döndürür.
+     *
+     * @return Değişken sayısı
+     */
+    public int getVariableCount() {
+        return variables.length;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private void checkSlot(int slot, double[] bindings) throws CalculatorException {
+        if (slot < 0 || slot >= variables.length) {
+            throw new CalculatorException(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    String.format("Geçersiz değişken yuvası: %d (ifadede %d değişken var).",
+                            slot, variables.length));
+        }
+        if (bindings.length < variables.length) {
+            throw new CalculatorException(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    String.format("%d değişken bekleniyordu, %d değer verildi.",
+                            variables.length, bindings.length));
+        }
+    }
+}
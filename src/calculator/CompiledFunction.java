@@ -0,0 +1,27 @@
+package calculator;
+
+/**
+ * Derlenmiş bir ifadenin doğrudan çağrılabilir hâli.
+ *
+ * CompiledExpression.toFunction() tarafından üretilir. Uygulama, ifadeye özel
+ * üretilmiş bir JVM sınıfıdır; JIT derleyici çağrıyı tek bir metot gibi
+ * satır içine (inline) alabilir.
+ *
+ * Örnek:
+ * CompiledFunction f = evaluator.compile("x ^ 2 + 1", "x").toFunction();
+ * f.applyAsDouble(new double[] {3}); → 10.0
+ *
+ * @author Yusuf
+ */
+@FunctionalInterface
+public interface CompiledFunction {
+
+    /**
+     * İfadeyi verilen değişken değerleriyle hesaplar.
+     *
+     * @param vars Değişken değerleri (compile() çağrısındaki isim sırasıyla)
+     * @return Hesaplama sonucu
+     * @throws CalculatorException Eksik değişken değeri, sıfıra bölme veya tanım dışı işlem durumunda
+     */
+    double applyAsDouble(double[] vars) throws CalculatorException;
+}
@@ -0,0 +1,83 @@
+package calculator;
+
+/**
+ * Üretilmiş bytecode'un çağırdığı statik işlem metotları.
+ *
+ * BytecodeGenerator'ın ürettiği sınıflar, kontrol gerektiren işlemleri
+ * (sıfıra bölme, karekök/logaritma tanım aralığı, faktöriyel sınırları)
+ * kendileri yapmaz; buradaki metotlar üzerinden Calculator'a devreder.
+ * Böylece üretilen kod dallanma içermez ve hata türleri/mesajları
+ * yorumlayıcıyla birebir aynı kalır. Metotlar küçük olduğundan JIT
+ * tarafından çağrı yerine gömülür. sum, prod, integrate ve solve
+ * çağrıları da argümanlarıyla birlikte buradan RuntimeCall'a devredilir.
+ *
+ * @author Yusuf
+ */
+final class CompiledOps {
+
+    /** Hesaplamalar için kullanılan Calculator nesnesi (durumsuz) */
+    private static final Calculator CALCULATOR = new Calculator();
+
+    private CompiledOps() {
+    }
+
+    static void checkBindings(double[] vars, int count) throws CalculatorException {
+        if (vars.length < count) {
+            throw new CalculatorException(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    String.format("%d değişken bekleniyordu, %d değer verildi.", count, vars.length));
+        }
+    }
+
+    static double divide(double a, double b) throws CalculatorException {
+        return CALCULATOR.divide(a, b);
+    }
+
+    static double modulo(double a, double b) throws CalculatorException {
+        return CALCULATOR.modulo(a, b);
+    }
+
+    static double power(double base, double power) {
+        return CALCULATOR.power(base, power);
+    }
+
+    static double sin(double a) {
+        return CALCULATOR.sin(a);
+    }
+
+    static double cos(double a) {
+        return CALCULATOR.cos(a);
+    }
+
+    static double tan(double a) {
+        return CALCULATOR.tan(a);
+    }
+
+    static double sqrt(double a) throws CalculatorException {
+        return CALCULATOR.sqrt(a);
+    }
+
+    static double ln(double a) throws CalculatorException {
+        return CALCULATOR.ln(a);
+    }
+
+    static double log(double a) throws CalculatorException {
+        return CALCULATOR.log(a);
+    }
+
+    static double abs(double a) {
+        return CALCULATOR.abs(a);
+    }
+
+    static double factorial(double n) throws CalculatorException {
+        return CALCULATOR.factorial(n);
+    }
+
+    static double call(double a, RuntimeCall call, double[] vars) throws CalculatorException {
+        return call.apply(new double[] {a}, 0, vars);
+    }
+
+    static double call(double a, double b, RuntimeCall call, double[] vars) throws CalculatorException {
+        return call.apply(new double[] {a, b}, 0, vars);
+    }
+}
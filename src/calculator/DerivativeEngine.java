@@ -0,0 +1,199 @@
+package calculator;
+
+/**
+ * Derlenmiş programı ileri yönlü otomatik türevle (dual sayılar) çalıştırır.
+ *
+ * Yığındaki her değer bir (değer, türev) çiftidir: değerler values,
+ * türevler tangents dizisinde aynı indekste tutulur. Türevi alınan
+ * değişkenin türevi 1, diğer değişkenlerin ve sabitlerin türevi 0 ile
+ * başlar; her komut zincir kuralıyla türevi de taşır. Böylece f(x) ve
+ * f'(x) tek geçişte, sayısal fark almadan ve ifade yeniden ayrıştırılmadan
+ * makine hassasiyetinde hesaplanır.
+ *
+ * sum, prod, integrate ve solve çağrılarının türevi çağrının kendisi
+ * tarafından, gövdesinin türevinden hesaplanır (bkz. RuntimeCall.derivative).
+ *
+ * Değerler Calculator üzerinden hesaplanır; sonuçlar ve hata türleri
+ * CompiledExpression.evaluate ile aynıdır.
+ *
+ * Örnek: f(x) = x ^ 2 · sin(x), x = 1 → f = 0.8415, f' = 2.2232
+ *
+ * @author Yusuf
+ */
+final class DerivativeEngine {
+
+    private static final double LN_10 = Math.log(10);
+
+    private DerivativeEngine() {
+    }
+
+    /**
+     * Programı çalıştırır; f değerini döndürür, türevini tangents[0]'a yazar.
+     * Geçici yuvalar her iki dizinin de sonundan geriye doğru yerleşir
+     * (CompiledExpression.run ile aynı düzen); iki dizi aynı uzunlukta olmalıdır.
+     *
+     * @param code       Komutlar
+     * @param length     Geçerli komut sayısı
+     * @param constants  CONST komutlarının sabitleri
+     * @param calls      CALL komutlarının çağrıları
+     * @param bindings   Değişken değerleri
+     * @param slot       Türevi alınan değişkenin yuvası
+     * @param values     Değer yığını
+     * @param tangents   Türev yığını
+     * @param calculator Hesaplamada kullanılacak Calculator
+     * @return f değeri
+     * @throws CalculatorException Sıfıra bölme veya tanım dışı işlem durumunda
+     */
+    static double run(int[] code, int length, double[] constants, RuntimeCall[] calls, double[] bindings,
+            int slot, double[] values, double[] tangents, Calculator calculator) throws CalculatorException {
+        int top = -1;
+
+        for (int pc = 0; pc < length; pc++) {
+            int instruction = code[pc];
+            int operand = instruction >>> CompiledExpression.OPERAND_SHIFT;
+            double a;
+            double da;
+            double b;
+            double db;
+            switch (instruction & CompiledExpression.OPCODE_MASK) {
+                case CompiledExpression.CONST:
+                    top++;
+                    values[top] = constants[operand];
+                    tangents[top] = 0;
+                    break;
+                case CompiledExpression.VARIABLE:
+                    top++;
+                    values[top] = bindings[operand];
+                    tangents[top] = operand == slot ? 1 : 0;
+                    break;
+                case CompiledExpression.STORE_TEMP:
+                    values[values.length - 1 - operand] = values[top];
+                    tangents[tangents.length - 1 - operand] = tangents[top];
+                    break;
+                case CompiledExpression.LOAD_TEMP:
+                    top++;
+                    values[top] = values[values.length - 1 - operand];
+                    tangents[top] = tangents[tangents.length - 1 - operand];
+                    break;
+                case CompiledExpression.ADD:
+                    top--;
+                    values[top] = calculator.add(values[top], values[top + 1]);
+                    tangents[top] = tangents[top] + tangents[top + 1];
+                    break;
+                case CompiledExpression.SUBTRACT:
+                    top--;
+                    values[top] = calculator.subtract(values[top], values[top + 1]);
+                    tangents[top] = tangents[top] - tangents[top + 1];
+                    break;
+                case CompiledExpression.MULTIPLY:
+                    top--;
+                    a = values[top];
+                    b = values[top + 1];
+                    values[top] = calculator.multiply(a, b);
+                    tangents[top] = tangents[top] * b + a * tangents[top + 1];
+                    break;
+                case CompiledExpression.DIVIDE:
+                    top--;
+                    a = values[top];
+                    b = values[top + 1];
+                    values[top] = calculator.divide(a, b);
+                    tangents[top] = (tangents[top] - values[top] * tangents[top + 1]) / b;
+                    break;
+                case CompiledExpression.MODULO:
+                    top--;
+                    a = values[top];
+                    b = values[top + 1];
+                    db = tangents[top + 1];
+                    values[top] = calculator.modulo(a, b);
+                    // a % b = a - b · trunc(a / b); bölüm parçalı sabittir
+                    if (db != 0) {
+                        tangents[top] -= db * Math.rint((a - values[top]) / b);
+                    }
+                    break;
+                case CompiledExpression.POWER:
+                    top--;
+                    a = values[top];
+                    da = tangents[top];
+                    b = values[top + 1];
+                    db = tangents[top + 1];
+                    values[top] = calculator.power(a, b);
+                    tangents[top] = powerTangent(a, da, b, db, values[top]);
+                    break;
+                case CompiledExpression.SIN:
+                    a = values[top];
+                    values[top] = calculator.sin(a);
+                    tangents[top] *= Math.cos(a);
+                    break;
+                case CompiledExpression.COS:
+                    a = values[top];
+                    values[top] = calculator.cos(a);
+                    tangents[top] *= -Math.sin(a);
+                    break;
+                case CompiledExpression.TAN:
+                    values[top] = calculator.tan(values[top]);
+                    tangents[top] *= 1 + values[top] * values[top];
+                    break;
+                case CompiledExpression.SQRT:
+                    values[top] = calculator.sqrt(values[top]);
+                    tangents[top] /= 2 * values[top];
+                    break;
+                case CompiledExpression.LN:
+                    a = values[top];
+                    values[top] = calculator.ln(a);
+                    tangents[top] /= a;
+                    break;
+                case CompiledExpression.LOG:
+                    a = values[top];
+                    values[top] = calculator.log(a);
+                    tangents[top] /= a * LN_10;
+                    break;
+                case CompiledExpression.ABS:
+                    a = values[top];
+                    values[top] = calculator.abs(a);
+                    tangents[top] = a > 0 ? tangents[top] : a < 0 ? -tangents[top] : 0;
+                    break;
+                case CompiledExpression.FACTORIAL:
+                    a = values[top];
+                    values[top] = calculator.factorial(a);
+                    // d/dx x! = x! · ψ(x + 1)
+                    if (tangents[top] != 0) {
+                        tangents[top] *= values[top] * Calculator.digamma(a + 1);
+                    }
+                    break;
+                case CompiledExpression.CALL:
+                    RuntimeCall call = calls[operand];
+                    top -= call.arity() - 1;
+                    a = call.apply(values, top, bindings);
+                    tangents[top] = call.derivative(values, tangents, top, bindings, slot, a);
+                    values[top] = a;
+                    break;
+                default:
+                    throw new CalculatorException(
+                            CalculatorException.ErrorType.INVALID_EXPRESSION,
+                            String.format("Bilinmeyen işlem kodu: %d", instruction & CompiledExpression.OPCODE_MASK));
+            }
+        }
+
+        return values[top];
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * d(a^b) = b · a^(b-1) · da + a^b · ln(a) · db
+     * Üs sabitse (db = 0) ln(a) hesaplanmaz; böylece negatif tabanlı tam
+     * sayı üslerin (örn: x^3, x < 0) türevi de tanımlı kalır.
+     */
+    private static double powerTangent(double a, double da, double b, double db, double value) {
+        double tangent = 0;
+        if (da != 0 && b != 0) {
+            tangent = b * Math.pow(a, b - 1) * da;
+        }
+        if (db != 0) {
+            tangent += value * Math.log(a) * db;
+        }
+        return tangent;
+    }
+}
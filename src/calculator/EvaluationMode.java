@@ -0,0 +1,48 @@
+package calculator;
+
+/**
+ * ExpressionEvaluator.evaluate(String, EvaluationMode) için hesaplama modu.
+ *
+ * - DOUBLE   → Hızlı yol; sonuç Double'dır. evaluate(String) ile aynıdır.
+ * - PRECISE  → Önce double ile hesaplanır; sadeleşme (cancellation), küçük
+ *              terimin yutulması, taşma (overflow) veya 15 basamağa sığmayan
+ *              bir sayı ya da sonuç görülürse ifade BigDecimal ile yeniden
+ *              hesaplanır. Sonuç BigDecimal'dır.
+ * - RATIONAL → Tam kesirli hesaplama; sonuç Rational'dır (örn: 1/3 + 1/6 → 1/2).
+ *              Sonucu rasyonel olmayan işlemler (sin, ln, √2 ...) hata verir.
+ *
+ * @author Yusuf
+ */
+public enum EvaluationMode {
+    DOUBLE("DBL", "Hızlı (double)"),
+    PRECISE("HSS", "Hassas (BigDecimal)"),
+    RATIONAL("KSR", "Kesirli (tam rasyonel)");
+
+    private final String symbol;
+    private final String description;
+
+    EvaluationMode(String symbol, String description) {
+        this.symbol = symbol;
+        this.description = description;
+    }
+
+    /** Arayüzde gösterilen kısa ad (örn: "HSS") */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sıradaki modu döndürür; son moddan sonra başa döner.
+     * Arayüzdeki mod butonu için kullanılır.
+     *
+     * @return Sıradaki mod
+     */
+    public EvaluationMode next() {
+        EvaluationMode[] modes = values();
+        return modes[(ordinal() + 1) % modes.length];
+    }
+}
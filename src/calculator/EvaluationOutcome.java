@@ -0,0 +1,179 @@
+package calculator;
+
+/**
+ * Exception fırlatmayan hesaplama yolunun (evaluateOrError) sonucunu tutan,
+ * tekrar kullanılabilir nesne.
+ *
+ * Başarılı bir hesaplamada yalnızca değer yazılır. Sıfıra bölme, tanım dışı
+ * işlem gibi hesaplama hatalarında hata türü, mesaj kalıbı ve kalıbın
+ * argümanı saklanır; exception nesnesi oluşturulmaz ve mesaj yalnızca
+ * getMessage() / getDetail() çağrıldığında biçimlendirilir. Ayrıştırma
+ * hatalarında (ifade metni bozuksa) ayrıştırıcı exception fırlatır;
+ * evaluateOrError onu yakalar ve burada saklar. Yani ayrıştırma hatası
+ * çağırana fırlatılmaz ama bir exception nesnesi oluşturur.
+ *
+ * Nesne thread-safe değildir; her thread kendi nesnesini kullanmalıdır.
+ * Bir döngüde tek nesneyi tekrar tekrar kullanmak çöp üretimini sıfırlar.
+ *
+ * Örnek:
+ * EvaluationOutcome outcome = new EvaluationOutcome();
+ * double value = evaluator.evaluateOrError("10 / 0", outcome);
+ * outcome.isSuccess();    → false
+ * outcome.getErrorType(); → DIVISION_BY_ZERO
+ * outcome.getMessage();   → "[DIVISION_BY_ZERO] Sıfıra bölme hatası: 10.00 / 0 işlemi tanımsızdır."
+ *
+ * @author Yusuf
+ */
+public final class EvaluationOutcome {
+
+    private double value;
+
+    /** Hata türü; başarılı sonuçta null */
+    private CalculatorException.ErrorType errorType;
+
+    /** Hata mesajının kalıbı (örn: Calculator.DIVIDE_BY_ZERO_MESSAGE) */
+    private String detailFormat;
+
+    /** Kalıbın tek argümanı (örn: bölünen sayı) */
+    private double argument;
+
+    /** Ayrıştırma hatalarında ayrıştırıcının ürettiği exception */
+    private CalculatorException exception;
+
+    /** İlk istendiğinde oluşturulan mesaj */
+    private String detail;
+
+    /**
+     * Başarılı sonucu kaydeder.
+     *
+     * @return value
+     */
+    double succeed(double value) {
+        clear();
+        this.value = value;
+        return value;
+    }
+
+    /**
+     * Hesaplama hatasını exception oluşturmadan kaydeder.
+     *
+     * @param errorType Hata türü
+     * @param format    Mesaj kalıbı
+     * @param argument  Kalıbın argümanı
+     * @return NaN
+     */
+    double fail(CalculatorException.ErrorType errorType, String format, double argument) {
+        clear();
+        this.errorType = errorType;
+        this.detailFormat = format;
+        this.argument = argument;
+        return Double.NaN;
+    }
+
+    /**
+     * Önceden oluşmuş bir exception'ı (örn: ayrıştırma hatası) kaydeder.
+     *
+     * @return NaN
+     */
+    double fail(CalculatorException exception) {
+        clear();
+        this.errorType = exception.getErrorType();
+        this.exception = exception;
+        return Double.NaN;
+    }
+
+    /** Hesaplama başarılı mı */
+    public boolean isSuccess() {
+        return errorType == null;
+    }
+
+    /**
+     * Hesaplanan değeri döndürür.
+     *
+     * @return Sonuç; hata durumunda NaN
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Hata türünü döndürür.
+     *
+     * @return Hata türü; başarılı sonuçta null
+     */
+    public CalculatorException.ErrorType getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * Hatanın ifadedeki konumunu döndürür.
+     *
+     * @return 0 tabanlı konum; bilinmiyorsa veya başarılı sonuçta -1
+     */
+    public int getPosition() {
+        return exception != null ? exception.getPosition() : -1;
+    }
+
+    /**
+     * Sadece detay kısmını döndürür (örn: "10.00 / 0 işlemi tanımsızdır.").
+     * İlk çağrıda biçimlendirilir.
+     *
+     * @return Detay mesajı; başarılı sonuçta null
+     */
+    public String getDetail() {
+        if (detail == null && errorType != null) {
+            detail = exception != null
+                    ? exception.getDetail()
+                    : String.format(detailFormat, argument);
+        }
+        return detail;
+    }
+
+    /**
+     * Kullanıcıya gösterilecek tam hata mesajını döndürür; biçim
+     * CalculatorException.getMessage() ile aynıdır. İlk çağrıda biçimlendirilir.
+     *
+     * @return Hata mesajı; başarılı sonuçta null
+     */
+    public String getMessage() {
+        if (errorType == null) {
+            return null;
+        }
+        if (exception != null) {
+            return exception.getMessage();
+        }
+        return CalculatorException.formatMessage(errorType, -1, getDetail());
+    }
+
+    /**
+     * Hatayı exception'a çevirir; hatayı yukarı fırlatmak isteyen çağıranlar içindir.
+     *
+     * @return Hataya karşılık gelen exception; başarılı sonuçta null
+     */
+    public CalculatorException toException() {
+        if (errorType == null) {
+            return null;
+        }
+        if (exception == null) {
+            exception = CalculatorException.formatted(errorType, -1, detailFormat, argument);
+        }
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? String.valueOf(value) : getMessage();
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private void clear() {
+        value = Double.NaN;
+        errorType = null;
+        detailFormat = null;
+        exception = null;
+        detail = null;
+    }
+}
@@ -0,0 +1,92 @@
+package calculator;
+
+/**
+ * Toplu hesaplamada (ExpressionEvaluator.evaluateAll) tek bir ifadenin sonucu.
+ *
+ * Başarılı bir hesaplamada sonucu, hatalı bir hesaplamada ise hata türünü ve
+ * mesajını taşır. Böylece bir ifadedeki hata tüm toplu işlemi durdurmaz.
+ * Hata mesajı yalnızca okunduğunda biçimlendirilir.
+ *
+ * Sınıf değiştirilemezdir (immutable).
+ *
+ * Örnek:
+ * EvaluationResult r = results.get(0);
+ * if (r.isSuccess()) { r.getValue(); } else { r.getErrorType(); }
+ *
+ * @author Yusuf
+ */
+public final class EvaluationResult {
+
+    private final double value;
+    private final CalculatorException.ErrorType errorType;
+
+    /** Hata; mesajı ilk getErrorMessage() çağrısında biçimlendirilir */
+    private final CalculatorException error;
+
+    private EvaluationResult(double value, CalculatorException.ErrorType errorType, CalculatorException error) {
+        this.value = value;
+        this.errorType = errorType;
+        this.error = error;
+    }
+
+    /**
+     * Başarılı bir sonuç oluşturur.
+     *
+     * @param value Hesaplama sonucu
+     * @return Başarılı sonuç
+     */
+    public static EvaluationResult success(double value) {
+        return new EvaluationResult(value, null, null);
+    }
+
+    /**
+     * Hatalı bir sonuç oluşturur.
+     *
+     * @param error Hesaplama sırasında oluşan hata
+     * @return Hatalı sonuç (değeri NaN)
+     */
+    public static EvaluationResult failure(CalculatorException error) {
+        return new EvaluationResult(Double.NaN, error.getErrorType(), error);
+    }
+
+    /**
+     * Hesaplamanın başarılı olup olmadığını döndürür.
+     *
+     * @return Hata yoksa true
+     */
+    public boolean isSuccess() {
+        return errorType == null;
+    }
+
+    /**
+     * Hesaplama sonucunu döndürür.
+     *
+     * @return Sonuç; hatalı hesaplamada NaN
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Hata türünü döndürür.
+     *
+     * @return Hata türü; başarılı hesaplamada null
+     */
+    public CalculatorException.ErrorType getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * Hata mesajını döndürür.
+     *
+     * @return Hata mesajı; başarılı hesaplamada null
+     */
+    public String getErrorMessage() {
+        return error == null ? null : error.getMessage();
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? String.valueOf(value) : getErrorMessage();
+    }
+}
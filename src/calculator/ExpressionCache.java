@@ -0,0 +1,250 @@
+package calculator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Derlenmiş ifadeleri saklayan, boyutu sınırlı LRU önbellek.
+ *
+ * Konsol (Main) ve arayüz (CalculatorController) aynı ifadeleri tekrar tekrar
+ * hesaplar. Önbellek, ifade metnini CompiledExpression'a eşler; böylece aynı
+ * ifade ikinci kez ayrıştırılmaz ve iyileştirilmez.
+ *
+ * Anahtar:
+ * - Anlamı değiştirmeyen boşluklar atılır: "1 + 2", "1+2" ve " 1+ 2 " aynı
+ *   kayda düşer. İki sayı/isim arasındaki boşluk korunur ("1 2" ≠ "12").
+ * - compile() çağrısındaki değişken isimleri de anahtara eklenir.
+ *
+ * Çıkarma (eviction) politikası:
+ * Erişim sırasını tutan bir LinkedHashMap kullanılır; kapasite aşıldığında
+ * en uzun süredir kullanılmayan kayıt atılır.
+ *
+ * Thread güvenliği:
+ * Tablo ve sayaçlar tek bir kilitle korunur; nesne birden fazla thread
+ * arasında paylaşılabilir. Derleme kilit dışında yapılır; aynı ifade iki
+ * thread tarafından aynı anda istenirse iki kez derlenebilir, tabloya ilk
+ * gelen yazılır. Hatalı ifadeler önbelleğe alınmaz.
+ *
+ * Örnek:
+ * ExpressionCache cache = new ExpressionCache(256);
+ * cache.evaluate("(5 + 3) * 2");  → 16.0 (ıska — derlenir)
+ * cache.evaluate("(5+3)*2");      → 16.0 (isabet)
+ * cache.getHitRate();             → 0.5
+ *
+ * @author Yusuf
+ */
+public class ExpressionCache {
+
+    /** Varsayılan önbellek kapasitesi */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** Anahtarda ifade ile değişken isimlerini ayıran karakter */
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    /** İfadeleri derleyen değerlendirici */
+    private final ExpressionEvaluator evaluator;
+
+    /** Tutulacak en fazla kayıt sayısı */
+    private final int capacity;
+
+    /** Erişim sıralı tablo (en eski → en yeni) */
+    private final LinkedHashMap<String, CompiledExpression> entries;
+
+    // ── İstatistikler (kilit altında güncellenir) ─────────────
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Varsayılan kapasiteyle (256 ifade) önbellek oluşturur.
+     */
+    public ExpressionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Belirtilen kapasiteyle önbellek oluşturur.
+     *
+     * @param capacity Saklanacak en fazla ifade sayısı (en az 1)
+     */
+    public ExpressionCache(int capacity) {
+        this(new ExpressionEvaluator(), capacity);
+    }
+
+    /**
+     * Verilen değerlendiriciyi kullanan bir önbellek oluşturur.
+     *
+     * @param evaluator İfadeleri derleyecek değerlendirici
+     * @param capacity  Saklanacak en fazla ifade sayısı (en az 1)
+     */
+    public ExpressionCache(ExpressionEvaluator evaluator, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Önbellek kapasitesi en az 1 olmalıdır: " + capacity);
+        }
+        this.evaluator = evaluator;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<String, CompiledExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                if (size() > ExpressionCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * İfadenin derlenmiş hâlini döndürür; önbellekte yoksa derleyip ekler.
+     *
+     * @param expression Matematiksel ifade
+     * @param variables  İfadede kullanılabilecek değişken isimleri
+     * @return Derlenmiş ifade
+     * @throws CalculatorException Hatalı veya boş (null) ifade durumunda
+     */
+    public CompiledExpression get(String expression, String... variables) throws CalculatorException {
+        // Önbelleksiz yolla aynı hata: null ifade anahtar oluşturulmadan reddedilir
+        if (expression == null) {
+            throw new CalculatorException(CalculatorException.ErrorType.EMPTY_EXPRESSION,
+                    ExpressionParser.EMPTY_EXPRESSION_MESSAGE);
+        }
+        String key = key(expression, variables);
+
+        synchronized (entries) {
+            CompiledExpression cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        CompiledExpression compiled = evaluator.compile(expression, variables);
+
+        synchronized (entries) {
+            CompiledExpression existing = entries.putIfAbsent(key, compiled);
+            return existing != null ? existing : compiled;
+        }
+    }
+
+    /**
+     * Değişken içermeyen bir ifadeyi önbellek üzerinden hesaplar.
+     *
+     * @param expression Matematiksel ifade (örn: "(5 + 3) * 2 / 4")
+     * @return Hesaplama sonucu
+     * @throws CalculatorException Hatalı ifade durumunda
+     */
+    public double evaluate(String expression) throws CalculatorException {
+        return get(expression).evaluate();
+    }
+
+    /** Önbellekten karşılanan istek sayısı */
+    public long getHitCount() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    /** Derleme gerektiren istek sayısı */
+    public long getMissCount() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    /** Kapasite aşıldığı için atılan kayıt sayısı */
+    public long getEvictionCount() {
+        synchronized (entries) {
+            return evictions;
+        }
+    }
+
+    /**
+     * İsabet oranını döndürür.
+     *
+     * @return 0.0 - 1.0 arası oran; hiç istek yoksa 0.0
+     */
+    public double getHitRate() {
+        synchronized (entries) {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    /** Önbellekteki derlenmiş ifade sayısı */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /** Önbelleğin kapasitesi */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Tüm kayıtları ve istatistikleri temizler.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+        }
+    }
+
+    /**
+     * İstatistikleri tek satırlık bir metin olarak döndürür.
+     * Konsolda göstermek için kullanılır.
+     *
+     * @return Formatlanmış istatistikler
+     */
+    public String getFormattedStats() {
+        synchronized (entries) {
+            long requests = hits + misses;
+            double rate = requests == 0 ? 0.0 : (double) hits / requests;
+            return String.format("Önbellek: %d/%d ifade, isabet %d, ıska %d, çıkarılan %d, isabet oranı %%%.1f",
+                    entries.size(), capacity, hits, misses, evictions, rate * 100);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Önbellek anahtarını oluşturur.
+     * Boşluk yalnızca iki sayı/isim karakteri arasındaysa (tek boşluk olarak)
+     * korunur; diğer tüm boşluklar atılır.
+     */
+    private static String key(String expression, String[] variables) {
+        StringBuilder key = new StringBuilder(expression.length() + 8);
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < expression.length(); i++) {
+            char ch = expression.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && key.length() > 0
+                    && isWordPart(key.charAt(key.length() - 1)) && isWordPart(ch)) {
+                key.append(' ');
+            }
+            pendingSpace = false;
+            key.append(ch);
+        }
+
+        for (String variable : variables) {
+            key.append(KEY_SEPARATOR).append(variable);
+        }
+        return key.toString();
+    }
+
+    private static boolean isWordPart(char ch) {
+        return Lexer.isIdentifierPart(ch) || ch == '.';
+    }
+}
@@ -1,13 +1,16 @@
 package calculator;
 
-import java.util.Stack;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Kullanıcıdan String olarak alınan matematiksel ifadeleri çözen sınıf.
- * 
+ *
  * Shunting-yard algoritmasından ilham alan bir yaklaşım kullanır:
- * 
- * ADIM 1: İfadeyi token'lara ayır (sayılar, operatörler, parantezler)
+ *
+ * ADIM 1: İfadeyi token'lara ayır (sayılar, operatörler, parantezler) → Lexer
  * ADIM 2: İki yığın (stack) kullan:
  * - Sayılar yığını → operandları tutar
  * - Operatör yığını → operatörleri ve parantezleri tutar
@@ -17,23 +20,72 @@ import java.util.Stack;
  * - ')' ise → '(' görünceye kadar operatörleri uygula
  * - Operatör ise → öncelik kuralına göre bekleyenleri uygula, sonra ekle
  * ADIM 4: Kalan operatörleri uygula
- * 
+ *
+ * Ayrıştırma (ADIM 1-4) ExpressionParser tarafından tek geçişte yapılır ve
+ * işlemler hemen uygulanmak yerine postfix bir programa yazılır. Program daha
+ * sonra sayılar yığını üzerinde çalıştırılır.
+ *
  * İşlem önceliği:
  * Seviye 3: ^ (üs alma — sağdan sola)
  * Seviye 2: *, /, % (çarpma, bölme, mod)
  * Seviye 1: +, - (toplama, çıkarma)
- * 
+ *
+ * Bellek kullanımı:
+ * Yığınlar boxing yapılmayan double[] / char[] dizileridir. Her thread için
+ * bir kez oluşturulup (ThreadLocal) o thread'in tüm çağrılarında yeniden
+ * kullanılır; sanal thread'ler ise bunları ortak bir havuzdan ödünç alır
+ * (bkz. ScratchPool). Sayılar ve fonksiyon isimleri için ara String üretilmez;
+ * başarılı bir evaluate(String) çağrısı (ısınma sonrası) hiç nesne oluşturmaz.
+ *
+ * Thread güvenliği:
+ * Sınıf değiştirilemezdir (immutable) ve thread-safe'tir. Tüm alanları
+ * final'dır; değişen çalışma alanları yalnızca kendi thread'ine aittir.
+ * Tek bir ExpressionEvaluator nesnesi uygulama boyunca tüm thread'ler
+ * arasında paylaşılabilir; istek başına yeni nesne oluşturmaya gerek yoktur.
+ *
  * Örnek: "(5 + 3) * 2 / 4" → 4.0
- * 
+ * Örnek: compile("x ^ 2 + rate", "x", "rate").evaluate(3, 0.5) → 9.5
+ * Örnek: evaluateAll(List.of("1+1", "1/0")) → [2.0, DIVISION_BY_ZERO]
+ *
  * @author Yusuf
  */
 public class ExpressionEvaluator {
 
+    /** Değişken içermeyen ifadeler için boş isim/değer dizileri */
+    private static final String[] NO_VARIABLES = new String[0];
+    private static final double[] NO_BINDINGS = new double[0];
+
     /** Hesaplamalar için kullanılan Calculator nesnesi */
     private final Calculator calculator;
 
+    /** Hassas mod (EvaluationMode.PRECISE) için BigDecimal işlemleri */
+    private final PreciseCalculator preciseCalculator;
+
+    /** compile() sırasında sabit katlama ve ortak alt ifade paylaşımı yapar (durumsuz) */
+    private final ExpressionOptimizer optimizer;
+
+    /** Thread başına (sanal thread'lerde havuzdan) tekrar kullanılan çalışma alanları */
+    private static final ScratchPool<Workspace> WORKSPACES = new ScratchPool<>(Workspace::new);
+
+    /**
+     * Bir thread'in ayrıştırma ve hesaplama için kullandığı değişken durum.
+     * Ödünç alındığı sürece başka bir thread'e verilmez.
+     */
+    private static final class Workspace {
+        /** evaluate(String) için her çağrıda sıfırlanan program */
+        final ProgramBuilder program = new ProgramBuilder();
+
+        /** Token'ları okuyup programı yazan ayrıştırıcı (operatör yığınını içerir) */
+        final ExpressionParser parser = new ExpressionParser();
+
+        /** Sayılar yığını: programı çalıştırırken operandları tutar */
+        double[] numbers = new double[16];
+    }
+
     public ExpressionEvaluator() {
         this.calculator = new Calculator();
+        this.preciseCalculator = new PreciseCalculator();
+        this.optimizer = new ExpressionOptimizer(calculator);
     }
 
     /**
@@ -44,343 +96,252 @@ public class ExpressionEvaluator {
      * @throws CalculatorException Hatalı ifade durumunda
      */
     public double evaluate(String expression) throws CalculatorException {
-
-        // ── Boşluk kontrolü ──────────────────────────────────
-        if (expression == null || expression.trim().isEmpty()) {
-            throw new CalculatorException(
-                    CalculatorException.ErrorType.EMPTY_EXPRESSION,
-                    "Hesaplanacak bir ifade girilmedi.");
-        }
-
-        // ── Boşlukları temizle ───────────────────────────────
-        String expr = expression.replaceAll("\\s+", "");
-
-        // ── Parantez dengesi kontrolü ────────────────────────
-        validateParentheses(expr);
-
-        // ── İki yığın (stack) oluştur ────────────────────────
-        // Sayılar yığını: operandları tutar
-        Stack<Double> numbers = new Stack<>();
-        // Operatör yığını: operatörleri ve parantezleri tutar
-        Stack<Character> operators = new Stack<>();
-
-        // ── İfadeyi karakter karakter tara ───────────────────
-        int i = 0;
-        while (i < expr.length()) {
-            char ch = expr.charAt(i);
-
-            // ── DURUM 0: Fonksiyon çağrısı (sin, cos, sqrt, ln, log, abs) ──
-            if (Character.isLetter(ch)) {
-                StringBuilder funcName = new StringBuilder();
-                while (i < expr.length() && Character.isLetter(expr.charAt(i))) {
-                    funcName.append(expr.charAt(i));
-                    i++;
-                }
-                String func = funcName.toString().toLowerCase();
-                
-                // π (pi) ve e sabitleri
-                if (func.equals("pi")) {
-                    numbers.push(Math.PI);
-                    continue;
-                } else if (func.equals("e")) {
-                    numbers.push(Math.E);
-                    continue;
-                }
-                
-                // Fonksiyon parantezi bekle
-                if (i >= expr.length() || expr.charAt(i) != '(') {
-                    throw new CalculatorException(
-                            CalculatorException.ErrorType.INVALID_EXPRESSION,
-                            String.format("Fonksiyon '%s' sonrasında '(' bekleniyordu.", func));
-                }
-                
-                // İç ifadeyi bul
-                i++; // '(' karakterini atla
-                int depth = 1;
-                int start = i;
-                while (i < expr.length() && depth > 0) {
-                    if (expr.charAt(i) == '(') depth++;
-                    else if (expr.charAt(i) == ')') depth--;
-                    i++;
-                }
-                
-                String innerExpr = expr.substring(start, i - 1);
-                double arg = evaluate(innerExpr); // Recursive çağrı
-                
-                // Fonksiyonu uygula
-                double result;
-                switch (func) {
-                    case "sin":
-                        result = calculator.sin(arg);
-                        break;
-                    case "cos":
-                        result = calculator.cos(arg);
-                        break;
-                    case "tan":
-                        result = calculator.tan(arg);
-                        break;
-                    case "sqrt":
-                        result = calculator.sqrt(arg);
-                        break;
-                    case "ln":
-                        result = calculator.ln(arg);
-                        break;
-                    case "log":
-                        result = calculator.log(arg);
-                        break;
-                    case "abs":
-                        result = calculator.abs(arg);
-                        break;
-                    default:
-                        throw new CalculatorException(
-                                CalculatorException.ErrorType.INVALID_EXPRESSION,
-                                String.format("Bilinmeyen fonksiyon: '%s'", func));
-                }
-                numbers.push(result);
-                continue;
-            }
-
-            // ── DURUM 1: Karakter bir rakam veya ondalık noktası ──
-            if (Character.isDigit(ch) || ch == '.') {
-                // Sayının tamamını oku (birden fazla basamak olabilir)
-                StringBuilder number = new StringBuilder();
-                while (i < expr.length() && (Character.isDigit(expr.charAt(i)) || expr.charAt(i) == '.')) {
-                    number.append(expr.charAt(i));
-                    i++;
-                }
-                try {
-                    numbers.push(Double.parseDouble(number.toString()));
-                } catch (NumberFormatException e) {
-                    throw new CalculatorException(
-                            CalculatorException.ErrorType.INVALID_EXPRESSION,
-                            String.format("'%s' geçerli bir sayı değil.", number.toString()));
-                }
-                // Faktöriyel kontrolü ('5!' gibi)
-                if (i < expr.length() && expr.charAt(i) == '!') {
-                    double num = numbers.pop();
-                    numbers.push(calculator.factorial(num));
-                    i++;
-                }
-                continue; // i zaten sayı sonunda, while'a geri dön
-            }
-
-            // ── DURUM 2: Negatif sayı desteği ────────────────────
-            // Eğer '-' ifadenin başında veya '(' sonrasındaysa, bu bir negatif işaretidir
-            if (ch == '-' && (i == 0 || expr.charAt(i - 1) == '(' || isOperator(expr.charAt(i - 1)))) {
-                StringBuilder number = new StringBuilder("-");
-                i++;
-                if (i >= expr.length()
-                        || (!Character.isDigit(expr.charAt(i)) && expr.charAt(i) != '.' && expr.charAt(i) != '(')) {
-                    throw new CalculatorException(
-                            CalculatorException.ErrorType.INVALID_EXPRESSION,
-                            "'-' işaretinden sonra bir sayı veya ifade bekleniyordu.");
-                }
-                // Eğer '-(' gibi bir durum varsa, -1 * (...) olarak işle
-                if (expr.charAt(i) == '(') {
-                    numbers.push(-1.0);
-                    operators.push('*');
-                    continue;
-                }
-                while (i < expr.length() && (Character.isDigit(expr.charAt(i)) || expr.charAt(i) == '.')) {
-                    number.append(expr.charAt(i));
-                    i++;
-                }
-                numbers.push(Double.parseDouble(number.toString()));
-                continue;
-            }
-
-            // ── DURUM 3: Açılış parantezi ────────────────────────
-            if (ch == '(') {
-                operators.push(ch);
-                i++;
-                continue;
+        Workspace workspace = WORKSPACES.acquire();
+        try {
+            ProgramBuilder program = workspace.program;
+            program.reset();
+            workspace.parser.parse(expression, NO_VARIABLES, program);
+
+            if (workspace.numbers.length < program.maxDepth()) {
+                workspace.numbers = new double[program.maxDepth()];
             }
+            return CompiledExpression.run(
+                    program.code(), program.codeLength(), program.constants(), program.calls(),
+                    NO_BINDINGS, workspace.numbers, calculator);
+        } finally {
+            WORKSPACES.release(workspace);
+        }
+    }
 
-            // ── DURUM 4: Kapanış parantezi ───────────────────────
-            // '(' görünene kadar operatörleri uygula
-            if (ch == ')') {
-                while (!operators.isEmpty() && operators.peek() != '(') {
-                    applyTopOperator(numbers, operators);
-                }
-                if (!operators.isEmpty()) {
-                    operators.pop(); // '(' karakterini çıkar
-                }
-                i++;
-                // Faktöriyel kontrolü (')!' gibi)
-                if (i < expr.length() && expr.charAt(i) == '!') {
-                    if (numbers.isEmpty()) {
-                        throw new CalculatorException(
-                                CalculatorException.ErrorType.INVALID_EXPRESSION,
-                                "Faktöriyel için sayı bulunamadı.");
-                    }
-                    double num = numbers.pop();
-                    numbers.push(calculator.factorial(num));
-                    i++;
-                }
-                continue;
-            }
+    /**
+     * Verilen ifadeyi seçilen modda değerlendirir.
+     *
+     * - DOUBLE  → evaluate(String) ile aynıdır; sonuç Double'dır.
+     * - PRECISE → İfade önce double ile hesaplanır. Sadeleşme (örn:
+     *   0.1 + 0.2 - 0.3), küçük terimin yutulması (örn: 10^20 + 1 - 10^20) veya
+     *   taşma (örn: 200!) görülürse ya da sonuç 15 anlamlı basamağa sığmazsa
+     *   (örn: 1/7) BigDecimal ile yeniden hesaplanır. Sonuç BigDecimal'dır
+     *   (bkz. PrecisionEngine).
+     * - RATIONAL → İfade tam kesirli olarak hesaplanır; sonuç Rational'dır
+     *   (bkz. RationalEngine). Değerler long'a sığdığı sürece BigInteger
+     *   kullanılmaz.
+     *
+     * Örnek: evaluate("0.1 + 0.2", PRECISE)         → 0.3
+     * Örnek: evaluate("10^20 + 1 - 10^20", PRECISE) → 1 (double ile 0)
+     * Örnek: evaluate("1/3 + 1/6", RATIONAL)        → 1/2
+     *
+     * @param expression Matematiksel ifade
+     * @param mode       Hesaplama modu
+     * @return Hesaplama sonucu (Double, BigDecimal veya Rational)
+     * @throws CalculatorException Hatalı ifade durumunda
+     */
+    public Number evaluate(String expression, EvaluationMode mode) throws CalculatorException {
+        if (mode == EvaluationMode.DOUBLE) {
+            return evaluate(expression);
+        }
 
-            // ── DURUM 4.5: Faktöriyel (!) ───────────────────────
-            if (ch == '!') {
-                if (numbers.isEmpty()) {
-                    throw new CalculatorException(
-                            CalculatorException.ErrorType.INVALID_EXPRESSION,
-                            "Faktöriyel için sayı bulunamadı.");
-                }
-                double num = numbers.pop();
-                numbers.push(calculator.factorial(num));
-                i++;
-                continue;
+        Workspace workspace = WORKSPACES.acquire();
+        try {
+            ProgramBuilder program = workspace.program;
+            program.reset();
+            workspace.parser.parse(expression, NO_VARIABLES, program);
+
+            int stackSize = program.maxDepth() + program.temporaries();
+            if (mode == EvaluationMode.RATIONAL) {
+                return RationalEngine.run(
+                        program.code(), program.codeLength(), program.constants(),
+                        program.literals(expression), program.calls(), NO_BINDINGS, new Rational[stackSize]);
             }
-
-            // ── DURUM 5: Operatör (+, -, *, /, %, ^) ────────────
-            if (isOperator(ch)) {
-                // Mevcut operatörün önceliği, yığındakinden düşük veya eşitse
-                // önce yığındaki operatörleri uygula
-                while (!operators.isEmpty()
-                        && operators.peek() != '('
-                        && shouldApplyFirst(operators.peek(), ch)) {
-                    applyTopOperator(numbers, operators);
-                }
-                operators.push(ch);
-                i++;
-                continue;
+            if (workspace.numbers.length < stackSize) {
+                workspace.numbers = new double[stackSize];
             }
-
-            // ── DURUM 6: Tanınmayan karakter ────────────────────
-            throw new CalculatorException(
-                    CalculatorException.ErrorType.INVALID_CHARACTER,
-                    String.format(
-                            "'%c' karakteri tanınmıyor. Sadece sayılar ve +, -, *, /, %%, ^ operatörleri kullanılabilir.",
-                            ch));
+            return PrecisionEngine.evaluate(
+                    program.code(), program.codeLength(), program.constants(), program.literals(expression),
+                    program.calls(), NO_BINDINGS, workspace.numbers, stackSize, calculator, preciseCalculator);
+        } finally {
+            WORKSPACES.release(workspace);
         }
+    }
 
-        // ── Kalan tüm operatörleri uygula ───────────────────
-        while (!operators.isEmpty()) {
-            if (operators.peek() == '(' || operators.peek() == ')') {
-                throw new CalculatorException(
-                        CalculatorException.ErrorType.MISMATCHED_PARENTHESES,
-                        "Parantezler düzgün eşleşmiyor.");
+    /**
+     * evaluate(String) ile aynı hesaplamayı, çağırana exception fırlatmadan yapar.
+     *
+     * Sonuç veya hata outcome nesnesine yazılır. Hesaplama hatalarında
+     * (sıfıra bölme, tanım dışı işlem) exception oluşturulmaz; hata mesajı
+     * yalnızca outcome.getMessage() çağrıldığında biçimlendirilir. Hatalı
+     * girdilerin sık olduğu toplu işlerde tercih edilmelidir.
+     *
+     * Ayrıştırma hataları (bozuk ifade metni, bilinmeyen isim, eşleşmeyen
+     * parantez) bu kapsamda değildir: ayrıştırıcı bu hataları hâlâ
+     * CalculatorException fırlatarak bildirir. Exception burada yakalanıp
+     * outcome'a konur; yığın izi (stack trace) doldurulmaz ve mesaj yine
+     * ancak istendiğinde biçimlendirilir, ancak her ayrıştırma hatası bir
+     * exception nesnesi oluşturur.
+     *
+     * Örnek:
+     * EvaluationOutcome outcome = new EvaluationOutcome();
+     * for (String line : lines) {
+     *     double value = evaluator.evaluateOrError(line, outcome);
+     *     if (!outcome.isSuccess()) { outcome.getErrorType(); }
+     * }
+     *
+     * @param expression Matematiksel ifade (örn: "(5 + 3) * 2 / 4")
+     * @param outcome    Sonucun veya hatanın yazılacağı nesne
+     * @return Hesaplama sonucu; hata durumunda NaN
+     */
+    public double evaluateOrError(String expression, EvaluationOutcome outcome) {
+        Workspace workspace = WORKSPACES.acquire();
+        try {
+            ProgramBuilder program = workspace.program;
+            program.reset();
+            try {
+                workspace.parser.parse(expression, NO_VARIABLES, program);
+            } catch (CalculatorException e) {
+                return outcome.fail(e);
             }
-            applyTopOperator(numbers, operators);
-        }
 
-        // ── Sonuç kontrolü ──────────────────────────────────
-        if (numbers.size() != 1) {
-            throw new CalculatorException(
-                    CalculatorException.ErrorType.INVALID_EXPRESSION,
-                    "İfade düzgün hesaplanamadı. Lütfen ifadenizi kontrol edin.");
+            if (workspace.numbers.length < program.maxDepth()) {
+                workspace.numbers = new double[program.maxDepth()];
+            }
+            return CompiledExpression.runOrError(
+                    program.code(), program.codeLength(), program.constants(), program.calls(),
+                    NO_BINDINGS, workspace.numbers, calculator, outcome);
+        } finally {
+            WORKSPACES.release(workspace);
         }
-
-        return numbers.pop();
     }
 
-    // ══════════════════════════════════════════════════════════
-    // YARDIMCI METOTLAR (private)
-    // ══════════════════════════════════════════════════════════
-
     /**
-     * Verilen karakterin bir operatör olup olmadığını kontrol eder.
+     * Verilen matematiksel ifadeyi bir kez ayrıştırıp tekrar kullanılabilir
+     * bir CompiledExpression'a dönüştürür.
+     *
+     * Aynı ifade defalarca hesaplanacaksa, her seferinde evaluate(String)
+     * çağırmak yerine bir kez derleyip CompiledExpression.evaluate()
+     * çağırmak tokenizasyon ve parantez kontrolü maliyetini ortadan kaldırır.
+     *
+     * İfadede kullanılan değişkenler (x, rate, n ...) isimleriyle verilir ve
+     * verildikleri sırayla yuvalara bağlanır. Tanımlanmamış bir isim derleme
+     * anında INVALID_EXPRESSION hatası verir.
+     *
+     * solve, sum, prod ve integrate çağrılarının gövdeleri bir kez derlenir
+     * ve her hesaplamada güncel değişken değerleriyle çalıştırılır; sınırlar,
+     * tahminler ve gövdeler bu değişkenleri kullanabilir
+     * (örn: compile("sum(i, 1, n, i * x)", "n", "x")).
+     *
+     * Derlenen program ExpressionOptimizer ile iyileştirilir: sabit alt
+     * ifadeler katlanır, küçük tamsayı üsler çarpmaya çevrilir ve tekrarlanan
+     * alt ifadeler bir kez hesaplanır.
+     *
+     * @param expression Matematiksel ifade (örn: "x ^ 2 + rate")
+     * @param variables  İfadede kullanılabilecek değişken isimleri
+     * @return Derlenmiş ifade
+     * @throws CalculatorException Hatalı ifade veya bilinmeyen değişken durumunda
      */
-    private boolean isOperator(char ch) {
-        return ch == '+' || ch == '-' || ch == '*' || ch == '/' || ch == '%' || ch == '^';
+    public CompiledExpression compile(String expression, String... variables) throws CalculatorException {
+
+        // ── Değişken isimlerini doğrula ──────────────────────
+        String[] names = variables.clone();
+        ExpressionParser.validateVariables(names);
+
+        ProgramBuilder program = new ProgramBuilder();
+        Workspace workspace = WORKSPACES.acquire();
+        try {
+            workspace.parser.parse(expression, names, program);
+        } finally {
+            WORKSPACES.release(workspace);
+        }
+        return optimizer.optimize(program).build(expression, names, calculator);
     }
 
     /**
-     * Bir operatörün öncelik seviyesini döndürür.
-     * Yüksek değer = yüksek öncelik
+     * İfadeyi sıfır yapan değişken değerini bulur (f(x) = 0).
+     *
+     * İfade bir kez derlenir; Newton iterasyonları için gereken türevler
+     * otomatik türevle (dual sayılar) hesaplanır, Newton yakınsamazsa Brent
+     * yöntemine geçilir. İfade metni iterasyonlar sırasında yeniden
+     * ayrıştırılmaz. Aynı çözüm ifade içinde solve(ifade, değişken, tahmin)
+     * fonksiyonu olarak da kullanılabilir.
+     *
+     * Örnek: solve("x ^ 2 - 2", "x", 1)   → 1.4142135623730951
+     * Örnek: solve("cos(x) - x", "x", 0)  → 0.7390851332151607
+     *
+     * @param expression Tek değişkenli ifade
+     * @param variable   Çözülecek değişkenin ismi
+     * @param guess      Başlangıç tahmini
+     * @return Kök
+     * @throws CalculatorException Hatalı ifade veya kök bulunamaması durumunda
+     * @see CompiledExpression#solve(int, double, double...)
      */
-    private int precedence(char operator) {
-        switch (operator) {
-            case '+':
-            case '-':
-                return 1; // En düşük öncelik
-            case '*':
-            case '/':
-            case '%':
-                return 2; // Orta öncelik
-            case '^':
-                return 3; // En yüksek öncelik
-            default:
-                return 0;
-        }
+    public double solve(String expression, String variable, double guess) throws CalculatorException {
+        return compile(expression, variable).solve(0, guess, new double[1]);
     }
 
     /**
-     * stackOp operatörünün newOp operatöründen önce uygulanıp uygulanmayacağını
-     * belirler.
-     * 
-     * Kural:
-     * - stackOp'un önceliği newOp'tan büyükse → evet
-     * - Öncelikler eşitse ve operatör sol-ilişkili ise → evet
-     * - '^' sağ-ilişkili olduğundan, eşit öncelikte uygulanmaz
+     * Birbirinden bağımsız ifadeleri ortak ForkJoinPool üzerinde paralel hesaplar.
+     *
+     * Bir ifadedeki hata toplu işlemi durdurmaz; o ifadenin sonucu hata türünü
+     * ve mesajını taşır. Sonuçlar girdiyle aynı sıradadır. null ifadeler boş
+     * ifade (EMPTY_EXPRESSION) olarak değerlendirilir.
+     *
+     * İş, worker thread'ler arasında bu nesne paylaşılarak dağıtılır; her
+     * thread kendi çalışma alanını kullanır.
+     *
+     * @param expressions Hesaplanacak ifadeler
+     * @return Girdi sırasıyla sonuçlar (değiştirilemez liste)
      */
-    private boolean shouldApplyFirst(char stackOp, char newOp) {
-        int stackPrecedence = precedence(stackOp);
-        int newPrecedence = precedence(newOp);
-
-        if (stackPrecedence > newPrecedence) {
-            return true;
-        }
-        // Eşit öncelikte: '^' sağdan sola ilişkili, diğerleri soldan sağa
-        if (stackPrecedence == newPrecedence && newOp != '^') {
-            return true;
-        }
-        return false;
+    public List<EvaluationResult> evaluateAll(List<String> expressions) {
+        return evaluateAll(expressions, ForkJoinPool.commonPool());
     }
 
     /**
-     * Operatör yığınının tepesindeki operatörü alıp,
-     * sayı yığınından iki operand çekerek işlemi uygular.
-     * Sonucu tekrar sayı yığınına koyar.
+     * Birbirinden bağımsız ifadeleri verilen ForkJoinPool üzerinde paralel hesaplar.
+     *
+     * @param expressions Hesaplanacak ifadeler
+     * @param pool        İşin dağıtılacağı havuz
+     * @return Girdi sırasıyla sonuçlar (değiştirilemez liste)
+     * @see #evaluateAll(List)
      */
-    private void applyTopOperator(Stack<Double> numbers, Stack<Character> operators)
-            throws CalculatorException {
-
-        if (numbers.size() < 2) {
-            throw new CalculatorException(
-                    CalculatorException.ErrorType.INVALID_EXPRESSION,
-                    "İşlem için yeterli sayı yok. İfadenizi kontrol edin.");
-        }
-
-        char operator = operators.pop();
-        double b = numbers.pop(); // İkinci operand (yığından önce çıkan)
-        double a = numbers.pop(); // İlk operand
-
-        // Calculator sınıfını kullanarak işlemi gerçekleştir
-        double result = calculator.calculate(a, b, operator);
-        numbers.push(result);
+    public List<EvaluationResult> evaluateAll(List<String> expressions, ForkJoinPool pool) {
+        String[] input = expressions.toArray(new String[0]);
+        EvaluationResult[] results = new EvaluationResult[input.length];
+        runBatch(new BatchEvaluationTask(this, input, results), input.length, pool);
+        return Collections.unmodifiableList(Arrays.asList(results));
     }
 
     /**
-     * Parantezlerin dengeli olup olmadığını kontrol eder.
-     * Her '(' için bir ')' olmalı ve ')' hiçbir zaman '(' den önce gelmemeli.
+     * evaluateAll(List) metodunun ilkel dizi kullanan hâli.
+     *
+     * Her ifade için bir sonuç nesnesi oluşturmaz: değerler double[] olarak
+     * döner, hatalı ifadelerin değeri NaN olur ve hata türü errors dizisinin
+     * aynı indeksine yazılır (başarılı ifadeler için null).
      *
-     * @param expression Kontrol edilecek ifade
-     * @throws CalculatorException Parantezler dengeli değilse
+     * @param expressions Hesaplanacak ifadeler
+     * @param errors      Hata türlerinin yazılacağı dizi (en az expressions
+     *                    uzunluğunda) veya hata türü istenmiyorsa null
+     * @return Girdi sırasıyla sonuçlar
      */
-    private void validateParentheses(String expression) throws CalculatorException {
-        int depth = 0;
-
-        for (int i = 0; i < expression.length(); i++) {
-            char ch = expression.charAt(i);
-
-            if (ch == '(') {
-                depth++;
-            } else if (ch == ')') {
-                depth--;
-                if (depth < 0) {
-                    throw new CalculatorException(
-                            CalculatorException.ErrorType.MISMATCHED_PARENTHESES,
-                            String.format("Pozisyon %d: Fazladan ')' karakteri bulundu.", i + 1));
-                }
-            }
+    public double[] evaluateAll(String[] expressions, CalculatorException.ErrorType[] errors) {
+        if (errors != null && errors.length < expressions.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Hata dizisi en az %d uzunluğunda olmalı, %d verildi.", expressions.length, errors.length));
         }
+        double[] values = new double[expressions.length];
+        runBatch(new BatchEvaluationTask(this, expressions, values, errors), expressions.length, ForkJoinPool.commonPool());
+        return values;
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
 
-        if (depth > 0) {
-            throw new CalculatorException(
-                    CalculatorException.ErrorType.MISMATCHED_PARENTHESES,
-                    String.format("%d adet '(' karakterinin eşi ')' bulunamadı.", depth));
+    /**
+     * Küçük toplu işleri çağıran thread'de, büyükleri havuzda çalıştırır.
+     */
+    private static void runBatch(BatchEvaluationTask task, int size, ForkJoinPool pool) {
+        if (size <= BatchEvaluationTask.MIN_CHUNK) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
         }
     }
 }
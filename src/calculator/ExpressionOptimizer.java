@@ -0,0 +1,341 @@
+package calculator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ayrıştırma ile hesaplama arasında çalışan iyileştirme (optimizasyon) adımı.
+ *
+ * Postfix program önce bir ifade ağacına (tekrarlanan alt ifadeler tek bir
+ * düğümü paylaştığı için aslında bir DAG'a) çevrilir, sonra yeniden postfix
+ * koda yazılır. Ağaç kurulurken:
+ *
+ * 1. Sabit katlama: Tüm operandları sabit olan işlemler Calculator ile
+ *    derleme anında hesaplanır. Örn: sqrt(2) * pi / 180 * x → 0.0246... * x
+ *    Hata veren bir işlem (örn: 1 / 0) katlanmaz; hata hesaplama anında
+ *    aynı CalculatorException ile oluşur.
+ *
+ * 2. Kare: x ^ 2, Math.pow yerine x * x olarak hesaplanır. Math.pow(x, 2)
+ *    de tam olarak x * x verdiği için sonuç değişmez. Daha büyük üsler
+ *    çarpma zincirine çevrilmez: ara yuvarlamalar Math.pow'un sonucundan
+ *    1 ulp farklı bir değer verebilir.
+ *
+ * 3. Ortak alt ifadeler: Aynı alt ifade birden fazla kez geçiyorsa ilk
+ *    seferde hesaplanıp geçici bir yuvaya yazılır (STORE_TEMP), sonraki
+ *    geçişlerde oradan okunur (LOAD_TEMP).
+ *
+ * sum, prod, integrate ve solve çağrıları (CALL) katlanmaz ve paylaşılmaz;
+ * gövdeleri dıştaki değişkenlere bağlı olabilir. Argümanları (sınırlar,
+ * tahmin) diğer alt ifadeler gibi iyileştirilir.
+ *
+ * İşlemlerin sırası korunur; bu yüzden hata veren bir ifade, iyileştirme
+ * öncesindeki ilk hatayı verir.
+ *
+ * Ağaç ve kod açık yığınlarla (özyineleme olmadan) dolaşılır; çok derin
+ * iç içe ifadeler StackOverflowError vermez.
+ *
+ * @author Yusuf
+ */
+final class ExpressionOptimizer {
+
+    /** Sabit katlamada kullanılan Calculator nesnesi */
+    private final Calculator calculator;
+
+    ExpressionOptimizer(Calculator calculator) {
+        this.calculator = calculator;
+    }
+
+    /**
+     * Verilen programın iyileştirilmiş bir kopyasını üretir.
+     *
+     * @param program Ayrıştırıcının yazdığı program
+     * @return İyileştirilmiş program
+     */
+    ProgramBuilder optimize(ProgramBuilder program) {
+        return new Pass(calculator).run(program);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // İFADE AĞACI
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * İfade ağacının bir düğümü. Aynı işlem kodu, operand ve çocuklara sahip
+     * düğümler tek bir nesne olarak paylaşılır (hash-consing); bu yüzden
+     * çocuklar referans eşitliğiyle karşılaştırılır.
+     */
+    private static final class Node {
+        final int opcode;
+        final int slot;
+        final double value;
+        final Node left;
+        final Node right;
+        private final int hash;
+
+        /** Düğümü çocuk olarak kullanan işlem sayısı */
+        int uses;
+
+        /** Paylaşılan düğümün yazıldığı geçici yuva; henüz yazılmadıysa -1 */
+        int temp = -1;
+
+        Node(int opcode, int slot, double value, Node left, Node right) {
+            this.opcode = opcode;
+            this.slot = slot;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            int h = opcode;
+            h = 31 * h + slot;
+            h = 31 * h + Double.hashCode(value);
+            h = 31 * h + System.identityHashCode(left);
+            h = 31 * h + System.identityHashCode(right);
+            this.hash = h;
+        }
+
+        boolean isConstant() {
+            return opcode == CompiledExpression.CONST;
+        }
+
+        boolean isLeaf() {
+            return opcode == CompiledExpression.CONST || opcode == CompiledExpression.VARIABLE;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Node)) {
+                return false;
+            }
+            Node node = (Node) other;
+            return opcode == node.opcode
+                    && slot == node.slot
+                    && Double.doubleToLongBits(value) == Double.doubleToLongBits(node.value)
+                    && left == node.left
+                    && right == node.right;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Tek bir optimize() çağrısının durumu.
+     */
+    private static final class Pass {
+
+        private final Calculator calculator;
+        private final Map<Node, Node> nodes = new HashMap<>();
+
+        /** İyileştirilen programın çağrılar tablosu; CALL düğümünün slot'u bu tablodaki sırasıdır */
+        private RuntimeCall[] calls;
+
+        // ── Sabit katlama için küçük program ─────────────────
+        private final int[] foldCode = new int[3];
+        private final double[] foldConstants = new double[2];
+        private final double[] foldStack = new double[2];
+
+        Pass(Calculator calculator) {
+            this.calculator = calculator;
+        }
+
+        ProgramBuilder run(ProgramBuilder program) {
+            calls = program.calls();
+            return emit(buildTree(program));
+        }
+
+        // ── Postfix → ağaç ───────────────────────────────────
+
+        private Node buildTree(ProgramBuilder program) {
+            int[] code = program.code();
+            double[] constants = program.constants();
+            Node[] stack = new Node[Math.max(1, program.maxDepth())];
+            int top = -1;
+
+            for (int pc = 0; pc < program.codeLength(); pc++) {
+                int instruction = code[pc];
+                int opcode = instruction & CompiledExpression.OPCODE_MASK;
+                int operand = instruction >>> CompiledExpression.OPERAND_SHIFT;
+                switch (opcode) {
+                    case CompiledExpression.CONST:
+                        stack[++top] = constant(constants[operand]);
+                        break;
+                    case CompiledExpression.VARIABLE:
+                        stack[++top] = intern(new Node(opcode, operand, 0, null, null));
+                        break;
+                    case CompiledExpression.ADD:
+                    case CompiledExpression.SUBTRACT:
+                    case CompiledExpression.MULTIPLY:
+                    case CompiledExpression.DIVIDE:
+                    case CompiledExpression.MODULO:
+                    case CompiledExpression.POWER:
+                        top--;
+                        stack[top] = binary(opcode, stack[top], stack[top + 1]);
+                        break;
+                    case CompiledExpression.CALL:
+                        if (calls[operand].arity() == 1) {
+                            stack[top] = call(operand, stack[top], null);
+                        } else {
+                            top--;
+                            stack[top] = call(operand, stack[top], stack[top + 1]);
+                        }
+                        break;
+                    default:
+                        stack[top] = unary(opcode, stack[top]);
+                        break;
+                }
+            }
+            return stack[top];
+        }
+
+        private Node binary(int opcode, Node left, Node right) {
+            if (left.isConstant() && right.isConstant()) {
+                foldConstants[0] = left.value;
+                foldConstants[1] = right.value;
+                foldCode[0] = CompiledExpression.CONST;
+                foldCode[1] = CompiledExpression.CONST | (1 << CompiledExpression.OPERAND_SHIFT);
+                foldCode[2] = opcode;
+                Node folded = fold(3);
+                if (folded != null) {
+                    return folded;
+                }
+            }
+            if (opcode == CompiledExpression.POWER && right.isConstant() && right.value == 2) {
+                return operation(CompiledExpression.MULTIPLY, left, left);
+            }
+            return operation(opcode, left, right);
+        }
+
+        private Node unary(int opcode, Node operand) {
+            if (operand.isConstant()) {
+                foldConstants[0] = operand.value;
+                foldCode[0] = CompiledExpression.CONST;
+                foldCode[1] = opcode;
+                Node folded = fold(2);
+                if (folded != null) {
+                    return folded;
+                }
+            }
+            return operation(opcode, operand, null);
+        }
+
+        /**
+         * Hazırlanan küçük programı yorumlayıcıyla çalıştırır; böylece katlanan
+         * değer hesaplama anındaki değerle birebir aynıdır.
+         *
+         * @return Sabit düğüm; işlem hata veriyorsa null (katlanmaz)
+         */
+        private Node fold(int length) {
+            try {
+                return constant(CompiledExpression.run(
+                        foldCode, length, foldConstants, RuntimeCall.NONE, foldConstants, foldStack, calculator));
+            } catch (CalculatorException e) {
+                return null;
+            }
+        }
+
+        private Node constant(double value) {
+            return intern(new Node(CompiledExpression.CONST, 0, value, null, null));
+        }
+
+        /**
+         * İşlem düğümünü oluşturur veya aynısı varsa onu döndürür.
+         * Yalnızca yeni düğümler çocuklarının kullanım sayısını artırır.
+         */
+        private Node operation(int opcode, Node left, Node right) {
+            Node node = new Node(opcode, 0, 0, left, right);
+            Node existing = nodes.get(node);
+            if (existing != null) {
+                return existing;
+            }
+            nodes.put(node, node);
+            left.uses++;
+            if (right != null) {
+                right.uses++;
+            }
+            return node;
+        }
+
+        /**
+         * Çağrı düğümü oluşturur. Her çağrının sırası farklı olduğundan
+         * düğüm hiçbir zaman başka bir düğümle paylaşılmaz.
+         */
+        private Node call(int index, Node left, Node right) {
+            Node node = new Node(CompiledExpression.CALL, index, 0, left, right);
+            nodes.put(node, node);
+            left.uses++;
+            if (right != null) {
+                right.uses++;
+            }
+            return node;
+        }
+
+        private Node intern(Node node) {
+            Node existing = nodes.putIfAbsent(node, node);
+            return existing != null ? existing : node;
+        }
+
+        // ── Ağaç → postfix ───────────────────────────────────
+
+        /**
+         * Ağacı sol-sağ-kök (postfix) sırasıyla yeniden koda yazar.
+         * Birden fazla kez kullanılan işlem düğümleri ilk hesaplandıklarında
+         * geçici yuvaya yazılır, sonraki kullanımlarda oradan okunur.
+         */
+        private ProgramBuilder emit(Node root) {
+            ProgramBuilder program = new ProgramBuilder();
+            Node[] stack = new Node[16];
+            int[] visited = new int[16]; // Düğümün kaç çocuğu yazıldı
+            int top = 0;
+            stack[0] = root;
+
+            while (top >= 0) {
+                Node node = stack[top];
+
+                if (node.temp >= 0) {
+                    program.emitLoad(node.temp);
+                    top--;
+                    continue;
+                }
+                if (node.isConstant()) {
+                    program.emitConstant(node.value);
+                    top--;
+                    continue;
+                }
+                if (node.opcode == CompiledExpression.VARIABLE) {
+                    program.emitVariable(node.slot);
+                    top--;
+                    continue;
+                }
+
+                int children = node.right != null ? 2 : 1;
+                if (visited[top] < children) {
+                    Node child = visited[top] == 0 ? node.left : node.right;
+                    visited[top]++;
+                    if (top + 1 == stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                        visited = Arrays.copyOf(visited, visited.length * 2);
+                    }
+                    top++;
+                    stack[top] = child;
+                    visited[top] = 0;
+                    continue;
+                }
+
+                if (node.opcode == CompiledExpression.CALL) {
+                    program.emitCall(calls[node.slot]);
+                } else if (children == 2) {
+                    program.emitBinary(node.opcode);
+                } else {
+                    program.emitUnary(node.opcode);
+                }
+                if (node.uses > 1 && !node.isLeaf()) {
+                    node.temp = program.emitStore();
+                }
+                top--;
+            }
+            return program;
+        }
+    }
+}
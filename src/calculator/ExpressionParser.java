@@ -0,0 +1,890 @@
+package calculator;
+
+import java.util.Arrays;
+
+/**
+ * Lexer'dan gelen token'ları tek geçişte postfix programa çeviren ayrıştırıcı.
+ *
+ * Shunting-yard algoritmasının özyinelemesiz (iterative) hâlidir:
+ * - Sayı / sabit / değişken → programa yazılır
+ * - '(' ve fonksiyon çağrısı "sin(" → operatör yığınına bir açılış kaydı eklenir
+ * - ')' → açılışa kadar operatörler programa yazılır; açılış bir fonksiyona
+ *   aitse fonksiyon komutu da eklenir
+ * - Operatör → öncelik kuralına göre bekleyenler yazılır, sonra yığına eklenir
+ *
+ * Fonksiyon argümanları ayrı bir String olarak kesilip yeniden taranmaz;
+ * iç içe fonksiyonlar da aynı döngüde işlenir. Bu sayede ifade uzunluğundan
+ * bağımsız olarak her karakter bir kez taranır ve derin iç içe ifadeler
+ * Java yığınını (call stack) taşırmaz.
+ *
+ * solve(ifade, değişken, tahmin), sum(i, a, b, ifade), prod(i, a, b, ifade)
+ * ve integrate(ifade, x, a, b) çağrılarının gövdesi ayrı bir programa bir
+ * kez derlenir; gövde dıştaki değişkenleri ve en sonda çağrının kendi
+ * değişkenini görür (aynı isimde bir dış değişkeni gölgeler). Sınırlar ve
+ * tahmin dış programa yazılır, ardından bir CALL komutu eklenir; çağrı
+ * hesaplama anında çalışır (bkz. RuntimeCall).
+ *
+ * Hatalar, ifadedeki konumlarıyla birlikte CalculatorException olarak fırlatılır.
+ *
+ * Yığınlar nesneyle birlikte oluşturulup tekrar kullanılır; bu yüzden bir
+ * ExpressionParser aynı anda tek bir thread tarafından kullanılmalıdır.
+ *
+ * @author Yusuf
+ */
+final class ExpressionParser {
+
+    /** Operatör yığınında normal '(' açılışını temsil eden kayıt */
+    private static final char GROUP = '(';
+
+    private final Lexer lexer = new Lexer();
+
+    /**
+     * Operatör yığını. Operatörler kendi karakterleriyle ('+', '^' ...),
+     * açılışlar ise GROUP veya fonksiyonun işlem koduyla tutulur.
+     */
+    private char[] operators = new char[16];
+
+    /** Her yığın kaydının ifadedeki konumu (hata mesajları için) */
+    private int[] positions = new int[16];
+    private int operatorCount;
+
+    /** Açık her parantez grubu başlarken programın yığın derinliği */
+    private int[] groupDepths = new int[16];
+    private int groupCount;
+
+    /** Ayrıştırma başlarken programın yığın derinliği (iç ayrıştırmada sıfırdan büyük olabilir) */
+    private int base;
+
+    /** solve(), sum() ... argümanlarını ayrıştıran iç ayrıştırıcı (ilk kullanımda oluşturulur) */
+    private ExpressionParser nested;
+
+    /** Değişken içermeyen ifadeler için boş isim dizisi */
+    private static final String[] NO_VARIABLES = new String[0];
+
+    static final String EMPTY_EXPRESSION_MESSAGE = "Hesaplanacak bir ifade girilmedi.";
+
+    private static final String SOLVE = "solve";
+    private static final String SOLVE_USAGE_MESSAGE = "solve(ifade, değişken, tahmin) biçiminde yazılmalıdır.";
+
+    private static final String SUM = "sum";
+    private static final String PRODUCT = "prod";
+    private static final String SERIES_USAGE_MESSAGE = "%s(değişken, başlangıç, bitiş, ifade) biçiminde yazılmalıdır.";
+
+    private static final String INTEGRATE = "integrate";
+    private static final String INTEGRATE_USAGE_MESSAGE = "integrate(ifade, değişken, alt, üst) biçiminde yazılmalıdır.";
+
+    /**
+     * İfadeyi ayrıştırıp postfix komutları programa ekler.
+     *
+     * @param expression Matematiksel ifade
+     * @param variables  Yuva sırasına göre değişken isimleri
+     * @param program    Komutların yazılacağı program
+     * @throws CalculatorException Hatalı ifade durumunda
+     */
+    void parse(String expression, String[] variables, ProgramBuilder program) throws CalculatorException {
+
+        // ── Boşluk kontrolü ──────────────────────────────────
+        if (expression == null || expression.isBlank()) {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.EMPTY_EXPRESSION,
+                    -1,
+                    EMPTY_EXPRESSION_MESSAGE);
+        }
+
+        parse(expression, 0, expression.length(), variables, program);
+    }
+
+    /**
+     * İfadenin [start, end) aralığını ayrıştırıp postfix komutları programa
+     * ekler. Hata konumları bütün ifadeye göredir. Program boş olmak zorunda
+     * değildir; aralık, programın yığınına tek bir değer ekler.
+     *
+     * @param expression Matematiksel ifade
+     * @param start      Aralığın başı
+     * @param end        Aralığın sonu (hariç)
+     * @param variables  Yuva sırasına göre değişken isimleri
+     * @param program    Komutların yazılacağı program
+     * @throws CalculatorException Hatalı ifade durumunda
+     */
+    void parse(String expression, int start, int end, String[] variables, ProgramBuilder program)
+            throws CalculatorException {
+        lexer.reset(expression, start, end);
+        operatorCount = 0;
+        groupCount = 0;
+        base = program.depth();
+        parseTokens(variables, program, true, null, 0);
+        finish(program);
+    }
+
+    /**
+     * Değişkensiz bir ifadeyi ayrıştırır ve son iki token'dan hemen önceki
+     * ara durumu save'e kaydeder. İfadenin sonuna karakter eklenir veya
+     * sondan silinirse ayrıştırma resume() ile bu durumdan sürdürülebilir.
+     * Ayrıştırma hata verse bile, hatadan önce kaydedilen durum geçerlidir.
+     *
+     * @param expression Matematiksel ifade (boş olmamalı)
+     * @param program    Komutların yazılacağı program
+     * @param save       Ara durumun yazılacağı nesne
+     * @throws CalculatorException Hatalı ifade durumunda
+     */
+    void parse(String expression, ProgramBuilder program, Checkpoint save) throws CalculatorException {
+        lexer.reset(expression);
+        operatorCount = 0;
+        groupCount = 0;
+        base = 0;
+        parseTokens(NO_VARIABLES, program, true, save, tailStart(expression));
+        finish(program);
+    }
+
+    /**
+     * Ayrıştırmayı from durumundan sürdürür; from.matches(expression) true
+     * olmalıdır. program, from durumundaki yığın derinliği kadar değeri
+     * (örn: o ana kadarki ara sonuçları sabit olarak) içermelidir. Yeni ara
+     * durum save'e yazılır; save ile from aynı nesne olabilir.
+     *
+     * @throws CalculatorException Hatalı ifade durumunda
+     */
+    void resume(String expression, Checkpoint from, ProgramBuilder program, Checkpoint save)
+            throws CalculatorException {
+        if (operators.length < from.operators.length) {
+            operators = new char[from.operators.length];
+            positions = new int[from.operators.length];
+        }
+        if (groupDepths.length < from.groupDepths.length) {
+            groupDepths = new int[from.groupDepths.length];
+        }
+        System.arraycopy(from.operators, 0, operators, 0, from.operatorCount);
+        System.arraycopy(from.positions, 0, positions, 0, from.operatorCount);
+        System.arraycopy(from.groupDepths, 0, groupDepths, 0, from.groupCount);
+        operatorCount = from.operatorCount;
+        groupCount = from.groupCount;
+        base = 0;
+
+        lexer.reset(expression, from.position, expression.length());
+        parseTokens(NO_VARIABLES, program, from.expectOperand, save, tailStart(expression));
+        finish(program);
+    }
+
+    /**
+     * Ayrıştırmanın kaldığı yerden sürdürülebileceği ara durum: bir token'ın
+     * başındaki operatör yığını, açık gruplar ve programın o ana kadarki
+     * uzunluğu. Bu durum yalnızca token'ın ilk karakterine kadar (dahil)
+     * olan metne bağlıdır; sonrası değişse de geçerlidir.
+     */
+    static final class Checkpoint {
+        private String expression;
+        private int position = -1;
+        private boolean expectOperand;
+        private char[] operators = new char[16];
+        private int[] positions = new int[16];
+        private int operatorCount;
+        private int[] groupDepths = new int[16];
+        private int groupCount;
+        private int codeLength;
+        private int depth;
+
+        /** Durumu geçersiz kılar. */
+        void clear() {
+            expression = null;
+            position = -1;
+        }
+
+        /** Durum bu ifadenin ayrıştırılması sırasında kaydedildiyse true */
+        boolean isSavedFor(String text) {
+            return position >= 0 && expression == text;
+        }
+
+        /** Ayrıştırma bu durumdan sürdürülebilirse true */
+        boolean matches(String text) {
+            return position >= 0 && position < text.length()
+                    && text.regionMatches(0, expression, 0, position + 1);
+        }
+
+        /** Kaydedildiği anda programdaki komut sayısı */
+        int codeLength() {
+            return codeLength;
+        }
+
+        /** Kaydedildiği anda program yığınındaki değer sayısı */
+        int depth() {
+            return depth;
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // ANA DÖNGÜ (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Lexer'daki token'ları sırayla işler. save verilmişse saveFrom
+     * konumundan sonra başlayan ilk token'dan önceki durum kaydedilir.
+     *
+     * @param expectOperand Bir sonraki '-' işaretinin negatif işareti olup
+     *                      olmadığı (ifadenin başında, '(' veya bir operatörden sonra)
+     */
+    private void parseTokens(String[] variables, ProgramBuilder program, boolean expectOperand,
+            Checkpoint save, int saveFrom) throws CalculatorException {
+        int token;
+        while ((token = lexer.next()) != Lexer.END) {
+            if (save != null && lexer.start() >= saveFrom && !save.isSavedFor(lexer.input())) {
+                save(save, expectOperand, program);
+            }
+            switch (token) {
+
+                // ── Sayı ────────────────────────────────────
+                case Lexer.NUMBER:
+                    requireOperand(expectOperand);
+                    program.emitLiteral(lexer.number(), lexer.start(), lexer.end());
+                    expectOperand = false;
+                    break;
+
+                // ── Fonksiyon, sabit veya değişken ──────────
+                case Lexer.IDENTIFIER:
+                    requireOperand(expectOperand);
+                    expectOperand = parseIdentifier(variables, program);
+                    break;
+
+                // ── Açılış parantezi ────────────────────────
+                case Lexer.LEFT_PAREN:
+                    requireOperand(expectOperand);
+                    openGroup(GROUP, lexer.start(), program);
+                    expectOperand = true;
+                    break;
+
+                // ── Kapanış parantezi ───────────────────────
+                case Lexer.RIGHT_PAREN:
+                    if (expectOperand && operatorCount > 0 && isOperator(operators[operatorCount - 1])) {
+                        throw missingOperand(positions[operatorCount - 1]);
+                    }
+                    closeGroup(program);
+                    expectOperand = false;
+                    break;
+
+                // ── Faktöriyel ('5!', ')!') ─────────────────
+                case Lexer.FACTORIAL:
+                    if (expectOperand || program.depth() - currentBase() < 1) {
+                        throw CalculatorException.formatted(
+                                CalculatorException.ErrorType.INVALID_EXPRESSION,
+                                lexer.start(),
+                                "Faktöriyel için sayı bulunamadı.");
+                    }
+                    program.emitUnary(CompiledExpression.FACTORIAL);
+                    expectOperand = false;
+                    break;
+
+                // ── Operatör (+, -, *, /, %, ^) ─────────────
+                default:
+                    char operator = lexer.symbol();
+                    if (operator == '-' && expectOperand) {
+                        // Sayı sabiti okunduysa sıradaki '-' çıkarmadır
+                        expectOperand = !parseNegation(program);
+                        break;
+                    }
+                    if (expectOperand) {
+                        throw missingOperand(lexer.start());
+                    }
+                    // Mevcut operatörün önceliği, yığındakinden düşük veya eşitse
+                    // önce yığındaki operatörleri uygula
+                    while (operatorCount > 0
+                            && isOperator(operators[operatorCount - 1])
+                            && shouldApplyFirst(operators[operatorCount - 1], operator)) {
+                        emitTopOperator(program);
+                    }
+                    pushOperator(operator, lexer.start());
+                    expectOperand = true;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Bir operand (sayı, isim, '(') okunduğunda, sırada gerçekten bir operand
+     * beklendiğini kontrol eder. "2 3" veya "(1) (2)" gibi iki operandın
+     * arasında operatör yoksa hata verir.
+     */
+    private void requireOperand(boolean expectOperand) throws CalculatorException {
+        if (!expectOperand) {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    lexer.start(),
+                    "'%s' öncesinde bir operatör bekleniyordu.", lexer.text());
+        }
+    }
+
+    /**
+     * position konumundaki operatörden sonra (veya ifadenin, '(' ya da ','
+     * karakterinin hemen ardından gelen operatörde) operand bulunamadığı hatası.
+     */
+    private CalculatorException missingOperand(int position) {
+        return CalculatorException.formatted(
+                CalculatorException.ErrorType.INVALID_EXPRESSION,
+                position,
+                "'%c' işlemi için yeterli sayı yok. İfadenizi kontrol edin.",
+                lexer.input().charAt(position));
+    }
+
+    /**
+     * Kalan operatörleri programa yazar ve programın tek bir değer ürettiğini
+     * kontrol eder.
+     */
+    private void finish(ProgramBuilder program) throws CalculatorException {
+        // ── Kalan tüm operatörleri uygula ───────────────────
+        while (operatorCount > 0) {
+            if (!isOperator(operators[operatorCount - 1])) {
+                throw CalculatorException.formatted(
+                        CalculatorException.ErrorType.MISMATCHED_PARENTHESES,
+                        positions[operatorCount - 1],
+                        "%d adet '(' karakterinin eşi ')' bulunamadı.", groupCount);
+            }
+            emitTopOperator(program);
+        }
+
+        // ── Sonuç kontrolü ──────────────────────────────────
+        if (program.depth() != base + 1) {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    -1,
+                    "İfade düzgün hesaplanamadı. Lütfen ifadenizi kontrol edin.");
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // TOKEN İŞLEYİCİLERİ (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * pi / e sabitini, tanımlı bir değişkeni veya "isim(" biçimindeki
+     * fonksiyon çağrısını işler. Fonksiyon çağrısında '(' token'ı da tüketilir.
+     *
+     * @return Bir fonksiyon argümanı açıldıysa (sırada bir operand bekleniyorsa) true
+     */
+    private boolean parseIdentifier(String[] variables, ProgramBuilder program) throws CalculatorException {
+        int nameStart = lexer.start();
+
+        // π (pi) ve e sabitleri
+        if (lexer.tokenEquals("pi", true)) {
+            program.emitConstant(Math.PI);
+            return false;
+        } else if (lexer.tokenEquals("e", true)) {
+            program.emitConstant(Math.E);
+            return false;
+        }
+
+        // Değişken (derleme anında yuvaya bağlanır; aynı isimde sonraki yuva,
+        // yani en içteki sum / integrate değişkeni, öncekini gölgeler)
+        for (int slot = variables.length - 1; slot >= 0; slot--) {
+            if (lexer.tokenEquals(variables[slot], false)) {
+                program.emitVariable(slot);
+                return false;
+            }
+        }
+
+        // Kök bulma: solve(ifade, değişken, tahmin)
+        if (lexer.tokenEquals(SOLVE, true) && lexer.peek() == '(') {
+            parseSolve(nameStart, variables, program);
+            return false;
+        }
+
+        // Toplam / çarpım: sum(i, a, b, ifade), prod(i, a, b, ifade)
+        if (lexer.tokenEquals(SUM, true) && lexer.peek() == '(') {
+            parseSeries(nameStart, false, variables, program);
+            return false;
+        }
+        if (lexer.tokenEquals(PRODUCT, true) && lexer.peek() == '(') {
+            parseSeries(nameStart, true, variables, program);
+            return false;
+        }
+
+        // Sayısal integral: integrate(ifade, x, a, b)
+        if (lexer.tokenEquals(INTEGRATE, true) && lexer.peek() == '(') {
+            parseIntegrate(nameStart, variables, program);
+            return false;
+        }
+
+        // Fonksiyon parantezi bekle
+        int function = functionOpcode(lexer.input(), nameStart, lexer.end());
+        if (lexer.peek() != '(') {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    nameStart,
+                    function < 0
+                            ? "Bilinmeyen değişken: '%s'"
+                            : "Fonksiyon '%s' sonrasında '(' bekleniyordu.",
+                    function < 0 ? lexer.text() : lexer.text().toLowerCase());
+        }
+        if (function < 0) {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    nameStart,
+                    "Bilinmeyen fonksiyon: '%s'", lexer.text().toLowerCase());
+        }
+
+        lexer.next(); // '(' karakterini tüket
+        openGroup((char) function, nameStart, program);
+        return true;
+    }
+
+    /**
+     * solve(ifade, değişken, tahmin) çağrısını işler.
+     *
+     * İfade argümanı dıştaki değişkenler ve çözülen değişkenle bir kez
+     * derlenir; tahmin (örn: pi / 2 veya x) dış programa yazılır. Kök her
+     * hesaplamada RootSolver ile bulunur. Çağrı sonrasında tarama ')'
+     * karakterinden sonra sürer.
+     */
+    private void parseSolve(int nameStart, String[] variables, ProgramBuilder program) throws CalculatorException {
+        int[] ends = scanArguments(nameStart, SOLVE, 3, SOLVE_USAGE_MESSAGE);
+        String text = lexer.input();
+
+        String[] inner = withVariable(variables, text, ends[1] + 1, ends[2]);
+        CompiledExpression function = compileBody(text, ends[0], ends[1], inner);
+        nested().parse(text, ends[2] + 1, ends[3], variables, program);
+        program.emitCall(RuntimeCall.solve(SOLVE, function, nameStart));
+
+        lexer.skipTo(ends[3] + 1);
+    }
+
+    /**
+     * sum(i, a, b, ifade) veya prod(i, a, b, ifade) çağrısını işler.
+     *
+     * Sınırlar dış programa yazılır; hesaplama anında tamsayı değerli
+     * olmalıdır ve b &lt; a ise toplam 0, çarpım 1'dir. Gövde dıştaki
+     * değişkenler ve döngü değişkeniyle bir kez derlenir; terim sayısı
+     * büyükse bytecode'a çevrilir ve SeriesTask ile paralel hesaplanır.
+     */
+    private void parseSeries(int nameStart, boolean product, String[] variables, ProgramBuilder program)
+            throws CalculatorException {
+        String name = product ? PRODUCT : SUM;
+        int[] ends = scanArguments(nameStart, name, 4, String.format(SERIES_USAGE_MESSAGE, name));
+        String text = lexer.input();
+
+        String[] inner = withVariable(variables, text, ends[0], ends[1]);
+        nested().parse(text, ends[1] + 1, ends[2], variables, program);
+        nested().parse(text, ends[2] + 1, ends[3], variables, program);
+        CompiledExpression body = compileBody(text, ends[3] + 1, ends[4], inner);
+        program.emitCall(RuntimeCall.series(name, product, body, nameStart));
+
+        lexer.skipTo(ends[4] + 1);
+    }
+
+    /**
+     * integrate(ifade, x, a, b) çağrısını işler. Sınırlar dış programa
+     * yazılır; hesaplama anında sonlu olmalıdır ve a &gt; b ise işaret değişir.
+     */
+    private void parseIntegrate(int nameStart, String[] variables, ProgramBuilder program)
+            throws CalculatorException {
+        int[] ends = scanArguments(nameStart, INTEGRATE, 4, INTEGRATE_USAGE_MESSAGE);
+        String text = lexer.input();
+
+        String[] inner = withVariable(variables, text, ends[1] + 1, ends[2]);
+        nested().parse(text, ends[2] + 1, ends[3], variables, program);
+        nested().parse(text, ends[3] + 1, ends[4], variables, program);
+        CompiledExpression body = compileBody(text, ends[0], ends[1], inner);
+        program.emitCall(RuntimeCall.integral(INTEGRATE, body, nameStart));
+
+        lexer.skipTo(ends[4] + 1);
+    }
+
+    /**
+     * Negatif işaretini işler.
+     * - Sayıdan önce → negatif sayı sabiti (örn: -5)
+     * - '(' veya isimden önce → -1 * (...) olarak işlenir
+     *
+     * @return Sayı sabiti okunduysa true; '-1 *' yazıldıysa (hâlâ işlenen
+     *         beklenir) false
+     */
+    private boolean parseNegation(ProgramBuilder program) throws CalculatorException {
+        int signPosition = lexer.start();
+        char next = lexer.peek();
+
+        if ((next >= '0' && next <= '9') || next == '.') {
+            lexer.next();
+            program.emitLiteral(-lexer.number(), lexer.start(), lexer.end());
+            return true;
+        }
+        if (next == '(' || Character.isLetter(next)) {
+            program.emitConstant(-1.0);
+            pushOperator('*', signPosition);
+            return false;
+        }
+        throw CalculatorException.formatted(
+                CalculatorException.ErrorType.INVALID_EXPRESSION,
+                signPosition,
+                "'-' işaretinden sonra bir sayı veya ifade bekleniyordu.");
+    }
+
+    /**
+     * Bir parantez grubu (veya fonksiyon argümanı) açar.
+     */
+    private void openGroup(char opening, int position, ProgramBuilder program) {
+        pushOperator(opening, position);
+        if (groupCount == groupDepths.length) {
+            groupDepths = Arrays.copyOf(groupDepths, groupCount * 2);
+        }
+        groupDepths[groupCount++] = program.depth();
+    }
+
+    /**
+     * ')' gördüğünde açık grubu kapatır: bekleyen operatörleri yazar, grubun
+     * tek bir değer ürettiğini kontrol eder ve fonksiyon ise komutunu ekler.
+     */
+    private void closeGroup(ProgramBuilder program) throws CalculatorException {
+        while (operatorCount > 0 && isOperator(operators[operatorCount - 1])) {
+            emitTopOperator(program);
+        }
+        if (operatorCount == 0) {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.MISMATCHED_PARENTHESES,
+                    lexer.start(),
+                    "Fazladan ')' karakteri bulundu.");
+        }
+
+        char opening = operators[--operatorCount];
+        int openingPosition = positions[operatorCount];
+        int produced = program.depth() - groupDepths[--groupCount];
+
+        if (opening == GROUP) {
+            if (produced != 1) {
+                throw CalculatorException.formatted(
+                        CalculatorException.ErrorType.INVALID_EXPRESSION,
+                        openingPosition,
+                        "Parantez içindeki ifade düzgün hesaplanamadı.");
+            }
+            return;
+        }
+
+        if (produced == 0) {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.EMPTY_EXPRESSION,
+                    openingPosition,
+                    "Fonksiyon argümanı boş.");
+        }
+        if (produced != 1) {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    openingPosition,
+                    "Fonksiyon argümanı düzgün hesaplanamadı.");
+        }
+        program.emitUnary(opening);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * from konumundan başlayarak, parantez derinliği 0 iken görülen ilk ','
+     * veya eşsiz ')' karakterinin konumunu döndürür; bulunamazsa -1.
+     */
+    private static int findArgumentEnd(String text, int from, int limit) {
+        int depth = 0;
+        for (int i = from; i < limit; i++) {
+            char ch = text.charAt(i);
+            if (ch == '(') {
+                depth++;
+            } else if (ch == ')') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            } else if (ch == ',' && depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parser'ın güncel durumunu, lexer'ın okuduğu son token'dan öncesi için kaydeder.
+     */
+    private void save(Checkpoint checkpoint, boolean expectOperand, ProgramBuilder program) {
+        if (checkpoint.operators.length < operatorCount) {
+            checkpoint.operators = new char[operators.length];
+            checkpoint.positions = new int[operators.length];
+        }
+        if (checkpoint.groupDepths.length < groupCount) {
+            checkpoint.groupDepths = new int[groupDepths.length];
+        }
+        System.arraycopy(operators, 0, checkpoint.operators, 0, operatorCount);
+        System.arraycopy(positions, 0, checkpoint.positions, 0, operatorCount);
+        System.arraycopy(groupDepths, 0, checkpoint.groupDepths, 0, groupCount);
+        checkpoint.operatorCount = operatorCount;
+        checkpoint.groupCount = groupCount;
+        checkpoint.expectOperand = expectOperand;
+        checkpoint.codeLength = program.codeLength();
+        checkpoint.depth = program.depth();
+        checkpoint.position = lexer.start();
+        checkpoint.expression = lexer.input();
+    }
+
+    /**
+     * İfadenin son iki token'ının başlangıcından önceki (veya eşit) bir konum.
+     * Sayı ve isim token'ları sondan geriye doğru taranırken birleşik sayılır;
+     * bu yüzden sonuç gerçek başlangıçtan önce olabilir ama sonra olamaz.
+     */
+    private static int tailStart(String expression) {
+        int i = expression.length();
+        for (int token = 0; token < 2 && i > 0; token++) {
+            while (i > 0 && Character.isWhitespace(expression.charAt(i - 1))) {
+                i--;
+            }
+            if (i > 0 && isWordPart(expression.charAt(i - 1))) {
+                while (i > 0 && isWordPart(expression.charAt(i - 1))) {
+                    i--;
+                }
+            } else if (i > 0) {
+                i--;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isWordPart(char ch) {
+        return Lexer.isIdentifierPart(ch) || ch == '.';
+    }
+
+    /**
+     * "isim(" sonrasındaki argümanların sınırlarını bulur ve '(' token'ını tüketir.
+     * Argümanlar virgüllerle ayrılır; iç içe parantezlerdeki virgüller
+     * (örn: iç içe solve) argüman sınırı sayılmaz.
+     *
+     * @param arguments Beklenen argüman sayısı
+     * @param usage     Argüman sayısı veya biçim yanlışsa verilecek mesaj
+     * @return ends[0] ilk argümanın başı; ends[k] k. argümanın bitişindeki ',' veya ')' konumu
+     */
+    private int[] scanArguments(int nameStart, String name, int arguments, String usage)
+            throws CalculatorException {
+        lexer.next(); // '(' karakterini tüket
+        String text = lexer.input();
+
+        int[] ends = new int[arguments + 1];
+        ends[0] = lexer.end();
+        int count = 0;
+        int from = ends[0];
+        while (count < arguments) {
+            int end = findArgumentEnd(text, from, lexer.limit());
+            if (end < 0) {
+                throw CalculatorException.formatted(
+                        CalculatorException.ErrorType.MISMATCHED_PARENTHESES, nameStart,
+                        "'%s(' için kapanış ')' karakteri bulunamadı.", name);
+            }
+            ends[++count] = end;
+            if (text.charAt(end) == ')') {
+                break;
+            }
+            from = end + 1;
+        }
+        if (count != arguments || text.charAt(ends[arguments]) != ')') {
+            throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, nameStart, usage);
+        }
+        for (int k = 0; k < arguments; k++) {
+            if (isBlank(text, k == 0 ? ends[0] : ends[k] + 1, ends[k + 1])) {
+                throw CalculatorException.formatted(
+                        CalculatorException.ErrorType.EMPTY_EXPRESSION, nameStart, "%s argümanı boş.", name);
+            }
+        }
+        return ends;
+    }
+
+    /**
+     * Çağrının kendi değişkenini ([start, end) aralığındaki isim) dıştaki
+     * değişkenlerin sonuna ekler.
+     */
+    private static String[] withVariable(String[] variables, String text, int start, int end)
+            throws CalculatorException {
+        String[] variable = {text.substring(start, end).trim()};
+        validateVariables(variable);
+        String[] inner = Arrays.copyOf(variables, variables.length + 1);
+        inner[variables.length] = variable[0];
+        return inner;
+    }
+
+    /**
+     * Bir çağrının gövdesini ayrı bir programa derleyip iyileştirir.
+     * Dönen ifade değiştirilemez ve thread'ler arasında paylaşılabilir.
+     */
+    private CompiledExpression compileBody(String text, int start, int end, String[] variables)
+            throws CalculatorException {
+        ProgramBuilder function = new ProgramBuilder();
+        nested().parse(text, start, end, variables, function);
+        Calculator calculator = new Calculator();
+        return new ExpressionOptimizer(calculator).optimize(function)
+                .build(text.substring(start, end), variables, calculator);
+    }
+
+    private ExpressionParser nested() {
+        if (nested == null) {
+            nested = new ExpressionParser();
+        }
+        return nested;
+    }
+
+    /**
+     * [start, end) aralığında boşluk dışında karakter olup olmadığını kontrol eder.
+     */
+    private static boolean isBlank(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * En içteki açık grubun başladığı andaki program yığın derinliği.
+     */
+    private int currentBase() {
+        return groupCount > 0 ? groupDepths[groupCount - 1] : base;
+    }
+
+    /**
+     * Verilen yığın kaydının bir operatör olup olmadığını kontrol eder.
+     * Açılış kayıtları (GROUP ve fonksiyon kodları) operatör değildir.
+     */
+    private boolean isOperator(char ch) {
+        return ch == '+' || ch == '-' || ch == '*' || ch == '/' || ch == '%' || ch == '^';
+    }
+
+    /**
+     * Bir operatörün öncelik seviyesini döndürür.
+     * Yüksek değer = yüksek öncelik
+     */
+    private int precedence(char operator) {
+        switch (operator) {
+            case '+':
+            case '-':
+                return 1; // En düşük öncelik
+            case '*':
+            case '/':
+            case '%':
+                return 2; // Orta öncelik
+            case '^':
+                return 3; // En yüksek öncelik
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * stackOp operatörünün newOp operatöründen önce uygulanıp uygulanmayacağını
+     * belirler.
+     *
+     * Kural:
+     * - stackOp'un önceliği newOp'tan büyükse → evet
+     * - Öncelikler eşitse ve operatör sol-ilişkili ise → evet
+     * - '^' sağ-ilişkili olduğundan, eşit öncelikte uygulanmaz
+     */
+    private boolean shouldApplyFirst(char stackOp, char newOp) {
+        int stackPrecedence = precedence(stackOp);
+        int newPrecedence = precedence(newOp);
+
+        if (stackPrecedence > newPrecedence) {
+            return true;
+        }
+        // Eşit öncelikte: '^' sağdan sola ilişkili, diğerleri soldan sağa
+        if (stackPrecedence == newPrecedence && newOp != '^') {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Operatör yığınına bir kayıt ekler; gerekirse dizileri büyütür.
+     */
+    private void pushOperator(char operator, int position) {
+        if (operatorCount == operators.length) {
+            operators = Arrays.copyOf(operators, operatorCount * 2);
+            positions = Arrays.copyOf(positions, operatorCount * 2);
+        }
+        operators[operatorCount] = operator;
+        positions[operatorCount] = position;
+        operatorCount++;
+    }
+
+    /**
+     * Operatör yığınının tepesindeki operatörü alıp programa ekler.
+     * Programın yığınında bu gruba ait en az iki operand olmalıdır.
+     */
+    private void emitTopOperator(ProgramBuilder program) throws CalculatorException {
+        char operator = operators[--operatorCount];
+
+        if (program.depth() - currentBase() < 2) {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    positions[operatorCount],
+                    "'%c' işlemi için yeterli sayı yok. İfadenizi kontrol edin.", operator);
+        }
+
+        program.emitBinary(operatorOpcode(operator));
+    }
+
+    /**
+     * Operatör karakterinin işlem kodunu döndürür.
+     */
+    private int operatorOpcode(char operator) {
+        switch (operator) {
+            case '+': return CompiledExpression.ADD;
+            case '-': return CompiledExpression.SUBTRACT;
+            case '*': return CompiledExpression.MULTIPLY;
+            case '/': return CompiledExpression.DIVIDE;
+            case '%': return CompiledExpression.MODULO;
+            default: return CompiledExpression.POWER;
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // İSİM KONTROLLERİ (package-private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * [start, end) aralığındaki fonksiyon adının işlem kodunu döndürür;
+     * desteklenen bir fonksiyon değilse -1. Büyük/küçük harf duyarsızdır.
+     */
+    static int functionOpcode(String text, int start, int end) {
+        if (Lexer.regionEquals(text, start, end, "sin", true)) return CompiledExpression.SIN;
+        if (Lexer.regionEquals(text, start, end, "cos", true)) return CompiledExpression.COS;
+        if (Lexer.regionEquals(text, start, end, "tan", true)) return CompiledExpression.TAN;
+        if (Lexer.regionEquals(text, start, end, "sqrt", true)) return CompiledExpression.SQRT;
+        if (Lexer.regionEquals(text, start, end, "ln", true)) return CompiledExpression.LN;
+        if (Lexer.regionEquals(text, start, end, "log", true)) return CompiledExpression.LOG;
+        if (Lexer.regionEquals(text, start, end, "abs", true)) return CompiledExpression.ABS;
+        return -1;
+    }
+
+    /**
+     * Değişken isimlerinin geçerli, tekil ve ayrılmış isimlerden farklı olduğunu kontrol eder.
+     *
+     * @param variables Değişken isimleri
+     * @throws CalculatorException Geçersiz veya tekrarlanan isim durumunda
+     */
+    static void validateVariables(String[] variables) throws CalculatorException {
+        for (int slot = 0; slot < variables.length; slot++) {
+            String name = variables[slot];
+            boolean valid = name != null && !name.isEmpty() && Character.isLetter(name.charAt(0));
+            for (int j = 1; valid && j < name.length(); j++) {
+                valid = Lexer.isIdentifierPart(name.charAt(j));
+            }
+            if (!valid) {
+                throw new CalculatorException(
+                        CalculatorException.ErrorType.INVALID_EXPRESSION,
+                        String.format("'%s' geçerli bir değişken ismi değil.", name));
+            }
+
+            if (name.equalsIgnoreCase("pi") || name.equalsIgnoreCase("e") || name.equalsIgnoreCase(SOLVE)
+                    || name.equalsIgnoreCase(SUM) || name.equalsIgnoreCase(PRODUCT)
+                    || name.equalsIgnoreCase(INTEGRATE) || functionOpcode(name, 0, name.length()) >= 0) {
+                throw new CalculatorException(
+                        CalculatorException.ErrorType.INVALID_EXPRESSION,
+                        String.format("'%s' ayrılmış bir isimdir, değişken olarak kullanılamaz.", name));
+            }
+            for (int other = 0; other < slot; other++) {
+                if (variables[other].equals(name)) {
+                    throw new CalculatorException(
+                            CalculatorException.ErrorType.INVALID_EXPRESSION,
+                            String.format("'%s' değişkeni birden fazla kez tanımlandı.", name));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package calculator;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+
+/**
+ * Tek değişkenli (x) bir ifadenin grafiğini bir Canvas üzerine çizer.
+ *
+ * Derleme ve örnekleme FX thread'inde yapılmaz: ifade ve FunctionSampler
+ * aynı arka plan thread'inde çalışır, sonuç veya hata Platform.runLater ile
+ * teslim edilir. FX
+ * thread'i hiçbir zaman örneklemeyi beklemez; pahalı bir ifadede bile
+ * sürükleme ve yakınlaştırma anında eldeki son örneklerle yeniden çizilir,
+ * yeni örnekler hazır olunca grafik güncellenir.
+ *
+ * Eşzamanlılık kuralları:
+ * - Aynı anda en fazla bir örnekleme çalışır. Çalışırken gelen istekler
+ *   birleştirilir (coalesce); örnekleme bitince yalnızca en son görünüm
+ *   için yeni bir örnekleme başlar.
+ * - Her istek nesil (generation) sayacını artırır; eskimiş bir örnekleme
+ *   bunu görüp erken bırakır.
+ * - Art arda çizilen ifadelerden yalnızca sonuncusunun derleme sonucu
+ *   (fonksiyon veya hata) kullanılır.
+ * - İki PlotBuffer dönüşümlü kullanılır: arka plan thread'i yalnızca yedek
+ *   tampona yazar, FX thread'i yalnızca gösterilen tamponu okur. Tamponların
+ *   yer değiştirmesi FX thread'inde yapılır.
+ *
+ * Kaydırma ve yakınlaştırma yeniden örneklemeyi artımlı (incremental)
+ * yapar: gösterilen tampondaki noktalar yeni örneklemeye kaynak olarak
+ * verilir (bkz. FunctionSampler).
+ *
+ * Fareyle sürükleme grafiği kaydırır, tekerlek imlecin bulunduğu noktaya
+ * göre yakınlaştırır. Çift tıklama görünümü başlangıç hâline döndürür.
+ *
+ * Bu sınıfın tüm metotları FX thread'inden çağrılmalıdır.
+ *
+ * @author Yusuf
+ */
+final class FunctionPlotter {
+
+    /** Başlangıç görünümünde x ekseninin yarı genişliği */
+    private static final double DEFAULT_HALF_WIDTH = 10;
+
+    /** Tekerleğin bir adımında uygulanan yakınlaştırma oranı */
+    private static final double ZOOM_STEP = 1.15;
+
+    /** Çok büyük piksel koordinatları Canvas'a verilmeden önce bu aralığa sıkıştırılır */
+    private static final double PIXEL_LIMIT = 1e5;
+
+    // ── Renkler (Ghibli paleti) ─────────────────────────────
+    private static final Color CURVE_COLOR = Color.web("#88B04B");
+    private static final Color AXIS_COLOR = Color.web("#9A9A9A");
+    private static final Color GRID_COLOR = Color.web("#9A9A9A", 0.18);
+
+    private final Canvas canvas;
+    private final ExpressionEvaluator evaluator;
+
+    /** Örneklemenin yapıldığı tek arka plan thread'i */
+    private final ExecutorService sampler = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "plot-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Her yeni istekte artar; arka plandaki eski örnekleme kendini iptal eder */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Her plot() çağrısında artar; eskimiş derleme sonuçları kullanılmaz (FX thread'i) */
+    private long plotRequest;
+
+    private PlotViewport viewport;
+    private CompiledExpression function;
+
+    /** Gösterilen örnekler ve hangi fonksiyona ait oldukları */
+    private PlotBuffer front = new PlotBuffer(1024);
+    private CompiledExpression frontFunction;
+
+    /** Arka plan thread'inin yazdığı tampon */
+    private PlotBuffer spare = new PlotBuffer(1024);
+
+    private boolean sampling;
+    private boolean pending;
+
+    /** Çizim için tekrar kullanılan piksel koordinatı dizileri */
+    private double[] pixelX = new double[1024];
+    private double[] pixelY = new double[1024];
+
+    /** Sürükleme sırasında farenin son konumu */
+    private double dragX;
+    private double dragY;
+
+    /** Örnek sayısı ve görünüm bilgisinin bildirileceği dinleyici */
+    private final Consumer<String> status;
+
+    /**
+     * @param canvas    Grafiğin çizileceği alan
+     * @param evaluator İfadeleri derleyen değerlendirici (thread-safe)
+     * @param status    Örnekleme durumunu veya derleme hatasını gösterecek metin dinleyicisi
+     */
+    FunctionPlotter(Canvas canvas, ExpressionEvaluator evaluator, Consumer<String> status) {
+        this.canvas = canvas;
+        this.evaluator = evaluator;
+        this.status = status;
+        this.viewport = PlotViewport.centered(DEFAULT_HALF_WIDTH, canvas.getWidth(), canvas.getHeight());
+
+        canvas.setOnMousePressed(this::handlePress);
+        canvas.setOnMouseDragged(this::handleDrag);
+        canvas.setOnScroll(this::handleScroll);
+        canvas.setOnMouseClicked(event -> {
+            if (event.getClickCount() == 2) {
+                reset();
+            }
+        });
+        render();
+    }
+
+    /**
+     * Yeni bir ifadenin grafiğini çizer. İfade arka plan thread'inde x
+     * değişkeniyle derlenir; derlenemezse hata mesajı durum dinleyicisine
+     * verilir ve önceki grafik kalır. Önceki fonksiyonun örnekleri
+     * kullanılmaz; görünüm korunur.
+     *
+     * @param expression x değişkenli ifade
+     */
+    void plot(String expression) {
+        long request = ++plotRequest;
+        generation.incrementAndGet();
+        sampler.execute(() -> {
+            try {
+                CompiledExpression compiled = evaluator.compile(expression, "x");
+                Platform.runLater(() -> showFunction(request, compiled));
+            } catch (CalculatorException e) {
+                Platform.runLater(() -> showError(request, e.getMessage()));
+            }
+        });
+    }
+
+    /** Görünümü başlangıç hâline döndürür. */
+    void reset() {
+        viewport = PlotViewport.centered(DEFAULT_HALF_WIDTH, canvas.getWidth(), canvas.getHeight());
+        render();
+        requestSampling();
+    }
+
+    /** Arka plan thread'ini durdurur; pencere kapanırken çağrılır. */
+    void shutdown() {
+        generation.incrementAndGet();
+        sampler.shutdownNow();
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // FARE OLAYLARI
+    // ══════════════════════════════════════════════════════════
+
+    private void handlePress(MouseEvent event) {
+        dragX = event.getX();
+        dragY = event.getY();
+    }
+
+    private void handleDrag(MouseEvent event) {
+        viewport = viewport.panned(event.getX() - dragX, event.getY() - dragY);
+        dragX = event.getX();
+        dragY = event.getY();
+        render();
+        requestSampling();
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        if (event.getDeltaY() == 0) {
+            return;
+        }
+        double factor = event.getDeltaY() > 0 ? 1 / ZOOM_STEP : ZOOM_STEP;
+        viewport = viewport.zoomed(factor, event.getX(), event.getY());
+        render();
+        requestSampling();
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // ÖRNEKLEME
+    // ══════════════════════════════════════════════════════════
+
+    /** Derleme bittiğinde FX thread'inde çalışır; sonraki bir plot() varsa sonucu atar. */
+    private void showFunction(long request, CompiledExpression compiled) {
+        if (request != plotRequest) {
+            return;
+        }
+        function = compiled;
+        status.accept("");
+        render();
+        requestSampling();
+    }
+
+    /**
+     * Derleme hatasını gösterir. plot() sürmekte olan örneklemeyi iptal
+     * etmiş olabilir; önceki fonksiyon güncel görünüm için yeniden örneklenir.
+     */
+    private void showError(long request, String message) {
+        if (request != plotRequest) {
+            return;
+        }
+        status.accept(message);
+        requestSampling();
+    }
+
+    /**
+     * Güncel görünüm için örnekleme ister. Bir örnekleme sürüyorsa o iptal
+     * edilir ve bitince yenisi başlar.
+     */
+    private void requestSampling() {
+        generation.incrementAndGet();
+        if (function == null) {
+            return;
+        }
+        if (sampling) {
+            pending = true;
+            return;
+        }
+        startSampling();
+    }
+
+    private void startSampling() {
+        sampling = true;
+        pending = false;
+
+        long requested = generation.get();
+        CompiledExpression target = function;
+        PlotViewport view = viewport;
+        PlotBuffer source = frontFunction == target ? front : null;
+        PlotBuffer result = spare;
+
+        sampler.execute(() -> {
+            boolean completed = false;
+            try {
+                completed = new FunctionSampler(target, view, () -> generation.get() != requested)
+                        .sample(source, result);
+            } finally {
+                boolean published = completed;
+                Platform.runLater(() -> finishSampling(published, target, result));
+            }
+        });
+    }
+
+    /**
+     * Örnekleme bittiğinde FX thread'inde çalışır: sonucu gösterilen tamponla
+     * değiştirir ve bekleyen istek varsa yeni örneklemeyi başlatır.
+     */
+    private void finishSampling(boolean completed, CompiledExpression sampled, PlotBuffer result) {
+        sampling = false;
+        if (completed) {
+            spare = front;
+            front = result;
+            frontFunction = sampled;
+            render();
+            status.accept(String.format("%d nokta  |  %s", front.size(), viewport));
+        }
+        if (pending && function != null) {
+            startSampling();
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // ÇİZİM
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Izgarayı, eksenleri ve gösterilen tampondaki eğriyi güncel görünüme
+     * göre çizer. Örnekler başka bir görünüm için alınmış olabilir
+     * (kaydırma sürerken); noktalar yine doğru konumlarına çizilir.
+     */
+    private void render() {
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        graphics.clearRect(0, 0, width, height);
+
+        drawGrid(graphics, width, height);
+
+        if (function == null || frontFunction != function) {
+            return;
+        }
+
+        graphics.setStroke(CURVE_COLOR);
+        graphics.setLineWidth(2);
+
+        // Eğri, tanımsız noktalarda (NaN) parçalara ayrılarak çizilir
+        int count = 0;
+        for (int i = 0; i < front.size(); i++) {
+            double y = front.y(i);
+            if (!Double.isFinite(y)) {
+                strokeRun(graphics, count);
+                count = 0;
+                continue;
+            }
+            if (count == pixelX.length) {
+                pixelX = Arrays.copyOf(pixelX, count * 2);
+                pixelY = Arrays.copyOf(pixelY, count * 2);
+            }
+            pixelX[count] = viewport.toPixelX(front.x(i));
+            pixelY[count] = clamp(viewport.toPixelY(y));
+            count++;
+        }
+        strokeRun(graphics, count);
+    }
+
+    private void strokeRun(GraphicsContext graphics, int count) {
+        if (count > 1) {
+            graphics.strokePolyline(pixelX, pixelY, count);
+        }
+    }
+
+    private void drawGrid(GraphicsContext graphics, double width, double height) {
+        double step = gridStep(viewport.getXMax() - viewport.getXMin());
+
+        graphics.setLineWidth(1);
+        graphics.setStroke(GRID_COLOR);
+        for (double x = Math.ceil(viewport.getXMin() / step) * step; x <= viewport.getXMax(); x += step) {
+            double pixel = Math.rint(viewport.toPixelX(x)) + 0.5;
+            graphics.strokeLine(pixel, 0, pixel, height);
+        }
+        for (double y = Math.ceil(viewport.getYMin() / step) * step; y <= viewport.getYMax(); y += step) {
+            double pixel = Math.rint(viewport.toPixelY(y)) + 0.5;
+            graphics.strokeLine(0, pixel, width, pixel);
+        }
+
+        graphics.setStroke(AXIS_COLOR);
+        double originX = viewport.toPixelX(0);
+        double originY = viewport.toPixelY(0);
+        if (originX >= 0 && originX <= width) {
+            graphics.strokeLine(Math.rint(originX) + 0.5, 0, Math.rint(originX) + 0.5, height);
+        }
+        if (originY >= 0 && originY <= height) {
+            graphics.strokeLine(0, Math.rint(originY) + 0.5, width, Math.rint(originY) + 0.5);
+        }
+    }
+
+    /**
+     * Görünen aralıkta yaklaşık 10 çizgi verecek 1, 2, 5 × 10^k adımı.
+     */
+    private static double gridStep(double range) {
+        double raw = range / 10;
+        double magnitude = Math.pow(10, Math.floor(Math.log10(raw)));
+        double normalized = raw / magnitude;
+        if (normalized < 2) {
+            return magnitude;
+        }
+        if (normalized < 5) {
+            return 2 * magnitude;
+        }
+        return 5 * magnitude;
+    }
+
+    private static double clamp(double pixel) {
+        return Math.max(-PIXEL_LIMIT, Math.min(PIXEL_LIMIT, pixel));
+    }
+}
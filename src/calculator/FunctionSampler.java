@@ -0,0 +1,217 @@
+package calculator;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tek değişkenli derlenmiş bir ifadeyi grafik için uyarlamalı (adaptive)
+ * olarak örnekler.
+ *
+ * ADIM 1: Görünen aralık, 2'nin kuvveti aralıklı sabit bir ızgaraya bölünür
+ *         (yaklaşık 4 piksel). Izgara noktası önceki örneklemede zaten
+ *         hesaplandıysa o değer kullanılır; kaydırmada (pan) yalnızca yeni
+ *         açılan kenar hesaplanır.
+ * ADIM 2: Ardışık her nokta çifti için orta nokta hesaplanır. Orta nokta,
+ *         iki uçtan geçen doğrudan tolerans kadar sapıyorsa (eğrilik
+ *         yüksek) parça ikiye bölünür; bölme piksel başına en fazla 4
+ *         örneğe kadar sürer. Böylece düz bölgelerde az, kıvrımlı
+ *         bölgelerde sık örnek alınır.
+ * ADIM 3: Tanım dışı noktalar (NaN) ile tanımlı noktalar arasındaki sınır
+ *         aynı şekilde daraltılır. En küçük aralıkta bile görünen y
+ *         aralığından büyük bir sıçrama kalırsa sıçrama ikiye bölünerek
+ *         izlenir; daralmıyorsa (örn: tan(x)'in kutupları) araya y = NaN
+ *         bir kopukluk noktası eklenir, daralıyorsa eğri dik ama süreklidir.
+ *
+ * Önceki örneklemede aynı veya daha sıkı toleransla doğrulanmış parçalar
+ * yeniden incelenmez (bkz. PlotBuffer). Yakınlaştırmada yalnızca yeni
+ * toleransa yetmeyen parçalar bölünür; uzaklaştırmada fazla sık noktalar
+ * seyreltilir.
+ *
+ * Hesaplamalar CompiledExpression.evaluateOrError ile yapılır; tanım dışı
+ * noktalar exception oluşturmaz. Nesne tek bir örnekleme için arka plan
+ * thread'inde oluşturulur.
+ *
+ * @author Yusuf
+ */
+final class FunctionSampler {
+
+    /** Aynı ızgara noktası sayılmak için izin verilen göreli fark */
+    private static final double GRID_MATCH = 1e-6;
+
+    /** Süreksizlik kontrolünde sıçramanın izlendiği ek ikiye bölme sayısı */
+    private static final int DISCONTINUITY_PROBES = 40;
+
+    private final CompiledExpression function;
+    private final BooleanSupplier cancelled;
+    private final EvaluationOutcome outcome = new EvaluationOutcome();
+    private final double[] binding = new double[1];
+
+    private final double tolerance;
+    private final double minStep;
+    private final double jumpThreshold;
+    private final PlotViewport viewport;
+
+    private PlotBuffer target;
+
+    /** Son eklenen noktanın önceki tampondaki indeksi; yeni hesaplandıysa -1 */
+    private int lastSource;
+
+    /**
+     * @param function  x değişkenli derlenmiş ifade
+     * @param viewport  Örneklenecek görünüm
+     * @param cancelled Örnekleme gereksiz hâle geldiğinde (daha yeni bir istek) true döner
+     */
+    FunctionSampler(CompiledExpression function, PlotViewport viewport, BooleanSupplier cancelled) {
+        this.function = function;
+        this.viewport = viewport;
+        this.cancelled = cancelled;
+        this.tolerance = viewport.tolerance();
+        this.minStep = viewport.minStep();
+        this.jumpThreshold = viewport.jumpThreshold();
+    }
+
+    /**
+     * Görünümü örnekleyip sonucu target tamponuna yazar.
+     *
+     * @param previous Aynı fonksiyonun önceki örnekleri veya null
+     * @param target   Sonucun yazılacağı tampon (previous'tan farklı olmalı)
+     * @return Tamamlandıysa true; iptal edildiyse false (target yarım kalır)
+     */
+    boolean sample(PlotBuffer previous, PlotBuffer target) {
+        this.target = target;
+        target.clear();
+        lastSource = -1;
+
+        double step = viewport.seedStep();
+        double start = Math.floor(viewport.getXMin() / step) * step;
+        long cells = (long) Math.ceil((viewport.getXMax() - start) / step);
+        double match = step * GRID_MATCH;
+
+        int count = previous == null ? 0 : previous.size();
+        int next = previous == null ? 0 : previous.lowerBound(start - match);
+
+        for (long k = 0; k <= cells; k++) {
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            double gridX = start + k * step;
+
+            // Önceki hücredeki eski örnekler
+            while (next < count && previous.x(next) < gridX - match) {
+                emitPrevious(previous, next++);
+            }
+            // Izgara noktası: önceden hesaplandıysa tekrar kullan
+            if (next < count && previous.x(next) <= gridX + match) {
+                emitPrevious(previous, next++);
+            } else {
+                emit(gridX, evaluate(gridX), PlotBuffer.UNVERIFIED, -1);
+            }
+        }
+        return true;
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private void emitPrevious(PlotBuffer previous, int index) {
+        double x = previous.x(index);
+        if (target.size() > 0 && x - target.x(target.size() - 1) < 0.5 * minStep) {
+            // Uzaklaştırma sonrası gereğinden sık nokta: atla, parça yeniden incelensin
+            target.setLastVerified(PlotBuffer.UNVERIFIED);
+            lastSource = -1;
+            return;
+        }
+        emit(x, previous.y(index), previous.verified(index), index);
+    }
+
+    /**
+     * Son noktadan (x, y)'ye kadar olan parçayı gerekirse inceleyip noktayı ekler.
+     *
+     * @param verified Bu noktadan başlayan parçanın önceki doğrulama toleransı
+     * @param source   Noktanın önceki tampondaki indeksi; yeni hesaplandıysa -1
+     */
+    private void emit(double x, double y, double verified, int source) {
+        if (target.size() > 0) {
+            // Önceki doğrulama, yalnızca iki nokta eski tamponda da komşuysa geçerlidir
+            if (lastSource < 0 || source != lastSource + 1) {
+                target.setLastVerified(PlotBuffer.UNVERIFIED);
+            }
+            int last = target.size() - 1;
+            if (target.verified(last) > tolerance) {
+                refine(target.x(last), target.y(last), x, y);
+            }
+        }
+        target.add(x, y, verified);
+        lastSource = source;
+    }
+
+    /**
+     * [a, b] parçasını orta nokta testine göre özyinelemeli olarak böler.
+     * Ara noktalar x sırasıyla eklenir; a her zaman son eklenen noktadır.
+     */
+    private void refine(double a, double fa, double b, double fb) {
+        double middle = 0.5 * (a + b);
+        double fm = evaluate(middle);
+        boolean split = needsSplit(fa, fm, fb);
+
+        if (split && b - a > minStep) {
+            refine(a, fa, middle, fm);
+            target.add(middle, fm, PlotBuffer.UNVERIFIED);
+            refine(middle, fm, b, fb);
+            return;
+        }
+
+        target.setLastVerified(tolerance);
+        if (split && Double.isFinite(fa) && Double.isFinite(fb) && Math.abs(fb - fa) > jumpThreshold
+                && isDiscontinuous(a, fa, b, fb)) {
+            target.add(middle, Double.NaN, tolerance);
+        }
+    }
+
+    /**
+     * Sıçramayı, her adımda farkın büyük olduğu yarıyı seçerek izler.
+     * Sürekli (ama dik) bir eğride fark hızla eşiğin altına iner; kutup
+     * veya basamak gibi bir süreksizlikte aralık daralsa da fark kalır.
+     */
+    private boolean isDiscontinuous(double a, double fa, double b, double fb) {
+        for (int probe = 0; probe < DISCONTINUITY_PROBES; probe++) {
+            double middle = 0.5 * (a + b);
+            double fm = evaluate(middle);
+            if (!Double.isFinite(fm)) {
+                return true;
+            }
+            if (Math.abs(fm - fa) > Math.abs(fb - fm)) {
+                b = middle;
+                fb = fm;
+            } else {
+                a = middle;
+                fa = fm;
+            }
+            if (Math.abs(fb - fa) <= jumpThreshold) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parçanın bölünmesi gerekip gerekmediğini belirler: tanımlı/tanımsız
+     * sınırı içeriyorsa veya orta nokta doğrusal yaklaşımdan toleranstan
+     * fazla sapıyorsa.
+     */
+    private boolean needsSplit(double fa, double fm, double fb) {
+        boolean finiteA = Double.isFinite(fa);
+        boolean finiteM = Double.isFinite(fm);
+        boolean finiteB = Double.isFinite(fb);
+        if (!finiteA || !finiteM || !finiteB) {
+            return finiteA || finiteM || finiteB;
+        }
+        return Math.abs(fm - 0.5 * (fa + fb)) > tolerance;
+    }
+
+    /** f(x); tanım dışı noktalarda NaN */
+    private double evaluate(double x) {
+        binding[0] = x;
+        return function.evaluateOrError(outcome, binding);
+    }
+}
@@ -0,0 +1,488 @@
+package calculator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * İşlem geçmişini uygulama kapandıktan sonra da saklayan, yalnızca sona
+ * eklenen (append-only) ikili günlük dosyası.
+ *
+ * Dosya biçimi:
+ * - Başlık: MAGIC (4 bayt) + VERSION (4 bayt)
+ * - Kayıt: yük uzunluğu (int) + yükün CRC32C'si (int) + yük
+ * - Yük: zaman damgası (long) + süre (long) + sonuç (double) + hata kodu
+ *   (byte) + ifadenin UTF-8 baytları. Hata kodu, hata türünün sabit kodudur
+ *   (ErrorType.getCode(); enum sırası değil); başarılı işlemde -1. Hata kodu
+ *   CLEAR_CODE olan kayıt "geçmiş temizlendi" işaretidir.
+ *
+ * Yazma (grup commit):
+ * append() kaydı kilitsiz bir kuyruğa koyar ve hemen döner; tek bir
+ * "history-log" thread'i kuyrukta biriken tüm kayıtları tek write ile
+ * yazar ve tek bir force (fsync) çağırır. Birçok thread aynı anda kayıt
+ * eklese de fsync sayısı kayıt sayısıyla değil, yazma turlarıyla artar.
+ * Çökme anında en fazla son tur kaybolur. UTF-8 hâli MAX_EXPRESSION_BYTES'ı
+ * aşan ifadeler kırpılarak (sonuna "…" eklenerek) yazılır; kurtarma aynı
+ * sınırı aşan kayıtları bozuk saydığından dosyaya sınırdan büyük yük yazılmaz.
+ *
+ * Kurtarma:
+ * Açılışta dosya FileChannel.map ile belleğe eşlenir ve kayıtlar sırayla
+ * okunur. Uzunluğu tutarsız veya CRC'si uymayan ilk kayıtta (örn: yazılırken
+ * kesilmiş son kayıt) okuma durur ve dosya o noktadan kesilir (truncate);
+ * sonraki yazmalar geçerli kayıtların hemen arkasına eklenir.
+ *
+ * Sıkıştırma (compaction):
+ * Dosyadaki kayıt sayısı saklama sınırının (retention) iki katını ve
+ * MIN_COMPACTION_RECORDS'u aştığında yazıcı thread son retention kaydı yeni
+ * bir dosyaya kopyalar, diske yazar ve eski dosyanın yerine atomik olarak
+ * taşır. Çökme anında ya eski ya yeni dosya bütün olarak kalır. Böylece
+ * dosyanın boyutu (ve açılış süresi) geçmişin toplam uzunluğuyla değil,
+ * saklama sınırıyla orantılıdır.
+ *
+ * Aynı dosyayı iki süreç kullanamaz; yanındaki ".lock" dosyası kilitlenir.
+ *
+ * @author Yusuf
+ */
+final class HistoryLog implements AutoCloseable {
+
+    private static final int MAGIC = 0x43414C48; // "CALH"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    /** Kayıt başlığı: uzunluk + CRC */
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    /** Yükün ifade dışındaki sabit kısmı */
+    private static final int FIXED_PAYLOAD_SIZE = 8 + 8 + 8 + 1;
+
+    /** Bundan uzun yükler bozuk sayılır */
+    private static final int MAX_PAYLOAD_SIZE = 1 << 20;
+
+    /** Bir kayda yazılabilecek en uzun ifade (UTF-8 bayt); uzunları kırpılır */
+    static final int MAX_EXPRESSION_BYTES = MAX_PAYLOAD_SIZE - FIXED_PAYLOAD_SIZE;
+
+    /** Kırpılan ifadenin sonuna eklenen işaret */
+    static final String CLIPPED_SUFFIX = "…";
+    private static final byte[] CLIPPED_SUFFIX_BYTES = CLIPPED_SUFFIX.getBytes(StandardCharsets.UTF_8);
+
+    /** "Geçmiş temizlendi" kaydının hata kodu */
+    private static final byte CLEAR_CODE = -2;
+
+    /** Bu kadar kayıt birikmeden sıkıştırma yapılmaz (küçük retention için) */
+    private static final long MIN_COMPACTION_RECORDS = 1024;
+
+    /** Sıkıştırmada kayıt başlıkları okunurken kullanılan tampon boyutu */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /** Kurtarılan kayıtları alan dinleyici */
+    interface Replay {
+        void entry(String expression, double result, byte errorCode, long timestamp, long nanos);
+
+        void cleared();
+    }
+
+    /** Kuyruktaki bir kayıt; expression null ise temizleme işaretidir */
+    private static final class Record {
+        final String expression;
+        final double result;
+        final byte errorCode;
+        final long timestamp;
+        final long nanos;
+
+        Record(String expression, double result, byte errorCode, long timestamp, long nanos) {
+            this.expression = expression;
+            this.result = result;
+            this.errorCode = errorCode;
+            this.timestamp = timestamp;
+            this.nanos = nanos;
+        }
+    }
+
+    private final Path file;
+    private final int retention;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    private final ConcurrentLinkedQueue<Record> queue = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // ── Yalnızca yazıcı thread'inde (açılıştan sonra) kullanılır ──
+    private FileChannel channel;
+    /** Son geçerli kaydın bittiği konum; sonraki kayıt buraya yazılır */
+    private long end;
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private final CRC32C crc = new CRC32C();
+    /** Dosyadaki kayıt sayısı (temizleme işaretleri dahil) */
+    private long records;
+    /** Son temizleme işaretinden sonraki kayıt sayısı */
+    private long live;
+    /** Sıkıştırma başarısız olursa bir sonraki deneme için gereken kayıt sayısı */
+    private long nextCompaction;
+
+    private HistoryLog(Path file, int retention, FileChannel lockChannel, FileLock lock) {
+        this.file = file;
+        this.retention = retention;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+        this.writer = new Thread(this::writeLoop, "history-log");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Günlüğü açar, geçerli kayıtları replay'e sırayla verir ve yazıcı
+     * thread'ini başlatır. Dosya yoksa oluşturulur.
+     *
+     * @param file      Günlük dosyası
+     * @param retention Sıkıştırmada saklanacak kayıt sayısı
+     * @param replay    Kurtarılan kayıtları alan dinleyici
+     * @return Açık günlük
+     * @throws IOException Dosya açılamazsa, biçimi tanınmazsa veya başka bir süreç kullanıyorsa
+     */
+    static HistoryLog open(Path file, int retention, Replay replay) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        FileChannel lockChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Aynı süreç dosyayı zaten açmış
+            lock = null;
+        } catch (IOException e) {
+            lockChannel.close();
+            throw e;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Geçmiş dosyası zaten kullanılıyor: " + file);
+        }
+
+        HistoryLog log = new HistoryLog(file, retention, lockChannel, lock);
+        try {
+            log.recover(replay);
+        } catch (IOException e) {
+            log.release();
+            throw e;
+        }
+        log.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(log::close, "history-log-close"));
+        return log;
+    }
+
+    /** Kaydı yazılmak üzere kuyruğa ekler. Birden fazla thread'den çağrılabilir. */
+    void append(String expression, double result, byte errorCode, long timestamp, long nanos) {
+        enqueue(new Record(expression, result, errorCode, timestamp, nanos));
+    }
+
+    /** "Geçmiş temizlendi" işaretini kuyruğa ekler. */
+    void appendClear() {
+        enqueue(new Record(null, 0, CLEAR_CODE, 0, 0));
+    }
+
+    /**
+     * Kuyruktaki kayıtları yazıp diske indirir ve dosyayı kapatır.
+     * Birden fazla kez çağrılabilir.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // KURTARMA
+    // ══════════════════════════════════════════════════════════
+
+    private void recover(Replay replay) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            // Yeni dosya veya başlığı yazılırken kesilmiş dosya
+            channel.truncate(0);
+            channel.position(0);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(channel, header);
+            channel.force(true);
+            end = HEADER_SIZE;
+            channel.position(end);
+            return;
+        }
+
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+            throw new IOException("Geçmiş dosyası tanınmadı: " + file);
+        }
+
+        int position = HEADER_SIZE;
+        byte[] text = new byte[256];
+        while (position + RECORD_HEADER_SIZE <= size) {
+            int length = map.getInt(position);
+            int checksum = map.getInt(position + 4);
+            int payload = position + RECORD_HEADER_SIZE;
+            if (length < FIXED_PAYLOAD_SIZE || length > MAX_PAYLOAD_SIZE || payload + (long) length > size) {
+                break;
+            }
+            crc.reset();
+            crc.update(map.slice(payload, length));
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            long timestamp = map.getLong(payload);
+            long nanos = map.getLong(payload + 8);
+            double result = map.getDouble(payload + 16);
+            byte errorCode = map.get(payload + 24);
+            if (errorCode == CLEAR_CODE) {
+                replay.cleared();
+                live = 0;
+            } else {
+                int textLength = length - FIXED_PAYLOAD_SIZE;
+                if (text.length < textLength) {
+                    text = new byte[Math.max(textLength, text.length * 2)];
+                }
+                map.get(payload + FIXED_PAYLOAD_SIZE, text, 0, textLength);
+                replay.entry(new String(text, 0, textLength, StandardCharsets.UTF_8),
+                        result, errorCode, timestamp, nanos);
+                live++;
+            }
+            records++;
+            position = payload + length;
+        }
+
+        if (position < size) {
+            // Yarım kalmış veya bozuk kuyruk: geçerli kayıtlardan sonrası atılır
+            try {
+                channel.truncate(position);
+                channel.force(true);
+            } catch (IOException e) {
+                // Örn: Windows eşlenmiş dosyayı kesmeye izin vermez; yeni kayıtlar
+                // bozuk kuyruğun üzerine yazılır, kalan kısım yine CRC'den geçmez
+            }
+        }
+        end = position;
+        channel.position(end);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YAZICI THREAD
+    // ══════════════════════════════════════════════════════════
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                compactIfNeeded();
+                Record record = queue.poll();
+                if (record == null) {
+                    if (closed && queue.isEmpty()) {
+                        break;
+                    }
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                // ── Grup commit: kuyrukta birikenlerin hepsi tek turda ──
+                buffer.clear();
+                long written = 0;
+                long cleared = -1;
+                do {
+                    encode(record);
+                    written++;
+                    if (record.expression == null) {
+                        cleared = written;
+                    }
+                    record = queue.poll();
+                } while (record != null);
+
+                buffer.flip();
+                end += buffer.remaining();
+                writeFully(channel, buffer);
+                channel.force(false);
+
+                records += written;
+                live = cleared < 0 ? live + written : written - cleared;
+            }
+        } catch (IOException e) {
+            System.err.println("Geçmiş dosyasına yazılamadı, kayıt durduruldu: " + e.getMessage());
+            closed = true;
+            queue.clear();
+        } finally {
+            release();
+        }
+    }
+
+    private void enqueue(Record record) {
+        if (closed) {
+            return;
+        }
+        queue.offer(record);
+        LockSupport.unpark(writer);
+    }
+
+    private void encode(Record record) {
+        byte[] text = record.expression == null
+                ? new byte[0]
+                : record.expression.getBytes(StandardCharsets.UTF_8);
+        int textLength = text.length;
+        byte[] suffix = null;
+        if (textLength > MAX_EXPRESSION_BYTES) {
+            // Kurtarmanın reddedeceği kadar uzun: karakter sınırında kırpılır
+            suffix = CLIPPED_SUFFIX_BYTES;
+            textLength = MAX_EXPRESSION_BYTES - suffix.length;
+            while (textLength > 0 && (text[textLength] & 0xC0) == 0x80) {
+                textLength--; // UTF-8 devam baytı: karakterin ortası
+            }
+        }
+        int length = FIXED_PAYLOAD_SIZE + textLength + (suffix == null ? 0 : suffix.length);
+        if (buffer.remaining() < RECORD_HEADER_SIZE + length) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2,
+                    buffer.position() + RECORD_HEADER_SIZE + length));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+
+        int start = buffer.position();
+        buffer.putInt(length).putInt(0);
+        int payload = buffer.position();
+        buffer.putLong(record.timestamp)
+                .putLong(record.nanos)
+                .putDouble(record.result)
+                .put(record.errorCode)
+                .put(text, 0, textLength);
+        if (suffix != null) {
+            buffer.put(suffix);
+        }
+
+        crc.reset();
+        crc.update(buffer.array(), payload, length);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // SIKIŞTIRMA
+    // ══════════════════════════════════════════════════════════
+
+    private void compactIfNeeded() throws IOException {
+        long threshold = Math.max(nextCompaction, Math.max(retention, MIN_COMPACTION_RECORDS) + retention);
+        if (records <= threshold) {
+            return;
+        }
+        try {
+            compact();
+            nextCompaction = 0;
+        } catch (IOException e) {
+            // Örn: Windows'ta dosya hâlâ eşlenmiş (map) olabilir; daha sonra tekrar denenir.
+            // Eski dosya yerinde durduğu için yazmaya onunla devam edilir.
+            nextCompaction = records + MIN_COMPACTION_RECORDS;
+            reopen();
+        }
+    }
+
+    /**
+     * Son min(live, retention) kaydı yeni bir dosyaya kopyalar ve eski
+     * dosyanın yerine taşır.
+     */
+    private void compact() throws IOException {
+        long keep = Math.min(live, retention);
+        long skip = records - keep;
+        long offset = skipRecords(skip);
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(out, header);
+            long copied = 0;
+            while (copied < end - offset) {
+                copied += channel.transferTo(offset + copied, end - offset - copied, out);
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        end = HEADER_SIZE + (end - offset);
+        reopen();
+        records = keep;
+        live = keep;
+    }
+
+    /** Baştan count kaydı atlar; yalnızca kayıt başlıkları okunur. */
+    private long skipRecords(long count) throws IOException {
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = HEADER_SIZE;
+        long scanStart = 0;
+        int scanLength = 0;
+        for (long i = 0; i < count; i++) {
+            if (position < scanStart || position + RECORD_HEADER_SIZE > scanStart + scanLength) {
+                scan.clear();
+                scanStart = position;
+                while (scan.hasRemaining() && channel.read(scan, scanStart + scan.position()) > 0) {
+                    // Tampon dolana veya dosya bitene kadar oku
+                }
+                scanLength = scan.position();
+                if (scanLength < RECORD_HEADER_SIZE) {
+                    throw new IOException("Geçmiş dosyası beklenenden kısa: " + file);
+                }
+            }
+            position += RECORD_HEADER_SIZE + scan.getInt((int) (position - scanStart));
+        }
+        return position;
+    }
+
+    private void reopen() throws IOException {
+        if (channel.isOpen()) {
+            channel.close();
+        }
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(end);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** Tamponun tamamını kanalın bulunduğu konumdan itibaren yazar. */
+    private static void writeFully(FileChannel target, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            target.write(source);
+        }
+    }
+
+    private void release() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            // Kapanışta yapılacak bir şey yok
+        }
+    }
+}
@@ -1,30 +1,53 @@
 package calculator;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Yapılan işlemlerin geçmişini yöneten sınıf.
- * 
+ *
  * Özellikler:
- * - Son N işlemi (varsayılan 5) bir ArrayList'te saklar
- * - Kapasite dolduğunda en eski kaydı otomatik siler (FIFO)
+ * - Son N işlemi (varsayılan 5) dairesel bir tamponda (ring buffer) saklar
+ * - Kapasite dolduğunda en eski kaydın üzerine yazılır (FIFO, O(1))
  * - İşlem geçmişini listeleme imkânı sunar
  * - Geçmişi temizleme özelliği vardır
- * 
+ *
+ * Kayıtlar metin olarak değil, alanlarına ayrılmış olarak tutulur: ifade,
+ * sonuç, hata türü, zaman damgası ve hesaplama süresi. Bir kayıt eklemek
+ * String.format çağırmaz; metin yalnızca getHistory() veya
+ * getFormattedHistory() çağrıldığında üretilir.
+ *
+ * Thread güvenliği:
+ * Kayıtlar kilitsiz bir HistoryRing'de tutulur. addEntry ve addErrorEntry
+ * birden fazla thread'den (sunucu, toplu işler, arayüz) aynı anda
+ * çağrılabilir ve birbirini beklemez. Okuma metotları tamamlanmış
+ * kayıtların tutarlı bir anlık görüntüsünü (snapshot) kullanır.
+ *
+ * Kalıcılık:
+ * Bir günlük dosyasıyla oluşturulursa (bkz. openDefault) her kayıt ve her
+ * temizleme ayrıca HistoryLog'a eklenir; uygulama yeniden açıldığında
+ * geçmiş bu dosyadan geri yüklenir. Dosyaya yazma arka planda yapılır,
+ * addEntry diski beklemez.
+ *
  * @author Yusuf
  */
-public class HistoryManager {
-
-    /** İşlem geçmişini tutan liste */
-    private final List<String> history;
-
-    /** Tutulacak maksimum kayıt sayısı */
-    private final int maxSize;
+public class HistoryManager implements AutoCloseable {
 
     /** Varsayılan geçmiş boyutu */
     private static final int DEFAULT_MAX_SIZE = 5;
 
+    /** Geçmiş dosyasının yolunu belirleyen sistem özelliği */
+    static final String HISTORY_FILE_PROPERTY = "calculator.history.file";
+
+    /** Kayıtların tutulduğu kilitsiz tampon */
+    private final HistoryRing ring;
+
+    /** Kalıcı günlük; yalnızca bellekte tutuluyorsa null */
+    private final HistoryLog log;
+
     /**
      * Varsayılan kapasiteyle (5 kayıt) HistoryManager oluşturur.
      */
@@ -38,8 +61,57 @@ public class HistoryManager {
      * @param maxSize Tutulacak maksimum işlem sayısı
      */
     public HistoryManager(int maxSize) {
-        this.maxSize = Math.max(1, maxSize); // En az 1 kayıt tutulmalı
-        this.history = new ArrayList<>();
+        this.ring = new HistoryRing(Math.max(1, maxSize)); // En az 1 kayıt tutulmalı
+        this.log = null;
+    }
+
+    /**
+     * Geçmişi verilen dosyada da saklayan HistoryManager oluşturur.
+     * Dosyadaki kayıtlar (zaman damgalarıyla birlikte) geri yüklenir;
+     * yarım kalmış son kayıt varsa atılır.
+     *
+     * @param maxSize Tutulacak maksimum işlem sayısı
+     * @param logFile Geçmiş dosyası
+     * @throws IOException Dosya açılamazsa veya başka bir süreç kullanıyorsa
+     */
+    public HistoryManager(int maxSize, Path logFile) throws IOException {
+        HistoryRing restored = new HistoryRing(Math.max(1, maxSize));
+        this.log = HistoryLog.open(logFile, Math.max(1, maxSize), new HistoryLog.Replay() {
+            @Override
+            public void entry(String expression, double result, byte errorCode, long timestamp, long nanos) {
+                // Başka bir sürümde yazılmış, bu sürümde bilinmeyen hata türleri atlanır
+                if (errorCode == HistoryRing.NO_ERROR || CalculatorException.ErrorType.fromCode(errorCode) != null) {
+                    restored.add(expression, result, errorCode, timestamp, nanos);
+                }
+            }
+
+            @Override
+            public void cleared() {
+                restored.clear();
+            }
+        });
+        this.ring = restored;
+    }
+
+    /**
+     * Geçmişi varsayılan dosyada (calculator.history.file özelliği, yoksa
+     * ~/.calculator/history.log) saklayan HistoryManager oluşturur. Dosya
+     * kullanılamazsa uyarı verir ve geçmişi yalnızca bellekte tutar.
+     *
+     * @param maxSize Tutulacak maksimum işlem sayısı
+     * @return Yeni HistoryManager
+     */
+    public static HistoryManager openDefault(int maxSize) {
+        String configured = System.getProperty(HISTORY_FILE_PROPERTY);
+        Path file = configured != null && !configured.isBlank()
+                ? Paths.get(configured)
+                : Paths.get(System.getProperty("user.home"), ".calculator", "history.log");
+        try {
+            return new HistoryManager(maxSize, file);
+        } catch (IOException e) {
+            System.err.println("Geçmiş dosyası açılamadı, geçmiş kaydedilmeyecek: " + e.getMessage());
+            return new HistoryManager(maxSize);
+        }
     }
 
     /**
@@ -50,50 +122,72 @@ public class HistoryManager {
      * @param result     İşlemin sonucu
      */
     public void addEntry(String expression, double result) {
-        // Sonucu düzgün formatlayalım (gereksiz ondalık basamakları kaldır)
-        String formattedResult = formatResult(result);
-        String entry = String.format("%s = %s", expression, formattedResult);
-
-        // Kapasite doluysa en eski kaydı sil (FIFO — First In First Out)
-        if (history.size() >= maxSize) {
-            history.remove(0);
-        }
+        addEntry(expression, result, -1);
+    }
 
-        history.add(entry);
+    /**
+     * Yeni bir işlem kaydını hesaplama süresiyle birlikte geçmişe ekler.
+     *
+     * @param expression Yapılan işlem ifadesi
+     * @param result     İşlemin sonucu
+     * @param nanos      Hesaplama süresi (nanosaniye); bilinmiyorsa -1
+     */
+    public void addEntry(String expression, double result, long nanos) {
+        add(expression, result, HistoryRing.NO_ERROR, nanos);
     }
 
     /**
      * Hatalı işlemi de geçmişe kaydeder.
      *
-     * @param expression   Yapılan işlem ifadesi
-     * @param errorMessage Hata mesajı
+     * @param expression Yapılan işlem ifadesi
+     * @param errorType  Hatanın türü
      */
-    public void addErrorEntry(String expression, String errorMessage) {
-        String entry = String.format("%s → HATA: %s", expression, errorMessage);
-
-        if (history.size() >= maxSize) {
-            history.remove(0);
-        }
+    public void addErrorEntry(String expression, CalculatorException.ErrorType errorType) {
+        addErrorEntry(expression, errorType, -1);
+    }
 
-        history.add(entry);
+    /**
+     * Hatalı işlemi hesaplama süresiyle birlikte geçmişe kaydeder.
+     *
+     * @param expression Yapılan işlem ifadesi
+     * @param errorType  Hatanın türü
+     * @param nanos      Hatanın bulunmasına kadar geçen süre (nanosaniye); bilinmiyorsa -1
+     */
+    public void addErrorEntry(String expression, CalculatorException.ErrorType errorType, long nanos) {
+        add(expression, Double.NaN, errorType.getCode(), nanos);
     }
 
     /**
-     * Tüm geçmiş kayıtlarını döndürür.
+     * Tüm geçmiş kayıtlarını metin olarak döndürür (eskiden yeniye).
      *
-     * @return Geçmiş kayıtlarının kopyası
+     * @return Biçimlendirilmiş kayıtların yeni bir listesi
      */
     public List<String> getHistory() {
-        return new ArrayList<>(history); // Savunmacı kopya döndür
+        HistoryRing.Snapshot snapshot = ring.snapshot();
+        List<String> lines = new ArrayList<>(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            lines.add(format(snapshot, i));
+        }
+        return lines;
+    }
+
+    /**
+     * Tamamlanmış kayıtların alanlarına erişmek için tutarlı bir kopya alır.
+     *
+     * @return Geçmişin anlık görüntüsü
+     */
+    HistoryRing.Snapshot snapshot() {
+        return ring.snapshot();
     }
 
     /**
-     * Geçmişteki kayıt sayısını döndürür.
+     * Geçmişteki kayıt sayısını döndürür. Başka thread'ler aynı anda kayıt
+     * eklerken yaklaşık değerdir.
      *
      * @return Kayıt sayısı
      */
     public int size() {
-        return history.size();
+        return ring.size();
     }
 
     /**
@@ -102,14 +196,28 @@ public class HistoryManager {
      * @return Geçmiş boşsa true
      */
     public boolean isEmpty() {
-        return history.isEmpty();
+        return ring.size() == 0;
     }
 
     /**
      * Tüm geçmişi temizler.
      */
     public void clear() {
-        history.clear();
+        ring.clear();
+        if (log != null) {
+            log.appendClear();
+        }
+    }
+
+    /**
+     * Geçmiş dosyası varsa bekleyen kayıtları diske yazar ve dosyayı kapatır.
+     * Kapatıldıktan sonra eklenen kayıtlar yalnızca bellekte tutulur.
+     */
+    @Override
+    public void close() {
+        if (log != null) {
+            log.close();
+        }
     }
 
     /**
@@ -119,16 +227,17 @@ public class HistoryManager {
      * @return Formatlanmış geçmiş listesi
      */
     public String getFormattedHistory() {
-        if (history.isEmpty()) {
+        HistoryRing.Snapshot snapshot = ring.snapshot();
+        if (snapshot.size() == 0) {
             return "  📭  Geçmişte kayıtlı işlem yok.";
         }
 
         StringBuilder sb = new StringBuilder();
-        sb.append(String.format("  📋  Son %d İşlem Geçmişi:\n", history.size()));
+        sb.append(String.format("  📋  Son %d İşlem Geçmişi:\n", snapshot.size()));
         sb.append("  ─────────────────────────────────────\n");
 
-        for (int i = 0; i < history.size(); i++) {
-            sb.append(String.format("   %d. %s\n", i + 1, history.get(i)));
+        for (int i = 0; i < snapshot.size(); i++) {
+            sb.append("   ").append(i + 1).append(". ").append(format(snapshot, i)).append('\n');
         }
 
         sb.append("  ─────────────────────────────────────");
@@ -139,6 +248,24 @@ public class HistoryManager {
     // YARDIMCI METOTLAR (private)
     // ══════════════════════════════════════════════════════════
 
+    private void add(String expression, double result, byte errorCode, long nanos) {
+        long timestamp = System.currentTimeMillis();
+        ring.add(expression, result, errorCode, timestamp, nanos);
+        if (log != null) {
+            log.append(expression, result, errorCode, timestamp, nanos);
+        }
+    }
+
+    /** Örn: "2 + 2 = 4" veya "1 / 0 → HATA: Sıfıra bölme hatası" */
+    private String format(HistoryRing.Snapshot snapshot, int index) {
+        byte code = snapshot.getErrorCode(index);
+        if (code != HistoryRing.NO_ERROR) {
+            CalculatorException.ErrorType type = CalculatorException.ErrorType.fromCode(code);
+            return snapshot.getExpression(index) + " → HATA: " + type.getDescription();
+        }
+        return snapshot.getExpression(index) + " = " + formatResult(snapshot.getResult(index));
+    }
+
     /**
      * Sonucu düzgün formatlar.
      * Tam sayı sonuçlarda ondalık gösterimi kaldırır.
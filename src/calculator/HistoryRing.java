@@ -0,0 +1,251 @@
+package calculator;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * HistoryManager'ın kayıtlarını tutan, kilitsiz (lock-free) çok yazarlı
+ * dairesel tampon.
+ *
+ * Sunucu, toplu işler ve arayüzün arka plan thread'i aynı geçmişe aynı anda
+ * yazabilir. Tek bir kilit bütün değerlendiricileri sıraya sokardı; bunun
+ * yerine:
+ *
+ * ADIM 1: Yazar, tail sayacından getAndIncrement ile bir sıra numarası
+ *         (sequence) alır. Kaydın yeri sıra numarasının kapasiteye göre
+ *         kalanıdır; yazarlar birbirini beklemez.
+ * ADIM 2: Her yuvanın bir damgası (stamp) vardır ve yuvaya seqlock gibi
+ *         yazılır: damga CAS ile "yazılıyor(seq)" yapılır, alanlar yazılır,
+ *         damga "tamam(seq)" olarak yayınlanır. Yuvada daha yeni bir tur
+ *         zaten yazılmışsa kayıt çoktan silinmiş sayılır ve yazılmaz.
+ * ADIM 3: Okuyucu (snapshot) kilit almaz: tail'i okur, son kapasite kadar
+ *         sıra numarasının her biri için damgayı, alanları ve tekrar damgayı
+ *         okur. Damga değişmediyse kayıt tutarlıdır; yazılmakta olan veya
+ *         okurken üzerine yazılan kayıtlar anlık görüntüye alınmaz.
+ *
+ * Damga kodlaması: 0 = boş, 2 * seq + 1 = yazılıyor, 2 * seq + 2 = tamam.
+ *
+ * Bellek: Yuvalar CHUNK_SIZE'lık parçalar hâlinde ve ilk yazıldıklarında
+ * ayrılır (parça CAS ile yerleştirilir); milyonlarca kayıtlık bir kapasite
+ * geçmiş dolmadıkça yer kaplamaz.
+ *
+ * clear() kayıtları silmez, bir alt sınır (floor) koyar: o ana kadar sıra
+ * numarası alınmış kayıtlar artık görünmez.
+ *
+ * @author Yusuf
+ */
+final class HistoryRing {
+
+    /** Bir parçadaki yuva sayısı */
+    private static final int CHUNK_SIZE = 1024;
+
+    /** Başarılı işlemlerin hata kodu */
+    static final byte NO_ERROR = -1;
+
+    private final int capacity;
+    private final int chunkSize;
+
+    /** İlk yazıldıklarında oluşturulan parçalar */
+    private final AtomicReferenceArray<Chunk> chunks;
+
+    /** Bir sonraki kaydın sıra numarası */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Bu sıra numarasından küçük kayıtlar temizlenmiştir */
+    private final AtomicLong floor = new AtomicLong();
+
+    /**
+     * @param capacity Tutulacak en fazla kayıt sayısı (en az 1)
+     */
+    HistoryRing(int capacity) {
+        this.capacity = capacity;
+        this.chunkSize = Math.min(capacity, CHUNK_SIZE);
+        this.chunks = new AtomicReferenceArray<>((capacity + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * Kaydı ekler. Birden fazla thread'den aynı anda çağrılabilir.
+     *
+     * @param errorCode Hata türünün kodu (ErrorType.getCode()); başarılı işlemde NO_ERROR
+     */
+    void add(String expression, double result, byte errorCode, long timestamp, long nanos) {
+        long seq = tail.getAndIncrement();
+        int index = (int) (seq % capacity);
+        Chunk chunk = chunk(index / chunkSize);
+        int offset = index % chunkSize;
+
+        long writing = 2 * seq + 1;
+        while (true) {
+            long stamp = chunk.stamps.get(offset);
+            if (stamp > writing) {
+                // Daha yeni bir tur yuvayı aldı; bu kayıt zaten silinmiş sayılır
+                return;
+            }
+            if ((stamp & 1) == 1) {
+                // Önceki turun yazarı birkaç alan yazmakla meşgul
+                Thread.onSpinWait();
+                continue;
+            }
+            if (chunk.stamps.compareAndSet(offset, stamp, writing)) {
+                break;
+            }
+        }
+
+        chunk.expressions[offset] = expression;
+        chunk.results[offset] = result;
+        chunk.errorCodes[offset] = errorCode;
+        chunk.timestamps[offset] = timestamp;
+        chunk.nanos[offset] = nanos;
+        // Yayınlama: release yazması, alanların damgadan önce görünmesini garanti eder
+        chunk.stamps.setRelease(offset, writing + 1);
+    }
+
+    /** Şu ana kadar eklenen kayıtları görünmez yapar. */
+    void clear() {
+        long end = tail.get();
+        floor.accumulateAndGet(end, Math::max);
+    }
+
+    /**
+     * Görünür kayıt sayısı. Eşzamanlı yazma sürerken yaklaşık değerdir
+     * (sıra numarası alınmış ama henüz yazılmamış kayıtlar da sayılır).
+     */
+    int size() {
+        long end = tail.get();
+        return (int) Math.min(capacity, Math.max(0, end - floor.get()));
+    }
+
+    /**
+     * Tamamlanmış kayıtların tutarlı bir kopyasını alır (eskiden yeniye).
+     * Yazarları beklemez ve engellemez.
+     */
+    Snapshot snapshot() {
+        long end = tail.get();
+        long start = Math.max(floor.get(), end - capacity);
+        Snapshot snapshot = new Snapshot((int) Math.max(0, end - start));
+
+        for (long seq = Math.max(0, start); seq < end; seq++) {
+            int index = (int) (seq % capacity);
+            Chunk chunk = chunks.get(index / chunkSize);
+            if (chunk == null) {
+                continue;
+            }
+            int offset = index % chunkSize;
+            long committed = 2 * seq + 2;
+            if (chunk.stamps.get(offset) != committed) {
+                continue;
+            }
+            String expression = chunk.expressions[offset];
+            double result = chunk.results[offset];
+            byte errorCode = chunk.errorCodes[offset];
+            long timestamp = chunk.timestamps[offset];
+            long nanos = chunk.nanos[offset];
+            // Alanlar okunurken yuvaya yeni bir tur yazıldıysa damga değişmiştir;
+            // çit, alan okumalarının ikinci damga okumasından sonraya kaymasını önler
+            VarHandle.acquireFence();
+            if (chunk.stamps.get(offset) == committed) {
+                snapshot.append(expression, result, errorCode, timestamp, nanos);
+            }
+        }
+        return snapshot;
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private Chunk chunk(int number) {
+        Chunk chunk = chunks.get(number);
+        if (chunk == null) {
+            Chunk created = new Chunk(chunkSize);
+            chunk = chunks.compareAndSet(number, null, created) ? created : chunks.get(number);
+        }
+        return chunk;
+    }
+
+    /** Yuvaların bir parçası; alanlar damgayla korunur */
+    private static final class Chunk {
+        final AtomicLongArray stamps;
+        final String[] expressions;
+        final double[] results;
+        final byte[] errorCodes;
+        final long[] timestamps;
+        final long[] nanos;
+
+        Chunk(int size) {
+            stamps = new AtomicLongArray(size);
+            expressions = new String[size];
+            results = new double[size];
+            errorCodes = new byte[size];
+            timestamps = new long[size];
+            nanos = new long[size];
+        }
+    }
+
+    /**
+     * Geçmişin bir andaki kopyası. Kayıtlar eskiden yeniye 0'dan
+     * size() - 1'e kadar indekslenir. Nesne değiştirilemez.
+     */
+    static final class Snapshot {
+        private final String[] expressions;
+        private final double[] results;
+        private final byte[] errorCodes;
+        private final long[] timestamps;
+        private final long[] nanos;
+        private int size;
+
+        private Snapshot(int length) {
+            expressions = new String[length];
+            results = new double[length];
+            errorCodes = new byte[length];
+            timestamps = new long[length];
+            nanos = new long[length];
+        }
+
+        private void append(String expression, double result, byte errorCode, long timestamp, long nanos) {
+            expressions[size] = expression;
+            results[size] = result;
+            errorCodes[size] = errorCode;
+            timestamps[size] = timestamp;
+            this.nanos[size] = nanos;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        String getExpression(int index) {
+            return expressions[check(index)];
+        }
+
+        /** Hatalı işlemde NaN */
+        double getResult(int index) {
+            return results[check(index)];
+        }
+
+        /** Hata türünün kodu (ErrorType.getCode()); başarılı işlemde NO_ERROR */
+        byte getErrorCode(int index) {
+            return errorCodes[check(index)];
+        }
+
+        /** Kaydın eklendiği an (epoch milisaniye) */
+        long getTimestamp(int index) {
+            return timestamps[check(index)];
+        }
+
+        /** Hesaplama süresi (nanosaniye); bilinmiyorsa -1 */
+        long getEvaluationNanos(int index) {
+            return nanos[check(index)];
+        }
+
+        private int check(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Geçmiş indeksi: " + index + ", kayıt sayısı: " + size);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package calculator;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * integrate(ifade, x, a, b) fonksiyonunu hesaplayan uyarlamalı sayısal integral.
+ *
+ * ADIM 1: Aralık 7 noktalı Gauss ve 15 noktalı Kronrod kurallarıyla
+ *         hesaplanır (G7-K15). İki sonucun farkı hata tahminidir; Kronrod
+ *         düğümleri Gauss düğümlerini içerdiğinden 15 hesaplama yeterlidir.
+ * ADIM 2: Hata tahmini parçanın payına düşen toleransı aşıyorsa parça
+ *         ikiye bölünür ve yarılar ayrı görevler olarak ForkJoinPool'da
+ *         paralel hesaplanır. Eğrinin düz olduğu bölgeler tek parçada
+ *         kalır; keskin bölgeler (tekillik, salınım) sık bölünür.
+ * ADIM 3: Yarıların sonuçları Neumaier düzeltmesiyle toplanır.
+ *
+ * Uç noktalar hesaplanmaz; bu yüzden uçlarda tanımsız ama integrali
+ * sonlu olan ifadeler (örn: 1 / sqrt(x), [0, 1]) de hesaplanabilir.
+ * Bölme derinliği sınıra ulaştığı hâlde toplam hata tahmini büyük
+ * kalırsa integral ıraksak sayılır (örn: 1 / x, [0, 1]).
+ *
+ * Hesaplamayı başlatan thread beklerken kesilirse (interrupt) CANCELLED
+ * hatası fırlatılır; görevler paylaşılan iptal bayrağını her parçada
+ * kontrol edip durur.
+ *
+ * @author Yusuf
+ */
+final class IntegrationTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Bir parçanın en fazla kaç kez ikiye bölüneceği */
+    private static final int MAX_DEPTH = 200;
+
+    /** Bu derinliğe kadar yarılardan biri çatallanır; daha derinde sırayla hesaplanır */
+    private static final int MAX_FORK_DEPTH = 12;
+
+    /** İstenen göreli hassasiyet */
+    private static final double RELATIVE_TOLERANCE = 1e-12;
+
+    /** Sonucun 0'a yakın olduğu durumlar için mutlak hassasiyet */
+    private static final double ABSOLUTE_TOLERANCE = 1e-14;
+
+    /** Yakınsamayan parçalar varken kabul edilen en büyük göreli hata */
+    private static final double DIVERGENCE_LIMIT = 1e-6;
+
+    /** Yuvarlama hatası sınırı: bu kadar ulp altındaki hata tahminleri güvenilmez */
+    private static final double ROUNDOFF = 50 * Math.ulp(1.0);
+
+    static final String DIVERGENT_MESSAGE = "integral yakınsamadı (ıraksak olabilir).";
+
+    // ── Gauss-Kronrod (7-15) düğümleri ve ağırlıkları ────────
+    /** Kronrod düğümleri; tek indeksliler aynı zamanda Gauss düğümleridir */
+    private static final double[] NODES = {
+            0.991455371120812639206854697526329,
+            0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926,
+            0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013,
+            0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245,
+    };
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970,
+            0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518,
+            0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550,
+            0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649,
+    };
+    private static final double KRONROD_CENTER = 0.209482141084727828012999174891714;
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082,
+            0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975,
+    };
+    private static final double GAUSS_CENTER = 0.417959183673469387755102040816327;
+
+    private final CompiledFunction body;
+    /** Dış değişkenlerin değerleri; görevler kopyasını kullanır */
+    private final double[] bindings;
+    /** İntegral değişkeninin yuvası */
+    private final int slot;
+    private final double low;
+    private final double high;
+    /** Birim uzunluk başına izin verilen hata */
+    private final double density;
+    private final int depth;
+    /** Tüm görevlerin paylaştığı iptal bayrağı */
+    private final AtomicBoolean cancelled;
+
+    // ── Sonuç ────────────────────────────────────────────────
+    private double value;
+    private double compensation;
+    private double error;
+    private boolean converged = true;
+    private CalculatorException failure;
+
+    private IntegrationTask(CompiledFunction body, double[] bindings, int slot, double low, double high,
+            double density, int depth, AtomicBoolean cancelled) {
+        this.body = body;
+        this.bindings = bindings;
+        this.slot = slot;
+        this.low = low;
+        this.high = high;
+        this.density = density;
+        this.depth = depth;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * body fonksiyonunun [a, b] aralığındaki integrali. a > b ise işaret değişir.
+     * İntegral değişkeni bindings[slot] yuvasına yazılır; bindings değiştirilmez.
+     *
+     * @throws CalculatorException İfade aralık içinde hesaplanamazsa veya integral yakınsamazsa
+     */
+    static double integrate(CompiledFunction body, double[] bindings, int slot, double a, double b)
+            throws CalculatorException {
+        if (a == b) {
+            return 0;
+        }
+        if (a > b) {
+            return -integrate(body, bindings, slot, b, a);
+        }
+
+        // Tolerans, tüm aralığın kaba tahmininden belirlenir
+        double[] binding = bindings.clone();
+        double[] estimate = new double[3];
+        rule(body, binding, slot, a, b, estimate);
+        double tolerance = Math.max(ABSOLUTE_TOLERANCE, RELATIVE_TOLERANCE * Math.abs(estimate[0]));
+
+        IntegrationTask task = new IntegrationTask(body, bindings, slot, a, b, tolerance / (b - a), 0,
+                new AtomicBoolean());
+        // ForkJoinPool.invoke kesmeyi yok sayar; iptal edilebilmek için get() ile beklenir
+        ForkJoinPool.commonPool().execute(task);
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            task.cancelled.set(true);
+            Thread.currentThread().interrupt();
+            throw CalculatorException.cancelled();
+        } catch (ExecutionException e) {
+            // İfade hataları compute() içinde yakalanır; buraya yalnızca program hataları gelir
+            throw new IllegalStateException(e.getCause());
+        }
+        if (task.failure != null) {
+            throw task.failure;
+        }
+
+        double result = task.value + task.compensation;
+        if (!Double.isFinite(result)
+                || (!task.converged && task.error > DIVERGENCE_LIMIT * Math.max(1, Math.abs(result)))) {
+            throw new CalculatorException(CalculatorException.ErrorType.INVALID_EXPRESSION, DIVERGENT_MESSAGE);
+        }
+        return result;
+    }
+
+    @Override
+    protected void compute() {
+        double[] binding = bindings.clone();
+        double[] estimate = new double[3];
+        try {
+            integrate(binding, estimate, low, high, depth);
+        } catch (CalculatorException e) {
+            failure = e;
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * [a, b] parçasını hesaplar, gerekirse böler ve sonucu bu görevin
+     * toplamına ekler. Sığ derinliklerde sağ yarı çatallanır.
+     */
+    private void integrate(double[] binding, double[] estimate, double a, double b, int level)
+            throws CalculatorException {
+        if (cancelled.get()) {
+            throw CalculatorException.cancelled();
+        }
+        rule(body, binding, slot, a, b, estimate);
+        double integral = estimate[0];
+        double difference = estimate[1];
+        double magnitude = estimate[2];
+
+        double share = density * (b - a);
+        double middle = 0.5 * (a + b);
+        boolean settled = difference <= share || difference <= ROUNDOFF * magnitude;
+        if (settled || level >= MAX_DEPTH || middle <= a || middle >= b) {
+            converged &= settled;
+            error += difference;
+            add(integral);
+            return;
+        }
+
+        if (level < MAX_FORK_DEPTH) {
+            IntegrationTask right = new IntegrationTask(body, bindings, slot, middle, b, density, level + 1, cancelled);
+            right.fork();
+            integrate(binding, estimate, a, middle, level + 1);
+            right.join();
+            if (right.failure != null) {
+                throw right.failure;
+            }
+            add(right.value);
+            add(right.compensation);
+            error += right.error;
+            converged &= right.converged;
+        } else {
+            integrate(binding, estimate, a, middle, level + 1);
+            integrate(binding, estimate, middle, b, level + 1);
+        }
+    }
+
+    /** Neumaier toplamına bir terim ekler. */
+    private void add(double term) {
+        double t = value + term;
+        if (Math.abs(value) >= Math.abs(term)) {
+            compensation += (value - t) + term;
+        } else {
+            compensation += (term - t) + value;
+        }
+        value = t;
+    }
+
+    /**
+     * G7-K15 kuralını uygular.
+     * estimate[0] = Kronrod sonucu, [1] = |Kronrod - Gauss|, [2] = ∫|f| tahmini.
+     */
+    private static void rule(CompiledFunction body, double[] binding, int slot, double a, double b,
+            double[] estimate) throws CalculatorException {
+        double center = 0.5 * (a + b);
+        double half = 0.5 * (b - a);
+
+        double fc = evaluate(body, binding, slot, center);
+        double kronrod = KRONROD_CENTER * fc;
+        double gauss = GAUSS_CENTER * fc;
+        double absolute = Math.abs(kronrod);
+
+        for (int i = 0; i < NODES.length; i++) {
+            double offset = half * NODES[i];
+            double f1 = evaluate(body, binding, slot, center - offset);
+            double f2 = evaluate(body, binding, slot, center + offset);
+            kronrod += KRONROD_WEIGHTS[i] * (f1 + f2);
+            absolute += KRONROD_WEIGHTS[i] * (Math.abs(f1) + Math.abs(f2));
+            if ((i & 1) == 1) {
+                gauss += GAUSS_WEIGHTS[i >> 1] * (f1 + f2);
+            }
+        }
+
+        estimate[0] = kronrod * half;
+        estimate[1] = Math.abs((kronrod - gauss) * half);
+        estimate[2] = absolute * Math.abs(half);
+    }
+
+    private static double evaluate(CompiledFunction body, double[] binding, int slot, double x)
+            throws CalculatorException {
+        binding[slot] = x;
+        return body.applyAsDouble(binding);
+    }
+}
@@ -0,0 +1,298 @@
+package calculator;
+
+/**
+ * Matematiksel ifadeyi tek geçişte token'lara ayıran sınıf.
+ *
+ * Her next() çağrısı boşlukları atlar ve bir sonraki token'ı okur:
+ * - NUMBER      → sayı (örn: 3.14)
+ * - IDENTIFIER  → fonksiyon, sabit veya değişken ismi (örn: sin, pi, x1)
+ * - OPERATOR    → +, -, *, /, %, ^
+ * - LEFT_PAREN / RIGHT_PAREN → ( )
+ * - FACTORIAL   → !
+ * - END         → ifadenin sonu
+ *
+ * Token'lar bir listeye toplanmaz; ayrıştırıcı onları okundukları anda
+ * tüketir. Her karakter yalnızca bir kez taranır (O(n)) ve başarılı bir
+ * tarama hiç nesne oluşturmaz. Token'ın metni gerekirse start()/end()
+ * konumlarından okunur.
+ *
+ * @author Yusuf
+ */
+final class Lexer {
+
+    // ── Token türleri ────────────────────────────────────────
+    static final int END = 0;
+    static final int NUMBER = 1;
+    static final int IDENTIFIER = 2;
+    static final int OPERATOR = 3;
+    static final int LEFT_PAREN = 4;
+    static final int RIGHT_PAREN = 5;
+    static final int FACTORIAL = 6;
+
+    /** Hızlı sayı çevirmede tam olarak temsil edilebilen 10'un kuvvetleri */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+            1e21, 1e22
+    };
+
+    /** double'ın tam olarak temsil edebildiği en büyük tamsayı (2^53) */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private String input;
+    private int position;
+
+    /** Taramanın bittiği konum (hariç); bütün ifade için input.length() */
+    private int limit;
+
+    /** Son okunan token'ın konumu ve değeri */
+    private int tokenStart;
+    private int tokenEnd;
+    private double number;
+    private char symbol;
+
+    /**
+     * Yeni bir ifadeyi taramaya hazırlanır.
+     *
+     * @param input Taranacak ifade
+     */
+    void reset(String input) {
+        reset(input, 0, input.length());
+    }
+
+    /**
+     * İfadenin yalnızca [start, end) aralığını taramaya hazırlanır.
+     * Token konumları yine bütün ifadeye göredir; böylece bir fonksiyon
+     * argümanındaki hata, ifadedeki gerçek konumuyla raporlanır.
+     *
+     * @param input Taranacak ifade
+     * @param start Aralığın başı
+     * @param end   Aralığın sonu (hariç)
+     */
+    void reset(String input, int start, int end) {
+        this.input = input;
+        this.position = start;
+        this.limit = end;
+        this.tokenStart = start;
+        this.tokenEnd = start;
+    }
+
+    /**
+     * Taramayı verilen konumdan sürdürür. Ayrıştırıcının kendi taradığı
+     * bir bölümü (örn: solve argümanları) atlamak için kullanılır.
+     *
+     * @param position Bir sonraki token'ın aranacağı konum
+     */
+    void skipTo(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Bir sonraki token'ı okur.
+     *
+     * @return Token türü (END, NUMBER, IDENTIFIER ...)
+     * @throws CalculatorException Tanınmayan karakter veya hatalı sayı durumunda
+     */
+    int next() throws CalculatorException {
+        position = skipWhitespace(position);
+        tokenStart = position;
+
+        if (position >= limit) {
+            tokenEnd = position;
+            return END;
+        }
+
+        char ch = input.charAt(position);
+
+        // ── Sayı ────────────────────────────────────────────
+        if (isDigit(ch) || ch == '.') {
+            while (position < limit && (isDigit(input.charAt(position)) || input.charAt(position) == '.')) {
+                position++;
+            }
+            tokenEnd = position;
+            number = parseNumber(tokenStart, tokenEnd);
+            return NUMBER;
+        }
+
+        // ── İsim (fonksiyon, sabit, değişken) ───────────────
+        if (Character.isLetter(ch)) {
+            while (position < limit && isIdentifierPart(input.charAt(position))) {
+                position++;
+            }
+            tokenEnd = position;
+            return IDENTIFIER;
+        }
+
+        // ── Tek karakterli token'lar ────────────────────────
+        position++;
+        tokenEnd = position;
+        symbol = ch;
+        switch (ch) {
+            case '(':
+                return LEFT_PAREN;
+            case ')':
+                return RIGHT_PAREN;
+            case '!':
+                return FACTORIAL;
+            case '+':
+            case '-':
+            case '*':
+            case '/':
+            case '%':
+            case '^':
+                return OPERATOR;
+            default:
+                throw CalculatorException.formatted(
+                        CalculatorException.ErrorType.INVALID_CHARACTER,
+                        tokenStart,
+                        "'%c' karakteri tanınmıyor. Sadece sayılar ve +, -, *, /, %%, ^ operatörleri kullanılabilir.",
+                        ch);
+        }
+    }
+
+    /**
+     * Bir sonraki token'ın ilk karakterini, token'ı tüketmeden döndürür.
+     *
+     * @return Boşluk olmayan ilk karakter; ifade bittiyse 0
+     */
+    char peek() {
+        int next = skipWhitespace(position);
+        return next < limit ? input.charAt(next) : 0;
+    }
+
+    /** Taranan ifade */
+    String input() {
+        return input;
+    }
+
+    /** Taranan aralığın sonu (hariç) */
+    int limit() {
+        return limit;
+    }
+
+    /** Son token'ın ifadedeki başlangıç konumu (0 tabanlı) */
+    int start() {
+        return tokenStart;
+    }
+
+    /** Son token'ın bittiği konum (hariç) */
+    int end() {
+        return tokenEnd;
+    }
+
+    /** Son NUMBER token'ının değeri */
+    double number() {
+        return number;
+    }
+
+    /** Son tek karakterli token'ın karakteri */
+    char symbol() {
+        return symbol;
+    }
+
+    /**
+     * Son token'ın metnini döndürür. Sadece hata mesajları için kullanılır.
+     *
+     * @return Token metni
+     */
+    String text() {
+        return input.substring(tokenStart, tokenEnd);
+    }
+
+    /**
+     * Son token'ın verilen kelimeyle aynı olup olmadığını kontrol eder.
+     *
+     * @param word       Karşılaştırılacak kelime
+     * @param ignoreCase Büyük/küçük harf duyarsız mı
+     * @return Aynıysa true
+     */
+    boolean tokenEquals(String word, boolean ignoreCase) {
+        return regionEquals(input, tokenStart, tokenEnd, word, ignoreCase);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // STATİK YARDIMCILAR
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Karakterin bir değişken/fonksiyon isminin devamı olup olmadığını kontrol eder.
+     * İsimler harfle başlar; devamında rakam ve '_' da kullanılabilir (örn: x1, max_rate).
+     */
+    static boolean isIdentifierPart(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '_';
+    }
+
+    /**
+     * [start, end) aralığının verilen kelimeyle aynı olup olmadığını kontrol eder.
+     */
+    static boolean regionEquals(String text, int start, int end, String word, boolean ignoreCase) {
+        return end - start == word.length() && text.regionMatches(ignoreCase, start, word, 0, word.length());
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private int skipWhitespace(int i) {
+        while (i < limit && Character.isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * [start, end) aralığındaki sayı metnini double'a çevirir.
+     *
+     * En fazla 2^53 büyüklüğünde bir tamsayı gövdesi ve en fazla 22 ondalık
+     * basamak içeren sayılar (pratikte tüm girdiler) String oluşturmadan
+     * çevrilir: gövde ve 10^k double'da tam olarak temsil edildiğinden tek bir
+     * bölme işlemi Double.parseDouble ile aynı (doğru yuvarlanmış) sonucu verir.
+     * Diğer durumlarda Double.parseDouble kullanılır.
+     */
+    private double parseNumber(int start, int end) throws CalculatorException {
+        long mantissa = 0;
+        int fractionDigits = 0;
+        int digitCount = 0;
+        boolean seenDot = false;
+        boolean fast = true;
+
+        for (int i = start; i < end; i++) {
+            char ch = input.charAt(i);
+            if (ch == '.') {
+                if (seenDot) {
+                    fast = false; // Hatalı sayı; mesajı parseDouble yolu üretir
+                    break;
+                }
+                seenDot = true;
+                continue;
+            }
+            digitCount++;
+            if (mantissa >= MAX_EXACT_MANTISSA / 10) {
+                fast = false;
+                break;
+            }
+            mantissa = mantissa * 10 + (ch - '0');
+            if (seenDot) {
+                fractionDigits++;
+            }
+        }
+
+        if (fast && digitCount > 0 && fractionDigits < POWERS_OF_TEN.length) {
+            return mantissa / POWERS_OF_TEN[fractionDigits];
+        }
+
+        String text = input.substring(start, end);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw CalculatorException.formatted(
+                    CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    start,
+                    "'%s' geçerli bir sayı değil.", text);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package calculator;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javafx.application.Platform;
+
+/**
+ * Kullanıcı yazarken ifadenin sonucunu arka planda hesaplayıp gösteren
+ * canlı önizleme.
+ *
+ * - Gecikme (debounce): Her tuş vuruşu bekleyen hesaplamayı iptal edip
+ *   yenisini DEBOUNCE_MILLIS sonrasına planlar; hızlı yazarken yalnızca
+ *   son ifade hesaplanır.
+ * - İptal: Her istek nesil (generation) sayacını artırır. Başlamadan
+ *   eskiyen hesaplamalar atlanır, bitince eskimiş olan sonuçlar
+ *   gösterilmez. Sürmekte olan hesaplamanın thread'i kesilir (interrupt);
+ *   uzun bir sum/integrate önizlemesi yeni isteği bekletmeden durur.
+ * - Önek tekrarı: Hızlı modda PreviewEvaluator bir önceki ifadenin
+ *   ayrıştırılmış önekini kullanır; uzun yapıştırılmış bir ifadenin
+ *   sonuna yazmak yalnızca değişen kısmı hesaplatır.
+ *
+ * FX thread'i yalnızca istek planlar ve sonucu etikete yazar; ayrıştırma
+ * ve hesaplama tek bir arka plan thread'inde yapılır. Eksik ifadeler
+ * (örn: "12 +") hata değil, boş önizleme olarak gösterilir.
+ *
+ * request() ve cancel() FX thread'inden çağrılmalıdır.
+ *
+ * @author Yusuf
+ */
+final class LivePreview {
+
+    /** Son tuş vuruşundan sonra hesaplamaya başlamadan önce beklenen süre */
+    private static final long DEBOUNCE_MILLIS = 120;
+
+    /** Önizlemenin hesaplandığı tek arka plan thread'i */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "preview-evaluator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Her yeni istekte artar; eskimiş hesaplamalar atlanır */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Yalnızca arka plan thread'inde kullanılır */
+    private final PreviewEvaluator incremental = new PreviewEvaluator();
+
+    private final ExpressionEvaluator evaluator;
+    private final Function<Number, String> formatter;
+    private final Consumer<String> display;
+
+    /** Son planlanan hesaplama; bekliyor, sürüyor veya bitmiş olabilir */
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param evaluator Hassas ve kesirli modlarda kullanılan (thread-safe) değerlendirici
+     * @param formatter Sonucu metne çeviren fonksiyon (arka plan thread'inde çağrılır)
+     * @param display   Önizleme metnini gösteren dinleyici (FX thread'inde çağrılır)
+     */
+    LivePreview(ExpressionEvaluator evaluator, Function<Number, String> formatter, Consumer<String> display) {
+        this.evaluator = evaluator;
+        this.formatter = formatter;
+        this.display = display;
+    }
+
+    /**
+     * İfadenin önizlemesini ister. Önceki istek henüz bitmediyse iptal edilir;
+     * sürüyorsa thread'i kesilir.
+     *
+     * @param expression Ekrandaki ifade (iç gösterimle: '*' ...)
+     * @param mode       Hesaplama modu
+     */
+    void request(String expression, EvaluationMode mode) {
+        long requested = generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(true);
+        }
+        if (expression.isBlank()) {
+            pending = null;
+            display.accept("");
+            return;
+        }
+        pending = executor.schedule(() -> compute(requested, expression, mode), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Bekleyen veya süren önizlemeyi iptal eder ve etiketi temizler (örn: "=" veya "C" sonrası). */
+    void cancel() {
+        generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        display.accept("");
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** Arka plan thread'inde çalışır. */
+    private void compute(long requested, String expression, EvaluationMode mode) {
+        if (generation.get() != requested) {
+            return;
+        }
+
+        String text;
+        try {
+            Number result = mode == EvaluationMode.DOUBLE
+                    ? incremental.evaluate(expression)
+                    : evaluator.evaluate(expression, mode);
+            String formatted = formatter.apply(result);
+            // Tek bir sayı yazılıyken önizleme aynı sayıyı tekrarlamasın
+            text = formatted.equals(expression.trim()) ? "" : "= " + formatted;
+        } catch (CalculatorException e) {
+            text = "";
+        }
+
+        String shown = text;
+        Platform.runLater(() -> {
+            if (generation.get() == requested) {
+                display.accept(shown);
+            }
+        });
+    }
+}
@@ -1,5 +1,9 @@
 package calculator;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 /**
@@ -13,7 +17,30 @@ import java.util.Scanner;
  * Komutlar:
  * gecmis → Son 5 işlemi listeler
  * temizle → Geçmişi temizler
+ * onbellek → İfade önbelleğinin istatistiklerini gösterir
+ * hassas → Hassas modu (BigDecimal) açar/kapatır
+ * kesir → Kesirli modu (tam rasyonel) açar/kapatır
  * cikis → Programdan çıkar
+ *
+ * Kök bulma:
+ * solve(ifade, değişken, tahmin) → ifadeyi sıfır yapan değeri bulur
+ * (örn: solve(x^2 - 2, x, 1) → 1.4142135623730951)
+ *
+ * Toplam, çarpım ve integral:
+ * sum(i, 1, 100, i) → 5050, prod(i, 1, 5, i) → 120
+ * integrate(x^2, x, 0, 3) → 9
+ *
+ * Toplu mod:
+ * java calculator.Main --batch girdi.txt --out cikti.txt
+ * Girdi dosyasındaki her satır bir ifade olarak hesaplanır ve sonuç çıktı
+ * dosyasının aynı satırına yazılır (bkz. BatchFileEvaluator).
+ *
+ * Aynı ifadeler tekrar ayrıştırılmasın diye derlenmiş ifadeler bir
+ * ExpressionCache'te tutulur. Kapasite -Dcalculator.cache.capacity=N ile
+ * değiştirilebilir (varsayılan 256).
+ *
+ * Geçmiş, oturumlar arasında ~/.calculator/history.log dosyasında saklanır
+ * (-Dcalculator.history.file=yol ile değiştirilebilir, bkz. HistoryLog).
  * 
  * @author Yusuf
  */
@@ -24,12 +51,30 @@ public class Main {
     private static final String COMMAND_CLEAR = "temizle";
     private static final String COMMAND_EXIT = "cikis";
     private static final String COMMAND_HELP = "yardim";
+    private static final String COMMAND_CACHE = "onbellek";
+    private static final String COMMAND_PRECISE = "hassas";
+    private static final String COMMAND_RATIONAL = "kesir";
+
+    // ── Komut satırı seçenekleri ─────────────────────────────
+    private static final String OPTION_BATCH = "--batch";
+    private static final String OPTION_OUT = "--out";
+
+    /** Önbellek kapasitesini belirleyen sistem özelliği */
+    private static final String CACHE_CAPACITY_PROPERTY = "calculator.cache.capacity";
 
     public static void main(String[] args) {
 
+        // ── Toplu mod ────────────────────────────────────────
+        if (args.length > 0 && args[0].equals(OPTION_BATCH)) {
+            System.exit(runBatch(args));
+        }
+
         // ── Bileşenleri oluştur ──────────────────────────────
         ExpressionEvaluator evaluator = new ExpressionEvaluator();
-        HistoryManager history = new HistoryManager(5); // Son 5 işlemi sakla
+        ExpressionCache cache = new ExpressionCache(evaluator,
+                Integer.getInteger(CACHE_CAPACITY_PROPERTY, ExpressionCache.DEFAULT_CAPACITY));
+        EvaluationMode mode = EvaluationMode.DOUBLE;
+        HistoryManager history = HistoryManager.openDefault(5); // Son 5 işlemi sakla
         Scanner scanner = new Scanner(System.in);
 
         // ── Hoş geldiniz mesajı ──────────────────────────────
@@ -76,25 +121,77 @@ public class Main {
                 continue;
             }
 
+            if (command.equals(COMMAND_CACHE)) {
+                System.out.printf("%n  📦  %s%n%n", cache.getFormattedStats());
+                continue;
+            }
+
+            if (command.equals(COMMAND_PRECISE)) {
+                mode = mode == EvaluationMode.PRECISE ? EvaluationMode.DOUBLE : EvaluationMode.PRECISE;
+                System.out.printf("%n  🎯  Hesaplama modu: %s%n%n", mode.getDescription());
+                continue;
+            }
+
+            if (command.equals(COMMAND_RATIONAL)) {
+                mode = mode == EvaluationMode.RATIONAL ? EvaluationMode.DOUBLE : EvaluationMode.RATIONAL;
+                System.out.printf("%n  🎯  Hesaplama modu: %s%n%n", mode.getDescription());
+                continue;
+            }
+
             // ── İfadeyi değerlendir ──────────────────────────
+            long started = System.nanoTime();
             try {
-                double result = evaluator.evaluate(input);
+                // Hızlı modda derlenmiş ifade önbellekten alınır
+                Number result = mode == EvaluationMode.DOUBLE
+                        ? cache.evaluate(input)
+                        : evaluator.evaluate(input, mode);
                 String formattedResult = formatResult(result);
 
                 System.out.printf("  ✅  %s = %s%n%n", input, formattedResult);
 
                 // Geçmişe ekle
-                history.addEntry(input, result);
+                history.addEntry(input, result.doubleValue(), System.nanoTime() - started);
 
             } catch (CalculatorException e) {
                 System.out.printf("  ❌  %s%n%n", e.getMessage());
 
                 // Hatalı işlemi de geçmişe kaydet
-                history.addErrorEntry(input, e.getErrorType().getDescription());
+                history.addErrorEntry(input, e.getErrorType(), System.nanoTime() - started);
             }
         }
 
         scanner.close();
+        history.close();
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // TOPLU MOD
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * --batch girdi --out çıktı seçenekleriyle dosyadaki ifadeleri hesaplar.
+     *
+     * @param args Komut satırı argümanları
+     * @return Çıkış kodu (0: başarılı, 1: hatalı kullanım veya dosya hatası)
+     */
+    private static int runBatch(String[] args) {
+        if (args.length != 4 || !args[2].equals(OPTION_OUT)) {
+            System.err.println("  Kullanım: --batch <girdi dosyası> --out <çıktı dosyası>");
+            return 1;
+        }
+
+        Path input = Paths.get(args[1]);
+        Path output = Paths.get(args[3]);
+        long start = System.nanoTime();
+        try {
+            BatchFileEvaluator.Summary summary = new BatchFileEvaluator().process(input, output);
+            System.out.printf("  ✅  %d satır işlendi (%d hatalı) → %s  [%d ms]%n",
+                    summary.lines, summary.errors, output, (System.nanoTime() - start) / 1_000_000);
+            return 0;
+        } catch (IOException e) {
+            System.err.printf("  ❌  Dosya işlenemedi: %s%n", e.getMessage());
+            return 1;
+        }
     }
 
     // ══════════════════════════════════════════════════════════
@@ -176,6 +273,9 @@ public class Main {
         System.out.println("  ║    2 ^ 8            → 256             ║");
         System.out.println("  ║    (5 + 3) * 2 / 4  → 4              ║");
         System.out.println("  ║    -5 + 10           → 5              ║");
+        System.out.println("  ║    solve(x^2-2, x, 1) → 1.4142...     ║");
+        System.out.println("  ║    sum(i, 1, 100, i)  → 5050          ║");
+        System.out.println("  ║    integrate(x^2, x, 0, 3) → 9        ║");
         System.out.println("  ║                                      ║");
         System.out.println("  ║  Operatörler:                         ║");
         System.out.println("  ║    +  Toplama                         ║");
@@ -188,6 +288,9 @@ public class Main {
         System.out.println("  ║  Komutlar:                            ║");
         System.out.println("  ║    gecmis   → İşlem geçmişini göster  ║");
         System.out.println("  ║    temizle  → Geçmişi temizle         ║");
+        System.out.println("  ║    onbellek → Önbellek istatistikleri ║");
+        System.out.println("  ║    hassas   → Hassas mod aç/kapat     ║");
+        System.out.println("  ║    kesir    → Kesirli mod aç/kapat    ║");
         System.out.println("  ║    yardim   → Bu menüyü göster        ║");
         System.out.println("  ║    cikis    → Programdan çık          ║");
         System.out.println("  ║                                      ║");
@@ -195,6 +298,25 @@ public class Main {
         System.out.println();
     }
 
+    /**
+     * Hassas moddaki BigDecimal sonuçları PreciseCalculator.format ile,
+     * kesirli moddaki Rational sonuçları "pay/payda ≈ ondalık" biçiminde,
+     * diğerlerini double olarak formatlar.
+     */
+    private static String formatResult(Number result) {
+        if (result instanceof BigDecimal) {
+            return PreciseCalculator.format((BigDecimal) result);
+        }
+        if (result instanceof Rational) {
+            Rational rational = (Rational) result;
+            if (rational.isInteger()) {
+                return rational.toString();
+            }
+            return rational + " ≈ " + formatResult(rational.doubleValue());
+        }
+        return formatResult(result.doubleValue());
+    }
+
     /**
      * Sonucu düzgün formatlar (tam sayı ise ondalık göstermez).
      */
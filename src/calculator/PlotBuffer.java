@@ -0,0 +1,100 @@
+package calculator;
+
+import java.util.Arrays;
+
+/**
+ * Bir fonksiyonun örnek noktalarını x sırasıyla tutan ilkel dizi tamponu.
+ *
+ * Noktalar paralel double[] dizilerinde saklanır; çizim ve yeniden örnekleme
+ * sırasında nokta başına nesne oluşturulmaz. Diziler yalnızca kapasite
+ * yetmediğinde büyütülür ve clear() sonrasında tekrar kullanılır.
+ *
+ * Her nokta için, kendisiyle bir sonraki nokta arasındaki parçanın hangi
+ * toleransta doğrulandığı da tutulur. Daha sıkı bir toleransla yeniden
+ * örneklemede (yakınlaştırma) yalnızca yetersiz kalan parçalar yeniden
+ * incelenir. Henüz doğrulanmamış parçalar için değer UNVERIFIED'dır.
+ *
+ * y = NaN olan noktalar eğride bir kopukluğu (tanım dışı bölge veya
+ * süreksizlik) gösterir.
+ *
+ * Nesne thread-safe değildir; FunctionPlotter bir tamponu aynı anda yalnızca
+ * bir thread'in yazmasına izin verir.
+ *
+ * @author Yusuf
+ */
+final class PlotBuffer {
+
+    /** Doğrulanmamış parça */
+    static final double UNVERIFIED = Double.POSITIVE_INFINITY;
+
+    private double[] xs;
+    private double[] ys;
+    private double[] verified;
+    private int size;
+
+    PlotBuffer(int capacity) {
+        xs = new double[capacity];
+        ys = new double[capacity];
+        verified = new double[capacity];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sona bir nokta ekler; x önceki noktadan büyük olmalıdır.
+     */
+    void add(double x, double y, double tolerance) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            verified = Arrays.copyOf(verified, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        verified[size] = tolerance;
+        size++;
+    }
+
+    /** Son eklenen noktadan başlayan parçanın doğrulandığı toleransı değiştirir. */
+    void setLastVerified(double tolerance) {
+        verified[size - 1] = tolerance;
+    }
+
+    int size() {
+        return size;
+    }
+
+    double x(int index) {
+        return xs[index];
+    }
+
+    double y(int index) {
+        return ys[index];
+    }
+
+    double verified(int index) {
+        return verified[index];
+    }
+
+    /**
+     * x değeri verilen değerden küçük olmayan ilk noktanın indeksi (ikili arama).
+     *
+     * @return İndeks; tüm noktalar küçükse size()
+     */
+    int lowerBound(double x) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (xs[middle] < x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,174 @@
+package calculator;
+
+/**
+ * Grafik panelinde görünen bölge: matematiksel koordinat aralığı ve
+ * çizim alanının piksel boyutu.
+ *
+ * Örnekleme aralığı ve tolerans piksel cinsinden tanımlanır ve buradan
+ * koordinat birimine çevrilir. Her ikisi de 2'nin kuvvetine yuvarlanır;
+ * böylece aynı yakınlaştırma seviyesinde kaydırılan (pan) bölgelerde
+ * örnek noktaları birebir aynı x değerlerine düşer ve önceki örnekler
+ * yeniden kullanılabilir (bkz. FunctionSampler).
+ *
+ * Sınıf değiştirilemezdir (immutable); arka plandaki örnekleyiciye
+ * güvenle verilebilir.
+ *
+ * @author Yusuf
+ */
+final class PlotViewport {
+
+    /** Başlangıç örnek noktaları arasındaki yaklaşık mesafe (piksel) */
+    private static final double SEED_SPACING_PIXELS = 4;
+
+    /** Bir pikselde en fazla kaç örnek alınır (eğrinin keskin yerlerinde) */
+    private static final double MAX_SAMPLES_PER_PIXEL = 4;
+
+    /** Doğrusal yaklaşımdan izin verilen sapma (piksel) */
+    private static final double TOLERANCE_PIXELS = 0.25;
+
+    private final double xMin;
+    private final double xMax;
+    private final double yMin;
+    private final double yMax;
+    private final double width;
+    private final double height;
+
+    /**
+     * @param xMin   Sol kenarın x değeri
+     * @param xMax   Sağ kenarın x değeri
+     * @param yMin   Alt kenarın y değeri
+     * @param yMax   Üst kenarın y değeri
+     * @param width  Çizim alanının genişliği (piksel)
+     * @param height Çizim alanının yüksekliği (piksel)
+     */
+    PlotViewport(double xMin, double xMax, double yMin, double yMax, double width, double height) {
+        this.xMin = xMin;
+        this.xMax = xMax;
+        this.yMin = yMin;
+        this.yMax = yMax;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Orijini ortalayan ve eksenleri aynı ölçekte tutan görünüm oluşturur.
+     *
+     * @param halfWidth x ekseninde gösterilecek yarı genişlik
+     * @param width     Çizim alanının genişliği (piksel)
+     * @param height    Çizim alanının yüksekliği (piksel)
+     */
+    static PlotViewport centered(double halfWidth, double width, double height) {
+        double halfHeight = halfWidth * height / width;
+        return new PlotViewport(-halfWidth, halfWidth, -halfHeight, halfHeight, width, height);
+    }
+
+    /**
+     * Görünümü piksel cinsinden kaydırır. Fareyle sağa sürükleme
+     * (dx > 0) grafiği sağa taşır, yani görünen aralık sola kayar.
+     */
+    PlotViewport panned(double dxPixels, double dyPixels) {
+        double dx = dxPixels * (xMax - xMin) / width;
+        double dy = dyPixels * (yMax - yMin) / height;
+        return new PlotViewport(xMin - dx, xMax - dx, yMin + dy, yMax + dy, width, height);
+    }
+
+    /**
+     * Verilen piksel noktası sabit kalacak şekilde yakınlaştırır.
+     *
+     * @param factor 1'den küçükse yakınlaştırır, büyükse uzaklaştırır
+     */
+    PlotViewport zoomed(double factor, double pixelX, double pixelY) {
+        double x = toX(pixelX);
+        double y = toY(pixelY);
+        return new PlotViewport(
+                x - (x - xMin) * factor, x + (xMax - x) * factor,
+                y - (y - yMin) * factor, y + (yMax - y) * factor,
+                width, height);
+    }
+
+    /** Çizim alanının boyutu değiştiğinde ölçeği koruyarak yeni görünüm döndürür. */
+    PlotViewport resized(double newWidth, double newHeight) {
+        double xScale = (xMax - xMin) / width;
+        double yScale = (yMax - yMin) / height;
+        return new PlotViewport(xMin, xMin + newWidth * xScale, yMax - newHeight * yScale, yMax,
+                newWidth, newHeight);
+    }
+
+    // ── Koordinat dönüşümleri ─────────────────────────────
+
+    double toPixelX(double x) {
+        return (x - xMin) * width / (xMax - xMin);
+    }
+
+    double toPixelY(double y) {
+        return (yMax - y) * height / (yMax - yMin);
+    }
+
+    double toX(double pixelX) {
+        return xMin + pixelX * (xMax - xMin) / width;
+    }
+
+    double toY(double pixelY) {
+        return yMax - pixelY * (yMax - yMin) / height;
+    }
+
+    // ── Örnekleme parametreleri ───────────────────────────
+
+    /** Başlangıç ızgarasının aralığı (2'nin kuvveti) */
+    double seedStep() {
+        return floorPowerOfTwo(SEED_SPACING_PIXELS * (xMax - xMin) / width);
+    }
+
+    /** Alt bölmenin duracağı en küçük aralık */
+    double minStep() {
+        return (xMax - xMin) / width / MAX_SAMPLES_PER_PIXEL;
+    }
+
+    /** Doğrusal yaklaşımdan izin verilen y sapması (2'nin kuvveti) */
+    double tolerance() {
+        return floorPowerOfTwo(TOLERANCE_PIXELS * (yMax - yMin) / height);
+    }
+
+    /** Bu değerden büyük sıçramalar süreksizlik sayılır (görünen y aralığı) */
+    double jumpThreshold() {
+        return yMax - yMin;
+    }
+
+    double getXMin() {
+        return xMin;
+    }
+
+    double getXMax() {
+        return xMax;
+    }
+
+    double getYMin() {
+        return yMin;
+    }
+
+    double getYMax() {
+        return yMax;
+    }
+
+    double getWidth() {
+        return width;
+    }
+
+    double getHeight() {
+        return height;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("x: [%.4g, %.4g]  y: [%.4g, %.4g]", xMin, xMax, yMin, yMax);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** value'dan küçük veya eşit en büyük 2'nin kuvveti */
+    private static double floorPowerOfTwo(double value) {
+        return Math.scalb(1.0, Math.getExponent(value));
+    }
+}
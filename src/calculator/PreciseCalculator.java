@@ -0,0 +1,246 @@
+package calculator;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Calculator'ın BigDecimal karşılığı; hassas modda (EvaluationMode.PRECISE)
+ * kullanılır.
+ *
+ * Dört işlem, mod, tam sayı üs, karekök, mutlak değer ve tam sayı
+ * faktöriyeli MathContext hassasiyetinde (varsayılan 34 anlamlı basamak,
+ * MathContext.DECIMAL128) hesaplanır. BigDecimal'ın karşılığı olmayan
+ * işlemler (sin, cos, tan, ln, log, ondalıklı üs, ondalıklı faktöriyel)
+ * Calculator ile double olarak hesaplanıp geri çevrilir; bu işlemlerin
+ * sonucu double hassasiyetindedir.
+ *
+ * Hata türleri ve mesajları Calculator ile aynıdır.
+ *
+ * Thread güvenliği:
+ * Alanları değiştirilemez (MathContext ve durumsuz bir Calculator); sınıf
+ * thread-safe'tir.
+ *
+ * @author Yusuf
+ */
+public class PreciseCalculator {
+
+    /** Hassas modda hesaplanabilecek en büyük tam sayı faktöriyeli */
+    private static final int MAX_PRECISE_FACTORIAL = 10_000;
+
+    /** format() çıktısında sayının düz (üssüz) yazılacağı en fazla basamak */
+    private static final int MAX_PLAIN_DIGITS = 40;
+
+    static final String ZERO_POWER_MESSAGE = "0 ^ %.2f işlemi tanımsızdır.";
+    static final String NOT_FINITE_MESSAGE = "%s sonucu hassas modda gösterilemez (sonsuz veya tanımsız).";
+
+    private final MathContext context;
+    private final Calculator calculator = new Calculator();
+
+    /**
+     * 34 anlamlı basamakla (MathContext.DECIMAL128) hesaplayan nesne oluşturur.
+     */
+    public PreciseCalculator() {
+        this(MathContext.DECIMAL128);
+    }
+
+    /**
+     * @param context Ara ve son sonuçların yuvarlanacağı hassasiyet
+     */
+    public PreciseCalculator(MathContext context) {
+        this.context = context;
+    }
+
+    /** Kullanılan hassasiyet */
+    public MathContext getContext() {
+        return context;
+    }
+
+    public BigDecimal add(BigDecimal a, BigDecimal b) {
+        return a.add(b, context);
+    }
+
+    public BigDecimal subtract(BigDecimal a, BigDecimal b) {
+        return a.subtract(b, context);
+    }
+
+    public BigDecimal multiply(BigDecimal a, BigDecimal b) {
+        return a.multiply(b, context);
+    }
+
+    /**
+     * @throws CalculatorException Bölen sıfır olduğunda
+     */
+    public BigDecimal divide(BigDecimal a, BigDecimal b) throws CalculatorException {
+        if (b.signum() == 0) {
+            throw CalculatorException.formatted(CalculatorException.ErrorType.DIVISION_BY_ZERO, -1,
+                    Calculator.DIVIDE_BY_ZERO_MESSAGE, a.doubleValue());
+        }
+        return a.divide(b, context);
+    }
+
+    /**
+     * Kalan; işareti bölünenin işaretidir (Java'daki % ile aynı).
+     *
+     * @throws CalculatorException Bölen sıfır olduğunda
+     */
+    public BigDecimal modulo(BigDecimal a, BigDecimal b) throws CalculatorException {
+        if (b.signum() == 0) {
+            throw CalculatorException.formatted(CalculatorException.ErrorType.DIVISION_BY_ZERO, -1,
+                    Calculator.MODULO_BY_ZERO_MESSAGE, a.doubleValue());
+        }
+        return a.remainder(b).round(context);
+    }
+
+    /**
+     * Tam sayı üsler BigDecimal ile, ondalıklı üsler double ile hesaplanır.
+     *
+     * @throws CalculatorException 0'ın negatif kuvveti veya sonucun sonlu olmaması durumunda
+     */
+    public BigDecimal power(BigDecimal base, BigDecimal exponent) throws CalculatorException {
+        int n = integerValue(exponent);
+        if (n != Integer.MIN_VALUE) {
+            if (n < 0 && base.signum() == 0) {
+                throw CalculatorException.formatted(CalculatorException.ErrorType.DIVISION_BY_ZERO, -1,
+                        ZERO_POWER_MESSAGE, exponent.doubleValue());
+            }
+            return base.pow(n, context);
+        }
+        return fromDouble(calculator.power(base.doubleValue(), exponent.doubleValue()), "^");
+    }
+
+    /**
+     * @throws CalculatorException Negatif sayı durumunda
+     */
+    public BigDecimal sqrt(BigDecimal a) throws CalculatorException {
+        if (a.signum() < 0) {
+            throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, -1,
+                    Calculator.SQRT_NEGATIVE_MESSAGE, a.doubleValue());
+        }
+        return a.sqrt(context);
+    }
+
+    public BigDecimal sin(BigDecimal a) throws CalculatorException {
+        return fromDouble(calculator.sin(a.doubleValue()), "sin");
+    }
+
+    public BigDecimal cos(BigDecimal a) throws CalculatorException {
+        return fromDouble(calculator.cos(a.doubleValue()), "cos");
+    }
+
+    public BigDecimal tan(BigDecimal a) throws CalculatorException {
+        return fromDouble(calculator.tan(a.doubleValue()), "tan");
+    }
+
+    public BigDecimal ln(BigDecimal a) throws CalculatorException {
+        return fromDouble(calculator.ln(a.doubleValue()), "ln");
+    }
+
+    public BigDecimal log(BigDecimal a) throws CalculatorException {
+        return fromDouble(calculator.log(a.doubleValue()), "log");
+    }
+
+    public BigDecimal abs(BigDecimal a) {
+        return a.abs();
+    }
+
+    /**
+     * Tam sayılarda (MAX_PRECISE_FACTORIAL'a kadar) çarpım BigDecimal ile
+     * yapılır; double'da taşan 171! ve üstü de hesaplanabilir. Ondalıklı
+     * sayılarda Calculator.factorial (gamma) kullanılır.
+     *
+     * @throws CalculatorException Negatif tam sayı veya taşma durumunda
+     */
+    public BigDecimal factorial(BigDecimal n) throws CalculatorException {
+        int value = integerValue(n);
+        if (value == Integer.MIN_VALUE || value <= 170) {
+            return fromDouble(calculator.factorial(n.doubleValue()), "!");
+        }
+        if (value > MAX_PRECISE_FACTORIAL) {
+            throw new CalculatorException(CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    Calculator.FACTORIAL_OVERFLOW_MESSAGE);
+        }
+        BigDecimal result = BigDecimal.ONE;
+        for (int i = 2; i <= value; i++) {
+            // Büyük çarpımlar uzun sürebilir; arayüzden iptale izin ver
+            if ((i & 0xFF) == 0 && Thread.currentThread().isInterrupted()) {
+                throw CalculatorException.cancelled();
+            }
+            result = result.multiply(BigDecimal.valueOf(i), context);
+        }
+        return result;
+    }
+
+    /**
+     * Operatör karakterine göre uygun işlemi gerçekleştirir.
+     * Calculator.calculate ile aynı operatör kümesini destekler.
+     *
+     * @param a        İlk sayı
+     * @param b        İkinci sayı
+     * @param operator İşlem operatörü (+, -, *, /, %, ^)
+     * @return İşlem sonucu
+     * @throws CalculatorException Geçersiz operatör veya sıfıra bölme durumunda
+     */
+    public BigDecimal calculate(BigDecimal a, BigDecimal b, char operator) throws CalculatorException {
+        switch (operator) {
+            case '+': return add(a, b);
+            case '-': return subtract(a, b);
+            case '*': return multiply(a, b);
+            case '/': return divide(a, b);
+            case '%': return modulo(a, b);
+            case '^': return power(a, b);
+            default:
+                throw new CalculatorException(
+                    CalculatorException.ErrorType.INVALID_CHARACTER,
+                    String.format("'%c' geçerli bir operatör değil. Kullanılabilir: +, -, *, /, %%, ^", operator)
+                );
+        }
+    }
+
+    /**
+     * Sonucu ekranda gösterilecek biçime çevirir: sondaki sıfırlar atılır,
+     * makul uzunluktaki sayılar üssüz (örn: "0.3", "1200") yazılır.
+     *
+     * @param value Sonuç
+     * @return Biçimlendirilmiş sonuç
+     */
+    public static String format(BigDecimal value) {
+        BigDecimal stripped = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        int integerDigits = stripped.precision() - stripped.scale();
+        if (integerDigits <= MAX_PLAIN_DIGITS && stripped.scale() <= MAX_PLAIN_DIGITS) {
+            return stripped.toPlainString();
+        }
+        return stripped.toString();
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * double bir değeri BigDecimal'a çevirir. Çevrim Double.toString
+     * üzerinden yapılır; böylece 0.1 gibi sabitler 0.1000000000000000055...
+     * yerine 0.1 olarak alınır.
+     *
+     * @param value     Çevrilecek değer
+     * @param operation Hata mesajında gösterilecek işlem adı
+     * @throws CalculatorException Değer sonsuz veya NaN ise
+     */
+    static BigDecimal fromDouble(double value, String operation) throws CalculatorException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, -1,
+                    NOT_FINITE_MESSAGE, operation);
+        }
+        return BigDecimal.valueOf(value);
+    }
+
+    /**
+     * Değer int aralığında bir tam sayıysa onu, değilse Integer.MIN_VALUE döndürür.
+     */
+    private static int integerValue(BigDecimal value) {
+        try {
+            return value.intValueExact();
+        } catch (ArithmeticException e) {
+            return Integer.MIN_VALUE;
+        }
+    }
+}
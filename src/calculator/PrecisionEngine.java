@@ -0,0 +1,367 @@
+package calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Hassas modun (EvaluationMode.PRECISE) yorumlayıcısı.
+ *
+ * Program önce double ile, her adımı izlenerek çalıştırılır. Şu durumlardan
+ * biri görülürse double sonucu güvenilmez sayılır ve program BigDecimal ile
+ * (PreciseCalculator) baştan çalıştırılır:
+ * - Sadeleşme (catastrophic cancellation): a - b sonucunda, büyük operandın
+ *   anlamlı bitlerinin yarısından fazlası kaybolur (örn: 0.1 + 0.2 - 0.3)
+ * - Yutulma (absorption): Toplamda küçük terimin bitlerinin yarısından
+ *   fazlası kaybolur (örn: 10^20 + 1 - 10^20)
+ * - Taşma / alttan taşma: Sonuç sonsuz, NaN, subnormal veya sıfır olmayan
+ *   operandlardan sıfır çıkar (örn: 10^400, 171!)
+ * - Uzun sayı: İfadede 15'ten fazla anlamlı basamakla yazılmış bir sayı
+ *   double'a tam sığmaz (örn: 123456789012345678)
+ * - Uzun sonuç: double sonucun en kısa ondalık yazılışı 15 basamaktan
+ *   uzundur (örn: 1/7 → 0.14285714285714285, 0.1 + 0.2 →
+ *   0.30000000000000004); sonuç BigDecimal ile daha fazla basamakla bulunur
+ *
+ * Böylece double sonucu yalnızca en fazla 15 anlamlı basamaklı (double'ın
+ * garanti ettiği ondalık hassasiyet) ve yazıldığı gibi doğru olduğunda
+ * kullanılır; hassas mod hiçbir zaman double'dan daha az basamak döndürmez.
+ * BigDecimal yolunda ifadedeki sayılar yazıldıkları gibi, double'a
+ * yuvarlanmadan kullanılır.
+ *
+ * sum, prod, integrate ve solve çağrıları her iki yolda da double ile
+ * hesaplanır (argümanları double'a çevrilir); sonuçları yazılışı olmayan
+ * bir sabit gibi kullanılır.
+ *
+ * Not: İyileştirilmiş (ExpressionOptimizer) programlar burada kullanılmaz;
+ * sabit katlama double ile yapıldığı için hassasiyet kaybını gizleyebilir.
+ *
+ * @author Yusuf
+ */
+final class PrecisionEngine {
+
+    /** Bir adımda kaybolmasına izin verilen en fazla bit (53 bitlik anlamlı kısmın yarısı) */
+    private static final int PRECISION_LOSS_BITS = 26;
+
+    /** double'ın her zaman doğru taşıdığı ondalık anlamlı basamak sayısı */
+    private static final int DOUBLE_DIGITS = 15;
+
+    private static final String CONSTANT_RANGE_MESSAGE = "Sayı double aralığının dışında; hassas modda kullanılamaz.";
+
+    private PrecisionEngine() {
+    }
+
+    /**
+     * Programı hassas modda hesaplar.
+     *
+     * @param code        Komutlar
+     * @param length      Geçerli komut sayısı
+     * @param constants   CONST komutlarının sabitleri
+     * @param literals    Sabitlerin yazıldıkları tam değerler (yazılışı olmayanlarda null)
+     * @param calls       CALL komutlarının çağrıları
+     * @param bindings    Değişken değerleri
+     * @param stack       En az yığın derinliği + geçici yuva sayısı kadar yer içeren double yığın
+     * @param stackSize   Yığın derinliği + geçici yuva sayısı
+     * @param calculator  Double yolu için Calculator
+     * @param precise     BigDecimal yolu için PreciseCalculator
+     * @return Sonuç
+     * @throws CalculatorException Sıfıra bölme veya tanım dışı işlem durumunda
+     */
+    static BigDecimal evaluate(int[] code, int length, double[] constants, BigDecimal[] literals,
+            RuntimeCall[] calls, double[] bindings, double[] stack, int stackSize, Calculator calculator,
+            PreciseCalculator precise) throws CalculatorException {
+        if (runMonitored(code, length, constants, literals, calls, bindings, stack, calculator)) {
+            BigDecimal shortest = BigDecimal.valueOf(stack[0]);
+            if (significantDigits(shortest) <= DOUBLE_DIGITS) {
+                return shortest;
+            }
+        }
+        return run(code, length, constants, literals, calls, bindings, new BigDecimal[stackSize], precise);
+    }
+
+    /**
+     * Programı double ile çalıştırır ve her adımda hassasiyet kaybını kontrol eder.
+     * Sonuç güvenilirse stack[0]'a yazılır.
+     *
+     * @return Sonuç güvenilirse true; BigDecimal ile yeniden hesaplanmalıysa false
+     */
+    static boolean runMonitored(int[] code, int length, double[] constants, BigDecimal[] literals,
+            RuntimeCall[] calls, double[] bindings, double[] stack, Calculator calculator)
+            throws CalculatorException {
+        int top = -1;
+
+        for (int pc = 0; pc < length; pc++) {
+            int instruction = code[pc];
+            int opcode = instruction & CompiledExpression.OPCODE_MASK;
+            double a;
+            double b;
+            double result;
+            switch (opcode) {
+                case CompiledExpression.CONST:
+                    BigDecimal literal = literals[instruction >>> CompiledExpression.OPERAND_SHIFT];
+                    if (literal != null && significantDigits(literal) > DOUBLE_DIGITS) {
+                        return false; // Sayı double'a tam sığmıyor
+                    }
+                    result = constants[instruction >>> CompiledExpression.OPERAND_SHIFT];
+                    if (!isTrusted(result)) {
+                        return false;
+                    }
+                    stack[++top] = result;
+                    continue;
+                case CompiledExpression.VARIABLE:
+                    result = bindings[instruction >>> CompiledExpression.OPERAND_SHIFT];
+                    if (!isTrusted(result)) {
+                        return false;
+                    }
+                    stack[++top] = result;
+                    continue;
+                case CompiledExpression.STORE_TEMP:
+                    stack[stack.length - 1 - (instruction >>> CompiledExpression.OPERAND_SHIFT)] = stack[top];
+                    continue;
+                case CompiledExpression.LOAD_TEMP:
+                    top++;
+                    stack[top] = stack[stack.length - 1 - (instruction >>> CompiledExpression.OPERAND_SHIFT)];
+                    continue;
+                case CompiledExpression.ADD:
+                    top--;
+                    a = stack[top];
+                    b = stack[top + 1];
+                    result = calculator.add(a, b);
+                    if (losesPrecision(a, b, result)) {
+                        return false;
+                    }
+                    break;
+                case CompiledExpression.SUBTRACT:
+                    top--;
+                    a = stack[top];
+                    b = stack[top + 1];
+                    result = calculator.subtract(a, b);
+                    if (losesPrecision(a, -b, result)) {
+                        return false;
+                    }
+                    break;
+                case CompiledExpression.MULTIPLY:
+                    top--;
+                    a = stack[top];
+                    b = stack[top + 1];
+                    result = calculator.multiply(a, b);
+                    if (result == 0 && a != 0 && b != 0) {
+                        return false; // Alttan taşma
+                    }
+                    break;
+                case CompiledExpression.DIVIDE:
+                    top--;
+                    a = stack[top];
+                    result = calculator.divide(a, stack[top + 1]);
+                    if (result == 0 && a != 0) {
+                        return false;
+                    }
+                    break;
+                case CompiledExpression.MODULO:
+                    top--;
+                    result = calculator.modulo(stack[top], stack[top + 1]); // Kalan her zaman tam hesaplanır
+                    break;
+                case CompiledExpression.POWER:
+                    top--;
+                    a = stack[top];
+                    result = calculator.power(a, stack[top + 1]);
+                    if (result == 0 && a != 0) {
+                        return false;
+                    }
+                    break;
+                case CompiledExpression.FACTORIAL:
+                    // double'da taşan faktöriyel hassas modda hesaplanabilir
+                    if (Calculator.factorialError(stack[top]) == Calculator.FACTORIAL_OVERFLOW_MESSAGE) {
+                        return false;
+                    }
+                    result = calculator.factorial(stack[top]);
+                    break;
+                case CompiledExpression.CALL:
+                    RuntimeCall call = calls[instruction >>> CompiledExpression.OPERAND_SHIFT];
+                    top -= call.arity() - 1;
+                    result = call.apply(stack, top, bindings);
+                    break;
+                default:
+                    result = applyFunction(opcode, stack[top], calculator);
+                    break;
+            }
+            if (!isTrusted(result)) {
+                return false; // Taşma, NaN veya subnormal sonuç
+            }
+            stack[top] = result;
+        }
+
+        return true;
+    }
+
+    /**
+     * Programı BigDecimal ile çalıştırır. Geçici yuvalar yığın dizisinin
+     * sonundan geriye doğru yerleşir (CompiledExpression.run ile aynı düzen).
+     */
+    static BigDecimal run(int[] code, int length, double[] constants, BigDecimal[] literals,
+            RuntimeCall[] calls, double[] bindings, BigDecimal[] stack, PreciseCalculator precise)
+            throws CalculatorException {
+        int top = -1;
+
+        try {
+            for (int pc = 0; pc < length; pc++) {
+                int instruction = code[pc];
+                int operand = instruction >>> CompiledExpression.OPERAND_SHIFT;
+                switch (instruction & CompiledExpression.OPCODE_MASK) {
+                    case CompiledExpression.CONST:
+                        stack[++top] = literals[operand] != null
+                                ? literals[operand]
+                                : toBigDecimal(constants[operand]);
+                        break;
+                    case CompiledExpression.VARIABLE:
+                        stack[++top] = toBigDecimal(bindings[operand]);
+                        break;
+                    case CompiledExpression.STORE_TEMP:
+                        stack[stack.length - 1 - operand] = stack[top];
+                        break;
+                    case CompiledExpression.LOAD_TEMP:
+                        top++;
+                        stack[top] = stack[stack.length - 1 - operand];
+                        break;
+                    case CompiledExpression.ADD:
+                        top--;
+                        stack[top] = precise.add(stack[top], stack[top + 1]);
+                        break;
+                    case CompiledExpression.SUBTRACT:
+                        top--;
+                        stack[top] = precise.subtract(stack[top], stack[top + 1]);
+                        break;
+                    case CompiledExpression.MULTIPLY:
+                        top--;
+                        stack[top] = precise.multiply(stack[top], stack[top + 1]);
+                        break;
+                    case CompiledExpression.DIVIDE:
+                        top--;
+                        stack[top] = precise.divide(stack[top], stack[top + 1]);
+                        break;
+                    case CompiledExpression.MODULO:
+                        top--;
+                        stack[top] = precise.modulo(stack[top], stack[top + 1]);
+                        break;
+                    case CompiledExpression.POWER:
+                        top--;
+                        stack[top] = precise.power(stack[top], stack[top + 1]);
+                        break;
+                    case CompiledExpression.SIN:
+                        stack[top] = precise.sin(stack[top]);
+                        break;
+                    case CompiledExpression.COS:
+                        stack[top] = precise.cos(stack[top]);
+                        break;
+                    case CompiledExpression.TAN:
+                        stack[top] = precise.tan(stack[top]);
+                        break;
+                    case CompiledExpression.SQRT:
+                        stack[top] = precise.sqrt(stack[top]);
+                        break;
+                    case CompiledExpression.LN:
+                        stack[top] = precise.ln(stack[top]);
+                        break;
+                    case CompiledExpression.LOG:
+                        stack[top] = precise.log(stack[top]);
+                        break;
+                    case CompiledExpression.ABS:
+                        stack[top] = precise.abs(stack[top]);
+                        break;
+                    case CompiledExpression.FACTORIAL:
+                        stack[top] = precise.factorial(stack[top]);
+                        break;
+                    case CompiledExpression.CALL:
+                        RuntimeCall call = calls[operand];
+                        top -= call.arity() - 1;
+                        stack[top] = call(call, stack, top, bindings);
+                        break;
+                    default:
+                        throw new CalculatorException(
+                                CalculatorException.ErrorType.INVALID_EXPRESSION,
+                                String.format("Bilinmeyen işlem kodu: %d", instruction & CompiledExpression.OPCODE_MASK));
+                }
+            }
+        } catch (ArithmeticException e) {
+            // BigDecimal ölçek (scale) sınırı aşıldı; örn: 10 ^ 999999999 ^ 9
+            throw new CalculatorException(CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    "Sonuç hassas modda gösterilemeyecek kadar büyük veya küçük.", e);
+        }
+
+        return stack[top];
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * a + b = sum toplamında yutulma veya sadeleşme ile anlamlı bitlerin
+     * yarısından fazlası kayboldu mu?
+     */
+    private static boolean losesPrecision(double a, double b, double sum) {
+        if (!isTrusted(sum)) {
+            return true;
+        }
+        if (a == 0 || b == 0) {
+            return false;
+        }
+        int exponentA = Math.getExponent(a);
+        int exponentB = Math.getExponent(b);
+        int larger = Math.max(exponentA, exponentB);
+
+        // ── Yutulma: küçük terim büyüğün yanında kayboluyor ──
+        if (larger - Math.min(exponentA, exponentB) > PRECISION_LOSS_BITS) {
+            return true;
+        }
+        // ── Sadeleşme: sonuç operandlardan çok daha küçük ────
+        return sum == 0 || larger - Math.getExponent(sum) > PRECISION_LOSS_BITS;
+    }
+
+    /** Sondaki sıfırlar hariç anlamlı basamak sayısı (0 için 1) */
+    private static int significantDigits(BigDecimal value) {
+        return value.signum() == 0 ? 1 : value.stripTrailingZeros().precision();
+    }
+
+    /** Değer sonlu ve (sıfır değilse) normal aralıkta mı */
+    private static boolean isTrusted(double value) {
+        return Double.isFinite(value) && (value == 0 || Math.abs(value) >= Double.MIN_NORMAL);
+    }
+
+    private static double applyFunction(int opcode, double a, Calculator calculator) throws CalculatorException {
+        switch (opcode) {
+            case CompiledExpression.SIN:
+                return calculator.sin(a);
+            case CompiledExpression.COS:
+                return calculator.cos(a);
+            case CompiledExpression.TAN:
+                return calculator.tan(a);
+            case CompiledExpression.SQRT:
+                return calculator.sqrt(a);
+            case CompiledExpression.LN:
+                return calculator.ln(a);
+            case CompiledExpression.LOG:
+                return calculator.log(a);
+            case CompiledExpression.ABS:
+                return calculator.abs(a);
+            default:
+                throw new CalculatorException(
+                        CalculatorException.ErrorType.INVALID_EXPRESSION,
+                        String.format("Bilinmeyen işlem kodu: %d", opcode));
+        }
+    }
+
+    /** Çağrıyı argümanlarını double'a çevirerek hesaplar. */
+    private static BigDecimal call(RuntimeCall call, BigDecimal[] stack, int first, double[] bindings)
+            throws CalculatorException {
+        double[] arguments = new double[call.arity()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = stack[first + i].doubleValue();
+        }
+        return toBigDecimal(call.apply(arguments, 0, bindings));
+    }
+
+    private static BigDecimal toBigDecimal(double value) throws CalculatorException {
+        if (!Double.isFinite(value)) {
+            throw new CalculatorException(CalculatorException.ErrorType.INVALID_EXPRESSION, CONSTANT_RANGE_MESSAGE);
+        }
+        return BigDecimal.valueOf(value);
+    }
+}
@@ -0,0 +1,117 @@
+package calculator;
+
+/**
+ * Yazılmakta olan bir ifadeyi, önceki hesaplamanın ayrıştırılmış önekini
+ * tekrar kullanarak hesaplayan değerlendirici (canlı önizleme için).
+ *
+ * Kullanıcı ifadenin sonuna karakter ekledikçe veya sondan sildikçe
+ * ifadenin büyük kısmı aynı kalır. Her hesaplamada ayrıştırıcı, son iki
+ * token'dan önceki durumunu bir ExpressionParser.Checkpoint'e kaydeder; o
+ * ana kadar yazılmış postfix komutlar hemen hesaplanır ve yığında kalan
+ * ara sonuçlar (bekleyen operand'lar) saklanır. Sonraki ifade aynı önekle
+ * başlıyorsa:
+ * - Program yalnızca bu ara sonuçları sabit olarak içeren kısa bir
+ *   programla başlar,
+ * - Ayrıştırma kayıtlı konumdan sürer,
+ * - Hesaplama yalnızca yeni komutları çalıştırır.
+ * Böylece her tuş vuruşunun maliyeti ifadenin uzunluğuna değil, değişen
+ * kısmın ve bekleyen operand'ların sayısına bağlıdır. Önek uymazsa (ifadenin
+ * ortasında düzenleme) ifade baştan ayrıştırılır.
+ *
+ * İfade ExpressionOptimizer'dan geçirilmez; sonuç "=" ile hesaplanan
+ * değerden en fazla son basamaklarda farklı olabilir. Değişken içeren
+ * ifadeler desteklenmez.
+ *
+ * Nesne thread-safe değildir; LivePreview onu yalnızca kendi arka plan
+ * thread'inde kullanır.
+ *
+ * @author Yusuf
+ */
+final class PreviewEvaluator {
+
+    private static final double[] NO_BINDINGS = new double[0];
+
+    private final ExpressionParser parser = new ExpressionParser();
+    private final ProgramBuilder program = new ProgramBuilder();
+    private final ExpressionParser.Checkpoint checkpoint = new ExpressionParser.Checkpoint();
+    private final Calculator calculator = new Calculator();
+
+    /** Kayıtlı durumdaki ara sonuçlar (program yığınının içeriği) */
+    private double[] operands = new double[16];
+    private int operandCount;
+
+    private double[] stack = new double[32];
+
+    /** Son hesaplamada önek tekrar kullanıldıysa true */
+    private boolean resumed;
+
+    /**
+     * İfadeyi hesaplar.
+     *
+     * @param expression Değişken içermeyen ifade (boş olmamalı)
+     * @return Hesaplama sonucu
+     * @throws CalculatorException Hatalı ifade, sıfıra bölme veya tanım dışı işlem durumunda
+     */
+    double evaluate(String expression) throws CalculatorException {
+        program.reset();
+        resumed = checkpoint.matches(expression);
+        try {
+            if (resumed) {
+                for (int i = 0; i < operandCount; i++) {
+                    program.emitConstant(operands[i]);
+                }
+                parser.resume(expression, checkpoint, program, checkpoint);
+            } else {
+                checkpoint.clear();
+                parser.parse(expression, program, checkpoint);
+            }
+        } finally {
+            // Hata olsa bile, hatadan önce kaydedilen durum sonraki ifade için geçerlidir
+            if (checkpoint.isSavedFor(expression)) {
+                fold();
+            }
+        }
+        return CompiledExpression.run(program.code(), program.codeLength(), program.constants(),
+                program.calls(), NO_BINDINGS, stack(program.maxDepth()), calculator);
+    }
+
+    /** Son hesaplamada önceki ifadenin ayrıştırılmış öneki kullanıldıysa true */
+    boolean wasResumed() {
+        return resumed;
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Kayıtlı durumdaki programı çalıştırıp yığında kalan ara sonuçları saklar.
+     * Önek hesaplanamazsa (örn: sıfıra bölme) durum geçersiz kılınır.
+     */
+    private void fold() {
+        int depth = checkpoint.depth();
+        if (depth > 0) {
+            double[] values = stack(program.maxDepth());
+            try {
+                CompiledExpression.run(program.code(), checkpoint.codeLength(), program.constants(),
+                        program.calls(), NO_BINDINGS, values, calculator);
+            } catch (CalculatorException e) {
+                checkpoint.clear();
+                operandCount = 0;
+                return;
+            }
+            if (operands.length < depth) {
+                operands = new double[Math.max(depth, operands.length * 2)];
+            }
+            System.arraycopy(values, 0, operands, 0, depth);
+        }
+        operandCount = depth;
+    }
+
+    private double[] stack(int size) {
+        if (stack.length < size) {
+            stack = new double[Math.max(size, stack.length * 2)];
+        }
+        return stack;
+    }
+}
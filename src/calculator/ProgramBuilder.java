@@ -0,0 +1,259 @@
+package calculator;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Derleme sırasında postfix programı biriktiren yardımcı sınıf.
+ *
+ * ExpressionEvaluator, shunting-yard algoritmasında işlemi hemen uygulamak
+ * yerine buraya bir komut ekler. Komutların sırası, eski yorumlayıcının
+ * işlemleri uyguladığı sırayla aynıdır.
+ *
+ * Eklenen her komut için yığın derinliği takip edilir; böylece operandı eksik
+ * bir ifade (örn: "5 +") hesaplama anında değil, derleme anında yakalanır.
+ *
+ * İfadede yazılmış sayı sabitlerinin metindeki yeri de saklanır; kesirli ve
+ * hassas modlar bu sayıları double'a yuvarlanmış hâlleri yerine yazıldıkları
+ * gibi kullanır (bkz. literals()).
+ *
+ * sum, prod, integrate ve solve çağrıları CALL komutu olarak yazılır;
+ * komut, çağrılar tablosundaki bir RuntimeCall'a başvurur.
+ *
+ * @author Yusuf
+ */
+final class ProgramBuilder {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] code = new int[INITIAL_CAPACITY];
+    private int codeLength;
+
+    private double[] constants = new double[INITIAL_CAPACITY];
+    private int constantCount;
+
+    /** Her sabitin ifadedeki yazılışının başı ve sonu; yazılışı olmayanlarda -1 */
+    private int[] literalStarts = new int[INITIAL_CAPACITY];
+    private int[] literalEnds = new int[INITIAL_CAPACITY];
+
+    /** CALL komutlarının başvurduğu çağrılar */
+    private RuntimeCall[] calls = new RuntimeCall[4];
+    private int callCount;
+
+    /** Programın bu noktasında yığında bulunacak değer sayısı */
+    private int depth;
+
+    /** Program boyunca ulaşılan en büyük yığın derinliği */
+    private int maxDepth;
+
+    /** Kullanılan geçici yuva sayısı (ortak alt ifadeler için) */
+    private int temporaries;
+
+    /**
+     * Yığına bir sabit koyan komut ekler.
+     *
+     * @param value Sabit değer
+     */
+    void emitConstant(double value) {
+        emitLiteral(value, -1, -1);
+    }
+
+    /**
+     * İfadede yazılmış bir sayıyı yığına koyan komut ekler. Sayının
+     * yazılışı (işaretsiz) ifadenin [start, end) aralığındadır; value
+     * negatifse sayı negatif işaretiyle yazılmıştır.
+     *
+     * @param value Sayının double değeri
+     * @param start Yazılışın başı (yazılışı yoksa -1)
+     * @param end   Yazılışın sonu (hariç)
+     */
+    void emitLiteral(double value, int start, int end) {
+        if (constantCount == constants.length) {
+            constants = Arrays.copyOf(constants, constantCount * 2);
+            literalStarts = Arrays.copyOf(literalStarts, constantCount * 2);
+            literalEnds = Arrays.copyOf(literalEnds, constantCount * 2);
+        }
+        constants[constantCount] = value;
+        literalStarts[constantCount] = start;
+        literalEnds[constantCount] = end;
+        append(CompiledExpression.CONST | (constantCount << CompiledExpression.OPERAND_SHIFT));
+        constantCount++;
+        push();
+    }
+
+    /**
+     * Yığına bir değişken yuvasının değerini koyan komut ekler.
+     *
+     * @param slot Değişkenin bağlama dizisindeki sırası
+     */
+    void emitVariable(int slot) {
+        append(CompiledExpression.VARIABLE | (slot << CompiledExpression.OPERAND_SHIFT));
+        push();
+    }
+
+    /**
+     * İki operandlı bir operatör komutu ekler.
+     *
+     * @param opcode İşlem kodu (ADD, SUBTRACT, ...)
+     */
+    void emitBinary(int opcode) {
+        append(opcode);
+        depth--;
+    }
+
+    /**
+     * Tek operandlı bir fonksiyon komutu ekler (sin, sqrt, faktöriyel ...).
+     *
+     * @param opcode İşlem kodu
+     */
+    void emitUnary(int opcode) {
+        append(opcode);
+    }
+
+    /**
+     * Yığındaki argümanlarını (call.arity() kadar) alıp sonucu geri koyan
+     * bir çağrı komutu ekler.
+     *
+     * @param call Çağrı (sum, prod, integrate, solve)
+     */
+    void emitCall(RuntimeCall call) {
+        if (callCount == calls.length) {
+            calls = Arrays.copyOf(calls, callCount * 2);
+        }
+        calls[callCount] = call;
+        append(CompiledExpression.CALL | (callCount << CompiledExpression.OPERAND_SHIFT));
+        callCount++;
+        depth -= call.arity() - 1;
+    }
+
+    /**
+     * Yığının tepesindeki değeri yeni bir geçici yuvaya kopyalayan komut ekler.
+     * Değer yığında kalır.
+     *
+     * @return Geçici yuvanın numarası
+     */
+    int emitStore() {
+        append(CompiledExpression.STORE_TEMP | (temporaries << CompiledExpression.OPERAND_SHIFT));
+        return temporaries++;
+    }
+
+    /**
+     * Daha önce yazılmış bir geçici yuvanın değerini yığına koyan komut ekler.
+     *
+     * @param temp Geçici yuvanın numarası
+     */
+    void emitLoad(int temp) {
+        append(CompiledExpression.LOAD_TEMP | (temp << CompiledExpression.OPERAND_SHIFT));
+        push();
+    }
+
+    /**
+     * Programı boşaltır; diziler yeniden kullanılmak üzere saklanır.
+     */
+    void reset() {
+        codeLength = 0;
+        constantCount = 0;
+        Arrays.fill(calls, 0, callCount, null); // Derlenmiş gövdeler tutulmasın
+        callCount = 0;
+        depth = 0;
+        maxDepth = 0;
+        temporaries = 0;
+    }
+
+    /**
+     * Programın bu noktasındaki yığın derinliğini döndürür.
+     *
+     * @return Yığındaki değer sayısı
+     */
+    int depth() {
+        return depth;
+    }
+
+    /** Program boyunca ulaşılan en büyük yığın derinliği */
+    int maxDepth() {
+        return maxDepth;
+    }
+
+    /** Kullanılan geçici yuva sayısı */
+    int temporaries() {
+        return temporaries;
+    }
+
+    /** Komut dizisi (ilk codeLength() elemanı geçerlidir) */
+    int[] code() {
+        return code;
+    }
+
+    /** Geçerli komut sayısı */
+    int codeLength() {
+        return codeLength;
+    }
+
+    /** Sabitler dizisi */
+    double[] constants() {
+        return constants;
+    }
+
+    /** Çağrılar tablosu (ilk callCount elemanı geçerlidir) */
+    RuntimeCall[] calls() {
+        return calls;
+    }
+
+    /**
+     * Sabitlerin ifadede yazıldıkları tam değerleri döndürür. Örneğin
+     * "9007199254740993" veya "0.3333333333333333333" double'a çevrilirken
+     * kaybolan basamaklar burada korunur. Yazılışı olmayan sabitler (pi, e,
+     * katlanmış ara sonuçlar ...) için eleman null'dır.
+     *
+     * @param source Programın ayrıştırıldığı ifade
+     * @return constants() ile aynı sırada tam değerler
+     */
+    BigDecimal[] literals(String source) {
+        BigDecimal[] literals = new BigDecimal[constantCount];
+        for (int i = 0; i < constantCount; i++) {
+            if (literalStarts[i] >= 0) {
+                BigDecimal literal = new BigDecimal(source.substring(literalStarts[i], literalEnds[i]));
+                literals[i] = constants[i] < 0 ? literal.negate() : literal;
+            }
+        }
+        return literals;
+    }
+
+    /**
+     * Biriken komutlardan değiştirilemez bir CompiledExpression oluşturur.
+     *
+     * @param source     Orijinal ifade metni
+     * @param variables  Yuva sırasına göre değişken isimleri
+     * @param calculator Hesaplamada kullanılacak Calculator
+     * @return Derlenmiş ifade
+     */
+    CompiledExpression build(String source, String[] variables, Calculator calculator) {
+        return new CompiledExpression(
+                Arrays.copyOf(code, codeLength),
+                Arrays.copyOf(constants, constantCount),
+                callCount == 0 ? RuntimeCall.NONE : Arrays.copyOf(calls, callCount),
+                maxDepth,
+                temporaries,
+                source,
+                variables,
+                calculator);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private void append(int instruction) {
+        if (codeLength == code.length) {
+            code = Arrays.copyOf(code, codeLength * 2);
+        }
+        code[codeLength++] = instruction;
+    }
+
+    private void push() {
+        depth++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+}
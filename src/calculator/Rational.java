@@ -0,0 +1,469 @@
+package calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Tam (kayıpsız) rasyonel sayı: pay / payda. Kesirli modun
+ * (EvaluationMode.RATIONAL) sayı türüdür.
+ *
+ * Gösterim:
+ * - Değer long aralığına sığdığı sürece pay ve payda long olarak tutulur;
+ *   işlemler taşma kontrollü (Math.multiplyExact / addExact) yapılır.
+ * - Bir işlem taşarsa sonuç BigInteger gösterimine geçer. BigInteger
+ *   sonuçlar tekrar long aralığına düşerse long gösterime geri döner.
+ *
+ * Her değer en sade hâlde tutulur: payda pozitiftir ve pay ile paydanın
+ * ortak böleni yoktur. Sadeleştirme için ikili (binary, Stein) EBOB
+ * kullanılır; bölme yerine kaydırma ve çıkarma yapar.
+ *
+ * Sınıf değiştirilemezdir (immutable) ve thread-safe'tir.
+ *
+ * Örnek:
+ * Rational.of(1, 3).add(Rational.of(1, 6)) → 1/2
+ * Rational.valueOf(0.1)                    → 1/10
+ * Rational.valueOf(new BigDecimal("0.125")) → 1/8
+ *
+ * @author Yusuf
+ */
+public final class Rational extends Number implements Comparable<Rational> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Rational ZERO = new Rational(0, 1);
+    public static final Rational ONE = new Rational(1, 1);
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+
+    // ── long gösterim (big alanları null iken geçerli) ───────
+    private final long numerator;
+    private final long denominator;
+
+    // ── BigInteger gösterim (yalnızca long'a sığmayan değerler) ─
+    private final BigInteger bigNumerator;
+    private final BigInteger bigDenominator;
+
+    private Rational(long numerator, long denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+    }
+
+    private Rational(BigInteger numerator, BigInteger denominator) {
+        this.numerator = 0;
+        this.denominator = 1;
+        this.bigNumerator = numerator;
+        this.bigDenominator = denominator;
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // OLUŞTURMA
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Tam sayıdan rasyonel sayı oluşturur.
+     *
+     * @param value Tam sayı
+     * @return value / 1
+     */
+    public static Rational valueOf(long value) {
+        return of(value, 1);
+    }
+
+    /**
+     * pay / payda kesrini sadeleştirerek oluşturur.
+     *
+     * @param numerator   Pay
+     * @param denominator Payda (sıfır olamaz)
+     * @return Sadeleştirilmiş kesir
+     * @throws ArithmeticException Payda sıfırsa
+     */
+    public static Rational of(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Payda sıfır olamaz.");
+        }
+        return reduce(numerator, denominator);
+    }
+
+    /**
+     * pay / payda kesrini sadeleştirerek oluşturur.
+     *
+     * @param numerator   Pay
+     * @param denominator Payda (sıfır olamaz)
+     * @return Sadeleştirilmiş kesir
+     * @throws ArithmeticException Payda sıfırsa
+     */
+    public static Rational of(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Payda sıfır olamaz.");
+        }
+        return reduce(numerator, denominator);
+    }
+
+    /**
+     * double bir değeri ondalık yazılışına göre kesre çevirir.
+     * Çevrim Double.toString üzerinden yapılır; böylece 0.1 ikili
+     * yaklaşığı (0.1000000000000000055...) yerine tam olarak 1/10 olur.
+     *
+     * @param value Sonlu bir sayı
+     * @return Karşılık gelen kesir
+     * @throws NumberFormatException value sonsuz veya NaN ise
+     */
+    public static Rational valueOf(double value) {
+        if (value == (long) value && value != Long.MAX_VALUE) {
+            return valueOf((long) value);
+        }
+        return valueOf(BigDecimal.valueOf(value));
+    }
+
+    /**
+     * Ondalık bir sayıyı tam olarak kesre çevirir (hiçbir basamak kaybolmaz).
+     *
+     * @param value Ondalık sayı
+     * @return Karşılık gelen kesir
+     */
+    public static Rational valueOf(BigDecimal value) {
+        if (value.scale() <= 0) {
+            return of(value.toBigIntegerExact(), BigInteger.ONE);
+        }
+        return of(value.unscaledValue(), BigInteger.TEN.pow(value.scale()));
+    }
+
+    /**
+     * toString() ile yazılmış bir kesri ("-3/4" veya "5") okur.
+     *
+     * @param text Kesir metni
+     * @return Sadeleştirilmiş kesir
+     * @throws NumberFormatException Metin bir kesir değilse
+     * @throws ArithmeticException   Payda sıfırsa
+     */
+    public static Rational parse(String text) {
+        int slash = text.indexOf('/');
+        if (slash < 0) {
+            return of(new BigInteger(text.trim()), BigInteger.ONE);
+        }
+        return of(new BigInteger(text.substring(0, slash).trim()), new BigInteger(text.substring(slash + 1).trim()));
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // ARİTMETİK
+    // ══════════════════════════════════════════════════════════
+
+    public Rational add(Rational other) {
+        if (isSmall() && other.isSmall()) {
+            try {
+                // a/b + c/d = (a·(d/g) + c·(b/g)) / (b/g·d),  g = ebob(b, d)
+                long g = gcd(denominator, other.denominator);
+                long left = denominator / g;
+                long num = Math.addExact(
+                        Math.multiplyExact(numerator, other.denominator / g),
+                        Math.multiplyExact(other.numerator, left));
+                return reduce(num, Math.multiplyExact(left, other.denominator));
+            } catch (ArithmeticException overflow) {
+                // BigInteger ile devam et
+            }
+        }
+        return reduce(
+                bigNumerator().multiply(other.bigDenominator()).add(other.bigNumerator().multiply(bigDenominator())),
+                bigDenominator().multiply(other.bigDenominator()));
+    }
+
+    public Rational subtract(Rational other) {
+        return add(other.negate());
+    }
+
+    public Rational multiply(Rational other) {
+        if (signum() == 0 || other.signum() == 0) {
+            return ZERO;
+        }
+        if (isSmall() && other.isSmall()) {
+            try {
+                // Çapraz sadeleştirme: sonuç zaten en sade hâldedir ve ara değerler küçük kalır
+                long g1 = gcd(Math.abs(numerator), other.denominator);
+                long g2 = gcd(Math.abs(other.numerator), denominator);
+                long num = Math.multiplyExact(numerator / g1, other.numerator / g2);
+                long den = Math.multiplyExact(denominator / g2, other.denominator / g1);
+                if (num != Long.MIN_VALUE) {
+                    return new Rational(num, den);
+                }
+            } catch (ArithmeticException overflow) {
+                // BigInteger ile devam et
+            }
+        }
+        return reduce(bigNumerator().multiply(other.bigNumerator()),
+                bigDenominator().multiply(other.bigDenominator()));
+    }
+
+    /**
+     * @throws ArithmeticException other sıfırsa
+     */
+    public Rational divide(Rational other) {
+        return multiply(other.reciprocal());
+    }
+
+    /**
+     * Bölümden kalan; işareti bölünenin işaretidir (Java'daki % ile aynı):
+     * a % b = a - b · trunc(a / b)
+     *
+     * @throws ArithmeticException other sıfırsa
+     */
+    public Rational remainder(Rational other) {
+        Rational quotient = divide(other);
+        return subtract(other.multiply(quotient.truncate()));
+    }
+
+    /**
+     * Tam sayı kuvvet alır (kare alarak üs alma).
+     *
+     * @param exponent Üs (negatif olabilir)
+     * @throws ArithmeticException Sıfırın negatif kuvvetinde
+     */
+    public Rational pow(int exponent) {
+        if (exponent < 0) {
+            return reciprocal().pow(-exponent);
+        }
+        Rational result = ONE;
+        Rational base = this;
+        int remaining = exponent;
+        while (remaining != 0) {
+            if ((remaining & 1) != 0) {
+                result = result.multiply(base);
+            }
+            remaining >>>= 1;
+            if (remaining != 0) {
+                base = base.multiply(base);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pay ve payda tam kare ise kesrin karekökünü döndürür.
+     *
+     * @return Tam karekök; kök rasyonel değilse null
+     * @throws ArithmeticException Değer negatifse
+     */
+    public Rational sqrt() {
+        if (signum() < 0) {
+            throw new ArithmeticException("Negatif sayının karekökü alınamaz.");
+        }
+        BigInteger rootNumerator = bigNumerator().sqrt();
+        BigInteger rootDenominator = bigDenominator().sqrt();
+        if (!rootNumerator.multiply(rootNumerator).equals(bigNumerator())
+                || !rootDenominator.multiply(rootDenominator).equals(bigDenominator())) {
+            return null;
+        }
+        return of(rootNumerator, rootDenominator);
+    }
+
+    public Rational negate() {
+        if (isSmall()) {
+            return new Rational(-numerator, denominator); // Pay hiçbir zaman Long.MIN_VALUE değildir
+        }
+        return reduce(bigNumerator.negate(), bigDenominator);
+    }
+
+    public Rational abs() {
+        return signum() < 0 ? negate() : this;
+    }
+
+    /**
+     * @throws ArithmeticException Değer sıfırsa
+     */
+    public Rational reciprocal() {
+        if (signum() == 0) {
+            throw new ArithmeticException("Sıfırın tersi yoktur.");
+        }
+        if (isSmall()) {
+            return numerator < 0 ? new Rational(-denominator, -numerator) : new Rational(denominator, numerator);
+        }
+        return reduce(bigDenominator, bigNumerator);
+    }
+
+    /** Sıfıra doğru yuvarlanmış tam sayı kısmı */
+    public Rational truncate() {
+        if (isSmall()) {
+            return new Rational(numerator / denominator, 1);
+        }
+        return reduce(bigNumerator.divide(bigDenominator), BigInteger.ONE);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // SORGULAR
+    // ══════════════════════════════════════════════════════════
+
+    public int signum() {
+        return isSmall() ? Long.signum(numerator) : bigNumerator.signum();
+    }
+
+    /** Payda 1 mi */
+    public boolean isInteger() {
+        return isSmall() ? denominator == 1 : bigDenominator.equals(BigInteger.ONE);
+    }
+
+    /** Değer long pay/payda ile mi tutuluyor (BigInteger'a geçilmedi mi) */
+    boolean isSmall() {
+        return bigNumerator == null;
+    }
+
+    public BigInteger getNumerator() {
+        return bigNumerator();
+    }
+
+    public BigInteger getDenominator() {
+        return bigDenominator();
+    }
+
+    @Override
+    public int compareTo(Rational other) {
+        if (isSmall() && other.isSmall()) {
+            try {
+                return Long.compare(Math.multiplyExact(numerator, other.denominator),
+                        Math.multiplyExact(other.numerator, denominator));
+            } catch (ArithmeticException overflow) {
+                // BigInteger ile karşılaştır
+            }
+        }
+        return bigNumerator().multiply(other.bigDenominator())
+                .compareTo(other.bigNumerator().multiply(bigDenominator()));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Rational)) {
+            return false;
+        }
+        Rational other = (Rational) obj;
+        // Gösterim kanoniktir: aynı değer her zaman aynı biçimde tutulur
+        if (isSmall() != other.isSmall()) {
+            return false;
+        }
+        return isSmall()
+                ? numerator == other.numerator && denominator == other.denominator
+                : bigNumerator.equals(other.bigNumerator) && bigDenominator.equals(other.bigDenominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return isSmall()
+                ? Long.hashCode(numerator) * 31 + Long.hashCode(denominator)
+                : bigNumerator.hashCode() * 31 + bigDenominator.hashCode();
+    }
+
+    /**
+     * Kesri "pay/payda" biçiminde döndürür; tam sayılarda payda yazılmaz.
+     * Örn: "1/2", "-7/3", "5"
+     */
+    @Override
+    public String toString() {
+        if (isInteger()) {
+            return isSmall() ? Long.toString(numerator) : bigNumerator.toString();
+        }
+        return isSmall() ? numerator + "/" + denominator : bigNumerator + "/" + bigDenominator;
+    }
+
+    // ── Number ───────────────────────────────────────────────
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    /** Sıfıra doğru yuvarlanmış tam sayı kısmı */
+    @Override
+    public long longValue() {
+        return isSmall() ? numerator / denominator : bigNumerator.divide(bigDenominator).longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        if (isSmall() && Math.abs(numerator) < (1L << 53) && denominator < (1L << 53)) {
+            return (double) numerator / denominator; // İki tam değerin bölümü: doğru yuvarlanır
+        }
+        return new BigDecimal(bigNumerator()).divide(new BigDecimal(bigDenominator()), MathContext.DECIMAL64)
+                .doubleValue();
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * İkili (Stein) EBOB algoritması. Argümanlar negatif olmamalıdır.
+     * Bölme yerine kaydırma ve çıkarma kullanır.
+     */
+    static long gcd(long a, long b) {
+        if (a == 0) {
+            return b;
+        }
+        if (b == 0) {
+            return a;
+        }
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long swap = a;
+                a = b;
+                b = swap;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
+    }
+
+    /** Sadeleştirir ve paydayı pozitif yapar */
+    private static Rational reduce(long numerator, long denominator) {
+        if (numerator == 0) {
+            return ZERO;
+        }
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            return reduce(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator)); // -MIN long'a sığmaz
+        }
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        long g = gcd(Math.abs(numerator), denominator);
+        return new Rational(numerator / g, denominator / g);
+    }
+
+    /** Sadeleştirir; sonuç long'a sığıyorsa long gösterime döner */
+    private static Rational reduce(BigInteger numerator, BigInteger denominator) {
+        if (numerator.signum() == 0) {
+            return ZERO;
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger g = numerator.gcd(denominator);
+        if (!g.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(g);
+            denominator = denominator.divide(g);
+        }
+        if (numerator.bitLength() < 64 && denominator.bitLength() < 64 && !numerator.equals(LONG_MIN)) {
+            return new Rational(numerator.longValue(), denominator.longValue());
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    private BigInteger bigNumerator() {
+        return isSmall() ? BigInteger.valueOf(numerator) : bigNumerator;
+    }
+
+    private BigInteger bigDenominator() {
+        return isSmall() ? BigInteger.valueOf(denominator) : bigDenominator;
+    }
+}
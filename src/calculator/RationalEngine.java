@@ -0,0 +1,214 @@
+package calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Kesirli modun (EvaluationMode.RATIONAL) yorumlayıcısı.
+ *
+ * Program Rational sayılar üzerinde çalıştırılır; hiçbir adımda yuvarlama
+ * yapılmaz. İfadede yazılan sayılar double'a çevrilmeden, yazıldıkları gibi
+ * kesre çevrilir (0.1 → 1/10, 9007199254740993 → 9007199254740993/1).
+ *
+ * Desteklenen işlemler:
+ * - +, -, *, /, % → her zaman tam
+ * - ^             → üs tam sayı olmalıdır (2^-3 → 1/8)
+ * - sqrt          → pay ve payda tam kare olmalıdır (sqrt(4/9) → 2/3)
+ * - abs, !        → ! için argüman negatif olmayan bir tam sayı olmalıdır
+ * - sin, cos, tan, ln, log → sonuç genelde rasyonel olmadığından hata verir
+ * - sum, prod, integrate, solve → double ile hesaplanır ve sonuç kesre
+ *   çevrilir (yazılışı olmayan bir sabit gibi)
+ *
+ * Hata türleri ve sıfıra bölme / tanım aralığı mesajları Calculator ile aynıdır.
+ *
+ * @author Yusuf
+ */
+final class RationalEngine {
+
+    /** Kesirli modda izin verilen en büyük |üs| */
+    private static final int MAX_EXPONENT = 10_000;
+
+    /** Kesirli modda hesaplanabilecek en büyük faktöriyel */
+    private static final int MAX_FACTORIAL = 10_000;
+
+    // ── Hata mesajları ───────────────────────────────────────
+    private static final String NOT_RATIONAL_MESSAGE = "'%s' sonucu kesirli modda tam olarak gösterilemez.";
+    private static final String EXPONENT_MESSAGE = "Kesirli modda üs en fazla %d olan bir tam sayı olmalıdır.";
+    private static final String FACTORIAL_MESSAGE = "Kesirli modda faktöriyel en fazla %d olan bir tam sayı için hesaplanır.";
+    private static final String CONSTANT_RANGE_MESSAGE = "Sayı double aralığının dışında; kesirli modda kullanılamaz.";
+
+    private RationalEngine() {
+    }
+
+    /**
+     * Programı kesirli modda hesaplar. Geçici yuvalar yığın dizisinin
+     * sonundan geriye doğru yerleşir (CompiledExpression.run ile aynı düzen).
+     *
+     * @param code      Komutlar
+     * @param length    Geçerli komut sayısı
+     * @param constants CONST komutlarının sabitleri
+     * @param literals  Sabitlerin yazıldıkları tam değerler (yazılışı olmayanlarda null)
+     * @param calls     CALL komutlarının çağrıları
+     * @param bindings  Değişken değerleri
+     * @param stack     En az yığın derinliği + geçici yuva sayısı kadar yer içeren yığın
+     * @return Tam sonuç
+     * @throws CalculatorException Sıfıra bölme veya kesirli modda hesaplanamayan işlem durumunda
+     */
+    static Rational run(int[] code, int length, double[] constants, BigDecimal[] literals,
+            RuntimeCall[] calls, double[] bindings, Rational[] stack) throws CalculatorException {
+        int top = -1;
+
+        for (int pc = 0; pc < length; pc++) {
+            int instruction = code[pc];
+            int operand = instruction >>> CompiledExpression.OPERAND_SHIFT;
+            switch (instruction & CompiledExpression.OPCODE_MASK) {
+                case CompiledExpression.CONST:
+                    stack[++top] = literals[operand] != null
+                            ? Rational.valueOf(literals[operand])
+                            : toRational(constants[operand]);
+                    break;
+                case CompiledExpression.VARIABLE:
+                    stack[++top] = toRational(bindings[operand]);
+                    break;
+                case CompiledExpression.STORE_TEMP:
+                    stack[stack.length - 1 - operand] = stack[top];
+                    break;
+                case CompiledExpression.LOAD_TEMP:
+                    top++;
+                    stack[top] = stack[stack.length - 1 - operand];
+                    break;
+                case CompiledExpression.ADD:
+                    top--;
+                    stack[top] = stack[top].add(stack[top + 1]);
+                    break;
+                case CompiledExpression.SUBTRACT:
+                    top--;
+                    stack[top] = stack[top].subtract(stack[top + 1]);
+                    break;
+                case CompiledExpression.MULTIPLY:
+                    top--;
+                    stack[top] = stack[top].multiply(stack[top + 1]);
+                    break;
+                case CompiledExpression.DIVIDE:
+                    top--;
+                    if (stack[top + 1].signum() == 0) {
+                        throw CalculatorException.formatted(CalculatorException.ErrorType.DIVISION_BY_ZERO, -1,
+                                Calculator.DIVIDE_BY_ZERO_MESSAGE, stack[top].doubleValue());
+                    }
+                    stack[top] = stack[top].divide(stack[top + 1]);
+                    break;
+                case CompiledExpression.MODULO:
+                    top--;
+                    if (stack[top + 1].signum() == 0) {
+                        throw CalculatorException.formatted(CalculatorException.ErrorType.DIVISION_BY_ZERO, -1,
+                                Calculator.MODULO_BY_ZERO_MESSAGE, stack[top].doubleValue());
+                    }
+                    stack[top] = stack[top].remainder(stack[top + 1]);
+                    break;
+                case CompiledExpression.POWER:
+                    top--;
+                    stack[top] = power(stack[top], stack[top + 1]);
+                    break;
+                case CompiledExpression.SQRT:
+                    stack[top] = sqrt(stack[top]);
+                    break;
+                case CompiledExpression.ABS:
+                    stack[top] = stack[top].abs();
+                    break;
+                case CompiledExpression.FACTORIAL:
+                    stack[top] = factorial(stack[top]);
+                    break;
+                case CompiledExpression.SIN:
+                    throw notRational("sin");
+                case CompiledExpression.COS:
+                    throw notRational("cos");
+                case CompiledExpression.TAN:
+                    throw notRational("tan");
+                case CompiledExpression.LN:
+                    throw notRational("ln");
+                case CompiledExpression.LOG:
+                    throw notRational("log");
+                case CompiledExpression.CALL:
+                    RuntimeCall call = calls[operand];
+                    top -= call.arity() - 1;
+                    stack[top] = call(call, stack, top, bindings);
+                    break;
+                default:
+                    throw new CalculatorException(
+                            CalculatorException.ErrorType.INVALID_EXPRESSION,
+                            String.format("Bilinmeyen işlem kodu: %d", instruction & CompiledExpression.OPCODE_MASK));
+            }
+        }
+
+        return stack[top];
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private static Rational power(Rational base, Rational exponent) throws CalculatorException {
+        if (!exponent.isInteger() || exponent.abs().compareTo(Rational.valueOf(MAX_EXPONENT)) > 0) {
+            throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, -1,
+                    EXPONENT_MESSAGE, MAX_EXPONENT);
+        }
+        if (base.signum() == 0 && exponent.signum() < 0) {
+            throw CalculatorException.formatted(CalculatorException.ErrorType.DIVISION_BY_ZERO, -1,
+                    PreciseCalculator.ZERO_POWER_MESSAGE, exponent.doubleValue());
+        }
+        return base.pow(exponent.intValue());
+    }
+
+    private static Rational sqrt(Rational value) throws CalculatorException {
+        if (value.signum() < 0) {
+            throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, -1,
+                    Calculator.SQRT_NEGATIVE_MESSAGE, value.doubleValue());
+        }
+        Rational root = value.sqrt();
+        if (root == null) {
+            throw notRational("sqrt");
+        }
+        return root;
+    }
+
+    private static Rational factorial(Rational value) throws CalculatorException {
+        if (value.isInteger() && value.signum() < 0) {
+            throw new CalculatorException(CalculatorException.ErrorType.INVALID_EXPRESSION,
+                    Calculator.FACTORIAL_NEGATIVE_MESSAGE);
+        }
+        if (!value.isInteger() || value.compareTo(Rational.valueOf(MAX_FACTORIAL)) > 0) {
+            throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, -1,
+                    FACTORIAL_MESSAGE, MAX_FACTORIAL);
+        }
+        Rational result = Rational.ONE;
+        for (int i = value.intValue(); i > 1; i--) {
+            // Hesaplama iptal edildiyse (thread kesildi) çarpmayı bırak
+            if ((i & 0xFF) == 0 && Thread.currentThread().isInterrupted()) {
+                throw CalculatorException.cancelled();
+            }
+            result = result.multiply(Rational.valueOf(i));
+        }
+        return result;
+    }
+
+    /** Çağrıyı argümanlarını double'a çevirerek hesaplar. */
+    private static Rational call(RuntimeCall call, Rational[] stack, int first, double[] bindings)
+            throws CalculatorException {
+        double[] arguments = new double[call.arity()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = stack[first + i].doubleValue();
+        }
+        return toRational(call.apply(arguments, 0, bindings));
+    }
+
+    private static Rational toRational(double value) throws CalculatorException {
+        if (!Double.isFinite(value)) {
+            throw new CalculatorException(CalculatorException.ErrorType.INVALID_EXPRESSION, CONSTANT_RANGE_MESSAGE);
+        }
+        return Rational.valueOf(value);
+    }
+
+    private static CalculatorException notRational(String operation) {
+        return CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, -1,
+                NOT_RATIONAL_MESSAGE, operation);
+    }
+}
@@ -0,0 +1,323 @@
+package calculator;
+
+/**
+ * Derlenmiş bir ifadenin bir değişkene göre kökünü (f(x) = 0) bulan çözücü.
+ *
+ * ADIM 1: Başlangıç tahmininden Newton yöntemi uygulanır. f ve f' her
+ *         adımda DerivativeEngine ile tek geçişte hesaplanır. |f|
+ *         küçülmeyen veya tanım dışına çıkan adımlar yarıya bölünür
+ *         (sönümlü Newton).
+ * ADIM 2: Newton yakınsamazsa (f' = 0, dönüp duran adımlar, tanım dışı
+ *         bölge) işaret değişimi olan bir aralık aranır: Newton sırasında
+ *         görülen bir aralık varsa o, yoksa tahminden iki yöne büyüyen
+ *         adımlarla bulunan ilk aralık kullanılır.
+ * ADIM 3: Aralık Brent yöntemiyle (ters kuadratik interpolasyon, kiriş ve
+ *         ikiye bölme) daraltılır; yakınsama garantilidir.
+ *
+ * İfade hiçbir adımda yeniden ayrıştırılmaz; tüm hesaplamalar aynı komut
+ * dizisi üzerinde çalışır. Nesne tek bir çözüm için oluşturulur ve thread'ler
+ * arasında paylaşılmamalıdır.
+ *
+ * @author Yusuf
+ */
+final class RootSolver {
+
+    private static final int MAX_NEWTON_ITERATIONS = 60;
+    private static final int MAX_HALVINGS = 30;
+    private static final int MAX_EXPANSIONS = 100;
+
+    /** İkiye bölme en kötü durumda bile double aralığını ~2100 adımda tüketir */
+    private static final int MAX_BRENT_ITERATIONS = 2200;
+
+    /** Aralık aramasında adımın her turda büyüme oranı */
+    private static final double EXPANSION_FACTOR = 1.6;
+
+    /** Göreli hassasiyet (1 ulp) */
+    private static final double EPSILON = Math.ulp(1.0);
+
+    /** Kökün 0'a çok yakın olduğu durumlar için mutlak konum toleransı */
+    private static final double ABSOLUTE_TOLERANCE = 1e-300;
+
+    /** İşaret değişimi görülmeyen (çift katlı) kökler için kabul edilen |f| */
+    private static final double RESIDUAL_TOLERANCE = 1e-12;
+
+    static final String NO_ROOT_MESSAGE = "%.2f başlangıç değerinin çevresinde kök bulunamadı.";
+
+    private final int[] code;
+    private final int length;
+    private final double[] constants;
+    private final RuntimeCall[] calls;
+    private final double[] bindings;
+    private final int slot;
+    private final double[] values;
+    private final double[] tangents;
+    private final Calculator calculator;
+
+    /** Son hesaplanan noktadaki türev */
+    private double slope;
+
+    /** İşaret değişimi görülen aralık: f(low) ve f(high) zıt işaretli */
+    private double low;
+    private double lowValue;
+    private double high;
+    private double highValue;
+    private boolean bracketed;
+
+    /**
+     * @param code      Komutlar
+     * @param length    Geçerli komut sayısı
+     * @param constants CONST komutlarının sabitleri
+     * @param calls     CALL komutlarının çağrıları
+     * @param stackSize Yığın derinliği + geçici yuva sayısı
+     * @param bindings  Değişken değerleri; slot yuvası çözüm sırasında değiştirilir
+     * @param slot      Çözülecek değişkenin yuvası
+     */
+    RootSolver(int[] code, int length, double[] constants, RuntimeCall[] calls, int stackSize,
+            double[] bindings, int slot, Calculator calculator) {
+        this.code = code;
+        this.length = length;
+        this.constants = constants;
+        this.calls = calls;
+        this.bindings = bindings;
+        this.slot = slot;
+        this.values = new double[stackSize];
+        this.tangents = new double[stackSize];
+        this.calculator = calculator;
+    }
+
+    /**
+     * Başlangıç tahminine yakın bir kök bulur.
+     *
+     * @param guess Başlangıç tahmini
+     * @return f(x) = 0 olan x
+     * @throws CalculatorException Kök bulunamazsa
+     */
+    double solve(double guess) throws CalculatorException {
+        if (Double.isFinite(guess)) {
+            double root = newton(guess);
+            if (!Double.isNaN(root)) {
+                return root;
+            }
+            if (bracketed || expandBracket(guess)) {
+                root = brent();
+                if (!Double.isNaN(root)) {
+                    return root;
+                }
+            }
+        }
+        throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, -1,
+                NO_ROOT_MESSAGE, guess);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Sönümlü Newton iterasyonu.
+     *
+     * @return Bulunan kök; yakınsamazsa NaN
+     */
+    private double newton(double x) {
+        double fx = evaluate(x);
+        for (int iteration = 0; iteration < MAX_NEWTON_ITERATIONS; iteration++) {
+            if (fx == 0) {
+                return x;
+            }
+            if (Double.isNaN(fx) || Double.isInfinite(fx) || !(slope != 0) || Double.isInfinite(slope)) {
+                return Double.NaN;
+            }
+
+            double step = fx / slope;
+            if (Math.abs(step) <= tolerance(x)) {
+                return acceptConverged(x, fx, step) ? x : Double.NaN;
+            }
+
+            // |f| küçülene kadar adımı yarıya böl
+            double next = x - step;
+            double fNext = evaluate(next);
+            int halvings = 0;
+            while (!(Math.abs(fNext) < Math.abs(fx))) {
+                recordBracket(x, fx, next, fNext);
+                if (++halvings > MAX_HALVINGS) {
+                    return Double.NaN;
+                }
+                step *= 0.5;
+                next = x - step;
+                fNext = evaluate(next);
+            }
+            recordBracket(x, fx, next, fNext);
+
+            x = next;
+            fx = fNext;
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Newton adımı tolerans altına indiğinde noktanın gerçekten bir kök
+     * olduğunu doğrular: f işaret değiştiriyorsa veya |f| yeterince küçükse.
+     * Böylece f'nin çok büyük olduğu kutup noktaları kök sanılmaz.
+     */
+    private boolean acceptConverged(double x, double fx, double step) {
+        if (Math.abs(fx) <= RESIDUAL_TOLERANCE) {
+            return true;
+        }
+        double beyond = evaluate(x - 2 * step);
+        return !Double.isNaN(beyond) && Math.signum(beyond) != Math.signum(fx)
+                && Math.abs(beyond) <= 4 * Math.abs(fx);
+    }
+
+    /**
+     * Tahminin iki yanında, adımı her turda büyüterek işaret değişimi arar.
+     *
+     * @return Aralık bulunduysa true
+     */
+    private boolean expandBracket(double guess) {
+        double step = Math.max(Math.abs(guess) * 0.01, 0.01);
+        double left = guess;
+        double leftValue = evaluate(guess);
+        double right = guess;
+        double rightValue = leftValue;
+
+        for (int i = 0; i < MAX_EXPANSIONS && !bracketed; i++) {
+            double x = guess - step;
+            double fx = evaluate(x);
+            if (!Double.isNaN(fx)) {
+                recordBracket(left, leftValue, x, fx);
+                left = x;
+                leftValue = fx;
+            }
+            x = guess + step;
+            fx = evaluate(x);
+            if (!Double.isNaN(fx) && !bracketed) {
+                recordBracket(right, rightValue, x, fx);
+                right = x;
+                rightValue = fx;
+            }
+            step *= EXPANSION_FACTOR;
+        }
+        return bracketed;
+    }
+
+    /**
+     * İki nokta arasında işaret değişimi varsa aralığı kaydeder.
+     * Her iki değer de sonlu olmalıdır; ilk bulunan aralık korunur.
+     */
+    private void recordBracket(double a, double fa, double b, double fb) {
+        if (bracketed || !Double.isFinite(fa) || !Double.isFinite(fb)) {
+            return;
+        }
+        if ((fa < 0 && fb > 0) || (fa > 0 && fb < 0)) {
+            low = a;
+            lowValue = fa;
+            high = b;
+            highValue = fb;
+            bracketed = true;
+        }
+    }
+
+    /**
+     * Brent yöntemi (zeroin). [low, high] aralığında işaret değişimi olmalıdır.
+     *
+     * @return Bulunan kök; aralıkta tanım dışı bir nokta veya kutup varsa NaN
+     */
+    private double brent() {
+        double a = low;
+        double fa = lowValue;
+        double b = high;
+        double fb = highValue;
+        double c = b;
+        double fc = fb;
+        double d = b - a;
+        double e = d;
+        double limit = Math.max(Math.abs(fa), Math.abs(fb));
+
+        for (int iteration = 0; iteration < MAX_BRENT_ITERATIONS; iteration++) {
+            if ((fb > 0 && fc > 0) || (fb < 0 && fc < 0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+
+            double tol = tolerance(b);
+            double middle = 0.5 * (c - b);
+            if (Math.abs(middle) <= tol || fb == 0) {
+                // Kutup noktasında |f| aralığın uçlarından büyük kalır
+                return Math.abs(fb) <= limit ? b : Double.NaN;
+            }
+
+            if (Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa;
+                double p;
+                double q;
+                if (a == c) {
+                    // Kiriş (secant)
+                    p = 2 * middle * s;
+                    q = 1 - s;
+                } else {
+                    // Ters kuadratik interpolasyon
+                    double r = fb / fc;
+                    q = fa / fc;
+                    p = s * (2 * middle * q * (q - r) - (b - a) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                }
+                p = Math.abs(p);
+                if (2 * p < Math.min(3 * middle * q - Math.abs(tol * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = middle;
+                    e = d;
+                }
+            } else {
+                // İkiye bölme
+                d = middle;
+                e = d;
+            }
+
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol ? d : Math.copySign(tol, middle);
+            fb = evaluate(b);
+            if (Double.isNaN(fb)) {
+                return Double.NaN;
+            }
+        }
+        return Math.abs(fb) <= limit ? b : Double.NaN;
+    }
+
+    /**
+     * f(x) değerini hesaplar ve türevi slope alanına yazar.
+     * Tanım dışı noktalarda (sıfıra bölme, negatif karekök ...) NaN döner.
+     */
+    private double evaluate(double x) {
+        bindings[slot] = x;
+        try {
+            double value = DerivativeEngine.run(code, length, constants, calls, bindings, slot,
+                    values, tangents, calculator);
+            slope = tangents[0];
+            return value;
+        } catch (CalculatorException e) {
+            slope = Double.NaN;
+            return Double.NaN;
+        }
+    }
+
+    /** x civarında ayırt edilebilen en küçük adım */
+    private static double tolerance(double x) {
+        return 2 * EPSILON * Math.abs(x) + ABSOLUTE_TOLERANCE;
+    }
+}
@@ -0,0 +1,345 @@
+package calculator;
+
+import java.util.Arrays;
+
+/**
+ * Programın içinde, hesaplama anında çalışan çağrı düğümleri:
+ * sum(i, a, b, ifade), prod(i, a, b, ifade), integrate(ifade, x, a, b) ve
+ * solve(ifade, değişken, tahmin).
+ *
+ * Ayrıştırıcı çağrının gövdesini bir kez, ayrı bir CompiledExpression
+ * olarak derler. Sınırlar ve tahmin ise dış programın parçasıdır; CALL
+ * komutundan önce yığına konur ve her hesaplamada yeniden okunur.
+ * Gövdenin değişkenleri dış programın değişkenleri ve en sonda çağrının
+ * kendi değişkenidir (döngü değişkeni, integral değişkeni veya çözülen
+ * değişken). Böylece gövde dıştaki değişkenleri (compile'a verilen x,
+ * dıştaki bir sum'ın i'si) güncel değerleriyle görür.
+ *
+ * Örnek: compile("sum(i, 1, n, i * x)", "n", "x")
+ * dış program: CONST 1, VARIABLE n, CALL 0
+ * gövde:       i * x (değişkenler: n, x, i)
+ *
+ * Çok kez hesaplanan gövdeler ilk yoğun kullanımda bytecode'a çevrilir
+ * (bkz. CompiledExpression.toFunction). Nesne bunun dışında değiştirilemez;
+ * aynı anda birden fazla thread tarafından çağrılabilir.
+ *
+ * @author Yusuf
+ */
+abstract class RuntimeCall {
+
+    /** Çağrı içermeyen programlar için boş tablo */
+    static final RuntimeCall[] NONE = new RuntimeCall[0];
+
+    /** sum / prod çağrısında izin verilen en fazla terim sayısı */
+    static final long MAX_SERIES_TERMS = 100_000_000L;
+
+    /** Bu sayıdan fazla terimli sum / prod gövdeleri bytecode'a derlenir */
+    private static final long BYTECODE_TERMS = SeriesTask.MIN_CHUNK;
+
+    /** Çağrının adı (hata mesajları için) */
+    final String name;
+
+    /** Çağrının ifadedeki konumu (0 tabanlı) */
+    final int position;
+
+    /** Derlenmiş gövde; son değişkeni çağrının kendi değişkenidir */
+    final CompiledExpression body;
+
+    /** Çağrının kendi değişkeninin gövdedeki yuvası (dış değişken sayısı) */
+    final int slot;
+
+    /** Bytecode'a çevrilmiş gövde; ilk gerektiğinde üretilir */
+    private volatile CompiledFunction compiled;
+
+    private RuntimeCall(String name, int position, CompiledExpression body) {
+        this.name = name;
+        this.position = position;
+        this.body = body;
+        this.slot = body.getVariableCount() - 1;
+    }
+
+    /**
+     * sum(i, a, b, ifade) veya prod(i, a, b, ifade) düğümü.
+     * Argümanlar: başlangıç, bitiş.
+     */
+    static RuntimeCall series(String name, boolean product, CompiledExpression body, int position) {
+        return new Series(name, product, body, position);
+    }
+
+    /**
+     * integrate(ifade, x, a, b) düğümü. Argümanlar: alt sınır, üst sınır.
+     */
+    static RuntimeCall integral(String name, CompiledExpression body, int position) {
+        return new Integral(name, body, position);
+    }
+
+    /**
+     * solve(ifade, değişken, tahmin) düğümü. Argüman: başlangıç tahmini.
+     */
+    static RuntimeCall solve(String name, CompiledExpression body, int position) {
+        return new Solve(name, body, position);
+    }
+
+    /** Çağrının yığından aldığı argüman sayısı */
+    abstract int arity();
+
+    /**
+     * Çağrıyı hesaplar.
+     *
+     * @param arguments Argümanları içeren dizi (örn: programın yığını)
+     * @param first     İlk argümanın dizideki yeri
+     * @param bindings  Dış programın değişken değerleri
+     * @return Çağrının sonucu
+     * @throws CalculatorException Argümanlar geçersizse veya gövde hesaplanamazsa
+     */
+    abstract double apply(double[] arguments, int first, double[] bindings) throws CalculatorException;
+
+    /**
+     * Çağrının sonucunun dış programın bir değişkenine göre türevini hesaplar
+     * (bkz. DerivativeEngine).
+     *
+     * @param arguments Argüman değerleri
+     * @param tangents  Argümanların türevleri (arguments ile aynı yerlerde)
+     * @param first     İlk argümanın dizilerdeki yeri
+     * @param bindings  Dış programın değişken değerleri
+     * @param with      Türevi alınan dış değişkenin yuvası
+     * @param value     apply() ile hesaplanmış sonuç
+     * @return Sonucun türevi
+     * @throws CalculatorException Gövdenin türevi hesaplanamazsa
+     */
+    abstract double derivative(double[] arguments, double[] tangents, int first, double[] bindings,
+            int with, double value) throws CalculatorException;
+
+    // ══════════════════════════════════════════════════════════
+    // ORTAK YARDIMCILAR
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Gövdenin bağlama dizisini oluşturur: dış değerler ve sonda çağrının
+     * kendi değişkeni için bir yuva.
+     */
+    final double[] bind(double[] bindings) {
+        return Arrays.copyOf(bindings, slot + 1);
+    }
+
+    /**
+     * Gövdeyi hesaplayan fonksiyon. Gövde çok kez hesaplanacaksa bytecode'a
+     * çevrilmiş hâli döner; çevrilemeyecek kadar uzunsa yorumlanır. hot
+     * false ise dönen fonksiyon yalnızca çağıran thread'de kullanılmalıdır.
+     */
+    final CompiledFunction function(boolean hot) {
+        if (!hot) {
+            return body.interpreter();
+        }
+        CompiledFunction function = compiled;
+        if (function == null) {
+            try {
+                function = body.toFunction();
+            } catch (IllegalStateException e) {
+                // Bytecode sınırını aşan gövde: yorumlayıcıyla devam et
+                function = body::evaluate;
+            }
+            compiled = function;
+        }
+        return function;
+    }
+
+    /** Gövdeden gelen hatayı çağrının adı ve konumuyla sarar. */
+    final CalculatorException wrap(CalculatorException e) {
+        return CalculatorException.formatted(e.getErrorType(), position, "%s: %s", name, e.getDetail());
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // DÜĞÜMLER
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Toplam ve çarpım. Sınırlar tamsayı olmalıdır; b &lt; a ise toplam 0,
+     * çarpım 1'dir. Sınırların türevi 0 sayılır (sonuç sınırlara göre
+     * parçalı sabittir).
+     */
+    private static final class Series extends RuntimeCall {
+
+        private final boolean product;
+
+        Series(String name, boolean product, CompiledExpression body, int position) {
+            super(name, position, body);
+            this.product = product;
+        }
+
+        @Override
+        int arity() {
+            return 2;
+        }
+
+        @Override
+        double apply(double[] arguments, int first, double[] bindings) throws CalculatorException {
+            double start = arguments[first];
+            long count = count(start, arguments[first + 1]);
+            CompiledFunction function = function(count > BYTECODE_TERMS);
+            try {
+                return product
+                        ? SeriesTask.product(function, bind(bindings), slot, start, count)
+                        : SeriesTask.sum(function, bind(bindings), slot, start, count);
+            } catch (CalculatorException e) {
+                throw wrap(e);
+            }
+        }
+
+        /**
+         * Toplamın türevi terimlerin türevlerinin toplamıdır. Çarpımda
+         * (Π f)' = Π f · Σ f' / f kullanılır; bir terim sıfırsa bu tanımsız
+         * olduğundan çarpım kuralı terim terim uygulanır.
+         */
+        @Override
+        double derivative(double[] arguments, double[] tangents, int first, double[] bindings,
+                int with, double value) throws CalculatorException {
+            if (!body.dependsOn(with)) {
+                return 0;
+            }
+            double start = arguments[first];
+            long count = count(start, arguments[first + 1]);
+            double[] vars = bind(bindings);
+            try {
+                if (!product) {
+                    return SeriesTask.sum(v -> body.derivative(with, v), vars, slot, start, count);
+                }
+                if (value != 0 && Double.isFinite(value)) {
+                    return value * SeriesTask.sum(v -> {
+                        double[] tangent = new double[1];
+                        double term = body.evaluateWithDerivative(with, v, tangent);
+                        return tangent[0] / term;
+                    }, vars, slot, start, count);
+                }
+                double[] tangent = new double[1];
+                double running = 1;
+                double runningTangent = 0;
+                for (long k = 0; k < count; k++) {
+                    if ((k & SeriesTask.CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                        throw CalculatorException.cancelled();
+                    }
+                    vars[slot] = start + k;
+                    double term = body.evaluateWithDerivative(with, vars, tangent);
+                    runningTangent = runningTangent * term + running * tangent[0];
+                    running *= term;
+                }
+                return runningTangent;
+            } catch (CalculatorException e) {
+                throw wrap(e);
+            }
+        }
+
+        /** Sınırları kontrol edip terim sayısını döndürür. */
+        private long count(double start, double end) throws CalculatorException {
+            if (start != Math.rint(start) || end != Math.rint(end)) {
+                throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, position,
+                        "%s sınırları tam sayı olmalıdır.", name);
+            }
+            long count = end < start ? 0 : (long) Math.min(end - start + 1, Long.MAX_VALUE);
+            if (count > MAX_SERIES_TERMS) {
+                throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, position,
+                        "%s en fazla %d terim içerebilir.", name, MAX_SERIES_TERMS);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Sayısal integral. Sınırlar sonlu olmalıdır; a &gt; b ise işaret değişir.
+     * Türev Leibniz kuralıyla hesaplanır:
+     * d/dx ∫[a, b] f dt = ∫[a, b] ∂f/∂x dt + f(b) · b' - f(a) · a'
+     */
+    private static final class Integral extends RuntimeCall {
+
+        Integral(String name, CompiledExpression body, int position) {
+            super(name, position, body);
+        }
+
+        @Override
+        int arity() {
+            return 2;
+        }
+
+        @Override
+        double apply(double[] arguments, int first, double[] bindings) throws CalculatorException {
+            double low = arguments[first];
+            double high = arguments[first + 1];
+            if (!Double.isFinite(low) || !Double.isFinite(high)) {
+                throw CalculatorException.formatted(CalculatorException.ErrorType.INVALID_EXPRESSION, position,
+                        "%s sınırları sonlu olmalıdır.", name);
+            }
+            try {
+                return IntegrationTask.integrate(function(true), bind(bindings), slot, low, high);
+            } catch (CalculatorException e) {
+                throw wrap(e);
+            }
+        }
+
+        @Override
+        double derivative(double[] arguments, double[] tangents, int first, double[] bindings,
+                int with, double value) throws CalculatorException {
+            double low = arguments[first];
+            double high = arguments[first + 1];
+            double[] vars = bind(bindings);
+            try {
+                double result = 0;
+                if (body.dependsOn(with)) {
+                    result = IntegrationTask.integrate(v -> body.derivative(with, v), vars, slot, low, high);
+                }
+                // Uç noktalar yalnızca sınır değişkene bağlıysa hesaplanır
+                if (tangents[first + 1] != 0) {
+                    vars[slot] = high;
+                    result += body.evaluate(vars) * tangents[first + 1];
+                }
+                if (tangents[first] != 0) {
+                    vars[slot] = low;
+                    result -= body.evaluate(vars) * tangents[first];
+                }
+                return result;
+            } catch (CalculatorException e) {
+                throw wrap(e);
+            }
+        }
+    }
+
+    /**
+     * Kök bulma (bkz. RootSolver). Kökün dış bir değişkene göre türevi
+     * kapalı fonksiyon kuralıyla bulunur: g(r, x) = 0 ise
+     * dr/dx = -(∂g/∂x) / (∂g/∂r). Başlangıç tahmininin türevi kullanılmaz.
+     */
+    private static final class Solve extends RuntimeCall {
+
+        Solve(String name, CompiledExpression body, int position) {
+            super(name, position, body);
+        }
+
+        @Override
+        int arity() {
+            return 1;
+        }
+
+        @Override
+        double apply(double[] arguments, int first, double[] bindings) throws CalculatorException {
+            try {
+                return body.solve(slot, arguments[first], bind(bindings));
+            } catch (CalculatorException e) {
+                throw wrap(e);
+            }
+        }
+
+        @Override
+        double derivative(double[] arguments, double[] tangents, int first, double[] bindings,
+                int with, double value) throws CalculatorException {
+            if (!body.dependsOn(with)) {
+                return 0;
+            }
+            double[] vars = bind(bindings);
+            vars[slot] = value;
+            try {
+                return -body.derivative(with, vars) / body.derivative(slot, vars);
+            } catch (CalculatorException e) {
+                throw wrap(e);
+            }
+        }
+    }
+}
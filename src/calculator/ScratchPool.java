@@ -0,0 +1,94 @@
+package calculator;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Hesaplama sırasında kullanılan değişken çalışma alanlarını (ayrıştırıcı,
+ * yığınlar...) dağıtan havuz.
+ *
+ * Platform thread'leri çalışma alanını ThreadLocal'da tutar; thread
+ * yaşadıkça aynı alan kullanılır. Sanal thread'ler (virtual thread) ise
+ * genellikle tek bir istek için açılıp kapanır: ThreadLocal'da tutulan alan
+ * her istekte yeniden oluşturulur ve çöpe gider. Bu yüzden sanal thread'ler
+ * alanı ThreadLocal yerine paylaşılan, sınırlı bir havuzdan ödünç alır ve
+ * işi bitince geri verir.
+ *
+ * Havuz sabit boyutlu bir yuva dizisidir; ödünç alma ve geri verme CAS ile
+ * yapılır, kilit kullanılmaz ve (ısınma sonrası) nesne oluşturulmaz. Havuz
+ * boşsa yeni alan oluşturulur, doluysa geri verilen alan bırakılır (GC).
+ *
+ * Kullanım:
+ * T scratch = pool.acquire();
+ * try { ... } finally { pool.release(scratch); }
+ *
+ * Ödünç alınan alan release edilene kadar yalnızca alan thread tarafından
+ * kullanılmalıdır.
+ *
+ * @author Yusuf
+ */
+final class ScratchPool<T> {
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> local;
+
+    /** Sanal thread'lerin geri verdiği boşta alanlar; boş yuva null'dır */
+    private final AtomicReferenceArray<T> idle;
+    private final int mask;
+
+    /**
+     * @param factory Yeni çalışma alanı oluşturan fonksiyon
+     */
+    ScratchPool(Supplier<T> factory) {
+        this.factory = factory;
+        this.local = ThreadLocal.withInitial(factory);
+        // İşlemci başına birkaç alan; boyut 2'nin kuvveti (indeks maskelenir)
+        int size = Integer.highestOneBit(Math.max(16, Runtime.getRuntime().availableProcessors() * 4) - 1) << 1;
+        this.idle = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Çağıran thread için bir çalışma alanı verir.
+     *
+     * @return Yalnızca bu thread'in kullanacağı alan
+     */
+    T acquire() {
+        Thread thread = Thread.currentThread();
+        if (!thread.isVirtual()) {
+            return local.get();
+        }
+
+        int start = (int) thread.threadId();
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            T scratch = idle.get(index);
+            if (scratch != null && idle.compareAndSet(index, scratch, null)) {
+                return scratch;
+            }
+        }
+        return factory.get();
+    }
+
+    /**
+     * Alanı geri verir. Platform thread'lerinde alan thread'de kalır; sanal
+     * thread'lerde havuza döner.
+     *
+     * @param scratch acquire() ile alınan alan
+     */
+    void release(T scratch) {
+        Thread thread = Thread.currentThread();
+        if (!thread.isVirtual()) {
+            return;
+        }
+
+        int start = (int) thread.threadId();
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            if (idle.get(index) == null && idle.compareAndSet(index, null, scratch)) {
+                return;
+            }
+        }
+        // Havuz dolu: alan bırakılır
+    }
+}
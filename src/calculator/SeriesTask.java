@@ -0,0 +1,268 @@
+package calculator;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * sum(i, a, b, ifade) ve prod(i, a, b, ifade) fonksiyonlarını hesaplayan görev.
+ *
+ * Döngü değişkeni a'dan b'ye kadar tamsayı değerler alır; gövde bir kez
+ * derlenmiştir ve her terimde yalnızca bağlama dizisindeki döngü yuvası
+ * değişir. Diğer yuvalar dıştaki değişkenlerin değerlerini taşır; her parça
+ * bağlama dizisinin kendi kopyasıyla çalışır.
+ * Büyük aralıklar ForkJoinPool üzerinde parçalara bölünür
+ * (bkz. BatchEvaluationTask); parçaların sonuçları birleşme sırasında
+ * ağaç biçiminde (pairwise) toplanır.
+ *
+ * Kararlılık:
+ * - Toplam: Her parça Neumaier (geliştirilmiş Kahan) toplamı tutar; kaybolan
+ *   alt bitler ayrı bir düzeltme teriminde birikir. Parçalar birleşirken de
+ *   aynı düzeltme uygulanır. Böylece sonuç terim sayısından ve parçalama
+ *   biçiminden neredeyse bağımsızdır (örn: 0.1'in 10^7 kez toplamı).
+ * - Çarpım: Ara sonuç mantis ∈ [1, 2) ve ayrı bir long üs olarak tutulur.
+ *   Ara çarpımlar taşsa (overflow) veya sıfıra yuvarlansa (underflow) bile
+ *   sonuç double aralığındaysa doğru hesaplanır (örn: prod(i, 1, 400, i / 300)).
+ *
+ * Bir terim hata verirse (sıfıra bölme, tanım dışı işlem) parça durur ve
+ * en küçük indeksli hata raporlanır.
+ *
+ * İptal: Hesaplamayı başlatan thread beklerken kesilirse (interrupt)
+ * CANCELLED hatası fırlatılır ve tüm parçaların paylaştığı bayrak
+ * kaldırılır; parçalar bayrağı her 4096 terimde bir kontrol edip durur.
+ *
+ * @author Yusuf
+ */
+final class SeriesTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Bu boyuttan küçük aralıklar bölünmez ve çağıran thread'de hesaplanır */
+    static final long MIN_CHUNK = 4096;
+
+    /** Kuyrukta bu kadardan fazla bekleyen görev varsa bölme durur */
+    private static final int MAX_SURPLUS_TASKS = 3;
+
+    /** İptal her 4096 terimde bir kontrol edilir (indeks maskesi) */
+    static final long CHECK_MASK = 4095;
+
+    private final CompiledFunction body;
+    /** Dış değişkenlerin değerleri; parçalar kopyasını kullanır */
+    private final double[] bindings;
+    /** Döngü değişkeninin yuvası */
+    private final int slot;
+    private final boolean product;
+    private final double first;
+    private final long from;
+    private final long to;
+
+    /** Tüm parçaların paylaştığı iptal bayrağı */
+    private final AtomicBoolean cancelled;
+
+    /** Aynı görevin çatalladığı bir sonraki kardeş görev */
+    private final SeriesTask next;
+
+    // ── Sonuç ────────────────────────────────────────────────
+    /** Toplamda değer, çarpımda mantis */
+    private double value;
+    /** Toplamda düzeltme terimi */
+    private double compensation;
+    /** Çarpımda 2 tabanlı üs */
+    private long exponent;
+
+    private CalculatorException error;
+    private long errorIndex = Long.MAX_VALUE;
+
+    private SeriesTask(CompiledFunction body, double[] bindings, int slot, boolean product, double first,
+            long from, long to, AtomicBoolean cancelled, SeriesTask next) {
+        this.body = body;
+        this.bindings = bindings;
+        this.slot = slot;
+        this.product = product;
+        this.first = first;
+        this.from = from;
+        this.to = to;
+        this.cancelled = cancelled;
+        this.next = next;
+    }
+
+    /**
+     * body(first) + body(first + 1) + ... (count terim). count 0 ise 0.
+     * Döngü değişkeni bindings[slot] yuvasına yazılır; bindings değiştirilmez.
+     *
+     * @throws CalculatorException Bir terim hesaplanamazsa
+     */
+    static double sum(CompiledFunction body, double[] bindings, int slot, double first, long count)
+            throws CalculatorException {
+        SeriesTask task = run(
+                new SeriesTask(body, bindings, slot, false, first, 0, count, new AtomicBoolean(), null), count);
+        return task.compensation == 0 || !Double.isFinite(task.value)
+                ? task.value
+                : task.value + task.compensation;
+    }
+
+    /**
+     * body(first) * body(first + 1) * ... (count terim). count 0 ise 1.
+     * Döngü değişkeni bindings[slot] yuvasına yazılır; bindings değiştirilmez.
+     *
+     * @throws CalculatorException Bir terim hesaplanamazsa
+     */
+    static double product(CompiledFunction body, double[] bindings, int slot, double first, long count)
+            throws CalculatorException {
+        SeriesTask task = run(
+                new SeriesTask(body, bindings, slot, true, first, 0, count, new AtomicBoolean(), null), count);
+        // scalb üs aralığın dışındaysa zaten 0'a veya sonsuza doyar
+        long scale = Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, task.exponent));
+        return Math.scalb(task.value, (int) scale);
+    }
+
+    @Override
+    protected void compute() {
+        long high = to;
+        SeriesTask forked = null;
+
+        // ── Havuz boşken böl, meşgulken kendin hesapla ───────
+        while (high - from > MIN_CHUNK && getSurplusQueuedTaskCount() <= MAX_SURPLUS_TASKS) {
+            long middle = (from + high) >>> 1;
+            forked = new SeriesTask(body, bindings, slot, product, first, middle, high, cancelled, forked);
+            forked.fork();
+            high = middle;
+        }
+
+        if (product) {
+            multiplyRange(from, high);
+        } else {
+            addRange(from, high);
+        }
+
+        while (forked != null) {
+            forked.join();
+            merge(forked);
+            forked = forked.next;
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Küçük aralıkları çağıran thread'de, büyükleri ortak havuzda çalıştırır.
+     * ForkJoinPool.invoke kesmeyi yok saydığından büyük aralıklar get() ile beklenir.
+     */
+    private static SeriesTask run(SeriesTask task, long count) throws CalculatorException {
+        if (count <= MIN_CHUNK) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().execute(task);
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                task.cancelled.set(true);
+                Thread.currentThread().interrupt();
+                throw CalculatorException.cancelled();
+            } catch (ExecutionException e) {
+                // Terim hataları compute() içinde yakalanır; buraya yalnızca program hataları gelir
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        if (task.error != null) {
+            throw task.error;
+        }
+        return task;
+    }
+
+    private void addRange(long start, long end) {
+        double[] binding = bindings.clone();
+        double s = 0;
+        double c = 0;
+        for (long k = start; k < end; k++) {
+            if ((k & CHECK_MASK) == 0 && cancelled.get()) {
+                break;
+            }
+            binding[slot] = first + k;
+            double term;
+            try {
+                term = body.applyAsDouble(binding);
+            } catch (CalculatorException e) {
+                fail(e, k);
+                break;
+            }
+            // Neumaier: büyük olan terimin kaybettiği bitleri c'de biriktir
+            double t = s + term;
+            if (Math.abs(s) >= Math.abs(term)) {
+                c += (s - t) + term;
+            } else {
+                c += (term - t) + s;
+            }
+            s = t;
+        }
+        value = s;
+        compensation = c;
+    }
+
+    private void multiplyRange(long start, long end) {
+        double[] binding = bindings.clone();
+        double m = 1;
+        long e = 0;
+        for (long k = start; k < end; k++) {
+            if ((k & CHECK_MASK) == 0 && cancelled.get()) {
+                break;
+            }
+            binding[slot] = first + k;
+            try {
+                m *= body.applyAsDouble(binding);
+            } catch (CalculatorException ex) {
+                fail(ex, k);
+                break;
+            }
+            // Mantisi [1, 2) aralığına indir, üssü ayrıca tut
+            if (m != 0 && Double.isFinite(m)) {
+                int shift = Math.getExponent(m);
+                m = Math.scalb(m, -shift);
+                e += shift;
+            }
+        }
+        value = m;
+        exponent = e;
+    }
+
+    /** Çatallanan kardeş görevin sonucunu bu göreve ekler. */
+    private void merge(SeriesTask other) {
+        if (other.error != null && other.errorIndex < errorIndex) {
+            error = other.error;
+            errorIndex = other.errorIndex;
+        }
+
+        if (product) {
+            double m = value * other.value;
+            long e = exponent + other.exponent;
+            if (m != 0 && Double.isFinite(m)) {
+                int shift = Math.getExponent(m);
+                m = Math.scalb(m, -shift);
+                e += shift;
+            }
+            value = m;
+            exponent = e;
+            return;
+        }
+
+        double t = value + other.value;
+        double c = compensation + other.compensation;
+        if (Math.abs(value) >= Math.abs(other.value)) {
+            c += (value - t) + other.value;
+        } else {
+            c += (other.value - t) + value;
+        }
+        value = t;
+        compensation = c;
+    }
+
+    private void fail(CalculatorException e, long index) {
+        if (index < errorIndex) {
+            error = e;
+            errorIndex = index;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package calculator;
+
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+/**
+ * Arayüzdeki gecikmeli işlerin (hata mesajını gizleme, kopyalama geri
+ * bildirimini geri alma, meşgul göstergesi...) tek zamanlama servisi.
+ *
+ * Her gecikmeli iş için bir Slot alınır. Slot bir PauseTransition'dır;
+ * ayrı thread açılmaz, süre dolunca iş doğrudan FX thread'inde çalışır
+ * (Platform.runLater gerekmez). Bir slot aynı anda en fazla bir bekleyen
+ * iş tutar:
+ * - schedule(): Bekleyen iş varsa onun yerine geçer ve süre baştan başlar
+ *   (coalesce). Art arda gelen hatalar tek bir gizleme zamanlayıcısı
+ *   kullanır; eski zamanlayıcı yeni mesajı erken gizlemez.
+ * - cancel(): Bekleyen işi çalıştırmadan bırakır.
+ * - flush(): Bekleyen işi hemen çalıştırır (örn: ikinci kopyalamadan önce
+ *   etiketi gerçek sonuca döndürmek).
+ *
+ * Tüm metotlar FX thread'inden çağrılmalıdır.
+ *
+ * @author Yusuf
+ */
+final class UiScheduler {
+
+    /**
+     * Yeni bir zamanlama slotu oluşturur.
+     *
+     * @return Boş (bekleyen işi olmayan) slot
+     */
+    Slot slot() {
+        return new Slot();
+    }
+
+    /** En fazla bir bekleyen işi olan gecikmeli iş yuvası */
+    static final class Slot {
+
+        private final PauseTransition pause = new PauseTransition();
+
+        /** Bekleyen iş; yoksa null */
+        private Runnable action;
+
+        private Slot() {
+            pause.setOnFinished(event -> run());
+        }
+
+        /**
+         * İşi delay sonrasına planlar. Bekleyen iş varsa çalıştırılmadan
+         * bu işle değiştirilir.
+         *
+         * @param delay  Bekleme süresi
+         * @param action FX thread'inde çalıştırılacak iş
+         */
+        void schedule(Duration delay, Runnable action) {
+            pause.stop();
+            this.action = action;
+            pause.setDuration(delay);
+            pause.playFromStart();
+        }
+
+        /** Bekleyen işi çalıştırmadan iptal eder. */
+        void cancel() {
+            pause.stop();
+            action = null;
+        }
+
+        /** Bekleyen iş varsa süresini beklemeden hemen çalıştırır. */
+        void flush() {
+            pause.stop();
+            run();
+        }
+
+        private void run() {
+            Runnable pending = action;
+            action = null;
+            if (pending != null) {
+                pending.run();
+            }
+        }
+    }
+}
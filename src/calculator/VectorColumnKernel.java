@@ -0,0 +1,328 @@
+package calculator;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Derlenmiş programı Vector API (SIMD) ile blok blok çalıştıran çekirdek.
+ *
+ * Satırlar BLOCK_SIZE'lık bloklara ayrılır. Yığının her hücresi bir satır
+ * yerine bir blok tutar (double[BLOCK_SIZE]); her komut bloğun tüm
+ * satırlarına uygulanır:
+ * - +, -, *, /, sqrt, abs → şerit bazlı (lane-wise) vektör işlemleri
+ * - ln, log → tanım kümesi vektör maskesiyle kontrol edilir, değer şerit
+ *   başına Math.log / Math.log10 ile hesaplanır
+ * - Diğer işlemler (sin, ^, %, ! ...) → şerit başına Calculator çağrısı
+ * Böylece sonuçlar yorumlayıcıyla bit bit aynıdır.
+ *
+ * Bölme, karekök ve logaritma kontrolleri maskelerle yapılır (b = 0,
+ * a &lt; 0, a ≤ 0); bloğun son, tam dolmayan vektörü indexInRange maskesiyle
+ * okunur. Maskede ilk işaretli şerit (ya da şerit başına bir işlem hata
+ * verirse o şerit) hatalı satırdır: blok bırakılır ve bloğun başından o
+ * satıra kadar ColumnEvaluator.evaluateRows ile satır satır yeniden
+ * hesaplanır. Önceki bir satır sonraki bir komutta hata verebileceği için
+ * bu, ilk hatalı satırı ve satırın kendi hatasını (tür ve mesaj) birebir
+ * verir.
+ *
+ * Bu sınıf jdk.incubator.vector modülüne bağlıdır; yalnızca modül
+ * yüklüyse ve program CALL komutu içermiyorsa ColumnEvaluator tarafından
+ * kullanılır.
+ *
+ * @author Yusuf
+ */
+final class VectorColumnKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /** Bir blokta hesaplanan satır sayısı (şerit sayısının katı) */
+    private static final int BLOCK_SIZE = 256;
+
+    private final int[] code;
+    private final double[] constants;
+    private final int maxStack;
+    private final int temporaries;
+    private final double[][] columns;
+    private final Calculator calculator;
+
+    /** Blok yığını: [yığın hücresi + geçici yuva][blok içi satır] */
+    private final double[][] stack;
+
+    /** runBlock'un hatasız bittiğini gösteren değer */
+    private static final int NO_ERROR = -1;
+
+    VectorColumnKernel(int[] code, double[] constants, int maxStack, int temporaries,
+            double[][] columns, Calculator calculator) {
+        this.code = code;
+        this.constants = constants;
+        this.maxStack = maxStack;
+        this.temporaries = temporaries;
+        this.columns = columns;
+        this.calculator = calculator;
+        this.stack = new double[maxStack + temporaries][BLOCK_SIZE];
+    }
+
+    /**
+     * Tüm satırları hesaplar.
+     *
+     * @param results Sonuçların yazılacağı dizi; uzunluğu satır sayısıdır
+     * @throws ColumnEvaluationException Bir satır hata verirse (ilk hatalı satır)
+     */
+    void evaluate(double[] results) throws ColumnEvaluationException {
+        for (int base = 0; base < results.length; base += BLOCK_SIZE) {
+            int count = Math.min(BLOCK_SIZE, results.length - base);
+            int failed = runBlock(base, count);
+            if (failed == NO_ERROR) {
+                System.arraycopy(stack[0], 0, results, base, count);
+            } else {
+                // En geç 'failed' satırında exception fırlatılır; ikinci çağrı
+                // yalnızca hata vermeyen bilinmeyen bir komutta çalışır
+                int end = base + failed + 1;
+                ColumnEvaluator.evaluateRows(code, constants, RuntimeCall.NONE, maxStack, temporaries,
+                        columns, results, base, end, calculator);
+                ColumnEvaluator.evaluateRows(code, constants, RuntimeCall.NONE, maxStack, temporaries,
+                        columns, results, end, base + count, calculator);
+            }
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Programı bir blok üzerinde çalıştırır.
+     *
+     * @return Blok hatasız hesaplandıysa NO_ERROR; değilse hata veren ilk
+     *         şeridin blok içindeki indeksi
+     */
+    private int runBlock(int base, int count) {
+        int top = -1;
+        int failed;
+
+        for (int instruction : code) {
+            int opcode = instruction & CompiledExpression.OPCODE_MASK;
+            int operand = instruction >>> CompiledExpression.OPERAND_SHIFT;
+            switch (opcode) {
+                case CompiledExpression.CONST:
+                    Arrays.fill(stack[++top], 0, count, constants[operand]);
+                    break;
+                case CompiledExpression.VARIABLE:
+                    System.arraycopy(columns[operand], base, stack[++top], 0, count);
+                    break;
+                case CompiledExpression.STORE_TEMP:
+                    System.arraycopy(stack[top], 0, stack[maxStack + operand], 0, count);
+                    break;
+                case CompiledExpression.LOAD_TEMP:
+                    System.arraycopy(stack[maxStack + operand], 0, stack[++top], 0, count);
+                    break;
+                case CompiledExpression.ADD:
+                case CompiledExpression.SUBTRACT:
+                case CompiledExpression.MULTIPLY:
+                    top--;
+                    lanewise(opcode, stack[top], stack[top + 1], count);
+                    break;
+                case CompiledExpression.DIVIDE:
+                    top--;
+                    if ((failed = divide(stack[top], stack[top + 1], count)) != NO_ERROR) {
+                        return failed;
+                    }
+                    break;
+                case CompiledExpression.SQRT:
+                    if ((failed = sqrt(stack[top], count)) != NO_ERROR) {
+                        return failed;
+                    }
+                    break;
+                case CompiledExpression.LN:
+                case CompiledExpression.LOG:
+                    if ((failed = logarithm(opcode, stack[top], count)) != NO_ERROR) {
+                        return failed;
+                    }
+                    break;
+                case CompiledExpression.ABS:
+                    abs(stack[top], count);
+                    break;
+                case CompiledExpression.MODULO:
+                case CompiledExpression.POWER:
+                    top--;
+                    if ((failed = scalarBinary(opcode, stack[top], stack[top + 1], count)) != NO_ERROR) {
+                        return failed;
+                    }
+                    break;
+                default:
+                    if ((failed = scalarUnary(opcode, stack[top], count)) != NO_ERROR) {
+                        return failed;
+                    }
+                    break;
+            }
+        }
+        return NO_ERROR;
+    }
+
+    /**
+     * a[i] = a[i] (+, -, *) b[i]
+     * Her işlem ayrı bir döngüdür: JIT'in vektör komutuna çevirebilmesi için
+     * operatörün derleme anında sabit olması gerekir.
+     */
+    private void lanewise(int opcode, double[] a, double[] b, int count) {
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        switch (opcode) {
+            case CompiledExpression.ADD:
+                for (; i < bound; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, a, i).add(DoubleVector.fromArray(SPECIES, b, i)).intoArray(a, i);
+                }
+                for (; i < count; i++) {
+                    a[i] = a[i] + b[i];
+                }
+                break;
+            case CompiledExpression.SUBTRACT:
+                for (; i < bound; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i)).intoArray(a, i);
+                }
+                for (; i < count; i++) {
+                    a[i] = a[i] - b[i];
+                }
+                break;
+            default:
+                for (; i < bound; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, a, i).mul(DoubleVector.fromArray(SPECIES, b, i)).intoArray(a, i);
+                }
+                for (; i < count; i++) {
+                    a[i] = a[i] * b[i];
+                }
+                break;
+        }
+    }
+
+    /**
+     * a[i] test 0 koşulunu sağlayan ilk şeridi bulur. Son vektörün blok
+     * dışında kalan şeritleri maskeyle dışarıda bırakılır.
+     *
+     * @return Şeridin indeksi; koşulu sağlayan şerit yoksa NO_ERROR
+     */
+    private static int firstLane(double[] a, int count, VectorOperators.Comparison test) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            VectorMask<Double> inRange = SPECIES.indexInRange(i, count);
+            VectorMask<Double> hit = DoubleVector.fromArray(SPECIES, a, i, inRange).compare(test, 0.0, inRange);
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        return NO_ERROR;
+    }
+
+    /** a[i] = a[i] / b[i]; bir bölen sıfırsa o şeridin indeksi */
+    private int divide(double[] a, double[] b, int count) {
+        int zero = firstLane(b, count, VectorOperators.EQ);
+        if (zero != NO_ERROR) {
+            return zero;
+        }
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).div(DoubleVector.fromArray(SPECIES, b, i)).intoArray(a, i);
+        }
+        for (; i < count; i++) {
+            a[i] = a[i] / b[i];
+        }
+        return NO_ERROR;
+    }
+
+    /** a[i] = sqrt(a[i]); bir değer negatifse o şeridin indeksi */
+    private int sqrt(double[] a, int count) {
+        int negative = firstLane(a, count, VectorOperators.LT);
+        if (negative != NO_ERROR) {
+            return negative;
+        }
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).lanewise(VectorOperators.SQRT).intoArray(a, i);
+        }
+        for (; i < count; i++) {
+            a[i] = Math.sqrt(a[i]);
+        }
+        return NO_ERROR;
+    }
+
+    /**
+     * a[i] = ln(a[i]) veya log10(a[i]); bir değer pozitif değilse o şeridin
+     * indeksi. Vector API'nin LOG işlemi Math.log ile bit bit aynı sonucu
+     * garanti etmediği için değerler şerit başına hesaplanır.
+     */
+    private int logarithm(int opcode, double[] a, int count) {
+        int invalid = firstLane(a, count, VectorOperators.LE);
+        if (invalid != NO_ERROR) {
+            return invalid;
+        }
+        if (opcode == CompiledExpression.LN) {
+            for (int i = 0; i < count; i++) {
+                a[i] = Math.log(a[i]);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                a[i] = Math.log10(a[i]);
+            }
+        }
+        return NO_ERROR;
+    }
+
+    /** a[i] = |a[i]| */
+    private void abs(double[] a, int count) {
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).lanewise(VectorOperators.ABS).intoArray(a, i);
+        }
+        for (; i < count; i++) {
+            a[i] = Math.abs(a[i]);
+        }
+    }
+
+    /** Vektör karşılığı olmayan iki operandlı işlemler (%, ^); hata veren ilk şeridin indeksi */
+    private int scalarBinary(int opcode, double[] a, double[] b, int count) {
+        int i = 0;
+        try {
+            for (; i < count; i++) {
+                a[i] = opcode == CompiledExpression.MODULO
+                        ? calculator.modulo(a[i], b[i])
+                        : calculator.power(a[i], b[i]);
+            }
+            return NO_ERROR;
+        } catch (CalculatorException e) {
+            return i;
+        }
+    }
+
+    /** Vektör karşılığı olmayan fonksiyonlar (sin, cos, tan, !); hata veren ilk şeridin indeksi */
+    private int scalarUnary(int opcode, double[] a, int count) {
+        int i = 0;
+        try {
+            for (; i < count; i++) {
+                switch (opcode) {
+                    case CompiledExpression.SIN:
+                        a[i] = calculator.sin(a[i]);
+                        break;
+                    case CompiledExpression.COS:
+                        a[i] = calculator.cos(a[i]);
+                        break;
+                    case CompiledExpression.TAN:
+                        a[i] = calculator.tan(a[i]);
+                        break;
+                    case CompiledExpression.FACTORIAL:
+                        a[i] = calculator.factorial(a[i]);
+                        break;
+                    default:
+                        return i; // Bilinmeyen işlem: hatayı yorumlayıcı versin
+                }
+            }
+            return NO_ERROR;
+        } catch (CalculatorException e) {
+            return i;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Başarılı hesaplamanın bellek ayırmadığını (allocation-free) doğrular.
+ *
+ * Ölçüm, JIT ısınmasından sonra ThreadMXBean.getThreadAllocatedBytes ile
+ * yapılır. Ölçüm metodunun kendisi de birkaç bayt ayırabildiği için çağrı
+ * başına ortalama 1 baytın altı sıfır sayılır.
+ *
+ * @author Yusuf
+ */
+class AllocationTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int MEASURED = 100_000;
+
+    private static final String[] EXPRESSIONS = {
+            "(5 + 3) * 2 / 4",
+            "sin(pi/2) + sqrt(16) * 3.25 - 2^10 % 7",
+            "-(3+4)!*abs(-2.5)"
+    };
+
+    @Test
+    void evaluateDoesNotAllocate() throws CalculatorException {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        double sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += evaluateAll(evaluator);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            sink += evaluateAll(evaluator);
+        }
+        long after = allocatedBytes();
+
+        assertEquals(0, perCall(after - before, MEASURED * EXPRESSIONS.length), 1.0,
+                "evaluate() çağrı başına bayt ayırdı (sink: " + sink + ")");
+    }
+
+    @Test
+    void compiledExpressionDoesNotAllocate() throws CalculatorException {
+        CompiledExpression compiled = new ExpressionEvaluator().compile("x^2+sin(x)*y-x!", "x", "y");
+        double[] bindings = {1.5, 2};
+        double sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            bindings[0] = i % 10;
+            sink += compiled.evaluate(bindings);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            bindings[0] = i % 10;
+            sink += compiled.evaluate(bindings);
+        }
+        long after = allocatedBytes();
+
+        assertEquals(0, perCall(after - before, MEASURED), 1.0,
+                "CompiledExpression.evaluate() çağrı başına bayt ayırdı (sink: " + sink + ")");
+    }
+
+    /**
+     * Hesaplama hataları (sıfıra bölme, tanım dışı işlem) evaluateOrError
+     * yolunda exception oluşturmaz. Ayrıştırma hataları bu garantinin
+     * dışındadır (bkz. ExpressionEvaluator.evaluateOrError).
+     */
+    @Test
+    void evaluationErrorsDoNotAllocate() {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        EvaluationOutcome outcome = new EvaluationOutcome();
+        String[] failing = {"10 / 0", "sqrt(-1)", "ln(0)", "5 % 0", "171!"};
+        for (int i = 0; i < WARMUP; i++) {
+            evaluator.evaluateOrError(failing[i % failing.length], outcome);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            evaluator.evaluateOrError(failing[i % failing.length], outcome);
+        }
+        long after = allocatedBytes();
+
+        assertEquals(CalculatorException.ErrorType.INVALID_EXPRESSION, outcome.getErrorType());
+        assertEquals(0, perCall(after - before, MEASURED), 1.0, "hatalı hesaplama çağrı başına bayt ayırdı");
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private static double evaluateAll(ExpressionEvaluator evaluator) throws CalculatorException {
+        double sum = 0;
+        for (String expression : EXPRESSIONS) {
+            sum += evaluator.evaluate(expression);
+        }
+        return sum;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM ayırma ölçümünü desteklemiyor");
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+
+    private static double perCall(long bytes, long calls) {
+        return (double) bytes / calls;
+    }
+}
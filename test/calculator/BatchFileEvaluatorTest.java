@@ -0,0 +1,135 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * --batch modunun (BatchFileEvaluator) her satırı evaluateOrError ile aynı
+ * sonuçla ve girdi sırasıyla yazdığını doğrular: satır ortasına düşen
+ * parça sınırları, "\r\n" satır sonları, son satırda satır sonu olmaması,
+ * boş satırlar ve çok baytlı UTF-8 karakterler.
+ *
+ * @author Yusuf
+ */
+class BatchFileEvaluatorTest {
+
+    /** Parçaların sırası karışabilsin diye birden fazla thread */
+    private static final ForkJoinPool POOL = new ForkJoinPool(3);
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    @TempDir
+    Path directory;
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 13, 64, 1000, 1 << 20})
+    void everyChunkSizeGivesTheSameOutput(int chunkSize) throws IOException {
+        List<String> lines = sampleLines(400);
+        for (String separator : new String[] {"\n", "\r\n"}) {
+            for (boolean trailing : new boolean[] {true, false}) {
+                String input = String.join(separator, lines) + (trailing ? separator : "");
+                String label = chunkSize + " bayt, " + (separator.length() == 2 ? "CRLF" : "LF")
+                        + (trailing ? "" : ", son satır sonu yok");
+
+                BatchFileEvaluator.Summary summary = run(input, chunkSize);
+                assertEquals(expectedOutput(lines), read(), label);
+                assertEquals(lines.size(), summary.lines, label);
+                assertEquals(expectedErrors(lines), summary.errors, label);
+            }
+        }
+    }
+
+    @Test
+    void emptyAndBlankLinesStayInPlace() throws IOException {
+        BatchFileEvaluator.Summary summary = run("\n  \n1+1\r\n\r\n\t\n2*3", 4);
+
+        assertEquals("\n\n2\n\n\n6\n", read());
+        assertEquals(6, summary.lines);
+        assertEquals(0, summary.errors);
+    }
+
+    @Test
+    void emptyFileGivesEmptyOutput() throws IOException {
+        BatchFileEvaluator.Summary summary = run("", 8);
+
+        assertEquals("", read());
+        assertEquals(0, summary.lines);
+    }
+
+    @Test
+    void multiByteCharactersAreNotSplit() throws IOException {
+        // '×' iki bayttır; küçük parçalarda bile satır ortasından bölünmez
+        run("1 + 1\n2 × 3\n× ×\n4\n", 2);
+
+        String[] output = read().split("\n", -1);
+        assertEquals("2", output[0]);
+        assertTrue(output[1].startsWith("HATA: ") && output[1].contains("'×'"), output[1]);
+        assertTrue(output[2].startsWith("HATA: ") && output[2].contains("'×'"), output[2]);
+        assertEquals("4", output[3]);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** Farklı uzunlukta geçerli, hatalı ve boş satırlar */
+    private static List<String> sampleLines(int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 7 == 3) {
+                lines.add(i % 2 == 0 ? "" : "   ");
+            } else if (i % 11 == 5) {
+                lines.add("1 / (" + i + " - " + i + ")");
+            } else {
+                lines.add(i + " * 2 + 1" + " + 0".repeat(i % 5));
+            }
+        }
+        return lines;
+    }
+
+    private String expectedOutput(List<String> lines) {
+        StringBuilder output = new StringBuilder();
+        EvaluationOutcome outcome = new EvaluationOutcome();
+        for (String line : lines) {
+            if (!line.isBlank()) {
+                double value = evaluator.evaluateOrError(line.trim(), outcome);
+                output.append(outcome.isSuccess() ? String.valueOf((long) value) : "HATA: " + outcome.getMessage());
+            }
+            output.append('\n');
+        }
+        return output.toString();
+    }
+
+    private static long expectedErrors(List<String> lines) {
+        return lines.stream().filter(line -> line.startsWith("1 / (")).count();
+    }
+
+    private BatchFileEvaluator.Summary run(String input, int chunkSize) throws IOException {
+        Path in = directory.resolve("girdi.txt");
+        Files.writeString(in, input, StandardCharsets.UTF_8);
+        return new BatchFileEvaluator(evaluator, POOL, chunkSize).process(in, directory.resolve("cikti.txt"));
+    }
+
+    private String read() throws IOException {
+        return Files.readString(directory.resolve("cikti.txt"), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,63 @@
+package calculator;
+
+/**
+ * "benchmark" etiketli testlerin ortak ölçüm yardımcısı.
+ *
+ * Her ölçüm önce WARMUP_ROUNDS tur ısınır (JIT derlemesi için), sonra
+ * MEASURED_ROUNDS tur ölçülür ve en hızlı tur raporlanır. Ölçülen kodun
+ * ürettiği değer toplanıp volatile bir alana yazılır ki JIT döngüyü ölü kod
+ * diye atmasın.
+ *
+ * Sonuçlar yalnızca konsola yazılır; süreler makineye bağlı olduğu için
+ * testler hıza göre başarısız olmaz.
+ *
+ * @author Yusuf
+ */
+final class BenchmarkRunner {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    /** Ölçülen kodun ürettiği değerlerin toplamı */
+    private static volatile double sink;
+
+    /** Ölçülen iş; iterations kez çalışıp ürettiği değerlerin toplamını döndürür */
+    interface Body {
+        double run(int iterations) throws Exception;
+    }
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * İşi ölçer ve sonucu yazdırır.
+     *
+     * @param label      Raporda görünecek ad
+     * @param iterations Bir turdaki işlem sayısı
+     * @param body       Ölçülen iş
+     * @return En hızlı turda işlem başına nanosaniye
+     */
+    static double nanosPerOperation(String label, int iterations, Body body) throws Exception {
+        double total = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            total += body.run(iterations);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long started = System.nanoTime();
+            total += body.run(iterations);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+
+        sink = total;
+        double perOperation = (double) best / iterations;
+        System.out.printf("%-40s %10.1f ns/işlem%n", label, perOperation);
+        return perOperation;
+    }
+
+    /** İki ölçümün oranını yazdırır. */
+    static void ratio(String label, double baseline, double candidate) {
+        System.out.printf("%-40s %10.2fx%n", label, baseline / candidate);
+    }
+}
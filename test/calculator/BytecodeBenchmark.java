@@ -0,0 +1,71 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * CompiledExpression'ın yorumlayıcısını (evaluate) bytecode arka ucuyla
+ * (toFunction) karşılaştırır.
+ *
+ * Çalıştırma: ./gradlew benchmark --tests calculator.BytecodeBenchmark
+ *
+ * @author Yusuf
+ */
+@Tag("benchmark")
+class BytecodeBenchmark {
+
+    private static final int ITERATIONS = 10_000_000;
+
+    private static final String[] EXPRESSIONS = {
+            "x*x*0.5 + sin(x)*y - y/(x+1)",
+            "x^3 + 2*x^2 - 5*x + 7",
+            "sqrt(x)+ln(y)+log(x*y)+cos(tan(x))"
+    };
+
+    @Test
+    void interpreterVersusBytecode() throws Exception {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        for (String expression : EXPRESSIONS) {
+            CompiledExpression compiled = evaluator.compile(expression, "x", "y");
+            CompiledFunction function = compiled.toFunction();
+
+            // İki arka uç aynı girdilerde bit bit aynı sonucu vermeli
+            assertEquals(sum(compiled, 1000), sum(function, 1000), 0, expression);
+
+            System.out.println(expression);
+            double interpreted = BenchmarkRunner.nanosPerOperation("  yorumlayıcı", ITERATIONS,
+                    iterations -> sum(compiled, iterations));
+            double generated = BenchmarkRunner.nanosPerOperation("  bytecode", ITERATIONS,
+                    iterations -> sum(function, iterations));
+            BenchmarkRunner.ratio("  hızlanma", interpreted, generated);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private static double sum(CompiledExpression compiled, int iterations) throws CalculatorException {
+        double[] bindings = new double[2];
+        double sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            bindings[0] = 1 + (i & 1023);
+            bindings[1] = 1 + (i & 7);
+            sum += compiled.evaluate(bindings);
+        }
+        return sum;
+    }
+
+    private static double sum(CompiledFunction function, int iterations) throws CalculatorException {
+        double[] bindings = new double[2];
+        double sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            bindings[0] = 1 + (i & 1023);
+            bindings[1] = 1 + (i & 7);
+            sum += function.applyAsDouble(bindings);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,105 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * toFunction() ile üretilen sınıfların evaluate() ile bit bit aynı sonucu
+ * ve aynı hatayı verdiğini doğrular: tüm işlem kodları, geçici yuvalar,
+ * çok sayıda sabit, CALL komutları ve bytecode'a sığmayan ifadeler.
+ *
+ * @author Yusuf
+ */
+class BytecodeGeneratorTest {
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "42",
+            "x",
+            "x + y * z - x / y",
+            "x % y + y ^ z",
+            "sin(x) + cos(y) * tan(z / 10)",
+            "sqrt(abs(x)) + ln(abs(y) + 1) - log(abs(z) + 1)",
+            "abs(z)! / 1000",
+            "(x + y) * (x + y) - sqrt((x + y) * (x + y))",
+            "-(x - -y) * 2^-z",
+            "sum(i, 1, 5, i * x) + integrate(t * y, t, 0, 1)",
+    })
+    void matchesEvaluate(String expression) throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile(expression, "x", "y", "z");
+        CompiledFunction function = compiled.toFunction();
+        Random random = new Random(expression.hashCode());
+
+        for (int i = 0; i < 500; i++) {
+            double[] vars = {random.nextDouble() * 40 - 20, random.nextDouble() * 10 + 0.1, random.nextInt(12)};
+            assertEquals(compiled.evaluate(vars), function.applyAsDouble(vars), expression);
+        }
+    }
+
+    @Test
+    void manyConstantsAndTemporaries() throws CalculatorException {
+        // ldc_w ile yüklenen 300'den fazla sabit ve çok sayıda geçici yuva
+        StringBuilder expression = new StringBuilder("0");
+        for (int k = 1; k <= 320; k++) {
+            expression.append(" + ").append(k).append(".25 * sin(x + ").append(k).append(")");
+        }
+        CompiledExpression compiled = evaluator.compile(expression.toString(), "x");
+        CompiledFunction function = compiled.toFunction();
+
+        for (double x : new double[] {-3, 0, 0.5, 17}) {
+            assertEquals(compiled.evaluate(x), function.applyAsDouble(new double[] {x}));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1 / x;        0",
+            "x % 0;        5",
+            "sqrt(x);      -1",
+            "ln(x);        0",
+            "log(x);       -2",
+            "x!;           -3",
+            "x / (x - x);  4",
+    })
+    void errorsMatchEvaluate(String expression, double x) throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile(expression, "x");
+        CompiledFunction function = compiled.toFunction();
+
+        CalculatorException expected = assertThrows(CalculatorException.class, () -> compiled.evaluate(x));
+        CalculatorException actual = assertThrows(CalculatorException.class,
+                () -> function.applyAsDouble(new double[] {x}));
+        assertEquals(expected.getErrorType(), actual.getErrorType(), expression);
+        assertEquals(expected.getDetail(), actual.getDetail(), expression);
+    }
+
+    @Test
+    void wrongVariableCountIsRejected() throws CalculatorException {
+        CompiledFunction function = evaluator.compile("x + y", "x", "y").toFunction();
+
+        CalculatorException thrown = assertThrows(CalculatorException.class,
+                () -> function.applyAsDouble(new double[] {1}));
+        assertEquals(CalculatorException.ErrorType.INVALID_EXPRESSION, thrown.getErrorType());
+    }
+
+    @Test
+    void expressionTooLongForOneMethodIsReported() throws CalculatorException {
+        StringBuilder expression = new StringBuilder("x");
+        for (int k = 0; k < 40_000; k++) {
+            expression.append(k % 2 == 0 ? " * x + " : " - ").append(k).append(".5");
+        }
+        CompiledExpression compiled = evaluator.compile(expression.toString(), "x");
+
+        assertThrows(IllegalStateException.class, compiled::toFunction);
+        // x = 0: çift k'lerin k.5 terimleri toplanır, sondaki 39999.5 çıkarılır
+        assertEquals(399_950_000.5, compiled.evaluate(0), 0, "yorumlayıcı hâlâ çalışır");
+    }
+}
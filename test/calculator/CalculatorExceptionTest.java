@@ -0,0 +1,72 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * CalculatorException'ın yığın izi davranışını ve serileştirilmesini
+ * doğrular: public kurucular yığın izi toplar, ayrıştırıcının ve hesaplama
+ * motorunun iç hataları toplamaz.
+ *
+ * @author Yusuf
+ */
+class CalculatorExceptionTest {
+
+    @Test
+    void publicConstructorsKeepStackTrace() {
+        CalculatorException plain = new CalculatorException(
+                CalculatorException.ErrorType.INVALID_EXPRESSION, "hata");
+        ColumnEvaluationException wrapped = new ColumnEvaluationException(3, plain);
+
+        assertTrue(plain.getStackTrace().length > 0);
+        assertTrue(wrapped.getStackTrace().length > 0);
+        assertEquals(3, wrapped.getRow());
+    }
+
+    @Test
+    void internalErrorsAreStackless() {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+        CalculatorException parse = assertThrows(CalculatorException.class, () -> evaluator.evaluate("2 + )"));
+        CalculatorException evaluation = assertThrows(CalculatorException.class, () -> evaluator.evaluate("sqrt(-1)"));
+
+        assertEquals(0, parse.getStackTrace().length);
+        assertEquals(0, evaluation.getStackTrace().length);
+    }
+
+    @Test
+    void formattedWithoutArgumentsKeepsPercentSigns() {
+        CalculatorException thrown = CalculatorException.formatted(
+                CalculatorException.ErrorType.INVALID_EXPRESSION, 2, "%100 geçersiz");
+        assertEquals("%100 geçersiz", thrown.getDetail());
+    }
+
+    /** Kalıbın argümanı serileştirilemez; mesaj yazılmadan önce oluşturulur */
+    @Test
+    void serializationKeepsTheMessage() throws IOException, ClassNotFoundException {
+        CalculatorException original = CalculatorException.formatted(
+                CalculatorException.ErrorType.DIVISION_BY_ZERO, 4, "%s / 0", new Object());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(original);
+        }
+        CalculatorException copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (CalculatorException) in.readObject();
+        }
+
+        assertEquals(original.getErrorType(), copy.getErrorType());
+        assertEquals(original.getPosition(), copy.getPosition());
+        assertEquals(original.getMessage(), copy.getMessage());
+    }
+}
@@ -0,0 +1,107 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * CalculatorServer'ın TCP satır protokolündeki verimini ölçer.
+ *
+ * Her bağlantı cevap beklemeden REQUESTS_PER_CONNECTION satır gönderir
+ * (pipelining) ve cevapları ayrı bir thread'de okur. Bağlantı sayısı
+ * artırılarak işlemci başına saniyedeki hesaplama sayısı raporlanır.
+ *
+ * Çalıştırma: ./gradlew benchmark --tests calculator.CalculatorServerLoadBenchmark
+ *
+ * @author Yusuf
+ */
+@Tag("benchmark")
+class CalculatorServerLoadBenchmark {
+
+    private static final int REQUESTS_PER_CONNECTION = 200_000;
+    private static final int[] CONNECTIONS = {1, 4, 16};
+
+    @Test
+    void pipelinedTcpThroughput() throws Exception {
+        CalculatorServer server = new CalculatorServer(0, 0);
+        server.start();
+        int processors = Runtime.getRuntime().availableProcessors();
+        try {
+            // Isınma
+            run(server.getTcpPort(), 2);
+
+            for (int connections : CONNECTIONS) {
+                long started = System.nanoTime();
+                long answered = run(server.getTcpPort(), connections);
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                assertEquals((long) connections * REQUESTS_PER_CONNECTION, answered);
+                double perSecond = answered / seconds;
+                System.out.printf("%2d bağlantı: %,10.0f istek/sn  (%,10.0f istek/sn/çekirdek, %d çekirdek)%n",
+                        connections, perSecond, perSecond / processors, processors);
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** Bağlantıları aynı anda açar; toplam OK cevabı sayısını döndürür. */
+    private static long run(int port, int connections) throws Exception {
+        try (ExecutorService clients = Executors.newFixedThreadPool(connections * 2)) {
+            List<Future<Long>> answers = new ArrayList<>();
+            for (int c = 0; c < connections; c++) {
+                answers.add(clients.submit(() -> connection(port, clients)));
+            }
+            long total = 0;
+            for (Future<Long> answer : answers) {
+                total += answer.get();
+            }
+            return total;
+        }
+    }
+
+    private static long connection(int port, ExecutorService clients) throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            BufferedWriter out = new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), 64 * 1024);
+            Future<?> writer = clients.submit(() -> {
+                for (int i = 0; i < REQUESTS_PER_CONNECTION; i++) {
+                    out.write(i + "*2+sqrt(" + i + ")-(" + (i & 15) + ")!\n");
+                }
+                out.flush();
+                socket.shutdownOutput();
+                return null;
+            });
+
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), 64 * 1024);
+            long ok = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("OK ")) {
+                    ok++;
+                }
+            }
+            writer.get();
+            return ok;
+        }
+    }
+}
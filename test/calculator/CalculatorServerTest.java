@@ -0,0 +1,146 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * CalculatorServer'ın TCP satır protokolünü, HTTP uçlarını ve boyut
+ * sınırlarını doğrular. Sunucu her testte sistemin atadığı portlarda açılır.
+ *
+ * @author Yusuf
+ */
+class CalculatorServerTest {
+
+    private CalculatorServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new CalculatorServer(0, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void pipelinedLinesAreAnsweredInOrder() throws IOException {
+        List<String> answers = tcp("1+1\r\n2*3\n1/0\n2-5\n7");
+
+        assertEquals(5, answers.size());
+        assertEquals("OK 2", answers.get(0));
+        assertEquals("OK 6", answers.get(1));
+        assertTrue(answers.get(2).startsWith("ERR DIVISION_BY_ZERO "), answers.get(2));
+        assertEquals("OK -3", answers.get(3));
+        assertEquals("OK 7", answers.get(4));
+    }
+
+    @Test
+    void tooLongLineIsRejectedAndConnectionContinues() throws IOException {
+        String huge = "1+".repeat(CalculatorServer.MAX_LINE_LENGTH) + "1";
+        List<String> answers = tcp("2+2\n" + huge + "\n3+3\n");
+
+        assertEquals(3, answers.size());
+        assertEquals("OK 4", answers.get(0));
+        assertTrue(answers.get(1).startsWith("ERR INVALID_EXPRESSION "), answers.get(1));
+        assertTrue(answers.get(1).contains(String.valueOf(CalculatorServer.MAX_LINE_LENGTH)), answers.get(1));
+        assertEquals("OK 6", answers.get(2));
+    }
+
+    @Test
+    void lineAtTheLimitIsEvaluated() throws IOException {
+        String padded = "1" + " ".repeat(CalculatorServer.MAX_LINE_LENGTH - 1);
+        assertEquals(List.of("OK 1"), tcp(padded + "\r\n"));
+    }
+
+    @Test
+    void httpGetEvaluatesOneExpression() throws Exception {
+        HttpResponse<String> ok = get("(5+3)*2");
+        assertEquals(200, ok.statusCode());
+        assertEquals("OK 16\n", ok.body());
+
+        HttpResponse<String> error = get("1/0");
+        assertEquals(422, error.statusCode());
+        assertTrue(error.body().startsWith("ERR DIVISION_BY_ZERO "), error.body());
+    }
+
+    @Test
+    void httpPostEvaluatesEveryLine() throws Exception {
+        HttpResponse<String> response = post("1+1\n1/0\n2^10\n");
+
+        assertEquals(200, response.statusCode());
+        String[] lines = response.body().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("OK 2", lines[0]);
+        assertTrue(lines[1].startsWith("ERR DIVISION_BY_ZERO "), lines[1]);
+        assertEquals("OK 1024", lines[2]);
+    }
+
+    @Test
+    void httpPostOverTheLimitIsRejected() throws Exception {
+        HttpResponse<String> response = post("1\n".repeat(CalculatorServer.MAX_BODY_BYTES / 2 + 1));
+
+        assertEquals(413, response.statusCode());
+        assertTrue(response.body().startsWith("ERR INVALID_EXPRESSION "), response.body());
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** İstekleri tek seferde gönderir, yazma yönünü kapatır ve tüm cevapları okur. */
+    private List<String> tcp(String requests) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort())) {
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            out.write(requests);
+            out.flush();
+            socket.shutdownOutput();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            List<String> answers = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                answers.add(line);
+            }
+            return answers;
+        }
+    }
+
+    private HttpResponse<String> get(String expression) throws Exception {
+        URI uri = URI.create(baseUri() + "?expr=" + URLEncoder.encode(expression, StandardCharsets.UTF_8));
+        return HttpClient.newHttpClient().send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri()))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String baseUri() {
+        return "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getHttpPort() + "/evaluate";
+    }
+}
@@ -0,0 +1,139 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Sütun bazlı hesaplamanın (evaluateColumns, VectorColumnKernel) her satırda
+ * evaluate() ile bit bit aynı sonucu ve aynı hatayı verdiğini doğrular:
+ * blok ve vektör sınırlarına denk gelmeyen satır sayıları (son şeritler),
+ * bölme / karekök / logaritma maskeleri ve bilinen bir satırdaki hatalar.
+ *
+ * @author Yusuf
+ */
+class ColumnEvaluatorTest {
+
+    /** Blok boyu 256; vektör şerit sayısı 2, 4 veya 8 olabilir */
+    private static final int[] ROW_COUNTS = {1, 3, 7, 8, 9, 255, 256, 257, 515, 1000};
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    @Test
+    void vectorKernelIsUsed() {
+        assertTrue(ColumnEvaluator.isVectorized(), "testler --add-modules jdk.incubator.vector ile çalışmalı");
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // SONUÇLAR
+    // ══════════════════════════════════════════════════════════
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "x * y + 3 - x",
+            "x / y",
+            "sqrt(abs(x)) - y",
+            "ln(y) * log(y + 2)",
+            "sin(x)^2 + cos(y) % 3",
+            "(x + y)^2 / (1 + x * x)",
+            "abs(x - y) * tan(x / 100) + 2^x",
+            "(x * y) * (x * y) + sqrt(y)",
+    })
+    void everyRowMatchesEvaluate(String expression) throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile(expression, "x", "y");
+        Random random = new Random(expression.hashCode());
+
+        for (int rows : ROW_COUNTS) {
+            double[] xs = new double[rows];
+            double[] ys = new double[rows];
+            for (int i = 0; i < rows; i++) {
+                xs[i] = random.nextDouble() * 100 - 50;
+                ys[i] = random.nextDouble() * 10 + 0.5;
+            }
+
+            double[] results = compiled.evaluateColumns(xs, ys);
+            for (int i = 0; i < rows; i++) {
+                assertEquals(compiled.evaluate(xs[i], ys[i]), results[i], expression + " satır " + i + "/" + rows);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sqrt(x)", "ln(x)", "log(x)", "1 / x", "x / 0.5"})
+    void specialValuesMatchEvaluate(String expression) throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile(expression, "x");
+        double[] xs = {Double.NaN, Double.POSITIVE_INFINITY, Double.MIN_VALUE, 1e-300, 4, 1e300, Double.NaN};
+
+        double[] results = compiled.evaluateColumns(xs);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(compiled.evaluate(xs[i]), results[i], expression + " @ " + xs[i]);
+        }
+    }
+
+    @Test
+    void negativeZeroIsAValidSquareRootArgument() throws CalculatorException {
+        assertEquals(-0.0, evaluator.compile("sqrt(x)", "x").evaluateColumns(new double[] {1, -0.0})[1]);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // HATALI SATIRLAR
+    // ══════════════════════════════════════════════════════════
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            // ifade;       hatalı değer;   satır sayısı;   hatalı satır
+            "1 / x;         0;              300;            0",
+            "1 / x;         -0.0;           300;            299",
+            "2 % x;         0;              257;            256",
+            "sqrt(x);       -1e-300;        259;            258",
+            "sqrt(x);       -5;             1000;           517",
+            "ln(x);         0;              9;              8",
+            "ln(x);         -3;             513;            384",
+            "log(x);        -0.0;           255;            130",
+            "log(x);        0;              4;              3",
+            "(20 - x)!;     25;             3;              0",
+            "(20 - x)!;     21;             600;            400",
+    })
+    void errorIsReportedAtItsRow(String expression, double bad, int rows, int row) throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile(expression, "x");
+        double[] xs = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            xs[i] = 1 + i % 17;
+        }
+        xs[row] = bad;
+
+        ColumnEvaluationException thrown = assertThrows(ColumnEvaluationException.class,
+                () -> compiled.evaluateColumns(xs), expression);
+        CalculatorException scalar = assertThrows(CalculatorException.class, () -> compiled.evaluate(bad));
+
+        assertEquals(row, thrown.getRow(), expression);
+        assertEquals(scalar.getErrorType(), thrown.getErrorType(), expression);
+        assertEquals(String.format("Satır %d: %s", row + 1, scalar.getDetail()), thrown.getDetail());
+    }
+
+    @Test
+    void earlierRowFailingInALaterInstructionWins() throws CalculatorException {
+        // Satır 10 bölmede (önce çalışan komut), satır 3 logaritmada hata verir
+        CompiledExpression compiled = evaluator.compile("ln(x - 1 / y)", "x", "y");
+        double[] xs = new double[64];
+        double[] ys = new double[64];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 5;
+            ys[i] = 1;
+        }
+        xs[3] = 0.5;
+        ys[10] = 0;
+
+        ColumnEvaluationException thrown = assertThrows(ColumnEvaluationException.class,
+                () -> compiled.evaluateColumns(xs, ys));
+        assertEquals(3, thrown.getRow());
+        assertEquals(CalculatorException.ErrorType.INVALID_EXPRESSION, thrown.getErrorType());
+    }
+}
@@ -0,0 +1,189 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tek bir ExpressionEvaluator, ExpressionCache ve Calculator nesnesinin
+ * birçok thread arasında paylaşılabildiğini doğrular.
+ *
+ * Her ifadenin beklenen sonucu önce tek thread'de hesaplanır. Ardından
+ * thread'ler aynı anda başlatılır ve rastgele ifadeleri farklı yollardan
+ * (evaluate, evaluateOrError, önbellek, compile, hassas ve kesirli mod)
+ * hesaplar; her sonuç bit bit beklenenle karşılaştırılır. Paylaşılan bir
+ * çalışma alanı thread'ler arasında karışırsa sonuçlar bozulur.
+ *
+ * Platform thread'leri ThreadLocal çalışma alanlarını, sanal thread'ler
+ * ScratchPool'u sınar.
+ *
+ * @author Yusuf
+ */
+class ConcurrencyStressTest {
+
+    private static final int EXPRESSIONS = 500;
+    private static final int PLATFORM_THREADS = 16;
+    private static final int VIRTUAL_THREADS = 2_000;
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+    private static final int OPERATIONS_PER_VIRTUAL_THREAD = 200;
+
+    private final ExpressionEvaluator shared = new ExpressionEvaluator();
+    private final ExpressionCache cache = new ExpressionCache(shared, 64);
+    private final Calculator calculator = new Calculator();
+
+    private final String[] expressions = new String[EXPRESSIONS];
+    private final String[] rationalExpressions = new String[EXPRESSIONS];
+    private final String[] expected = new String[EXPRESSIONS];
+    private final String[] expectedPrecise = new String[EXPRESSIONS];
+    private final String[] expectedRational = new String[EXPRESSIONS];
+
+    ConcurrencyStressTest() {
+        ExpressionEvaluator solo = new ExpressionEvaluator();
+        for (int i = 0; i < EXPRESSIONS; i++) {
+            String expression = "(" + i + "+sin(" + (i % 17) + "))^2/" + (i % 5)
+                    + "+abs(-" + i + ")-" + (i % 7) + "!";
+            String rational = i + "/" + (i % 9) + "-" + (i % 6) + "!+1/3";
+            expressions[i] = expression;
+            rationalExpressions[i] = rational;
+            expected[i] = describe(() -> solo.evaluate(expression));
+            expectedPrecise[i] = describe(() -> solo.evaluate(expression, EvaluationMode.PRECISE));
+            expectedRational[i] = describe(() -> solo.evaluate(rational, EvaluationMode.RATIONAL));
+        }
+    }
+
+    @Test
+    void platformThreadsShareOneEvaluator() throws Exception {
+        long operations = run(Executors.newFixedThreadPool(PLATFORM_THREADS), PLATFORM_THREADS,
+                OPERATIONS_PER_THREAD);
+        assertEquals((long) PLATFORM_THREADS * OPERATIONS_PER_THREAD, operations);
+    }
+
+    @Test
+    void virtualThreadsShareOneEvaluator() throws Exception {
+        long operations = run(Executors.newVirtualThreadPerTaskExecutor(), VIRTUAL_THREADS,
+                OPERATIONS_PER_VIRTUAL_THREAD);
+        assertEquals((long) VIRTUAL_THREADS * OPERATIONS_PER_VIRTUAL_THREAD, operations);
+    }
+
+    @Test
+    void calculatorIsStateless() throws Exception {
+        double[] factorials = new double[171];
+        for (int n = 0; n < factorials.length; n++) {
+            factorials[n] = calculator.factorial(n);
+        }
+
+        long operations = run(Executors.newFixedThreadPool(PLATFORM_THREADS), PLATFORM_THREADS, id -> {
+            for (int k = 0; k < OPERATIONS_PER_THREAD; k++) {
+                int n = (k + id) % factorials.length;
+                assertEquals(factorials[n], calculator.factorial(n), "factorial " + n);
+                assertEquals(Math.sqrt(k), calculator.sqrt(k));
+                assertEquals(Math.sin(k), calculator.sin(k));
+            }
+            return (long) OPERATIONS_PER_THREAD;
+        });
+        assertEquals((long) PLATFORM_THREADS * OPERATIONS_PER_THREAD, operations);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** Bir thread'in işi; yaptığı işlem sayısını döndürür */
+    private interface Worker {
+        long run(int id) throws Exception;
+    }
+
+    private long run(ExecutorService executor, int threads, int operations) throws Exception {
+        AtomicLong wrong = new AtomicLong();
+        long done = run(executor, threads, id -> {
+            EvaluationOutcome outcome = new EvaluationOutcome();
+            Random random = new Random(id);
+            for (int k = 0; k < operations; k++) {
+                int i = random.nextInt(EXPRESSIONS);
+                if (!evaluate(k % 6, i, outcome).equals(expected(k % 6, i))) {
+                    wrong.incrementAndGet();
+                }
+            }
+            return (long) operations;
+        });
+        assertEquals(0, wrong.get(), "yanlış sonuç sayısı");
+        return done;
+    }
+
+    private static long run(ExecutorService executor, int threads, Worker worker) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        try (executor) {
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return worker.run(id);
+                }));
+            }
+            start.countDown();
+            long total = 0;
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+            return total;
+        }
+    }
+
+    /** i. ifadeyi path'e göre farklı bir yoldan hesaplar */
+    private String evaluate(int path, int i, EvaluationOutcome outcome) {
+        String expression = expressions[i];
+        switch (path) {
+            case 0:
+                return describe(() -> shared.evaluate(expression));
+            case 1:
+                return describe(() -> cache.evaluate(expression));
+            case 2:
+                return describe(() -> shared.compile(expression).evaluate());
+            case 3:
+                double value = shared.evaluateOrError(expression, outcome);
+                return outcome.isSuccess()
+                        ? describe(() -> value)
+                        : outcome.getErrorType().name();
+            case 4:
+                return describe(() -> shared.evaluate(expression, EvaluationMode.PRECISE));
+            default:
+                return describe(() -> shared.evaluate(rationalExpressions[i], EvaluationMode.RATIONAL));
+        }
+    }
+
+    private String expected(int path, int i) {
+        switch (path) {
+            case 4:
+                return expectedPrecise[i];
+            case 5:
+                return expectedRational[i];
+            default:
+                return expected[i];
+        }
+    }
+
+    /** Sonucu veya hata türünü karşılaştırılabilir metne çevirir */
+    private static String describe(Callable<?> evaluation) {
+        try {
+            Object value = evaluation.call();
+            return value instanceof Double
+                    ? Long.toHexString(Double.doubleToLongBits((Double) value))
+                    : String.valueOf(value);
+        } catch (CalculatorException e) {
+            return e.getErrorType().name();
+        } catch (Exception e) {
+            return e.getClass().getName();
+        }
+    }
+}
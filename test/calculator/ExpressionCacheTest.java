@@ -0,0 +1,37 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ExpressionCache'in önbelleksiz yolla aynı hataları verdiğini doğrular.
+ *
+ * @author Yusuf
+ */
+class ExpressionCacheTest {
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+    private final ExpressionCache cache = new ExpressionCache(evaluator, 4);
+
+    @Test
+    void nullExpressionIsAnEmptyExpression() {
+        CalculatorException uncached = assertThrows(CalculatorException.class, () -> evaluator.evaluate(null));
+        CalculatorException cached = assertThrows(CalculatorException.class, () -> cache.evaluate(null));
+
+        assertEquals(CalculatorException.ErrorType.EMPTY_EXPRESSION, cached.getErrorType());
+        assertEquals(uncached.getMessage(), cached.getMessage());
+        assertThrows(CalculatorException.class, () -> cache.get(null, "x"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void whitespaceVariantsShareOneEntry() throws CalculatorException {
+        assertEquals(4.0, cache.evaluate("(5 + 3) * 2 / 4"));
+        assertEquals(4.0, cache.evaluate("(5+3)*2/4"));
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHitCount());
+    }
+}
@@ -0,0 +1,239 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * ExpressionEvaluator'ın ilk (özyinelemeli) sürümle aynı sonuçları ve aynı
+ * hata türlerini verdiğini doğrular. Beklenen değerler o sürümden alınmıştır.
+ *
+ * Negatif işaretten sonra gelen çıkarma ('-1-2', '2*-3-1') ayrıca üç
+ * hesaplama modunda da denenir. solve / sum / prod / integrate gövdelerinin
+ * ve sınırlarının compile'a verilen değişkenleri ve dıştaki çağrıların
+ * değişkenlerini gördüğü de sınanır.
+ *
+ * @author Yusuf
+ */
+class ExpressionEvaluatorTest {
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    static Stream<Arguments> baseline() {
+        return Stream.of(
+                ok("1+2", 3.0),
+                ok("(5 + 3) * 2 / 4", 4.0),
+                ok("2^3^2", 512.0),
+                ok("-2^2", 4.0),
+                ok("-(3+4)*2", -14.0),
+                ok("5!", 120.0),
+                ok("(2+1)!", 6.0),
+                ok("3!!", 720.0),
+                error("10/0", CalculatorException.ErrorType.DIVISION_BY_ZERO),
+                error("10%0", CalculatorException.ErrorType.DIVISION_BY_ZERO),
+                error("sqrt(-1)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("ln(0)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                ok("sin(pi/2)", 1.0),
+                ok("cos(0)+tan(1)", 2.5574077246549023),
+                ok("log(1000)", 3.0),
+                ok("abs(-5)", 5.0),
+                ok("2*pi!", 14.37616545795207),
+                error("5+", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("*5", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("(1+2", CalculatorException.ErrorType.MISMATCHED_PARENTHESES),
+                error("1+2)", CalculatorException.ErrorType.MISMATCHED_PARENTHESES),
+                error("", CalculatorException.ErrorType.EMPTY_EXPRESSION),
+                error("   ", CalculatorException.ErrorType.EMPTY_EXPRESSION),
+                error("2..3", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("3$4", CalculatorException.ErrorType.INVALID_CHARACTER),
+                error("foo(2)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("sin()", CalculatorException.ErrorType.EMPTY_EXPRESSION),
+                error("sin 2", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                ok("2+-3", -1.0),
+                ok("2*-(1+1)", -4.0),
+                error("1.5e3", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                ok("e", 2.718281828459045),
+                ok("pi", 3.141592653589793),
+                ok("2^-1", 0.5),
+                ok("-.5", -0.5),
+                error("-5!", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                ok("sqrt(16)!", 24.0),
+                ok("2+3*4-5/2%3", 11.5),
+                ok("((2))", 2.0),
+                ok("(((1+2)*3)-4)/5", 1.0),
+                ok("1/3", 0.3333333333333333),
+                ok("100!", 9.33262154439441E157),
+                error("171!", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                ok("2.5!", 3.323350970447843),
+                ok("-1+-1", -2.0),
+                ok("7%3", 1.0),
+                ok("abs(sin(1)-cos(1))*2", 0.6023373578795135),
+                ok("2^0.5", 1.4142135623730951),
+                ok("sqrt(2)*pi/180", 0.024682682989768702),
+                ok("( 1 + 2 ) * 3", 9.0),
+                error("()", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("(-)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("-", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("2-", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("sin(1)cos(1)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("2(3)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                ok("E", 2.718281828459045),
+                ok("PI+1", 4.141592653589793),
+                ok("Sin(0)", 0.0),
+                error("x+1", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("1+x", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                ok("3-(-2)", 5.0),
+                ok("-(-(-2))", -2.0),
+                ok("0.1+0.2-0.3", 5.551115123125783E-17),
+                error("1e10", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                ok("12345678901234567890*2", 2.4691357802469134E19),
+                ok("1/7*7", 1.0),
+                ok("2^3!", 64.0),
+                error("!", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("2!3", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                ok("-1-2", -3.0),
+                ok("-0.5-2.5", -3.0),
+                ok("2*-3-1", -7.0),
+                ok("abs(-(-(-0 --5)))", 5.0),
+                ok("-1--1", 0.0),
+                ok("-2^2-1", 3.0),
+                ok("-1*-1-1", 0.0),
+                ok("(-1)-2", -3.0),
+                ok("-.5-.5", -1.0),
+                ok("-1-2-3", -6.0),
+                ok("2-(-1-1)", 4.0),
+                error("-3!-1", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("1 2 +", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("* 3 4", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("+1 2", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("1 + 2 3 *", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("(1 2 +)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("sin(1 2 -)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("(*3)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("sin(/2)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("(2+)", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("2 pi", CalculatorException.ErrorType.INVALID_EXPRESSION),
+                error("1+!", CalculatorException.ErrorType.INVALID_EXPRESSION));
+    }
+
+    static Stream<Arguments> negationThenSubtraction() {
+        return Stream.of(
+                ok("-1-2", -3),
+                ok("-0.5-2.5", -3),
+                ok("2*-3-1", -7),
+                ok("abs(-(-(-0 --5)))", 5),
+                ok("-1--1", 0),
+                ok("-1*-1-1", 0),
+                ok("-.5-.5", -1),
+                ok("-1-2-3", -6),
+                ok("2-(-1-1)", 4),
+                ok("-2^2-1", 3));
+    }
+
+    @ParameterizedTest
+    @MethodSource("baseline")
+    void matchesBaseline(String expression, Double expected, CalculatorException.ErrorType error) {
+        if (error == null) {
+            assertEquals(expected, evaluate(expression), expression);
+        } else {
+            CalculatorException thrown = assertThrows(CalculatorException.class,
+                    () -> evaluator.evaluate(expression), expression);
+            assertEquals(error, thrown.getErrorType(), expression);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("negationThenSubtraction")
+    void negationThenSubtractionInEveryMode(String expression, Double expected,
+            CalculatorException.ErrorType error) throws CalculatorException {
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            assertEquals(expected, evaluator.evaluate(expression, mode).doubleValue(), 0,
+                    expression + " (" + mode + ")");
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "sum(i, 1, n, i * x);                 3;   2;   12",
+            "sum(i, n, 10, i);                    8;   0;   27",
+            "prod(k, 1, n, k + x);                3;   1;   24",
+            "integrate(t * x, t, 0, n);           2;   3;   6",
+            "solve(t - x, t, 1);                  0;   7;   7",
+            "solve(t^2 - x, t, n);                1;   9;   3",
+            "sum(i, 1, n, sum(j, 1, i, j * x));   3;   2;   20",
+            "x * sum(i, 1, 10, i) + integrate(t, t, 0, 2);   0;   5;   277",
+    })
+    void callsSeeCompiledVariables(String expression, double n, double x, double expected)
+            throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile(expression, "n", "x");
+        assertEquals(expected, compiled.evaluate(n, x), 1e-9, expression);
+        assertEquals(expected, compiled.toFunction().applyAsDouble(new double[] {n, x}), 1e-9, expression);
+    }
+
+    @Test
+    void nestedCallsUseTheirOwnVariables() throws CalculatorException {
+        assertEquals(10, evaluate("sum(i, 1, 3, sum(j, 1, i, j))"), 0);
+        assertEquals(18, evaluate("prod(i, 1, 3, sum(j, 1, i, j))"), 0);
+
+        // Gövdenin kendi değişkeni dıştaki değişkenle aynı isimde olabilir
+        assertEquals(6, evaluator.compile("sum(x, 1, 3, x)", "x").evaluate(100), 0);
+        assertEquals(6, evaluate("sum(i, 1, 2, sum(i, 1, 2, i))"), 0);
+
+        CalculatorException unknown = assertThrows(CalculatorException.class,
+                () -> evaluator.compile("sum(i, 1, 3, y)", "x"));
+        assertTrue(unknown.getDetail().startsWith("Bilinmeyen değişken"), unknown.getDetail());
+    }
+
+    @Test
+    void boundsAreCheckedWhenEvaluated() throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile("sum(i, 1, n, i)", "n");
+        assertEquals(15, compiled.evaluate(5), 0);
+
+        CalculatorException fractional = assertThrows(CalculatorException.class, () -> compiled.evaluate(2.5));
+        assertEquals(CalculatorException.ErrorType.INVALID_EXPRESSION, fractional.getErrorType());
+        assertTrue(fractional.getDetail().startsWith("sum"), fractional.getDetail());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {4.100808114922017, -1.7, 0.1, 3, 1e-200, 1e100})
+    void compiledPowersMatchEvaluate(double x) throws CalculatorException {
+        for (int n = 2; n <= 8; n++) {
+            String expression = "x^" + n;
+            double expected = evaluate("(" + BigDecimal.valueOf(x).toPlainString() + ")^" + n);
+            CompiledExpression compiled = evaluator.compile(expression, "x");
+            assertEquals(expected, compiled.evaluate(x), 0, expression + " @ " + x);
+            assertEquals(expected, compiled.toFunction().applyAsDouble(new double[] {x}), 0,
+                    expression + " @ " + x);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private static Arguments ok(String expression, double expected) {
+        return Arguments.of(expression, expected, null);
+    }
+
+    private static Arguments error(String expression, CalculatorException.ErrorType error) {
+        return Arguments.of(expression, null, error);
+    }
+
+    private double evaluate(String expression) {
+        try {
+            return evaluator.evaluate(expression);
+        } catch (CalculatorException e) {
+            throw new AssertionError(expression + ": " + e.getMessage(), e);
+        }
+    }
+}
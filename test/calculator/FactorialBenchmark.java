@@ -0,0 +1,97 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Calculator.factorial'ın tablodan okumasını ilk sürümdeki çarpım döngüsüyle
+ * karşılaştırır; ondalıklı sayılarda Lanczos gamma'nın maliyetini de ölçer.
+ *
+ * İş yükü olasılık hesaplarındaki binom katsayısıdır: n! / (k! (n-k)!).
+ *
+ * Çalıştırma: ./gradlew benchmark --tests calculator.FactorialBenchmark
+ *
+ * @author Yusuf
+ */
+@Tag("benchmark")
+class FactorialBenchmark {
+
+    private static final int ITERATIONS = 5_000_000;
+
+    private final Calculator calculator = new Calculator();
+
+    @Test
+    void tableVersusLoop() throws Exception {
+        // İki yol aynı değerleri vermeli
+        assertEquals(binomialsWithLoop(10_000), binomialsWithTable(10_000), 0);
+
+        double loop = BenchmarkRunner.nanosPerOperation("döngü n!/(k!(n-k)!)", ITERATIONS,
+                FactorialBenchmark::binomialsWithLoop);
+        double table = BenchmarkRunner.nanosPerOperation("tablo n!/(k!(n-k)!)", ITERATIONS,
+                this::binomialsWithTable);
+        BenchmarkRunner.ratio("hızlanma", loop, table);
+
+        BenchmarkRunner.nanosPerOperation("Lanczos x! (ondalıklı)", ITERATIONS, this::gammaFactorials);
+    }
+
+    @Test
+    void expressionWorkload() throws Exception {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        CompiledExpression compiled = evaluator.compile("n!/(k!*(n-k)!)", "n", "k");
+        assertEquals(252, compiled.evaluate(10, 5), 0);
+
+        BenchmarkRunner.nanosPerOperation("derlenmiş n!/(k!*(n-k)!)", ITERATIONS, iterations -> {
+            double[] bindings = new double[2];
+            double sum = 0;
+            for (int i = 0; i < iterations; i++) {
+                bindings[0] = 20 + (i & 127);
+                bindings[1] = i & 15;
+                sum += compiled.evaluate(bindings);
+            }
+            return sum;
+        });
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private double binomialsWithTable(int iterations) throws CalculatorException {
+        double sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            int n = 20 + (i & 127);
+            int k = i & 15;
+            sum += calculator.factorial(n) / (calculator.factorial(k) * calculator.factorial(n - k));
+        }
+        return sum;
+    }
+
+    private static double binomialsWithLoop(int iterations) {
+        double sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            int n = 20 + (i & 127);
+            int k = i & 15;
+            sum += loopFactorial(n) / (loopFactorial(k) * loopFactorial(n - k));
+        }
+        return sum;
+    }
+
+    private double gammaFactorials(int iterations) throws CalculatorException {
+        double sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            sum += calculator.factorial((i & 1023) * 0.1 + 0.05);
+        }
+        return sum;
+    }
+
+    /** İlk sürümdeki faktöriyel: 2'den n'e kadar çarpım */
+    private static double loopFactorial(int n) {
+        double result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Faktöriyel tablosunun ve Lanczos gamma yaklaşımının doğruluğunu sınar.
+ *
+ * Ondalıklı değerler bilinen kapalı formlarla (√π'nin katları) ve
+ * yayımlanmış gamma değerleriyle karşılaştırılır. Tam sayılar tablodan
+ * okunduğu için ilk sürümdeki çarpım döngüsüyle bit bit aynı olmalıdır.
+ *
+ * @author Yusuf
+ */
+class GammaAccuracyTest {
+
+    private static final double SQRT_PI = Math.sqrt(Math.PI);
+
+    /** Bilinen değerlerde izin verilen göreli hata */
+    private static final double KNOWN_TOLERANCE = 1e-14;
+
+    /** Γ(x + 1) = x · Γ(x) özdeşliğinde izin verilen göreli hata */
+    private static final double RECURRENCE_TOLERANCE = 1e-13;
+
+    private final Calculator calculator = new Calculator();
+
+    static Stream<Arguments> knownFactorials() {
+        return Stream.of(
+                Arguments.of(0.5, SQRT_PI / 2),
+                Arguments.of(1.5, 3 * SQRT_PI / 4),
+                Arguments.of(2.5, 15 * SQRT_PI / 8),
+                Arguments.of(-0.5, SQRT_PI),
+                Arguments.of(-1.5, -2 * SQRT_PI),
+                Arguments.of(-2.5, 4 * SQRT_PI / 3),
+                Arguments.of(10.5, 11899423.083962249),
+                Arguments.of(-0.9, 9.513507698668731836),        // Γ(0.1)
+                Arguments.of(-2.0 / 3, 2.678938534707747633),    // Γ(1/3)
+                Arguments.of(0.1, 0.951350769866873183)          // Γ(1.1)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}! = {1}")
+    @MethodSource("knownFactorials")
+    void nonIntegerFactorialMatchesKnownValue(double x, double expected) throws CalculatorException {
+        assertRelative(expected, calculator.factorial(x), KNOWN_TOLERANCE);
+    }
+
+    @Test
+    void gammaOfOneHalfIsSqrtPi() {
+        assertRelative(SQRT_PI, Calculator.gamma(0.5), KNOWN_TOLERANCE);
+    }
+
+    @Test
+    void integerFactorialsMatchTheMultiplicationLoop() throws CalculatorException {
+        for (int n = 0; n <= 170; n++) {
+            assertEquals(loopFactorial(n), calculator.factorial(n), 0, n + "!");
+        }
+    }
+
+    @Test
+    void gammaAgreesWithTheTableAtIntegers() throws CalculatorException {
+        // Tam sayıda tablo ile Lanczos arasında sıçrama olmamalı
+        for (int n = 0; n <= 170; n++) {
+            assertRelative(calculator.factorial(n), Calculator.gamma(n + 1), 1e-12);
+        }
+    }
+
+    @Test
+    void gammaSatisfiesTheRecurrence() {
+        for (double x = 0.01; x < 170; x += 0.37) {
+            assertRelative(x * Calculator.gamma(x), Calculator.gamma(x + 1), RECURRENCE_TOLERANCE);
+        }
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        double[] invalid = {-1, -2, -170, 171, 171.7, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double n : invalid) {
+            CalculatorException e = assertThrows(CalculatorException.class, () -> calculator.factorial(n), n + "!");
+            assertEquals(CalculatorException.ErrorType.INVALID_EXPRESSION, e.getErrorType());
+        }
+    }
+
+    @Test
+    void nanFactorialIsAnErrorOnEveryPath() throws CalculatorException {
+        CompiledExpression compiled = new ExpressionEvaluator().compile("x!", "x");
+        assertThrows(CalculatorException.class, () -> compiled.evaluate(Double.NaN));
+
+        EvaluationOutcome outcome = new EvaluationOutcome();
+        compiled.evaluateOrError(outcome, Double.NaN);
+        assertEquals(CalculatorException.ErrorType.INVALID_EXPRESSION, outcome.getErrorType());
+        assertEquals(Calculator.FACTORIAL_NAN_MESSAGE, outcome.getDetail());
+    }
+
+    @Test
+    void expressionsUseTheGammaExtension() throws CalculatorException {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        assertRelative(SQRT_PI / 2, evaluator.evaluate("0.5!"), KNOWN_TOLERANCE);
+        assertEquals(10, evaluator.evaluate("5!/(2!*(5-2)!)"), 0);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** İlk sürümdeki faktöriyel: 2'den n'e kadar çarpım */
+    private static double loopFactorial(int n) {
+        double result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+
+    private static void assertRelative(double expected, double actual, double tolerance) {
+        assertEquals(expected, actual, Math.abs(expected) * tolerance, "beklenen " + expected);
+    }
+}
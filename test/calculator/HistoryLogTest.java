@@ -0,0 +1,229 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * HistoryLog'un geçmişi yeniden açılışta geri yüklediğini doğrular.
+ *
+ * Kurtarma; dosya her bayt konumunda kesildiğinde, ortadaki bir kaydın
+ * CRC'si bozulduğunda ve yük sınırını aşan bir ifade yazıldığında ayrıca
+ * sınanır. Her test geçici bir dizinde kendi dosyasını kullanır.
+ *
+ * @author Yusuf
+ */
+class HistoryLogTest {
+
+    private static final int FILE_HEADER_SIZE = 8;
+
+    /** Kayıt başlangıcından hata kodu baytına kadar: başlık + uzunluk + CRC + üç alan */
+    private static final int FIRST_ERROR_CODE_OFFSET = FILE_HEADER_SIZE + 8 + 8 + 8 + 8;
+
+    /** Uzunluk + CRC + sabit yük; ardından ifadenin baytları gelir */
+    private static final int RECORD_OVERHEAD = 8 + 25;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void errorCodesAreStable() {
+        // Dosya biçimi bu kodlara bağlıdır; değiştirilmemelidir
+        assertEquals(0, CalculatorException.ErrorType.DIVISION_BY_ZERO.getCode());
+        assertEquals(1, CalculatorException.ErrorType.INVALID_CHARACTER.getCode());
+        assertEquals(2, CalculatorException.ErrorType.MISMATCHED_PARENTHESES.getCode());
+        assertEquals(3, CalculatorException.ErrorType.INVALID_EXPRESSION.getCode());
+        assertEquals(4, CalculatorException.ErrorType.EMPTY_EXPRESSION.getCode());
+        assertEquals(5, CalculatorException.ErrorType.CANCELLED.getCode());
+
+        for (CalculatorException.ErrorType type : CalculatorException.ErrorType.values()) {
+            assertSame(type, CalculatorException.ErrorType.fromCode(type.getCode()));
+        }
+        assertNull(CalculatorException.ErrorType.fromCode((byte) 100));
+        assertNull(CalculatorException.ErrorType.fromCode(HistoryRing.NO_ERROR));
+    }
+
+    @Test
+    void fileStoresTheStableCode() throws Exception {
+        Path file = directory.resolve("history.log");
+        try (HistoryManager history = new HistoryManager(5, file)) {
+            history.addErrorEntry("1 / 0", CalculatorException.ErrorType.CANCELLED, 3);
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        assertEquals(CalculatorException.ErrorType.CANCELLED.getCode(), bytes[FIRST_ERROR_CODE_OFFSET]);
+    }
+
+    @Test
+    void everyErrorTypeSurvivesRestart() throws Exception {
+        Path file = directory.resolve("history.log");
+        List<String> written;
+        try (HistoryManager history = new HistoryManager(10, file)) {
+            history.addEntry("2 + 2", 4, 10);
+            for (CalculatorException.ErrorType type : CalculatorException.ErrorType.values()) {
+                history.addErrorEntry(type.name(), type, 1);
+            }
+            written = history.getHistory();
+        }
+
+        assertEquals(written, restore(file, 10));
+    }
+
+    @Test
+    void historyIsRestoredAfterRestart() throws Exception {
+        Path file = directory.resolve("sub/history.log");
+        List<String> written;
+        try (HistoryManager history = new HistoryManager(5, file)) {
+            for (int i = 0; i < 8; i++) {
+                history.addEntry(i + " + 0 ğüş", i, 10);
+            }
+            history.addErrorEntry("1 / 0", CalculatorException.ErrorType.DIVISION_BY_ZERO, 3);
+            written = history.getHistory();
+        }
+
+        assertEquals(5, written.size());
+        assertEquals(written, restore(file, 5));
+    }
+
+    @Test
+    void secondOpenIsRejectedWhileLocked() throws Exception {
+        Path file = directory.resolve("history.log");
+        try (HistoryManager history = new HistoryManager(5, file)) {
+            history.addEntry("1 + 1", 2);
+            assertThrows(IOException.class, () -> new HistoryManager(5, file));
+        }
+        assertEquals(List.of("1 + 1 = 2"), restore(file, 5));
+    }
+
+    @Test
+    void truncationAtEveryOffsetKeepsTheCompleteRecords() throws Exception {
+        Path file = directory.resolve("history.log");
+        List<String> written = writeEntries(file, 6);
+        byte[] full = Files.readAllBytes(file);
+
+        for (int cut = 0; cut < full.length; cut++) {
+            Files.write(file, Arrays.copyOf(full, cut));
+            int complete = Math.max(0, cut - FILE_HEADER_SIZE) / recordSize(0);
+
+            List<String> restored;
+            try (HistoryManager history = new HistoryManager(100, file)) {
+                restored = history.getHistory();
+                assertEquals(written.subList(0, complete), restored, "kesme " + cut);
+                // Yarım kayıt atıldı; yeni kayıt geçerli kayıtların arkasına eklenir
+                history.addEntry("9 + 9", 18);
+            }
+            List<String> expected = new ArrayList<>(restored);
+            expected.add("9 + 9 = 18");
+            assertEquals(expected, restore(file, 100), "kesme " + cut + " sonrası ekleme");
+        }
+    }
+
+    @Test
+    void corruptedRecordEndsRecovery() throws Exception {
+        Path file = directory.resolve("history.log");
+        List<String> written = writeEntries(file, 5);
+
+        byte[] bytes = Files.readAllBytes(file);
+        int third = FILE_HEADER_SIZE + 2 * recordSize(0);
+        bytes[third + RECORD_OVERHEAD] ^= 0x55; // 3. kaydın ifadesindeki bir bayt
+        Files.write(file, bytes);
+
+        assertEquals(written.subList(0, 2), restore(file, 100));
+        assertEquals(third, Files.size(file));
+    }
+
+    @Test
+    void clearIsPersisted() throws Exception {
+        Path file = directory.resolve("history.log");
+        try (HistoryManager history = new HistoryManager(5, file)) {
+            history.addEntry("1 + 1", 2);
+            history.clear();
+            history.addEntry("2 + 2", 4);
+        }
+        assertEquals(List.of("2 + 2 = 4"), restore(file, 5));
+    }
+
+    @Test
+    void compactionBoundsTheFile() throws Exception {
+        Path file = directory.resolve("history.log");
+        int entries = 50_000;
+        for (int round = 0; round < 3; round++) {
+            try (HistoryManager history = new HistoryManager(5, file)) {
+                for (int i = 0; i < entries; i++) {
+                    history.addEntry("x" + i, i, 1);
+                }
+            }
+            List<String> restored = restore(file, 5);
+            assertEquals("x" + (entries - 1) + " = " + (entries - 1), restored.get(4));
+            // Sıkıştırmasız dosya ~2 MB olurdu; saklama sınırının birkaç katıyla sınırlı kalmalı
+            assertTrue(Files.size(file) < 200_000, "dosya boyutu " + Files.size(file));
+        }
+    }
+
+    @Test
+    void oversizedExpressionIsClippedAndLaterRecordsSurvive() throws Exception {
+        Path file = directory.resolve("history.log");
+        // Tek baytlık önek, iki baytlık karakterleri tek konumlara kaydırır: kırpma
+        // noktası bir karakterin ortasına düşer
+        String huge = "a" + "ğ".repeat(HistoryLog.MAX_EXPRESSION_BYTES / 2 + 10);
+        try (HistoryManager history = new HistoryManager(5, file)) {
+            history.addEntry("1 + 1", 2);
+            history.addEntry(huge, 7);
+            history.addEntry("2 + 2", 4);
+            history.addErrorEntry("1 / 0", CalculatorException.ErrorType.DIVISION_BY_ZERO);
+        }
+
+        List<String> restored = restore(file, 5);
+        assertEquals(4, restored.size());
+        assertEquals("1 + 1 = 2", restored.get(0));
+        assertEquals("2 + 2 = 4", restored.get(2));
+        assertEquals("1 / 0 → HATA: " + CalculatorException.ErrorType.DIVISION_BY_ZERO.getDescription(),
+                restored.get(3));
+
+        String clipped = restored.get(1).substring(0, restored.get(1).length() - " = 7".length());
+        assertTrue(clipped.endsWith(HistoryLog.CLIPPED_SUFFIX));
+        assertTrue(huge.startsWith(clipped.substring(0, clipped.length() - HistoryLog.CLIPPED_SUFFIX.length())));
+        assertFalse(clipped.contains("\uFFFD"), "kırpma bir karakteri böldü");
+        assertTrue(clipped.getBytes(StandardCharsets.UTF_8).length <= HistoryLog.MAX_EXPRESSION_BYTES);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** Aynı uzunlukta count kayıt yazar (a0, a1 ...); yazılan geçmişi döndürür. */
+    private static List<String> writeEntries(Path file, int count) throws Exception {
+        try (HistoryManager history = new HistoryManager(100, file)) {
+            for (int i = 0; i < count; i++) {
+                history.addEntry("a" + i, i, 1);
+            }
+            return history.getHistory();
+        }
+    }
+
+    /** writeEntries'in yazdığı i. kaydın dosyadaki boyutu */
+    private static int recordSize(int i) {
+        return RECORD_OVERHEAD + ("a" + i).length();
+    }
+
+    /** Dosyayı yeni bir HistoryManager ile açıp geri yüklenen geçmişi döndürür. */
+    private static List<String> restore(Path file, int maxSize) throws Exception {
+        try (HistoryManager history = new HistoryManager(maxSize, file)) {
+            return history.getHistory();
+        }
+    }
+}
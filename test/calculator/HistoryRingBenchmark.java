@@ -0,0 +1,168 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Kilitsiz HistoryRing'in çok yazarlı verimini tek kilitli (synchronized)
+ * bir dairesel tamponla karşılaştırır.
+ *
+ * Yazar sayısı 1, 2, 4 ve 8 olarak denenir; ikinci ölçümde yazarların
+ * yanında sürekli anlık görüntü alan bir okuyucu da çalışır. Kilitli
+ * tamponda okuyucu kopyalarken bütün yazarlar bekler; HistoryRing'de
+ * okuyucu yazarları engellemez.
+ *
+ * Sonuç çekirdek sayısına bağlıdır: tek çekirdekte thread'ler zaten sırayla
+ * çalıştığından rakipsiz bir kilit ucuzdur ve synchronized tampon daha hızlı
+ * çıkabilir. Kilitsiz tamponun kazancı, çok çekirdekte yazarlar aynı anda
+ * çalıştığında görülür. Çekirdek sayısı raporla birlikte yazdırılır.
+ *
+ * Çalıştırma: ./gradlew benchmark --tests calculator.HistoryRingBenchmark
+ *
+ * @author Yusuf
+ */
+@Tag("benchmark")
+class HistoryRingBenchmark {
+
+    private static final int CAPACITY = 1 << 14;
+    private static final int TOTAL_ENTRIES = 2_000_000;
+    private static final int ROUNDS = 3;
+    private static final int[] PRODUCERS = {1, 2, 4, 8};
+
+    /** Ölçülen tampon */
+    private interface Ring {
+        void add(String expression, double result, long nanos);
+
+        /** Anlık görüntü alır; görüntüdeki kayıt sayısını döndürür */
+        int snapshot();
+    }
+
+    /** Karşılaştırma için tek kilitli dairesel tampon */
+    private static final class SynchronizedRing implements Ring {
+        private final String[] expressions = new String[CAPACITY];
+        private final double[] results = new double[CAPACITY];
+        private final byte[] errorCodes = new byte[CAPACITY];
+        private final long[] timestamps = new long[CAPACITY];
+        private final long[] nanos = new long[CAPACITY];
+        private long tail;
+
+        @Override
+        public synchronized void add(String expression, double result, long nanos) {
+            int index = (int) (tail++ % CAPACITY);
+            expressions[index] = expression;
+            results[index] = result;
+            errorCodes[index] = HistoryRing.NO_ERROR;
+            timestamps[index] = System.currentTimeMillis();
+            this.nanos[index] = nanos;
+        }
+
+        @Override
+        public synchronized int snapshot() {
+            int size = (int) Math.min(tail, CAPACITY);
+            String[] copy = new String[size];
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                int index = (int) ((tail - size + i) % CAPACITY);
+                copy[i] = expressions[index];
+                values[i] = results[index];
+            }
+            return copy.length;
+        }
+    }
+
+    @Test
+    void producersOnly() throws Exception {
+        compare(false);
+    }
+
+    @Test
+    void producersWithSnapshotReader() throws Exception {
+        compare(true);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private static void compare(boolean withReader) throws Exception {
+        System.out.printf("%d çekirdek, %s%n", Runtime.getRuntime().availableProcessors(),
+                withReader ? "yazarlar + okuyucu" : "yalnızca yazarlar");
+        for (int producers : PRODUCERS) {
+            double lockFree = 0;
+            double locked = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                lockFree = Math.max(lockFree, throughput(producers, withReader, lockFreeRing()));
+                locked = Math.max(locked, throughput(producers, withReader, new SynchronizedRing()));
+            }
+            System.out.printf("  %d yazar: kilitsiz %6.1f M kayıt/sn, synchronized %6.1f M kayıt/sn (%.2fx)%n",
+                    producers, lockFree / 1e6, locked / 1e6, lockFree / locked);
+        }
+    }
+
+    private static Ring lockFreeRing() {
+        HistoryRing ring = new HistoryRing(CAPACITY);
+        return new Ring() {
+            @Override
+            public void add(String expression, double result, long nanos) {
+                ring.add(expression, result, HistoryRing.NO_ERROR, System.currentTimeMillis(), nanos);
+            }
+
+            @Override
+            public int snapshot() {
+                return ring.snapshot().size();
+            }
+        };
+    }
+
+    /** Yazarları aynı anda başlatır; saniyedeki kayıt sayısını döndürür. */
+    private static double throughput(int producers, boolean withReader, Ring ring) throws Exception {
+        int perProducer = TOTAL_ENTRIES / producers;
+        CyclicBarrier start = new CyclicBarrier(producers + 1);
+        AtomicBoolean done = new AtomicBoolean();
+
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                ring.snapshot();
+            }
+        });
+        if (withReader) {
+            reader.start();
+        }
+
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    ring.add("1+1", i, 3);
+                }
+            });
+            threads[p].start();
+        }
+
+        start.await();
+        long started = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        done.set(true);
+        if (withReader) {
+            reader.join();
+        }
+
+        // Tampon dolmuş olmalı; her iki tarafta da kayıp veya yırtık görüntü yok
+        assertEquals(CAPACITY, ring.snapshot());
+        return (double) producers * perProducer / seconds;
+    }
+}
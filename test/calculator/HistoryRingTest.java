@@ -0,0 +1,171 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * HistoryRing'in doğruluğunu doğrular: kapasite aşıldığında en eski
+ * kayıtların silinmesi, clear() ve çok yazarlı kullanımda anlık
+ * görüntülerin yırtık (alanları farklı kayıtlardan gelen) veya tekrarlanan
+ * kayıt içermemesi. Yazma bittiğinde son kapasite kadar kaydın eksiksiz
+ * kaldığı da sınanır.
+ *
+ * @author Yusuf
+ */
+class HistoryRingTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int RECORDS_PER_PRODUCER = 20_000;
+
+    /** Parça boyutunun katı olmayan bir kapasite: son parça yarım kullanılır */
+    private static final int CAPACITY = 1_500;
+
+    @Test
+    void keepsTheNewestRecordsInOrder() {
+        HistoryRing ring = new HistoryRing(5);
+        for (int i = 0; i < 12; i++) {
+            ring.add("e" + i, i, HistoryRing.NO_ERROR, i, i);
+        }
+
+        HistoryRing.Snapshot snapshot = ring.snapshot();
+        assertEquals(5, snapshot.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("e" + (7 + i), snapshot.getExpression(i));
+            assertEquals(7 + i, snapshot.getResult(i));
+        }
+    }
+
+    @Test
+    void clearHidesEarlierRecords() {
+        HistoryRing ring = new HistoryRing(4);
+        ring.add("1+1", 2, HistoryRing.NO_ERROR, 0, -1);
+        ring.add("1/0", Double.NaN, CalculatorException.ErrorType.DIVISION_BY_ZERO.getCode(), 0, -1);
+        ring.clear();
+        assertEquals(0, ring.size());
+        assertEquals(0, ring.snapshot().size());
+
+        ring.add("2*3", 6, HistoryRing.NO_ERROR, 0, -1);
+        HistoryRing.Snapshot snapshot = ring.snapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals("2*3", snapshot.getExpression(0));
+    }
+
+    @Test
+    void concurrentProducersNeverTearOrDuplicateRecords() throws InterruptedException {
+        HistoryRing ring = new HistoryRing(CAPACITY);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger(PRODUCERS);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger snapshots = new AtomicInteger();
+
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            producers[p] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < RECORDS_PER_PRODUCER; i++) {
+                        ring.add(producer + ":" + i, result(producer, i), (byte) producer, timestamp(producer, i), i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    if (running.decrementAndGet() == 0) {
+                        done.set(true);
+                    }
+                }
+            });
+            producers[p].start();
+        }
+
+        // Yazma sürerken anlık görüntü al ve her birini denetle
+        Thread reader = new Thread(() -> {
+            try {
+                do {
+                    checkConsistent(ring.snapshot(), false);
+                    snapshots.incrementAndGet();
+                } while (!done.get());
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        reader.start();
+
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        reader.join();
+        if (failure.get() != null) {
+            throw new AssertionError("Anlık görüntü tutarsız", failure.get());
+        }
+        assertTrue(snapshots.get() > 0);
+
+        // Tüm yazarlar bitti: son CAPACITY sıra numarasının hepsi görünür
+        HistoryRing.Snapshot last = ring.snapshot();
+        assertEquals(CAPACITY, last.size());
+        checkConsistent(last, true);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /**
+     * Her kaydın alanlarının aynı add() çağrısından geldiğini, hiçbir kaydın
+     * iki kez görünmediğini ve her yazarın kayıtlarının eklendiği sırada
+     * olduğunu denetler. complete ise her yazarın kayıtları boşluksuz bir
+     * son dilim olmalıdır (kayıtlar sıra numarasıyla silinir).
+     */
+    private static void checkConsistent(HistoryRing.Snapshot snapshot, boolean complete) {
+        assertTrue(snapshot.size() <= CAPACITY, "kapasite aşıldı: " + snapshot.size());
+        Set<String> seen = new HashSet<>();
+        int[] previous = new int[PRODUCERS];
+        Arrays.fill(previous, -1);
+
+        for (int k = 0; k < snapshot.size(); k++) {
+            String expression = snapshot.getExpression(k);
+            int colon = expression.indexOf(':');
+            int producer = Integer.parseInt(expression.substring(0, colon));
+            int i = Integer.parseInt(expression.substring(colon + 1));
+
+            assertTrue(seen.add(expression), "tekrarlanan kayıt: " + expression);
+            assertEquals(result(producer, i), snapshot.getResult(k), expression);
+            assertEquals((byte) producer, snapshot.getErrorCode(k), expression);
+            assertEquals(timestamp(producer, i), snapshot.getTimestamp(k), expression);
+            assertEquals(i, snapshot.getEvaluationNanos(k), expression);
+
+            assertTrue(i > previous[producer], "sıra bozuk: " + expression);
+            if (complete && previous[producer] >= 0) {
+                assertEquals(previous[producer] + 1, i, "eksik kayıt: " + expression);
+            }
+            previous[producer] = i;
+        }
+        if (complete) {
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                if (previous[producer] >= 0) {
+                    assertEquals(RECORDS_PER_PRODUCER - 1, previous[producer], "son kayıt eksik: " + producer);
+                }
+            }
+        }
+    }
+
+    private static double result(int producer, int i) {
+        return producer * 1_000_000.0 + i;
+    }
+
+    private static long timestamp(int producer, int i) {
+        return producer * 1_000_000_000L + i;
+    }
+}
@@ -0,0 +1,65 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Hassas modun (EvaluationMode.PRECISE) double sonucundan daha az basamak
+ * döndürmediğini ve ifadedeki sayıları yazıldıkları gibi kullandığını doğrular.
+ *
+ * @author Yusuf
+ */
+class PrecisionEngineTest {
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "2 + 3;                                   5",
+            "0.5 * 4;                                 2",
+            "0.1 + 0.2;                               0.3",
+            "0.1 + 0.2 - 0.3;                         0",
+            "10^20 + 1 - 10^20;                       1",
+            "123456789012345678 * 10;                 1234567890123456780",
+            "9007199254740993 - 9007199254740992;     1",
+            "10000000000000001 + 0;                   10000000000000001",
+            "0.3333333333333333333 * 3;               0.9999999999999999999",
+    })
+    void exactResults(String expression, String expected) throws CalculatorException {
+        assertEquals(0, new BigDecimal(expected).compareTo(precise(expression)), expression);
+    }
+
+    @Test
+    void longDoubleResultsAreRecomputedWithMoreDigits() throws CalculatorException {
+        BigDecimal seventh = precise("1/7");
+        assertEquals(BigDecimal.ONE.divide(BigDecimal.valueOf(7), MathContext.DECIMAL128), seventh);
+
+        BigDecimal root = precise("2^0.5");
+        assertEquals(0, BigDecimal.valueOf(Math.sqrt(2)).compareTo(root));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1/7", "2^0.5", "sin(1)", "ln(3)", "1/3 + 1/7", "sqrt(2) * pi", "3.7!", "e^0.1",
+    })
+    void neverFewerDigitsThanDouble(String expression) throws CalculatorException {
+        double fast = evaluator.evaluate(expression);
+        BigDecimal precise = precise(expression);
+
+        assertTrue(precise.stripTrailingZeros().precision()
+                        >= BigDecimal.valueOf(fast).stripTrailingZeros().precision(),
+                expression + " → " + precise);
+        assertEquals(fast, precise.doubleValue(), Math.ulp(fast), expression);
+    }
+
+    private BigDecimal precise(String expression) throws CalculatorException {
+        return (BigDecimal) evaluator.evaluate(expression, EvaluationMode.PRECISE);
+    }
+}
@@ -0,0 +1,112 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Kesirli modun (RATIONAL) long yolunu double hesaplamayla karşılaştırır.
+ *
+ * İki ölçüm yapılır: ayrıştırma dahil tüm ifade (evaluate(String) ile
+ * evaluate(String, RATIONAL)) ve yalnızca aritmetik (Rational işlemleri ile
+ * double işlemleri). Değerler long'a sığdığı için BigInteger'a geçilmez;
+ * bu ayrıca doğrulanır.
+ *
+ * Çalıştırma: ./gradlew benchmark --tests calculator.RationalBenchmark
+ *
+ * @author Yusuf
+ */
+@Tag("benchmark")
+class RationalBenchmark {
+
+    private static final int EXPRESSION_ITERATIONS = 1_000_000;
+    private static final int ARITHMETIC_ITERATIONS = 5_000_000;
+
+    private static final String[] EXPRESSIONS = {
+            "(1/3 + 2/7) * 5 - 4/9 + 12 / 5",
+            "1/2 + 1/3 + 1/4 + 1/5 + 1/6 + 1/7 + 1/8",
+            "(3/4)^3 * 16 - 7 % 3 + abs(-5/6)"
+    };
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    @Test
+    void wholeExpression() throws Exception {
+        for (String expression : EXPRESSIONS) {
+            Rational exact = (Rational) evaluator.evaluate(expression, EvaluationMode.RATIONAL);
+            assertEquals(evaluator.evaluate(expression), exact.doubleValue(), 1e-12, expression);
+
+            System.out.println(expression + " = " + exact);
+            double doubles = BenchmarkRunner.nanosPerOperation("  double", EXPRESSION_ITERATIONS, iterations -> {
+                double sum = 0;
+                for (int i = 0; i < iterations; i++) {
+                    sum += evaluator.evaluate(expression);
+                }
+                return sum;
+            });
+            double rationals = BenchmarkRunner.nanosPerOperation("  kesirli", EXPRESSION_ITERATIONS, iterations -> {
+                double sum = 0;
+                for (int i = 0; i < iterations; i++) {
+                    sum += ((Rational) evaluator.evaluate(expression, EvaluationMode.RATIONAL)).signum();
+                }
+                return sum;
+            });
+            BenchmarkRunner.ratio("  kesirli / double", rationals, doubles);
+        }
+    }
+
+    @Test
+    void arithmeticOnly() throws Exception {
+        // Ara toplamlar long'a sığar: ölçülen yol BigInteger'a geçmez
+        Rational sum = Rational.ZERO;
+        for (int i = 0; i < 64; i++) {
+            sum = sum.add(term(i));
+            assertTrue(sum.getNumerator().bitLength() < Long.SIZE - 1, sum.toString());
+            assertTrue(sum.getDenominator().bitLength() < Long.SIZE - 1, sum.toString());
+        }
+        assertEquals(doubleSum(10_000), rationalSum(10_000).doubleValue(), 1e-12);
+
+        double doubles = BenchmarkRunner.nanosPerOperation("double a/b + c/d", ARITHMETIC_ITERATIONS,
+                RationalBenchmark::doubleSum);
+        double rationals = BenchmarkRunner.nanosPerOperation("Rational a/b + c/d", ARITHMETIC_ITERATIONS,
+                iterations -> rationalSum(iterations).doubleValue());
+        BenchmarkRunner.ratio("kesirli / double", rationals, doubles);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    /** Her adımda (i % 7 + 1) / (i % 11 + 2) ekler, 64 adımda bir sıfırlar */
+    private static Rational rationalSum(int iterations) {
+        Rational sum = Rational.ZERO;
+        Rational total = Rational.ZERO;
+        for (int i = 0; i < iterations; i++) {
+            sum = sum.add(term(i));
+            if ((i & 63) == 63) {
+                total = total.add(Rational.valueOf(sum.signum()));
+                sum = Rational.ZERO;
+            }
+        }
+        return total.add(sum);
+    }
+
+    private static Rational term(int i) {
+        return Rational.of(i % 7 + 1, i % 11 + 2);
+    }
+
+    private static double doubleSum(int iterations) {
+        double sum = 0;
+        double total = 0;
+        for (int i = 0; i < iterations; i++) {
+            sum += (double) (i % 7 + 1) / (i % 11 + 2);
+            if ((i & 63) == 63) {
+                total += Math.signum(sum);
+                sum = 0;
+            }
+        }
+        return total + sum;
+    }
+}
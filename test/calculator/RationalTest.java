@@ -0,0 +1,155 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Rational aritmetiğini ve kesirli modun (EvaluationMode.RATIONAL) tam
+ * sonuçlarını doğrular: sadeleştirme, long ↔ BigInteger geçişleri,
+ * Long.MIN_VALUE sınırları ve double'a sığmayan sayı sabitleri.
+ *
+ * @author Yusuf
+ */
+class RationalTest {
+
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    // ══════════════════════════════════════════════════════════
+    // SADELEŞTİRME
+    // ══════════════════════════════════════════════════════════
+
+    @Test
+    void fractionsAreKeptInLowestTermsWithPositiveDenominator() {
+        assertEquals("-3/2", Rational.of(6, -4).toString());
+        assertEquals("3/2", Rational.of(-6, -4).toString());
+        assertEquals("0", Rational.of(0, -7).toString());
+        assertEquals(Rational.of(1, 2), Rational.of(1, 3).add(Rational.of(1, 6)));
+        assertEquals(Rational.of(1, 2).hashCode(), Rational.of(50, 100).hashCode());
+        assertEquals(Rational.of(1, 10), Rational.valueOf(0.1));
+        assertEquals(Rational.of(1, 8), Rational.valueOf(new BigDecimal("0.125")));
+        assertThrows(ArithmeticException.class, () -> Rational.of(1, 0));
+    }
+
+    @Test
+    void parseReadsWhatToStringWrites() {
+        for (Rational value : new Rational[] {
+                Rational.of(-3, 4), Rational.valueOf(5), Rational.ZERO,
+                Rational.of(LONG_MAX.add(BigInteger.ONE), BigInteger.valueOf(3))}) {
+            assertEquals(value, Rational.parse(value.toString()));
+        }
+        assertThrows(NumberFormatException.class, () -> Rational.parse("1.5"));
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // long ↔ BigInteger
+    // ══════════════════════════════════════════════════════════
+
+    @Test
+    void overflowPromotesToBigIntegerAndResultsDemoteBack() {
+        Rational max = Rational.valueOf(Long.MAX_VALUE);
+        Rational beyond = max.add(Rational.ONE);
+
+        assertFalse(beyond.isSmall());
+        assertEquals(LONG_MAX.add(BigInteger.ONE), beyond.getNumerator());
+
+        Rational back = beyond.subtract(Rational.ONE);
+        assertTrue(back.isSmall());
+        assertEquals(max, back);
+
+        Rational square = max.multiply(max);
+        assertFalse(square.isSmall());
+        assertEquals(max, square.divide(max));
+        assertTrue(square.divide(max).isSmall());
+
+        // Paydası taşan toplam: 1/p + 1/q, p·q > Long.MAX_VALUE
+        Rational sum = Rational.of(1, 4_294_967_311L).add(Rational.of(1, 4_294_967_357L));
+        assertEquals(BigInteger.valueOf(4_294_967_311L).multiply(BigInteger.valueOf(4_294_967_357L)),
+                sum.getDenominator());
+    }
+
+    @Test
+    void longMinValueEdges() {
+        Rational min = Rational.valueOf(Long.MIN_VALUE);
+        assertEquals(LONG_MIN, min.getNumerator());
+
+        // -Long.MIN_VALUE long'a sığmaz
+        assertEquals(LONG_MIN.negate(), min.negate().getNumerator());
+        assertEquals(LONG_MIN.negate(), min.abs().getNumerator());
+        assertEquals(LONG_MIN.negate(), Rational.of(Long.MIN_VALUE, -1).getNumerator());
+
+        // Payda Long.MIN_VALUE ise işaret paya taşınır
+        Rational reciprocal = Rational.of(1, Long.MIN_VALUE);
+        assertEquals(-1, reciprocal.signum());
+        assertEquals(LONG_MIN.negate(), reciprocal.getDenominator());
+        assertEquals(min, reciprocal.reciprocal());
+
+        assertEquals(min, min.subtract(Rational.ONE).add(Rational.ONE));
+        assertEquals(Rational.ONE, min.divide(min));
+        assertEquals(Rational.ZERO, min.remainder(Rational.valueOf(2)));
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // KUVVET VE KALAN
+    // ══════════════════════════════════════════════════════════
+
+    @Test
+    void negativePowersInvert() {
+        assertEquals(Rational.of(1, 8), Rational.valueOf(2).pow(-3));
+        assertEquals(Rational.of(-27, 8), Rational.of(-2, 3).pow(-3));
+        assertEquals(Rational.ONE, Rational.of(7, 5).pow(0));
+        assertEquals(BigInteger.TWO.pow(100), Rational.of(1, 2).pow(-100).getNumerator());
+        assertThrows(ArithmeticException.class, () -> Rational.ZERO.pow(-1));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "7,    3,    1",
+            "-7,   3,    -1",
+            "7,    -3,   1",
+            "-7,   -3,   -1",
+            "7/2,  1,    1/2",
+            "-7/2, 3/4,  -1/2",
+            "6,    3,    0",
+    })
+    void remainderTakesTheSignOfTheDividend(String dividend, String divisor, String expected) {
+        assertEquals(Rational.parse(expected), Rational.parse(dividend).remainder(Rational.parse(divisor)));
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // KESİRLİ MOD
+    // ══════════════════════════════════════════════════════════
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "9007199254740993 - 9007199254740992;     1",
+            "9223372036854775807 + 1;                 9223372036854775808",
+            "-9223372036854775808 - 1;                -9223372036854775809",
+            "1/3 - 0.3333333333333333333;             1/30000000000000000000",
+            "123456789012345678901234567890 / 10;     12345678901234567890123456789",
+            "0.1 + 0.2 - 0.3;                         0",
+            "2 ^ -3 + 1/16;                           3/16",
+            "(-7) % 3;                                -1",
+    })
+    void rationalModeUsesLiteralsExactly(String expression, String expected) throws CalculatorException {
+        assertEquals(Rational.parse(expected), evaluator.evaluate(expression, EvaluationMode.RATIONAL));
+    }
+
+    @Test
+    void literalsBeyondDoubleRangeAreExact() throws CalculatorException {
+        String huge = "1" + "0".repeat(400);
+        assertEquals(Rational.valueOf(1),
+                evaluator.evaluate(huge + " / " + huge, EvaluationMode.RATIONAL));
+    }
+}
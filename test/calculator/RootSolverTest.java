@@ -0,0 +1,120 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * solve() kök bulucusunu ve CompiledExpression.derivative() otomatik
+ * türevini doğrular: Newton yakınsaması, Newton'un durduğu yerde Brent
+ * yöntemine geçiş, kök bulunamayan durumlar ve analitik türevlerle
+ * karşılaştırma.
+ *
+ * @author Yusuf
+ */
+class RootSolverTest {
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    // ══════════════════════════════════════════════════════════
+    // KÖK BULMA
+    // ══════════════════════════════════════════════════════════
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "solve(x^2 - 2, x, 1);           1.4142135623730951",
+            "solve(x^3 - 2*x - 5, x, 2);     2.0945514815423265",
+            "solve(cos(x) - x, x, 1);        0.7390851332151607",
+            "solve(e^x - 10, x, 0);          2.302585092994046",
+            "solve(sin(x), x, pi / 2 + 1);   3.141592653589793",
+    })
+    void newtonConverges(String expression, double expected) throws CalculatorException {
+        assertEquals(expected, evaluator.evaluate(expression), 1e-15, expression);
+    }
+
+    @Test
+    void fallsBackToBrentWhenNewtonStalls() throws CalculatorException {
+        // Tahminde f' = 0: Newton adım atamaz, aralık aranır
+        assertEquals(2, Math.abs(evaluator.evaluate("solve(x^2 - 4, x, 0)")), 1e-15);
+
+        // Kökte türev sonsuz: Newton her adımda kökün üzerinden atlar
+        assertEquals(1, evaluator.evaluate("solve(abs(x - 1)^0.5 * (x - 1) / abs(x - 1), x, 3)"), 1e-12);
+    }
+
+    @Test
+    void reportsMissingRoot() {
+        CalculatorException thrown = assertThrows(CalculatorException.class,
+                () -> evaluator.evaluate("1 + solve(x^2 + 1, x, 0)"));
+        assertEquals(CalculatorException.ErrorType.INVALID_EXPRESSION, thrown.getErrorType());
+        assertTrue(thrown.getDetail().startsWith("solve: "), thrown.getDetail());
+        assertEquals(4, thrown.getPosition());
+    }
+
+    @Test
+    void rejectsNonFiniteGuess() throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile("solve(t - 1, t, g)", "g");
+        assertEquals(1, compiled.evaluate(-50), 0);
+
+        for (double guess : new double[] {Double.NaN, Double.POSITIVE_INFINITY}) {
+            CalculatorException thrown = assertThrows(CalculatorException.class, () -> compiled.evaluate(guess));
+            assertEquals(CalculatorException.ErrorType.INVALID_EXPRESSION, thrown.getErrorType());
+        }
+    }
+
+    @Test
+    void solveSeesCompiledVariables() throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile("solve(t - x, t, 1)", "x");
+        for (double x : new double[] {-3, 0, 2.5, 1e6}) {
+            assertEquals(x, compiled.evaluate(x), Math.ulp(x) * 4, "x = " + x);
+        }
+
+        // Örtük fonksiyon türevi: t³ = x ⇒ dt/dx = 1 / (3t²)
+        CompiledExpression cubeRoot = evaluator.compile("solve(t^3 - x, t, 1)", "x");
+        assertEquals(2, cubeRoot.evaluate(8), 1e-15);
+        assertEquals(1.0 / 12, cubeRoot.derivative(0, 8), 1e-15);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // TÜREV
+    // ══════════════════════════════════════════════════════════
+
+    static Stream<Arguments> derivatives() {
+        return Stream.of(
+                derivative("x^3 - 2*x", x -> 3 * x * x - 2),
+                derivative("sin(x) * x^2", x -> Math.cos(x) * x * x + 2 * x * Math.sin(x)),
+                derivative("ln(x) / x", x -> (1 - Math.log(x)) / (x * x)),
+                derivative("e^(2*x)", x -> 2 * Math.exp(2 * x)),
+                derivative("sqrt(x^2 + 1)", x -> x / Math.sqrt(x * x + 1)),
+                derivative("tan(x)", x -> 1 / (Math.cos(x) * Math.cos(x))),
+                derivative("x^x", x -> Math.pow(x, x) * (Math.log(x) + 1)),
+                derivative("log(x)", x -> 1 / (x * Math.log(10))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("derivatives")
+    void derivativeMatchesAnalytic(String expression, DoubleUnaryOperator analytic) throws CalculatorException {
+        CompiledExpression compiled = evaluator.compile(expression, "x");
+        for (double x : new double[] {0.3, 1, 1.7, 2.9}) {
+            double expected = analytic.applyAsDouble(x);
+            assertEquals(expected, compiled.derivative(0, x), Math.abs(expected) * 1e-13 + 1e-15,
+                    expression + " @ " + x);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // YARDIMCI METOTLAR (private)
+    // ══════════════════════════════════════════════════════════
+
+    private static Arguments derivative(String expression, DoubleUnaryOperator analytic) {
+        return Arguments.of(expression, analytic);
+    }
+}
@@ -0,0 +1,81 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ScratchPool'un çalışma alanlarını tekrar kullandığını ve aynı alanı aynı
+ * anda iki thread'e vermediğini doğrular.
+ *
+ * @author Yusuf
+ */
+class ScratchPoolTest {
+
+    /** Ödünç alınmış mı bilgisini taşıyan deneme alanı */
+    private static final class Scratch {
+        final AtomicBoolean inUse = new AtomicBoolean();
+    }
+
+    @Test
+    void platformThreadKeepsItsOwnScratch() {
+        ScratchPool<Scratch> pool = new ScratchPool<>(Scratch::new);
+        Scratch first = pool.acquire();
+        pool.release(first);
+
+        assertSame(first, pool.acquire());
+    }
+
+    @Test
+    void virtualThreadsReuseReleasedScratch() throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        ScratchPool<Scratch> pool = new ScratchPool<>(() -> {
+            created.incrementAndGet();
+            return new Scratch();
+        });
+
+        AtomicReference<Scratch> previous = new AtomicReference<>();
+        for (int request = 0; request < 100; request++) {
+            Thread.ofVirtual().start(() -> {
+                Scratch scratch = pool.acquire();
+                Scratch before = previous.getAndSet(scratch);
+                if (before != null) {
+                    assertSame(before, scratch);
+                }
+                pool.release(scratch);
+            }).join();
+        }
+
+        // Her istek yeni bir sanal thread'de; yine de tek alan oluşturuldu
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void scratchIsNeverSharedBetweenConcurrentVirtualThreads() throws InterruptedException {
+        ScratchPool<Scratch> pool = new ScratchPool<>(Scratch::new);
+        AtomicInteger conflicts = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int request = 0; request < 10_000; request++) {
+                executor.execute(() -> {
+                    Scratch scratch = pool.acquire();
+                    if (!scratch.inUse.compareAndSet(false, true)) {
+                        conflicts.incrementAndGet();
+                    }
+                    Thread.yield();
+                    scratch.inUse.set(false);
+                    pool.release(scratch);
+                });
+            }
+        }
+
+        assertEquals(0, conflicts.get());
+    }
+}
@@ -0,0 +1,77 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * sum, prod ve integrate çağrılarının değerlerini doğrular: paralel
+ * parçalara bölünen toplamların Neumaier düzeltmesi, uzun çarpımların
+ * doğruluğu ve uç noktada tekil ya da ıraksak integraller.
+ *
+ * @author Yusuf
+ */
+class SeriesIntegralTest {
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    // ══════════════════════════════════════════════════════════
+    // TOPLAM VE ÇARPIM
+    // ══════════════════════════════════════════════════════════
+
+    @Test
+    void smallSums() throws CalculatorException {
+        assertEquals(5050, evaluator.evaluate("sum(i, 1, 100, i)"), 0);
+        assertEquals(0, evaluator.evaluate("sum(i, 5, 4, i)"), 0);
+        assertEquals(1, evaluator.evaluate("prod(i, 5, 4, i)"), 0);
+        assertEquals(3628800, evaluator.evaluate("prod(i, 1, 10, i)"), 0);
+    }
+
+    @Test
+    void compensatedSumDoesNotDrift() throws CalculatorException {
+        // Düz toplamda 0.1'in yuvarlama hatası birikir: 999999.9998389754
+        assertEquals(1e6, evaluator.evaluate("sum(i, 1, 10000000, 0.1)"), 1e-9);
+        assertEquals(Math.PI * Math.PI / 6, evaluator.evaluate("sum(k, 1, 1000000, 1/k^2)"), 1e-6);
+    }
+
+    @Test
+    void longProductMatchesExactValue() throws CalculatorException {
+        // 400! / 300^400 ≈ 1e-122: ara çarpımlar önce büyür sonra küçülür
+        BigInteger factorial = BigInteger.ONE;
+        for (int i = 2; i <= 400; i++) {
+            factorial = factorial.multiply(BigInteger.valueOf(i));
+        }
+        double expected = new BigDecimal(factorial)
+                .divide(new BigDecimal(BigInteger.valueOf(300).pow(400)), MathContext.DECIMAL128)
+                .doubleValue();
+
+        double product = evaluator.evaluate("prod(i, 1, 400, i/300)");
+        assertEquals(expected, product, Math.abs(expected) * 1e-12);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    // İNTEGRAL
+    // ══════════════════════════════════════════════════════════
+
+    @Test
+    void integrableEndpointSingularity() throws CalculatorException {
+        assertEquals(2, evaluator.evaluate("integrate(1/sqrt(x), x, 0, 1)"), 1e-8);
+        assertEquals(-2, evaluator.evaluate("integrate(1/sqrt(x), x, 1, 0)"), 1e-8);
+        assertEquals(9, evaluator.evaluate("integrate(x^2, x, 0, 3)"), 1e-12);
+    }
+
+    @Test
+    void divergentIntegralIsReported() {
+        CalculatorException thrown = assertThrows(CalculatorException.class,
+                () -> evaluator.evaluate("integrate(1/x, x, 0, 1)"));
+        assertEquals(CalculatorException.ErrorType.INVALID_EXPRESSION, thrown.getErrorType());
+        assertTrue(thrown.getDetail().endsWith(IntegrationTask.DIVERGENT_MESSAGE), thrown.getDetail());
+        assertEquals(0, thrown.getPosition());
+    }
+}